@@ -0,0 +1,37 @@
+package com.dhemery.expressions.polling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Flight Recorder event that records one evaluation of a polled
+ * condition. Polls evaluate often, so this event is disabled unless a
+ * recording's settings enable it.
+ *
+ * @see FlightRecording
+ */
+@Name("com.dhemery.expressions.Evaluation")
+@Label("Poll Evaluation")
+@Category({"Expressions", "Polling"})
+@Description("One evaluation of a polled condition")
+@Enabled(false)
+@StackTrace(false)
+public class EvaluationEvent extends Event {
+    @Label("Condition")
+    @Description("The name of the polled condition, or the class of an unnamed condition")
+    public String condition;
+
+    @Label("Satisfied")
+    public boolean satisfied;
+
+    @Label("Evaluation Time")
+    @Description("How long the evaluation took")
+    @Timespan(Timespan.NANOSECONDS)
+    public long evaluationTime;
+}
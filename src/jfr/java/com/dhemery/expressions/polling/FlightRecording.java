@@ -0,0 +1,213 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.diagnosing.Named;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Emits a {@link PollEvent} for each poll, and optionally an {@link
+ * EvaluationEvent} for each evaluation, to Java Flight Recorder.
+ * <p>
+ * Once {@link #install() installed}, this class watches for Flight Recorder
+ * recordings. While a recording runs, it {@link
+ * PollListeners#register(PollListener) registers} a global {@link
+ * PollListener} that emits the events. While no recording runs, it registers
+ * nothing, so polls pay nothing for Flight Recorder. While the running
+ * recordings enable neither event, the listener creates no events and
+ * describes no conditions. It only counts the polls that it does not track,
+ * so that it can match each poll's end to its start.
+ * <p>
+ * Events describe each {@link Named named} condition by its name, and each
+ * other condition by its class. Events are emitted only by pollers that
+ * notify the global listener: those that do not override {@link
+ * com.dhemery.expressions.Poller#listener() listener()}.
+ */
+public final class FlightRecording {
+    private static boolean installed;
+    private static PollListener listener;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Starts emitting poll events to every Flight Recorder recording that
+     * runs from now on, and to any that is already running. Installing more
+     * than once has no further effect.
+     */
+    public static synchronized void install() {
+        if (installed) return;
+        installed = true;
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                update();
+            }
+        });
+        update();
+    }
+
+    private static synchronized void update() {
+        boolean recording = isRecording();
+        if (recording && listener == null) {
+            listener = new EventEmitter();
+            PollListeners.register(listener);
+        } else if (!recording && listener != null) {
+            PollListeners.unregister(listener);
+            listener = null;
+        }
+    }
+
+    private static boolean isRecording() {
+        if (!FlightRecorder.isInitialized()) return false;
+        for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (recording.getState() == RecordingState.RUNNING) return true;
+        }
+        return false;
+    }
+
+    private static String nameOf(Object condition) {
+        return condition instanceof Named ? condition.toString() : condition.getClass().getName();
+    }
+
+    /**
+     * Emits the events of each poll. Each emitter tracks the polls in
+     * progress on each thread. A new emitter is registered each time
+     * recording resumes, so an emitter never sees the end of a poll whose
+     * start it missed.
+     */
+    private static class EventEmitter implements PollListener {
+        private static final EventType POLL_EVENTS = EventType.getEventType(PollEvent.class);
+        private static final EventType EVALUATION_EVENTS = EventType.getEventType(EvaluationEvent.class);
+
+        private final ThreadLocal<Polls> threadPolls = ThreadLocal.withInitial(Polls::new);
+
+        @Override
+        public void onStart(PollingSchedule schedule, Object condition) {
+            if (tracksPolls()) begin(schedule, nameOf(condition));
+            else threadPolls.get().skip();
+        }
+
+        @Override
+        public void onStart(PollingSchedule schedule, Object function, Object predicate) {
+            if (!tracksPolls()) {
+                threadPolls.get().skip();
+                return;
+            }
+            String name = function instanceof Named && predicate instanceof Named
+                    ? function + " " + predicate
+                    : nameOf(function) + " " + nameOf(predicate);
+            begin(schedule, name);
+        }
+
+        @Override
+        public void onEvaluation(boolean satisfied, long nanos) {
+            PollEvent poll = threadPolls.get().tracked();
+            if (poll == null) return;
+            poll.evaluations++;
+            if (!EVALUATION_EVENTS.isEnabled()) return;
+            EvaluationEvent evaluation = new EvaluationEvent();
+            evaluation.condition = poll.condition;
+            evaluation.satisfied = satisfied;
+            evaluation.evaluationTime = nanos;
+            evaluation.commit();
+        }
+
+        @Override
+        public void onSatisfied() {
+            end(true, false, null);
+        }
+
+        @Override
+        public void onTimeout() {
+            end(false, false, null);
+        }
+
+        @Override
+        public void onCancelled() {
+            end(false, true, null);
+        }
+
+        @Override
+        public void onFailed(Throwable thrown) {
+            end(false, false, thrown.getClass().getName());
+        }
+
+        private static boolean tracksPolls() {
+            return POLL_EVENTS.isEnabled() || EVALUATION_EVENTS.isEnabled();
+        }
+
+        private void begin(PollingSchedule schedule, String condition) {
+            PollEvent poll = new PollEvent();
+            poll.condition = condition;
+            poll.interval = schedule.interval().toNanos();
+            poll.scheduleDuration = nanos(schedule);
+            threadPolls.get().push(poll);
+            poll.begin();
+        }
+
+        private void end(boolean satisfied, boolean cancelled, String failure) {
+            PollEvent poll = threadPolls.get().pop();
+            if (poll == null) return;
+            poll.satisfied = satisfied;
+            poll.cancelled = cancelled;
+            poll.failure = failure;
+            poll.commit();
+        }
+
+        private static long nanos(PollingSchedule schedule) {
+            try {
+                return schedule.duration().toNanos();
+            } catch (ArithmeticException tooLong) {
+                return Long.MAX_VALUE;
+            }
+        }
+    }
+
+    /**
+     * The polls in progress on one thread: a stack of the tracked polls'
+     * events, and counts of the untracked polls nested in each.
+     */
+    private static class Polls {
+        private PollEvent innermost;
+        private int untracked;
+
+        void push(PollEvent poll) {
+            poll.enclosing = innermost;
+            innermost = poll;
+        }
+
+        void skip() {
+            if (innermost == null) untracked++;
+            else innermost.untracked++;
+        }
+
+        /**
+         * Returns the event of the innermost poll, if that poll is tracked.
+         */
+        PollEvent tracked() {
+            return innermost == null || innermost.untracked > 0 ? null : innermost;
+        }
+
+        /**
+         * Ends the innermost poll, and returns its event if it is tracked.
+         */
+        PollEvent pop() {
+            if (innermost == null) {
+                if (untracked > 0) untracked--;
+                return null;
+            }
+            if (innermost.untracked > 0) {
+                innermost.untracked--;
+                return null;
+            }
+            PollEvent poll = innermost;
+            innermost = poll.enclosing;
+            poll.enclosing = null;
+            return poll;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.dhemery.expressions.polling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Flight Recorder event that spans one poll, from its start until it is
+ * satisfied, times out, is cancelled, or fails.
+ *
+ * @see FlightRecording
+ */
+@Name("com.dhemery.expressions.Poll")
+@Label("Poll")
+@Category({"Expressions", "Polling"})
+@Description("A poll of a condition, from its start until it is satisfied, times out, is cancelled, or fails")
+@StackTrace(true)
+public class PollEvent extends Event {
+    @Label("Condition")
+    @Description("The name of the polled condition, or the class of an unnamed condition")
+    public String condition;
+
+    @Label("Interval")
+    @Timespan(Timespan.NANOSECONDS)
+    public long interval;
+
+    @Label("Schedule Duration")
+    @Description("How long the poll may take before it times out")
+    @Timespan(Timespan.NANOSECONDS)
+    public long scheduleDuration;
+
+    @Label("Satisfied")
+    public boolean satisfied;
+
+    @Label("Cancelled")
+    @Description("Whether the poll ended early because its thread was interrupted or its handle was cancelled")
+    public boolean cancelled;
+
+    @Label("Failure")
+    @Description("The class of the exception that ended the poll, if it ended by throwing")
+    public String failure;
+
+    @Label("Evaluations")
+    public int evaluations;
+
+    /**
+     * The poll that was in progress on this thread when this poll started,
+     * if any.
+     */
+    transient PollEvent enclosing;
+
+    /**
+     * The number of untracked polls in progress within this poll.
+     */
+    transient int untracked;
+}
@@ -0,0 +1,111 @@
+package com.dhemery.expressions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH reports written in CSV format by the {@code jmhReport}
+ * task, and prints each score from the baseline report beside the
+ * corresponding score from the current report.
+ * <p>
+ * For throughput scores, a ratio above 1 is an improvement. For allocation
+ * scores ({@code gc.alloc.rate.norm}), a ratio above 1 means that the current
+ * build allocates more.
+ */
+public class BenchmarkComparison {
+    private static final String ROW_FORMAT = "%-90s %14s %14s %8s%n";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.csv> <current.csv>");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(Paths.get(args[0]));
+        Map<String, Score> current = read(Paths.get(args[1]));
+        System.out.printf(ROW_FORMAT, "benchmark", "baseline", "current", "ratio");
+        current.forEach((key, score) -> {
+            Score before = baseline.get(key);
+            String ratio = before == null ? "new" : ratio(before.value, score.value);
+            System.out.printf(ROW_FORMAT, key, before == null ? "-" : before.formatted(), score.formatted(), ratio);
+        });
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf(ROW_FORMAT, key, baseline.get(key).formatted(), "-", "removed"));
+    }
+
+    private static String ratio(double before, double after) {
+        if (before == 0) return after == 0 ? "1.00" : "inf";
+        return String.format("%.2f", after / before);
+    }
+
+    private static Map<String, Score> read(Path report) throws IOException {
+        List<String> lines = Files.readAllLines(report, StandardCharsets.UTF_8);
+        Map<String, Score> scores = new LinkedHashMap<>();
+        if (lines.isEmpty()) return scores;
+        List<String> header = fields(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> fields = fields(line);
+            if (fields.size() != header.size()) continue;
+            StringBuilder key = new StringBuilder(fields.get(benchmark));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ")) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(fields.get(i));
+                }
+            }
+            try {
+                scores.put(key.toString(), new Score(Double.parseDouble(fields.get(score)), fields.get(unit)));
+            } catch (NumberFormatException notAScore) {
+                // JMH writes NaN for scores it could not measure
+            }
+        }
+        return scores;
+    }
+
+    private static List<String> fields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class Score {
+        final double value;
+        final String unit;
+
+        Score(double value, String unit) {
+            this.value = value;
+            this.unit = unit;
+        }
+
+        String formatted() {
+            return String.format("%.3f %s", value, unit);
+        }
+    }
+}
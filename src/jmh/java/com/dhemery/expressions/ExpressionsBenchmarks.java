@@ -0,0 +1,59 @@
+package com.dhemery.expressions;
+
+import com.dhemery.expressions.diagnosing.Named;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Measures the immediate {@link Expressions} methods on their satisfied
+ * paths, which must not allocate: {@code assertThat} and
+ * {@code satisfiedThat} for a boolean supplier, a subject and predicate, and
+ * a subject, function, and predicate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionsBenchmarks {
+    private final String subject = "search field";
+    private final BooleanSupplier supplier = Named.booleanSupplier("search field is displayed", () -> true);
+    private final Predicate<String> isNotEmpty = Named.predicate("is not empty", s -> !s.isEmpty());
+    private final Function<String, Integer> length = Named.function("length", String::length);
+    private final Predicate<Integer> isPositive = Named.predicate("is positive", n -> n > 0);
+
+    @Benchmark
+    public void assertThatSupplier() {
+        Expressions.assertThat(supplier);
+    }
+
+    @Benchmark
+    public void assertThatSubjectPredicate() {
+        Expressions.assertThat(subject, isNotEmpty);
+    }
+
+    @Benchmark
+    public void assertThatSubjectFunctionPredicate() {
+        Expressions.assertThat(subject, length, isPositive);
+    }
+
+    @Benchmark
+    public boolean satisfiedThatSupplier() {
+        return Expressions.satisfiedThat(supplier);
+    }
+
+    @Benchmark
+    public boolean satisfiedThatSubjectPredicate() {
+        return Expressions.satisfiedThat(subject, isNotEmpty);
+    }
+
+    @Benchmark
+    public boolean satisfiedThatSubjectFunctionPredicate() {
+        return Expressions.satisfiedThat(subject, length, isPositive);
+    }
+}
@@ -0,0 +1,70 @@
+package com.dhemery.expressions.diagnosing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Measures composing {@link NamedPredicate}s and {@link NamedFunction}s into
+ * chains, evaluating the chains, and rendering their names. Composing must
+ * not render names, and evaluating a flattened chain must not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositionBenchmarks {
+    private final Predicate<String> notEmpty = Named.predicate("not empty", s -> !s.isEmpty());
+    private final Predicate<String> startsWithS = Named.predicate("starts with s", s -> s.startsWith("s"));
+    private final Predicate<String> endsWithD = Named.predicate("ends with d", s -> s.endsWith("d"));
+    private final Predicate<String> shorterThan20 = Named.predicate("shorter than 20", s -> s.length() < 20);
+    private final Function<String, String> trimmed = Named.function("trimmed", String::trim);
+    private final Function<String, Integer> length = Named.function("length", String::length);
+    private final Function<Integer, Integer> doubled = Named.function("doubled", n -> n * 2);
+    private final String subject = "search field";
+
+    private Predicate<String> conjunction;
+    private Predicate<String> disjunction;
+    private Function<String, Integer> chain;
+
+    @Setup
+    public void compose() {
+        conjunction = notEmpty.and(startsWithS).and(endsWithD).and(shorterThan20);
+        disjunction = notEmpty.negate().or(startsWithS.negate()).or(endsWithD).or(shorterThan20);
+        chain = trimmed.andThen(length).andThen(doubled);
+    }
+
+    @Benchmark
+    public Predicate<String> composeConjunction() {
+        return notEmpty.and(startsWithS).and(endsWithD).and(shorterThan20);
+    }
+
+    @Benchmark
+    public Function<String, Integer> composeFunctionChain() {
+        return trimmed.andThen(length).andThen(doubled);
+    }
+
+    @Benchmark
+    public boolean testConjunction() {
+        return conjunction.test(subject);
+    }
+
+    @Benchmark
+    public boolean testDisjunction() {
+        return disjunction.test(subject);
+    }
+
+    @Benchmark
+    public Integer applyFunctionChain() {
+        return chain.apply(subject);
+    }
+
+    @Benchmark
+    public String composeAndRenderConjunction() {
+        return notEmpty.and(startsWithS).and(endsWithD).and(shorterThan20).toString();
+    }
+}
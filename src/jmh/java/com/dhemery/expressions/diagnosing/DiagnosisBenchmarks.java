@@ -0,0 +1,93 @@
+package com.dhemery.expressions.diagnosing;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.polling.PendingConditions;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Compares rendering diagnoses by formatting and joining strings with
+ * rendering {@link DiagnosticReport}s, for an immediate subject diagnosis,
+ * a polled supplier diagnosis, and a polled derived-value diagnosis. Also
+ * measures every other {@link Diagnosis} overload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiagnosisBenchmarks {
+    private final PollingSchedule schedule = new PollingSchedule(Duration.ofMillis(250), Duration.ofSeconds(30));
+    private final BooleanSupplier supplier = Named.booleanSupplier("search field is displayed", () -> false);
+    private final Function<String, Integer> function = Named.function("length", String::length);
+    private final Predicate<Integer> predicate = Named.predicate("is zero", v -> v == 0);
+    private final Predicate<String> isEmpty = Named.predicate("is empty", String::isEmpty);
+    private final String subject = "search field";
+    private final StringBuilder reusedBuilder = new StringBuilder(256);
+    private final PendingConditions<String> pending = PendingConditions.of(PendingConditions.Quantifier.ALL,
+            Arrays.asList("search field", "results list", "status bar"), isEmpty, Optional.empty());
+
+    @Benchmark
+    public String formattingSubjectPredicate() {
+        return FormattingDiagnosis.of(subject, isEmpty);
+    }
+
+    @Benchmark
+    public String reportSubjectPredicate() {
+        return Diagnosis.of(subject, isEmpty);
+    }
+
+    @Benchmark
+    public String formattingPolledSupplier() {
+        return FormattingDiagnosis.of(schedule, supplier);
+    }
+
+    @Benchmark
+    public String reportPolledSupplier() {
+        return Diagnosis.of(schedule, supplier);
+    }
+
+    @Benchmark
+    public String formattingPolledSubjectFunctionPredicate() {
+        return FormattingDiagnosis.of(schedule, subject, function, predicate, 12);
+    }
+
+    @Benchmark
+    public String reportPolledSubjectFunctionPredicate() {
+        return Diagnosis.of(schedule, subject, function, predicate, 12);
+    }
+
+    @Benchmark
+    public StringBuilder reportPolledSubjectFunctionPredicateIntoReusedBuilder() {
+        reusedBuilder.setLength(0);
+        return DiagnosticReport.of(schedule, subject, function, predicate, 12).renderTo(reusedBuilder);
+    }
+
+    @Benchmark
+    public String reportSupplier() {
+        return Diagnosis.of(supplier);
+    }
+
+    @Benchmark
+    public String reportSubjectFunctionPredicate() {
+        return Diagnosis.of(subject, function, predicate, 12);
+    }
+
+    @Benchmark
+    public String reportPolledSubjectPredicate() {
+        return Diagnosis.of(schedule, subject, isEmpty);
+    }
+
+    @Benchmark
+    public String reportPolledPendingConditions() {
+        return Diagnosis.ofPending(schedule, pending, isEmpty, pending.pending());
+    }
+}
@@ -0,0 +1,73 @@
+package com.dhemery.expressions.diagnosing;
+
+import com.dhemery.expressions.PollingSchedule;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * The format-and-join implementation that {@link Diagnosis} used before it
+ * rendered {@link DiagnosticReport}s, kept as a baseline for benchmarks.
+ */
+class FormattingDiagnosis {
+    private static final String NO_SUBJECT = "";
+
+    static <T> String of(T subject, Predicate<? super T> predicate) {
+        return diagnosis(
+                NO_SUBJECT,
+                expected(predicate),
+                but(was(subject))
+        );
+    }
+
+    static String of(PollingSchedule schedule, BooleanSupplier supplier) {
+        return diagnosis(
+                NO_SUBJECT,
+                expected(supplier),
+                but(timedOutPolling(schedule))
+        );
+    }
+
+    static <T, V> String of(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate, V finalFunctionValue) {
+        return diagnosis(
+                subject.toString(),
+                expected(function, predicate),
+                but(timedOutPolling(schedule)),
+                onFinalEvaluation(function, was(finalFunctionValue))
+        );
+    }
+
+    private static String diagnosis(String... lines) {
+        return Arrays.stream(lines).collect(joining(System.lineSeparator()));
+    }
+
+    private static String expected(Object... details) {
+        return line("Expected", Arrays.stream(details).map(Object::toString));
+    }
+
+    private static String but(String... details) {
+        return line("but", Arrays.stream(details));
+    }
+
+    private static <T, R> String onFinalEvaluation(Function<T, R> function, String details) {
+        return line("final", Stream.of(function.toString(), details));
+    }
+
+    private static String line(String label, Stream<String> details) {
+        return details.collect(joining(" ", format("%8s: ", label), ""));
+    }
+
+    private static String timedOutPolling(PollingSchedule schedule) {
+        return String.join(" ", "timed out, polling", String.valueOf(schedule));
+    }
+
+    private static String was(Object item) {
+        return format("was %s", item);
+    }
+}
@@ -0,0 +1,68 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.AsyncPoller;
+import com.dhemery.expressions.PollingSchedule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Measures how long asynchronous pollers take to start and complete a batch
+ * of simultaneous waits. Each wait polls every 10 milliseconds and is
+ * satisfied on its third evaluation, so every wait in the batch is active at
+ * once. Throughput is the number of waits divided by the reported time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentWaitBenchmarks {
+    private static final PollingSchedule SCHEDULE = new PollingSchedule(Duration.ofMillis(10), Duration.ofMinutes(1));
+
+    @Param({"10000", "100000", "1000000"})
+    public int waits;
+
+    @Param({"wheel", "scheduled"})
+    public String poller;
+
+    private AsyncPoller asyncPoller;
+    private TimingWheelPoller timingWheelPoller;
+
+    @Setup
+    public void createPoller() {
+        if (poller.equals("wheel")) {
+            timingWheelPoller = new TimingWheelPoller();
+            asyncPoller = timingWheelPoller;
+        } else {
+            asyncPoller = new ScheduledExecutorPoller();
+        }
+    }
+
+    @TearDown
+    public void stopPoller() {
+        if (timingWheelPoller != null) timingWheelPoller.close();
+    }
+
+    @Benchmark
+    public void startAndCompleteWaits() {
+        CompletableFuture<?>[] polls = new CompletableFuture<?>[waits];
+        for (int i = 0; i < waits; i++) {
+            polls[i] = asyncPoller.pollAsync(SCHEDULE, new SatisfiedOnThirdEvaluation());
+        }
+        CompletableFuture.allOf(polls).join();
+    }
+
+    private static class SatisfiedOnThirdEvaluation implements BooleanSupplier {
+        private int evaluations;
+
+        @Override
+        public boolean getAsBoolean() {
+            return ++evaluations == 3;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of expiration checks by poll timers that tell time
+ * with a wall {@link java.time.Clock Clock} and with a monotonic
+ * {@link NanoClock}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PollTimerBenchmarks {
+    private static final PollingSchedule SCHEDULE = new PollingSchedule(Duration.ofSeconds(1), Duration.ofDays(1));
+
+    private final PollTimer clockPollTimer = new ClockPollTimer();
+    private final PollTimer nanoClockPollTimer = new NanoClockPollTimer();
+
+    @Setup
+    public void startTimers() {
+        clockPollTimer.start(SCHEDULE);
+        nanoClockPollTimer.start(SCHEDULE);
+    }
+
+    @Benchmark
+    public boolean clockPollTimerIsExpired() {
+        return clockPollTimer.isExpired();
+    }
+
+    @Benchmark
+    public boolean nanoClockPollTimerIsExpired() {
+        return nanoClockPollTimer.isExpired();
+    }
+}
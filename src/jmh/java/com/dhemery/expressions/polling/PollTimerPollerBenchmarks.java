@@ -0,0 +1,138 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Measures the cost of the {@link PollTimerPoller} poll loops, independent of
+ * the cost of sleeping. The {@code timer} parameter selects whether the loop
+ * is paced by a timer that neither tells time nor sleeps ({@code counting}),
+ * or by a {@link NanoClockPollTimer} whose {@link Sleeper} returns at once,
+ * after advancing the timer's clock by the requested interval
+ * ({@code nanoClock}).
+ * <p>
+ * Run with the GC profiler ({@code -prof gc}). The normalized allocation rate
+ * ({@code gc.alloc.rate.norm}) must not grow with the number of evaluations:
+ * the boolean polls allocate nothing, and the function poll allocates only its
+ * final result. {@code PollTimerPollerAllocationTests} asserts the same
+ * property on every test run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PollTimerPollerBenchmarks {
+    private static final PollingSchedule SCHEDULE = new PollingSchedule(Duration.ofSeconds(1), Duration.ofMinutes(1));
+
+    @Param({"1", "100"})
+    public int evaluations;
+
+    @Param({"counting", "nanoClock"})
+    public String timer;
+
+    private final String subject = "subject";
+    private final BooleanSupplier neverSatisfied = () -> false;
+    private final Predicate<String> neverAccepts = s -> s.isEmpty();
+    private final Function<String, String> identity = s -> s;
+    private final Predicate<String> neverAcceptsValue = s -> s.isEmpty();
+
+    private PollingSchedule schedule = SCHEDULE;
+    private PollTimerPoller poller;
+
+    @Setup
+    public void createPoller() {
+        if ("nanoClock".equals(timer)) {
+            // The timer adds a final evaluation at expiry, so each poll evaluates once more
+            // than with the counting timer.
+            schedule = new PollingSchedule(Duration.ofNanos(1), Duration.ofNanos(evaluations));
+            SteppingClock clock = new SteppingClock();
+            poller = new PollTimerPoller() {
+                @Override
+                public PollTimer pollTimer() {
+                    return new NanoClockPollTimer(clock, clock);
+                }
+            };
+            return;
+        }
+        EvaluationCountingTimer countingTimer = new EvaluationCountingTimer(evaluations);
+        poller = new PollTimerPoller() {
+            @Override
+            public PollTimer pollTimer() {
+                return countingTimer;
+            }
+        };
+    }
+
+    @Benchmark
+    public boolean booleanSupplier() {
+        return poller.poll(schedule, neverSatisfied);
+    }
+
+    @Benchmark
+    public boolean subjectPredicate() {
+        return poller.poll(schedule, subject, neverAccepts);
+    }
+
+    @Benchmark
+    public PollEvaluationResult<String> subjectFunctionPredicate() {
+        return poller.poll(schedule, subject, identity, neverAcceptsValue);
+    }
+
+    /**
+     * A reusable timer that never sleeps, and that expires after a fixed number
+     * of evaluations.
+     */
+    private static class EvaluationCountingTimer implements PollTimer {
+        private final int evaluations;
+        private int remaining;
+
+        EvaluationCountingTimer(int evaluations) {
+            this.evaluations = evaluations;
+        }
+
+        @Override
+        public void start(PollingSchedule schedule) {
+            remaining = evaluations;
+        }
+
+        @Override
+        public void tick() {
+        }
+
+        @Override
+        public boolean isExpired() {
+            return remaining-- <= 0;
+        }
+    }
+
+    /**
+     * A clock that advances only when asked to sleep, and a sleeper that
+     * returns immediately after advancing the clock.
+     */
+    private static class SteppingClock implements NanoClock, Sleeper {
+        private long now;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        @Override
+        public void sleep(Duration sleepDuration) {
+            sleepNanos(sleepDuration.toNanos());
+        }
+
+        @Override
+        public void sleepNanos(long sleepNanos) {
+            now += sleepNanos;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Measures how accurately each poller tells time, rather than how much CPU it
+ * uses:
+ * <ul>
+ * <li><em>Detection latency</em>: how long after a condition becomes
+ * satisfied the poll notices.</li>
+ * <li><em>Overshoot</em>: how long after the schedule's duration an
+ * unsatisfied poll returns.</li>
+ * </ul>
+ * Each condition becomes satisfied at a randomly chosen time during the
+ * first half of the schedule's duration. The harness runs a matrix of
+ * intervals and durations through each poller, and prints the median, 90th
+ * percentile, and maximum of each measure.
+ * <p>
+ * Real-time pollers run on the system clock, so their results include
+ * operating system scheduling delays. Virtual-time pollers run on a clock
+ * that advances only when the poller sleeps or evaluates, each evaluation
+ * costing a fixed {@link #EVALUATION_COST}. Their results isolate the error
+ * that the poll timer's arithmetic contributes, and are the same on every
+ * run.
+ * <p>
+ * Usage: {@code PollingAccuracy [trials] [real|virtual|all]}. The default is
+ * 5 trials of each cell, for all pollers.
+ */
+public class PollingAccuracy {
+    private static final Duration[] INTERVALS = {Duration.ofMillis(1), Duration.ofMillis(10), Duration.ofMillis(50)};
+    private static final Duration[] DURATIONS = {Duration.ofMillis(100), Duration.ofMillis(500)};
+    private static final long EVALUATION_COST = Duration.ofMillis(2).toNanos() / 10;
+    private static final String ROW_FORMAT = "%-34s %9s %9s | %9s %9s %9s | %9s %9s %9s%n";
+
+    public static void main(String[] args) {
+        int trials = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String which = args.length > 1 ? args[1] : "all";
+        System.out.printf("detection latency and overshoot, in milliseconds, over %d trials per cell%n", trials);
+        System.out.printf(ROW_FORMAT, "poller", "interval", "duration", "detect 50", "90", "max", "over 50", "90", "max");
+        if (!"real".equals(which)) {
+            for (TickMode mode : TickMode.values()) {
+                VirtualClock clock = new VirtualClock();
+                run("virtual time, " + mode, pollerWithTimer(() -> new NanoClockPollTimer(clock, clock, mode)), clock, trials);
+            }
+        }
+        if (!"virtual".equals(which)) {
+            NanoClock system = NanoClock.system();
+            run("thread, nano clock, fixed delay", new PollTimerPoller() {
+            }, system, trials);
+            run("thread, nano clock, fixed rate", pollerWithTimer(() -> new NanoClockPollTimer(system, new ThreadSleeper(), TickMode.FIXED_RATE)), system, trials);
+            run("thread, wall clock", pollerWithTimer(ClockPollTimer::new), system, trials);
+            run("parking (virtual thread poller)", new VirtualThreadPoller(), system, trials);
+            run("scheduled executor", new ScheduledExecutorPoller(), system, trials);
+            try (TimingWheelPoller wheel = new TimingWheelPoller()) {
+                run("timing wheel", wheel, system, trials);
+            }
+        }
+    }
+
+    private static Poller pollerWithTimer(Supplier<PollTimer> timers) {
+        return new PollTimerPoller() {
+            @Override
+            public PollTimer pollTimer() {
+                return timers.get();
+            }
+        };
+    }
+
+    private static void run(String name, Poller poller, NanoClock clock, int trials) {
+        Random random = new Random(name.hashCode());
+        for (Duration interval : INTERVALS) {
+            for (Duration duration : DURATIONS) {
+                PollingSchedule schedule = new PollingSchedule(interval, duration);
+                long[] latencies = new long[trials];
+                long[] overshoots = new long[trials];
+                for (int trial = 0; trial < trials; trial++) {
+                    long flipOffset = (long) (random.nextDouble() * duration.toNanos() / 2);
+                    latencies[trial] = detectionLatency(poller, clock, schedule, flipOffset);
+                    overshoots[trial] = overshoot(poller, clock, schedule);
+                }
+                System.out.printf(ROW_FORMAT, name, millis(interval.toNanos()), millis(duration.toNanos()),
+                        percentile(latencies, 0.5), percentile(latencies, 0.9), percentile(latencies, 1.0),
+                        percentile(overshoots, 0.5), percentile(overshoots, 0.9), percentile(overshoots, 1.0));
+            }
+        }
+    }
+
+    private static long detectionLatency(Poller poller, NanoClock clock, PollingSchedule schedule, long flipOffset) {
+        long flipAt = clock.nanoTime() + flipOffset;
+        BooleanSupplier flipped = evaluated(clock, () -> clock.nanoTime() - flipAt >= 0);
+        if (!poller.poll(schedule, flipped)) return Long.MAX_VALUE;
+        return clock.nanoTime() - flipAt;
+    }
+
+    private static long overshoot(Poller poller, NanoClock clock, PollingSchedule schedule) {
+        long start = clock.nanoTime();
+        poller.poll(schedule, evaluated(clock, () -> false));
+        return clock.nanoTime() - start - schedule.duration().toNanos();
+    }
+
+    private static BooleanSupplier evaluated(NanoClock clock, BooleanSupplier condition) {
+        if (!(clock instanceof VirtualClock)) return condition;
+        VirtualClock virtual = (VirtualClock) clock;
+        return () -> {
+            virtual.advance(EVALUATION_COST);
+            return condition.getAsBoolean();
+        };
+    }
+
+    private static String percentile(long[] samples, double quantile) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        long sample = sorted[Math.max(0, index)];
+        return sample == Long.MAX_VALUE ? "missed" : millis(sample);
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1e6);
+    }
+
+    /**
+     * A clock that advances only when a poller sleeps or a condition is
+     * evaluated. Sleeping returns at once.
+     */
+    private static class VirtualClock implements NanoClock, Sleeper {
+        private long now;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        void advance(long nanos) {
+            now += nanos;
+        }
+
+        @Override
+        public void sleep(Duration sleepDuration) {
+            sleepNanos(sleepDuration.toNanos());
+        }
+
+        @Override
+        public void sleepNanos(long sleepNanos) {
+            now += Math.max(0, sleepNanos);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.AsyncPoller;
+import com.dhemery.expressions.PolledExpressions;
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs waves of simultaneous {@code waitUntil} calls through each polling
+ * implementation, doubling the number of waiters in each wave, to find the
+ * number of waiters at which each implementation stops scaling.
+ * <p>
+ * Each waiter waits for a condition that becomes satisfied at a randomly
+ * chosen time within the first second of the wave, polling every 10
+ * milliseconds. For each wave the harness reports:
+ * <ul>
+ * <li>the peak number of live threads</li>
+ * <li>the peak resident set size, read from {@code /proc/self/status} where
+ * available, otherwise the peak memory used by the JVM</li>
+ * <li>the CPU time the process used</li>
+ * <li>the number of garbage collections and the time they took</li>
+ * <li>the median, 99th, and 99.9th percentile detection latency: how long
+ * after each condition became satisfied its wait returned</li>
+ * </ul>
+ * The implementations are:
+ * <ul>
+ * <li>{@code threads}: each waiter calls the blocking {@link
+ * PolledExpressions#waitUntil(PollingSchedule, BooleanSupplier) waitUntil}
+ * on its own platform thread, polling with a {@link PollTimerPoller}</li>
+ * <li>{@code virtual}: each waiter calls {@link
+ * PolledExpressions#waitUntilAsync(PollingSchedule, BooleanSupplier)
+ * waitUntilAsync} with a {@link VirtualThreadPoller}</li>
+ * <li>{@code scheduled}: {@code waitUntilAsync} with a {@link
+ * ScheduledExecutorPoller}</li>
+ * <li>{@code wheel}: {@code waitUntilAsync} with a {@link
+ * TimingWheelPoller}</li>
+ * </ul>
+ * After the waves, the harness reports each implementation's knee: the
+ * smallest number of waiters whose 99th percentile latency exceeded
+ * {@link #KNEE_FACTOR} times that of the smallest wave.
+ * <p>
+ * Usage: {@code WaiterSoak [max-waiters] [implementation,...]}. The default
+ * is at most 16000 waiters, for all implementations.
+ */
+public class WaiterSoak {
+    private static final PollingSchedule SCHEDULE = new PollingSchedule(Duration.ofMillis(10), Duration.ofMinutes(1));
+    private static final long FLIP_WINDOW_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final int SMALLEST_WAVE = 250;
+    private static final int KNEE_FACTOR = 2;
+    private static final long SAMPLE_PERIOD_MILLIS = 20;
+    private static final String ROW_FORMAT = "%-10s %8s | %8s %9s %9s %6s %8s | %9s %9s %9s%n";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final OperatingSystemMXBean OS = ManagementFactory.getOperatingSystemMXBean();
+    private static final Path PROC_STATUS = Paths.get("/proc/self/status");
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxWaiters = args.length > 0 ? Integer.parseInt(args[0]) : 16_000;
+        List<String> implementations = Arrays.asList((args.length > 1 ? args[1] : "threads,virtual,scheduled,wheel").split(","));
+        System.out.printf("%d ms interval, conditions satisfied within %d ms of the start of each wave%n",
+                SCHEDULE.interval().toMillis(), FLIP_WINDOW_NANOS / 1_000_000);
+        System.out.printf(ROW_FORMAT, "impl", "waiters", "threads", "rss MB", "cpu ms", "gcs", "gc ms", "p50 ms", "p99 ms", "p999 ms");
+        List<String> knees = new ArrayList<>();
+        for (String implementation : implementations) {
+            long baseline = 0;
+            String knee = "none up to " + maxWaiters;
+            for (int waiters = SMALLEST_WAVE; waiters <= maxWaiters; waiters *= 2) {
+                long p99 = run(implementation, waiters);
+                if (waiters == SMALLEST_WAVE) baseline = p99;
+                else if (knee.startsWith("none") && p99 > KNEE_FACTOR * baseline) knee = waiters + " waiters";
+            }
+            knees.add(String.format("%-10s knee: %s", implementation, knee));
+        }
+        knees.forEach(System.out::println);
+    }
+
+    private static long run(String implementation, int waiters) throws InterruptedException {
+        System.gc();
+        try (Wave wave = new Wave(implementation)) {
+            Random random = new Random(waiters);
+            long[] latencies = new long[waiters];
+            CompletableFuture<?>[] waits = new CompletableFuture<?>[waiters];
+            Sampler sampler = new Sampler();
+            long start = System.nanoTime();
+            for (int i = 0; i < waiters; i++) {
+                int waiter = i;
+                long flipAt = start + (long) (random.nextDouble() * FLIP_WINDOW_NANOS);
+                BooleanSupplier flipped = () -> System.nanoTime() - flipAt >= 0;
+                waits[i] = wave.waitUntil(flipped).thenRun(() -> latencies[waiter] = System.nanoTime() - flipAt);
+            }
+            CompletableFuture.allOf(waits).join();
+            Sampler.Totals totals = sampler.stop();
+            Arrays.sort(latencies);
+            System.out.printf(ROW_FORMAT, implementation, waiters,
+                    totals.peakThreads, totals.peakRssBytes / (1024 * 1024), totals.cpuNanos / 1_000_000,
+                    totals.gcCount, totals.gcMillis,
+                    millis(percentile(latencies, 0.5)), millis(percentile(latencies, 0.99)), millis(percentile(latencies, 0.999)));
+            return percentile(latencies, 0.99);
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1e6);
+    }
+
+    /**
+     * Starts waits through one implementation, and releases the
+     * implementation's resources when the wave is done.
+     */
+    private static class Wave implements AutoCloseable {
+        private final PolledExpressions expressions;
+        private final boolean blocking;
+        private final TimingWheelPoller wheel;
+
+        Wave(String implementation) {
+            switch (implementation) {
+                case "threads":
+                    wheel = null;
+                    blocking = true;
+                    expressions = expressions(new PollTimerPoller() {
+                    }, null);
+                    break;
+                case "virtual":
+                    wheel = null;
+                    blocking = false;
+                    if (!VirtualThreadPoller.virtualThreadsAreAvailable())
+                        System.err.println("warning: this runtime lacks virtual threads; the virtual poller will use a platform thread per wait");
+                    VirtualThreadPoller virtual = new VirtualThreadPoller();
+                    expressions = expressions(virtual, virtual);
+                    break;
+                case "scheduled":
+                    wheel = null;
+                    blocking = false;
+                    ScheduledExecutorPoller scheduled = new ScheduledExecutorPoller();
+                    expressions = expressions(scheduled, scheduled);
+                    break;
+                case "wheel":
+                    wheel = new TimingWheelPoller();
+                    blocking = false;
+                    expressions = expressions(wheel, wheel);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown implementation " + implementation);
+            }
+        }
+
+        CompletableFuture<Void> waitUntil(BooleanSupplier condition) {
+            if (!blocking) return expressions.waitUntilAsync(SCHEDULE, condition);
+            CompletableFuture<Void> wait = new CompletableFuture<>();
+            Thread waiter = new Thread(() -> {
+                try {
+                    expressions.waitUntil(SCHEDULE, condition);
+                    wait.complete(null);
+                } catch (Throwable failure) {
+                    wait.completeExceptionally(failure);
+                }
+            });
+            waiter.setDaemon(true);
+            waiter.start();
+            return wait;
+        }
+
+        @Override
+        public void close() {
+            if (wheel != null) wheel.close();
+        }
+
+        private static PolledExpressions expressions(Poller poller, AsyncPoller asyncPoller) {
+            return new PolledExpressions() {
+                @Override
+                public Poller poller() {
+                    return poller;
+                }
+
+                @Override
+                public AsyncPoller asyncPoller() {
+                    return asyncPoller;
+                }
+
+                @Override
+                public PollingSchedule eventually() {
+                    return SCHEDULE;
+                }
+            };
+        }
+    }
+
+    /**
+     * Samples the process's resource use on a daemon thread while a wave
+     * runs.
+     */
+    private static class Sampler {
+        private final long startCpuNanos = cpuNanos();
+        private final long startGcCount = gcCount();
+        private final long startGcMillis = gcMillis();
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile long peakRssBytes;
+
+        Sampler() {
+            THREADS.resetPeakThreadCount();
+            peakRssBytes = rssBytes();
+            thread = new Thread(this::sample, "soak-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void sample() {
+            while (running) {
+                peakRssBytes = Math.max(peakRssBytes, rssBytes());
+                try {
+                    Thread.sleep(SAMPLE_PERIOD_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        Totals stop() throws InterruptedException {
+            running = false;
+            thread.join();
+            Totals totals = new Totals();
+            totals.peakThreads = THREADS.getPeakThreadCount();
+            totals.peakRssBytes = Math.max(peakRssBytes, rssBytes());
+            totals.cpuNanos = cpuNanos() - startCpuNanos;
+            totals.gcCount = gcCount() - startGcCount;
+            totals.gcMillis = gcMillis() - startGcMillis;
+            return totals;
+        }
+
+        private static long rssBytes() {
+            try {
+                for (String line : Files.readAllLines(PROC_STATUS)) {
+                    if (line.startsWith("VmRSS:")) {
+                        return 1024 * Long.parseLong(line.replaceAll("[^0-9]", ""));
+                    }
+                }
+            } catch (IOException | RuntimeException unavailable) {
+                // Fall through to the JVM's own accounting
+            }
+            return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed()
+                    + ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage().getUsed();
+        }
+
+        private static long cpuNanos() {
+            if (OS instanceof com.sun.management.OperatingSystemMXBean) {
+                return ((com.sun.management.OperatingSystemMXBean) OS).getProcessCpuTime();
+            }
+            return 0;
+        }
+
+        private static long gcCount() {
+            long count = 0;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, collector.getCollectionCount());
+            }
+            return count;
+        }
+
+        private static long gcMillis() {
+            long millis = 0;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                millis += Math.max(0, collector.getCollectionTime());
+            }
+            return millis;
+        }
+
+        private static class Totals {
+            int peakThreads;
+            long peakRssBytes;
+            long cpuNanos;
+            long gcCount;
+            long gcMillis;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.dhemery.expressions;
+
+import com.dhemery.expressions.polling.PollEvaluationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Repeatedly evaluates a condition, without blocking the calling thread,
+ * until the condition is satisfied or the polling duration expires.
+ * <p>
+ * Cancelling a future returned by an async poller stops the poll.
+ *
+ * @see Poller
+ */
+public interface AsyncPoller {
+    /**
+     * Polls the supplier asynchronously.
+     *
+     * @param schedule
+     *         the polling interval and duration
+     * @param supplier
+     *         the supplier to evaluate
+     *
+     * @return a future that completes with {@code true} if the supplier
+     * returns {@code true} before the schedule expires, otherwise {@code false}
+     */
+    CompletableFuture<Boolean> pollAsync(PollingSchedule schedule, BooleanSupplier supplier);
+
+    /**
+     * Polls the predicate's acceptance of the subject asynchronously.
+     *
+     * @param schedule
+     *         the polling interval and duration
+     * @param subject
+     *         the subject to evaluate
+     * @param predicate
+     *         evaluates the subject
+     * @param <T>
+     *         the type of the subject
+     *
+     * @return a future that completes with {@code true} if the predicate
+     * accepts the subject before the schedule expires, otherwise {@code false}
+     */
+    <T> CompletableFuture<Boolean> pollAsync(PollingSchedule schedule, T subject, Predicate<? super T> predicate);
+
+    /**
+     * Polls the predicate's acceptance of the value that the function derives
+     * from the subject asynchronously.
+     *
+     * @param schedule
+     *         the polling interval and duration
+     * @param subject
+     *         the subject to evaluate
+     * @param function
+     *         derives the value of interest from the subject
+     * @param predicate
+     *         evaluates the derived value
+     * @param <T>
+     *         the type of the subject
+     * @param <V>
+     *         the type of the derived value
+     *
+     * @return a future that completes with the result of the final evaluation
+     * performed by the poll
+     */
+    <T, V> CompletableFuture<PollEvaluationResult<V>> pollAsync(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate);
+}
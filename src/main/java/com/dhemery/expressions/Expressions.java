@@ -1,6 +1,7 @@
 package com.dhemery.expressions;
 
 import com.dhemery.expressions.diagnosing.Diagnosis;
+import com.dhemery.expressions.diagnosing.Failures;
 import com.dhemery.expressions.diagnosing.Named;
 
 import java.util.function.BooleanSupplier;
@@ -26,7 +27,7 @@ public interface Expressions {
      */
     static void assertThat(BooleanSupplier condition) {
         if (!condition.getAsBoolean())
-            throw new AssertionError(Diagnosis.of(condition));
+            throw Failures.DEFAULT.assertionError(() -> Diagnosis.of(condition));
     }
 
     /**
@@ -41,7 +42,7 @@ public interface Expressions {
      */
     static <T> void assertThat(T subject, Predicate<? super T> predicate) {
         if (!predicate.test(subject))
-            throw new AssertionError(Diagnosis.of(subject, predicate));
+            throw Failures.DEFAULT.assertionError(() -> Diagnosis.of(subject, predicate));
     }
 
     /**
@@ -62,7 +63,7 @@ public interface Expressions {
     static <T, V> void assertThat(T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
         V value = function.apply(subject);
         if (!predicate.test(value))
-            throw new AssertionError(Diagnosis.of(subject, function, predicate, value));
+            throw Failures.DEFAULT.assertionError(() -> Diagnosis.of(subject, function, predicate, value));
     }
 
     /**
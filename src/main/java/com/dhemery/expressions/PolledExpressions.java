@@ -1,12 +1,34 @@
 package com.dhemery.expressions;
 
-import com.dhemery.expressions.diagnosing.Diagnosis;
+import com.dhemery.expressions.diagnosing.DiagnosticReport;
+import com.dhemery.expressions.diagnosing.Failures;
+import com.dhemery.expressions.polling.DefaultPoller;
+import com.dhemery.expressions.polling.DoublePollEvaluationResult;
+import com.dhemery.expressions.polling.EvaluationHistory;
+import com.dhemery.expressions.polling.IntPollEvaluationResult;
+import com.dhemery.expressions.polling.LongPollEvaluationResult;
+import com.dhemery.expressions.polling.PendingConditions;
 import com.dhemery.expressions.polling.PollEvaluationResult;
 import com.dhemery.expressions.polling.PollTimeoutException;
+import com.dhemery.expressions.polling.ScheduledExecutorPoller;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BooleanSupplier;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static com.dhemery.expressions.polling.PendingConditions.Quantifier.ALL;
+import static com.dhemery.expressions.polling.PendingConditions.Quantifier.ANY;
 
 /**
  * Methods to compose conditions, evaluate them by polling, and act on the
@@ -14,12 +36,61 @@ import java.util.function.Predicate;
  *
  * @see Expressions
  * @see Poller
+ * @see AsyncPoller
  * @see PollingSchedule
  */
 public interface PolledExpressions {
-    Poller poller();
+    /**
+     * Returns the poller that evaluates conditions for the blocking methods.
+     *
+     * @return the poller that evaluates conditions for the blocking methods
+     * @implNote returns {@link DefaultPoller#INSTANCE}, which delegates to the
+     * poller selected by a system property.
+     */
+    default Poller poller() {
+        return DefaultPoller.INSTANCE;
+    }
+
     PollingSchedule eventually();
 
+    /**
+     * Returns the pool on which to evaluate groups of conditions in parallel,
+     * such as those polled by {@link #waitUntilAll(Collection) waitUntilAll}
+     * and {@link #waitUntilAny(Collection) waitUntilAny}.
+     *
+     * @return the pool on which to evaluate groups of conditions in parallel,
+     * or empty to evaluate each group's conditions sequentially
+     * @implNote returns empty.
+     */
+    default Optional<ForkJoinPool> evaluationPool() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the factory that creates the exceptions and errors thrown when
+     * polled conditions are not satisfied.
+     *
+     * @return the factory that creates failures
+     * @implNote returns {@link Failures#DEFAULT}, which is selected by a
+     * system property.
+     */
+    default Failures failures() {
+        return Failures.DEFAULT;
+    }
+
+    /**
+     * Returns the poller that evaluates conditions for the asynchronous
+     * methods, such as {@link #waitUntilAsync(BooleanSupplier) waitUntilAsync}
+     * and {@link #whenAsync(Object, Predicate) whenAsync}.
+     *
+     * @return the poller that evaluates conditions for the asynchronous methods
+     * @implNote returns a {@link ScheduledExecutorPoller} that evaluates
+     * conditions on the {@link ScheduledExecutorPoller#sharedScheduler() shared scheduler}.
+     */
+    default AsyncPoller asyncPoller() {
+        return new ScheduledExecutorPoller();
+    }
+
     /**
      * Asserts that the supplier returns {@code true} within the schedule's
      * duration.
@@ -31,7 +102,7 @@ public interface PolledExpressions {
      */
     default void assertThat(PollingSchedule schedule, BooleanSupplier supplier) {
         if (poller().poll(schedule, supplier)) return;
-        throw new AssertionError(Diagnosis.of(schedule, supplier));
+        throw failures().assertionError(diagnosis(DiagnosticReport.of(schedule, supplier)));
     }
 
 
@@ -48,7 +119,7 @@ public interface PolledExpressions {
      */
     default <T> void assertThat(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
         if (poller().poll(schedule, subject, predicate)) return;
-        throw new AssertionError(Diagnosis.of(schedule, subject, predicate));
+        throw failures().assertionError(diagnosis(DiagnosticReport.of(schedule, subject, predicate)));
     }
 
     /**
@@ -67,7 +138,7 @@ public interface PolledExpressions {
     default <T, V> void assertThat(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
         PollEvaluationResult<V> result = poller().poll(schedule, subject, function, predicate);
         if (result.isSatisfied()) return;
-        throw new AssertionError(Diagnosis.of(schedule, subject, function, predicate, result.value()));
+        throw failures().assertionError(diagnosis(DiagnosticReport.of(schedule, subject, function, predicate, result.value())));
     }
 
 
@@ -127,7 +198,7 @@ public interface PolledExpressions {
     default void waitUntil(BooleanSupplier supplier) {
         PollingSchedule schedule = eventually();
         if (poller().poll(schedule, supplier)) return;
-        throw new PollTimeoutException(schedule, supplier);
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.of(schedule, supplier)));
     }
 
     /**
@@ -142,7 +213,7 @@ public interface PolledExpressions {
     default <T> void waitUntil(T subject, Predicate<? super T> predicate) {
         PollingSchedule schedule = eventually();
         if (poller().poll(schedule, subject, predicate)) return;
-        throw new PollTimeoutException(schedule, subject, predicate);
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.of(schedule, subject, predicate)));
     }
 
     /**
@@ -162,7 +233,112 @@ public interface PolledExpressions {
         PollingSchedule schedule = eventually();
         PollEvaluationResult<V> result = poller().poll(schedule, subject, function, predicate);
         if (result.isSatisfied()) return;
-        throw new PollTimeoutException(schedule, subject, function, predicate, result.value());
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.of(schedule, subject, function, predicate, result.value())));
+    }
+
+    /**
+     * Waits until the predicate accepts the int value that the function
+     * derives from the subject. Each value is derived and tested without
+     * boxing.
+     *
+     * @param <T>       the type of the subject
+     * @param subject   the subject to evaluate
+     * @param function  derives the value of interest from the subject
+     * @param predicate evaluates the derived value
+     * @throws PollTimeoutException if the default polling schedule's duration expires before the
+     *                              predicate accepts the value that the function derives from the subject
+     */
+    default <T> void waitUntilInt(T subject, ToIntFunction<? super T> function, IntPredicate predicate) {
+        waitUntilInt(eventually(), subject, function, predicate);
+    }
+
+    /**
+     * Waits until the predicate accepts the int value that the function
+     * derives from the subject. Each value is derived and tested without
+     * boxing.
+     *
+     * @param <T>       the type of the subject
+     * @param schedule  the polling interval and duration
+     * @param subject   the subject to evaluate
+     * @param function  derives the value of interest from the subject
+     * @param predicate evaluates the derived value
+     * @throws PollTimeoutException if the schedule's duration expires before the predicate accepts
+     *                              the value that the function derives from the subject
+     */
+    default <T> void waitUntilInt(PollingSchedule schedule, T subject, ToIntFunction<? super T> function, IntPredicate predicate) {
+        IntPollEvaluationResult result = poller().pollInt(schedule, subject, function, predicate);
+        if (result.isSatisfied()) return;
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.ofInt(schedule, subject, function, predicate, result.value())));
+    }
+
+    /**
+     * Waits until the predicate accepts the long value that the function
+     * derives from the subject. Each value is derived and tested without
+     * boxing.
+     *
+     * @param <T>       the type of the subject
+     * @param subject   the subject to evaluate
+     * @param function  derives the value of interest from the subject
+     * @param predicate evaluates the derived value
+     * @throws PollTimeoutException if the default polling schedule's duration expires before the
+     *                              predicate accepts the value that the function derives from the subject
+     */
+    default <T> void waitUntilLong(T subject, ToLongFunction<? super T> function, LongPredicate predicate) {
+        waitUntilLong(eventually(), subject, function, predicate);
+    }
+
+    /**
+     * Waits until the predicate accepts the long value that the function
+     * derives from the subject. Each value is derived and tested without
+     * boxing.
+     *
+     * @param <T>       the type of the subject
+     * @param schedule  the polling interval and duration
+     * @param subject   the subject to evaluate
+     * @param function  derives the value of interest from the subject
+     * @param predicate evaluates the derived value
+     * @throws PollTimeoutException if the schedule's duration expires before the predicate accepts
+     *                              the value that the function derives from the subject
+     */
+    default <T> void waitUntilLong(PollingSchedule schedule, T subject, ToLongFunction<? super T> function, LongPredicate predicate) {
+        LongPollEvaluationResult result = poller().pollLong(schedule, subject, function, predicate);
+        if (result.isSatisfied()) return;
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.ofLong(schedule, subject, function, predicate, result.value())));
+    }
+
+    /**
+     * Waits until the predicate accepts the double value that the function
+     * derives from the subject. Each value is derived and tested without
+     * boxing.
+     *
+     * @param <T>       the type of the subject
+     * @param subject   the subject to evaluate
+     * @param function  derives the value of interest from the subject
+     * @param predicate evaluates the derived value
+     * @throws PollTimeoutException if the default polling schedule's duration expires before the
+     *                              predicate accepts the value that the function derives from the subject
+     */
+    default <T> void waitUntilDouble(T subject, ToDoubleFunction<? super T> function, DoublePredicate predicate) {
+        waitUntilDouble(eventually(), subject, function, predicate);
+    }
+
+    /**
+     * Waits until the predicate accepts the double value that the function
+     * derives from the subject. Each value is derived and tested without
+     * boxing.
+     *
+     * @param <T>       the type of the subject
+     * @param schedule  the polling interval and duration
+     * @param subject   the subject to evaluate
+     * @param function  derives the value of interest from the subject
+     * @param predicate evaluates the derived value
+     * @throws PollTimeoutException if the schedule's duration expires before the predicate accepts
+     *                              the value that the function derives from the subject
+     */
+    default <T> void waitUntilDouble(PollingSchedule schedule, T subject, ToDoubleFunction<? super T> function, DoublePredicate predicate) {
+        DoublePollEvaluationResult result = poller().pollDouble(schedule, subject, function, predicate);
+        if (result.isSatisfied()) return;
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.ofDouble(schedule, subject, function, predicate, result.value())));
     }
 
 
@@ -176,7 +352,7 @@ public interface PolledExpressions {
      */
     default void waitUntil(PollingSchedule schedule, BooleanSupplier supplier) {
         if (poller().poll(schedule, supplier)) return;
-        throw new PollTimeoutException(schedule, supplier);
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.of(schedule, supplier)));
     }
 
     /**
@@ -191,7 +367,7 @@ public interface PolledExpressions {
      */
     default <T> void waitUntil(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
         if (poller().poll(schedule, subject, predicate)) return;
-        throw new PollTimeoutException(schedule, subject, predicate);
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.of(schedule, subject, predicate)));
     }
 
     /**
@@ -210,7 +386,7 @@ public interface PolledExpressions {
     default <T, V> void waitUntil(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
         PollEvaluationResult<V> result = poller().poll(schedule, subject, function, predicate);
         if (result.isSatisfied()) return;
-        throw new PollTimeoutException(schedule, subject, function, predicate, result.value());
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.of(schedule, subject, function, predicate, result.value())));
     }
 
     /**
@@ -226,7 +402,7 @@ public interface PolledExpressions {
     default <T> T when(T subject, Predicate<? super T> predicate) {
         PollingSchedule schedule = eventually();
         if (poller().poll(schedule, subject, predicate)) return subject;
-        throw new PollTimeoutException(schedule, subject, predicate);
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.of(schedule, subject, predicate)));
     }
 
     /**
@@ -247,7 +423,7 @@ public interface PolledExpressions {
         PollingSchedule schedule = eventually();
         PollEvaluationResult<V> result = poller().poll(schedule, subject, function, predicate);
         if (result.isSatisfied()) return subject;
-        throw new PollTimeoutException(schedule, subject, function, predicate, result.value());
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.of(schedule, subject, function, predicate, result.value())));
     }
 
     /**
@@ -263,7 +439,7 @@ public interface PolledExpressions {
      */
     default <T> T when(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
         if (poller().poll(schedule, subject, predicate)) return subject;
-        throw new PollTimeoutException(schedule, subject, predicate);
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.of(schedule, subject, predicate)));
     }
 
     /**
@@ -283,6 +459,344 @@ public interface PolledExpressions {
     default <T, V> T when(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
         PollEvaluationResult<V> result = poller().poll(schedule, subject, function, predicate);
         if (result.isSatisfied()) return subject;
-        throw new PollTimeoutException(schedule, subject, function, predicate, result.value());
+        throw failures().pollTimeout(diagnosis(DiagnosticReport.of(schedule, subject, function, predicate, result.value())));
+    }
+
+    /**
+     * Waits until every supplier returns {@code true}. The suppliers are polled
+     * together under the default polling schedule. Each supplier that returns
+     * {@code true} is not evaluated again.
+     *
+     * @param suppliers the suppliers to evaluate
+     * @throws PollTimeoutException if the default polling schedule's duration expires before
+     *                              every supplier returns {@code true}
+     */
+    default void waitUntilAll(Collection<? extends BooleanSupplier> suppliers) {
+        waitUntilAll(eventually(), suppliers);
+    }
+
+    /**
+     * Waits until every supplier returns {@code true}. The suppliers are polled
+     * together under the schedule. Each supplier that returns {@code true} is
+     * not evaluated again.
+     *
+     * @param schedule  the polling interval and duration
+     * @param suppliers the suppliers to evaluate
+     * @throws PollTimeoutException if the schedule's duration expires before every supplier
+     *                              returns {@code true}
+     */
+    default void waitUntilAll(PollingSchedule schedule, Collection<? extends BooleanSupplier> suppliers) {
+        waitUntil(schedule, PendingConditions.of(ALL, suppliers, evaluationPool()));
+    }
+
+    /**
+     * Waits until the predicate accepts every subject. The subjects are polled
+     * together under the default polling schedule. Each subject that the
+     * predicate accepts is not evaluated again.
+     *
+     * @param <T>       the type of the subjects
+     * @param subjects  the subjects to evaluate
+     * @param predicate evaluates each subject
+     * @throws PollTimeoutException if the default polling schedule's duration expires before
+     *                              the predicate accepts every subject
+     */
+    default <T> void waitUntilAll(Collection<? extends T> subjects, Predicate<? super T> predicate) {
+        waitUntilAll(eventually(), subjects, predicate);
+    }
+
+    /**
+     * Waits until the predicate accepts every subject. The subjects are polled
+     * together under the schedule. Each subject that the predicate accepts is
+     * not evaluated again.
+     *
+     * @param <T>       the type of the subjects
+     * @param schedule  the polling interval and duration
+     * @param subjects  the subjects to evaluate
+     * @param predicate evaluates each subject
+     * @throws PollTimeoutException if the schedule's duration expires before the predicate
+     *                              accepts every subject
+     */
+    default <T> void waitUntilAll(PollingSchedule schedule, Collection<? extends T> subjects, Predicate<? super T> predicate) {
+        waitUntil(schedule, PendingConditions.of(ALL, subjects, predicate, evaluationPool()));
+    }
+
+    /**
+     * Waits until any supplier returns {@code true}. The suppliers are polled
+     * together under the default polling schedule.
+     *
+     * @param suppliers the suppliers to evaluate
+     * @throws PollTimeoutException if the default polling schedule's duration expires before
+     *                              any supplier returns {@code true}
+     * @throws IllegalArgumentException if there are no suppliers
+     */
+    default void waitUntilAny(Collection<? extends BooleanSupplier> suppliers) {
+        waitUntilAny(eventually(), suppliers);
+    }
+
+    /**
+     * Waits until any supplier returns {@code true}. The suppliers are polled
+     * together under the schedule.
+     *
+     * @param schedule  the polling interval and duration
+     * @param suppliers the suppliers to evaluate
+     * @throws PollTimeoutException if the schedule's duration expires before any supplier
+     *                              returns {@code true}
+     * @throws IllegalArgumentException if there are no suppliers
+     */
+    default void waitUntilAny(PollingSchedule schedule, Collection<? extends BooleanSupplier> suppliers) {
+        waitUntil(schedule, PendingConditions.of(ANY, suppliers, evaluationPool()));
+    }
+
+    /**
+     * Waits until the predicate accepts any subject. The subjects are polled
+     * together under the default polling schedule.
+     *
+     * @param <T>       the type of the subjects
+     * @param subjects  the subjects to evaluate
+     * @param predicate evaluates each subject
+     * @throws PollTimeoutException if the default polling schedule's duration expires before
+     *                              the predicate accepts any subject
+     * @throws IllegalArgumentException if there are no subjects
+     */
+    default <T> void waitUntilAny(Collection<? extends T> subjects, Predicate<? super T> predicate) {
+        waitUntilAny(eventually(), subjects, predicate);
+    }
+
+    /**
+     * Waits until the predicate accepts any subject. The subjects are polled
+     * together under the schedule.
+     *
+     * @param <T>       the type of the subjects
+     * @param schedule  the polling interval and duration
+     * @param subjects  the subjects to evaluate
+     * @param predicate evaluates each subject
+     * @throws PollTimeoutException if the schedule's duration expires before the predicate
+     *                              accepts any subject
+     * @throws IllegalArgumentException if there are no subjects
+     */
+    default <T> void waitUntilAny(PollingSchedule schedule, Collection<? extends T> subjects, Predicate<? super T> predicate) {
+        waitUntil(schedule, PendingConditions.of(ANY, subjects, predicate, evaluationPool()));
+    }
+
+    /**
+     * Waits until the group of conditions is satisfied.
+     *
+     * @param schedule   the polling interval and duration
+     * @param conditions the conditions to evaluate
+     * @throws PollTimeoutException if the schedule's duration expires before the group of
+     *                              conditions is satisfied. The exception's diagnosis lists the
+     *                              conditions that were never satisfied.
+     */
+    default void waitUntil(PollingSchedule schedule, PendingConditions<?> conditions) {
+        if (poller().poll(schedule, conditions)) return;
+        throw failures().pollTimeout(diagnosis(conditions.diagnosticReport(schedule)));
+    }
+
+    /**
+     * Waits asynchronously until the supplier returns {@code true}.
+     *
+     * @param supplier the supplier to evaluate
+     * @return a future that completes when the supplier returns {@code true}, or
+     * completes exceptionally with a {@link PollTimeoutException} if the default
+     * polling schedule's duration expires first
+     */
+    default CompletableFuture<Void> waitUntilAsync(BooleanSupplier supplier) {
+        return waitUntilAsync(eventually(), supplier);
+    }
+
+    /**
+     * Waits asynchronously until the predicate accepts the subject.
+     *
+     * @param <T>       the type of the subject
+     * @param subject   the subject to evaluate
+     * @param predicate evaluates the subject
+     * @return a future that completes when the predicate accepts the subject, or
+     * completes exceptionally with a {@link PollTimeoutException} if the default
+     * polling schedule's duration expires first
+     */
+    default <T> CompletableFuture<Void> waitUntilAsync(T subject, Predicate<? super T> predicate) {
+        return waitUntilAsync(eventually(), subject, predicate);
+    }
+
+    /**
+     * Waits asynchronously until the predicate accepts the value that the
+     * function derives from the subject.
+     *
+     * @param <T>       the type of the subject
+     * @param <V>       the type of the derived value
+     * @param subject   the subject to evaluate
+     * @param function  derives the value of interest from the subject
+     * @param predicate evaluates the derived value
+     * @return a future that completes when the predicate accepts the derived value, or
+     * completes exceptionally with a {@link PollTimeoutException} if the default
+     * polling schedule's duration expires first
+     */
+    default <T, V> CompletableFuture<Void> waitUntilAsync(T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return waitUntilAsync(eventually(), subject, function, predicate);
+    }
+
+    /**
+     * Waits asynchronously until the supplier returns {@code true}.
+     *
+     * @param schedule the polling interval and duration
+     * @param supplier the supplier to evaluate
+     * @return a future that completes when the supplier returns {@code true}, or
+     * completes exceptionally with a {@link PollTimeoutException} if the schedule's
+     * duration expires first
+     */
+    default CompletableFuture<Void> waitUntilAsync(PollingSchedule schedule, BooleanSupplier supplier) {
+        return settle(asyncPoller().pollAsync(schedule, supplier),
+                satisfied -> satisfied,
+                null,
+                satisfied -> DiagnosticReport.of(schedule, supplier));
+    }
+
+    /**
+     * Waits asynchronously until the predicate accepts the subject.
+     *
+     * @param <T>       the type of the subject
+     * @param schedule  the polling interval and duration
+     * @param subject   the subject to evaluate
+     * @param predicate evaluates the subject
+     * @return a future that completes when the predicate accepts the subject, or
+     * completes exceptionally with a {@link PollTimeoutException} if the schedule's
+     * duration expires first
+     */
+    default <T> CompletableFuture<Void> waitUntilAsync(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        return settle(asyncPoller().pollAsync(schedule, subject, predicate),
+                satisfied -> satisfied,
+                null,
+                satisfied -> DiagnosticReport.of(schedule, subject, predicate));
+    }
+
+    /**
+     * Waits asynchronously until the predicate accepts the value that the
+     * function derives from the subject.
+     *
+     * @param <T>       the type of the subject
+     * @param <V>       the type of the derived value
+     * @param schedule  the polling interval and duration
+     * @param subject   the subject to evaluate
+     * @param function  derives the value of interest from the subject
+     * @param predicate evaluates the derived value
+     * @return a future that completes when the predicate accepts the derived value, or
+     * completes exceptionally with a {@link PollTimeoutException} if the schedule's
+     * duration expires first
+     */
+    default <T, V> CompletableFuture<Void> waitUntilAsync(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return settle(asyncPoller().pollAsync(schedule, subject, function, predicate),
+                PollEvaluationResult::isSatisfied,
+                null,
+                result -> DiagnosticReport.of(schedule, subject, function, predicate, result.value()));
+    }
+
+    /**
+     * Returns a future that completes with the subject when the predicate
+     * accepts the subject.
+     *
+     * @param <T>       the type of the subject
+     * @param subject   the subject to evaluate
+     * @param predicate evaluates the subject
+     * @return a future that completes with the subject, or completes exceptionally
+     * with a {@link PollTimeoutException} if the default polling schedule's
+     * duration expires before the predicate accepts the subject
+     */
+    default <T> CompletableFuture<T> whenAsync(T subject, Predicate<? super T> predicate) {
+        return whenAsync(eventually(), subject, predicate);
+    }
+
+    /**
+     * Returns a future that completes with the subject when the predicate
+     * accepts the value that the function derives from the subject.
+     *
+     * @param <T>       the type of the subject
+     * @param <V>       the type of the derived value
+     * @param subject   the subject to evaluate
+     * @param function  derives the value of interest from the subject
+     * @param predicate evaluates the derived value
+     * @return a future that completes with the subject, or completes exceptionally
+     * with a {@link PollTimeoutException} if the default polling schedule's
+     * duration expires before the predicate accepts the derived value
+     */
+    default <T, V> CompletableFuture<T> whenAsync(T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return whenAsync(eventually(), subject, function, predicate);
+    }
+
+    /**
+     * Returns a future that completes with the subject when the predicate
+     * accepts the subject.
+     *
+     * @param <T>       the type of the subject
+     * @param schedule  the polling interval and duration
+     * @param subject   the subject to evaluate
+     * @param predicate evaluates the subject
+     * @return a future that completes with the subject, or completes exceptionally
+     * with a {@link PollTimeoutException} if the schedule's duration expires
+     * before the predicate accepts the subject
+     */
+    default <T> CompletableFuture<T> whenAsync(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        return settle(asyncPoller().pollAsync(schedule, subject, predicate),
+                satisfied -> satisfied,
+                subject,
+                satisfied -> DiagnosticReport.of(schedule, subject, predicate));
+    }
+
+    /**
+     * Returns a future that completes with the subject when the predicate
+     * accepts the value that the function derives from the subject.
+     *
+     * @param <T>       the type of the subject
+     * @param <V>       the type of the derived value
+     * @param schedule  the polling interval and duration
+     * @param subject   the subject to evaluate
+     * @param function  derives the value of interest from the subject
+     * @param predicate evaluates the derived value
+     * @return a future that completes with the subject, or completes exceptionally
+     * with a {@link PollTimeoutException} if the schedule's duration expires
+     * before the predicate accepts the derived value
+     */
+    default <T, V> CompletableFuture<T> whenAsync(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return settle(asyncPoller().pollAsync(schedule, subject, function, predicate),
+                PollEvaluationResult::isSatisfied,
+                subject,
+                result -> DiagnosticReport.of(schedule, subject, function, predicate, result.value()));
+    }
+
+    /**
+     * Supplies the rendered report, including the history of the calling
+     * thread's most recent poll.
+     */
+    private Supplier<String> diagnosis(DiagnosticReport report) {
+        EvaluationHistory history = poller().history().snapshot();
+        return () -> report.withHistory(history).render();
+    }
+
+    /**
+     * Supplies the rendered report, including the history recorded by the
+     * asynchronous poll.
+     */
+    private Supplier<String> diagnosis(DiagnosticReport report, CompletableFuture<?> poll) {
+        EvaluationHistory history = EvaluationHistory.of(poll);
+        return () -> report.withHistory(history).render();
+    }
+
+    /**
+     * Returns a future that completes with the given value if the poll's result
+     * is satisfied, and otherwise completes exceptionally with a poll timeout
+     * that reports the poll's result and history. If the poll fails, the
+     * returned future fails with the same exception. Cancelling the returned
+     * future cancels the poll.
+     */
+    private <R, U> CompletableFuture<U> settle(CompletableFuture<R> poll, Predicate<? super R> isSatisfied, U satisfiedValue, Function<? super R, DiagnosticReport> report) {
+        CompletableFuture<U> settled = new CompletableFuture<>();
+        poll.whenComplete((result, failure) -> {
+            if (failure != null) settled.completeExceptionally(failure);
+            else if (isSatisfied.test(result)) settled.complete(satisfiedValue);
+            else settled.completeExceptionally(failures().pollTimeout(diagnosis(report.apply(result), poll)));
+        });
+        settled.whenComplete((ignoredValue, ignoredFailure) -> {
+            if (settled.isCancelled()) poll.cancel(true);
+        });
+        return settled;
     }
 }
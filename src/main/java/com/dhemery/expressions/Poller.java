@@ -1,14 +1,32 @@
 package com.dhemery.expressions;
 
+import com.dhemery.expressions.polling.DoublePollEvaluationResult;
+import com.dhemery.expressions.polling.EvaluationHistory;
+import com.dhemery.expressions.polling.IntPollEvaluationResult;
+import com.dhemery.expressions.polling.LongPollEvaluationResult;
+import com.dhemery.expressions.polling.PollCancelledException;
 import com.dhemery.expressions.polling.PollEvaluationResult;
+import com.dhemery.expressions.polling.PollHandle;
+import com.dhemery.expressions.polling.PollListener;
+import com.dhemery.expressions.polling.PollListeners;
 
 import java.util.function.BooleanSupplier;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Repeatedly evaluates a condition until it is satisfied or the polling
  * duration expires.
+ * <p>
+ * A poll ends early, throwing a {@link PollCancelledException}, if the
+ * polling thread is interrupted or the thread's open {@link PollHandle} is
+ * cancelled. An interrupt remains set after the poll ends.
  */
 public interface Poller {
     /**
@@ -65,4 +83,133 @@ public interface Poller {
      * @return the result of the final evaluation performed by this poll
      */
     <T, V> PollEvaluationResult<V> poll(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate);
+
+    /**
+     * Polls the predicate's acceptance of the int value that the function
+     * derives from the subject.
+     * <p>
+     * The return value includes the value derived by the function during the
+     * final evaluation, and indicates whether that value satisfied the
+     * predicate. If the schedule expires before the first evaluation, the
+     * returned result's value is zero.
+     *
+     * @param schedule
+     *         the polling interval and duration
+     * @param subject
+     *         the subject to evaluate
+     * @param function
+     *         derives the value of interest from the subject
+     * @param predicate
+     *         evaluates the derived value
+     * @param <T>
+     *         the type of the subject
+     *
+     * @return the result of the final evaluation performed by this poll
+     *
+     * @implSpec The default implementation boxes each derived value, and
+     * delegates to {@link #poll(PollingSchedule, Object, Function, Predicate)}.
+     * Pollers that evaluate on the calling thread override this method to
+     * poll without boxing.
+     */
+    default <T> IntPollEvaluationResult pollInt(PollingSchedule schedule, T subject, ToIntFunction<? super T> function, IntPredicate predicate) {
+        PollEvaluationResult<Integer> result = poll(schedule, subject, function::applyAsInt, predicate::test);
+        Integer value = result.value();
+        return new IntPollEvaluationResult(value == null ? 0 : value, result.isSatisfied());
+    }
+
+    /**
+     * Polls the predicate's acceptance of the long value that the function
+     * derives from the subject.
+     * <p>
+     * The return value includes the value derived by the function during the
+     * final evaluation, and indicates whether that value satisfied the
+     * predicate. If the schedule expires before the first evaluation, the
+     * returned result's value is zero.
+     *
+     * @param schedule
+     *         the polling interval and duration
+     * @param subject
+     *         the subject to evaluate
+     * @param function
+     *         derives the value of interest from the subject
+     * @param predicate
+     *         evaluates the derived value
+     * @param <T>
+     *         the type of the subject
+     *
+     * @return the result of the final evaluation performed by this poll
+     *
+     * @implSpec The default implementation boxes each derived value, and
+     * delegates to {@link #poll(PollingSchedule, Object, Function, Predicate)}.
+     * Pollers that evaluate on the calling thread override this method to
+     * poll without boxing.
+     */
+    default <T> LongPollEvaluationResult pollLong(PollingSchedule schedule, T subject, ToLongFunction<? super T> function, LongPredicate predicate) {
+        PollEvaluationResult<Long> result = poll(schedule, subject, function::applyAsLong, predicate::test);
+        Long value = result.value();
+        return new LongPollEvaluationResult(value == null ? 0L : value, result.isSatisfied());
+    }
+
+    /**
+     * Polls the predicate's acceptance of the double value that the function
+     * derives from the subject.
+     * <p>
+     * The return value includes the value derived by the function during the
+     * final evaluation, and indicates whether that value satisfied the
+     * predicate. If the schedule expires before the first evaluation, the
+     * returned result's value is zero.
+     *
+     * @param schedule
+     *         the polling interval and duration
+     * @param subject
+     *         the subject to evaluate
+     * @param function
+     *         derives the value of interest from the subject
+     * @param predicate
+     *         evaluates the derived value
+     * @param <T>
+     *         the type of the subject
+     *
+     * @return the result of the final evaluation performed by this poll
+     *
+     * @implSpec The default implementation boxes each derived value, and
+     * delegates to {@link #poll(PollingSchedule, Object, Function, Predicate)}.
+     * Pollers that evaluate on the calling thread override this method to
+     * poll without boxing.
+     */
+    default <T> DoublePollEvaluationResult pollDouble(PollingSchedule schedule, T subject, ToDoubleFunction<? super T> function, DoublePredicate predicate) {
+        PollEvaluationResult<Double> result = poll(schedule, subject, function::applyAsDouble, predicate::test);
+        Double value = result.value();
+        return new DoublePollEvaluationResult(value == null ? 0.0 : value, result.isSatisfied());
+    }
+
+    /**
+     * Returns the history of the most recent poll performed by this poller
+     * on the calling thread. The history is reused by the thread's next
+     * poll; to keep it, take a {@link EvaluationHistory#snapshot() snapshot}.
+     *
+     * @return the history of the most recent poll on the calling thread
+     *
+     * @implSpec The default implementation returns {@link
+     * EvaluationHistory#DISABLED}, which records nothing.
+     */
+    default EvaluationHistory history() {
+        return EvaluationHistory.DISABLED;
+    }
+
+    /**
+     * Returns the listener to notify of the progress of each poll. A poller
+     * that evaluates conditions on threads other than the polling thread, such
+     * as {@link com.dhemery.expressions.polling.ScheduledExecutorPoller} and
+     * {@link com.dhemery.expressions.polling.TimingWheelPoller}, does not
+     * notify its listener.
+     *
+     * @return the listener to notify of the progress of each poll
+     *
+     * @implSpec The default implementation returns the {@link
+     * PollListeners#global() global listener}.
+     */
+    default PollListener listener() {
+        return PollListeners.global();
+    }
 }
@@ -6,6 +6,12 @@ import static java.lang.String.format;
 
 /**
  * The interval and duration for a poll.
+ * <p>
+ * A poll evaluates its condition as soon as it starts, then waits {@link
+ * #interval()} between evaluations. A schedule can override {@link
+ * #initialDelay()} to delay the first evaluation, and {@link
+ * #intervalAfter(int, Duration)} to vary the interval from one evaluation to
+ * the next.
  */
 public class PollingSchedule {
     private final Duration interval;
@@ -40,14 +46,41 @@ public class PollingSchedule {
         return interval;
     }
 
+    /**
+     * Returns how long to wait after the poll starts before the first
+     * evaluation. The initial delay counts against the schedule's duration.
+     *
+     * @return how long to wait before the first evaluation
+     * @implNote returns {@link Duration#ZERO}.
+     */
+    public Duration initialDelay() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Returns the interval to wait after the given number of evaluations.
+     * Poll timers call this method after each evaluation that does not
+     * satisfy the poll's condition.
+     *
+     * @param evaluations the number of evaluations performed so far, starting at 1
+     * @param previousInterval the interval waited after the previous evaluation,
+     * or this schedule's {@link #interval()} if this is the first evaluation
+     * @return the interval to wait after the given number of evaluations
+     * @implNote returns this schedule's {@link #interval()}.
+     */
+    public Duration intervalAfter(int evaluations, Duration previousInterval) {
+        return interval;
+    }
+
     @Override
     public String toString() {
         return format("every %s for %s", interval, duration);
     }
 
     /**
-     * @return {@code true} if the given object is a {@code PollingSchedule}
-     * with the same interval and duration as this schedule.
+     * @return {@code true} if the given object is a schedule with the same
+     * interval and duration as this schedule, and {@link #canEqual can equal}
+     * this schedule. Subclasses that add properties compare them as well.
      */
     @Override
     public boolean equals(Object o) {
@@ -56,11 +89,27 @@ public class PollingSchedule {
 
         PollingSchedule that = (PollingSchedule) o;
 
+        if (!that.canEqual(this)) return false;
         return (interval != null ? interval.equals(that.interval) : that.interval == null)
                 && !(duration != null ? !duration.equals(that.duration) : that.duration != null);
 
     }
 
+    /**
+     * Returns whether this schedule can equal the given object. A subclass
+     * that adds properties to compare in {@link #equals} overrides this
+     * method to accept only instances of the subclass, so that equality
+     * remains symmetric with schedules that lack those properties.
+     *
+     * @param other
+     *         the object to compare with this schedule
+     *
+     * @return whether this schedule can equal the other object
+     */
+    protected boolean canEqual(Object other) {
+        return other instanceof PollingSchedule;
+    }
+
     @Override
     public int hashCode() {
         int result = interval != null ? interval.hashCode() : 0;
@@ -0,0 +1,61 @@
+package com.dhemery.expressions.diagnosing;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.function.Supplier;
+
+/**
+ * An assertion error that renders its diagnosis the first time its message
+ * is requested. Serializing the error renders its message.
+ *
+ * @see Failures
+ */
+public class DiagnosedAssertionError extends AssertionError {
+    private static final long serialVersionUID = 1L;
+    private final transient Supplier<String> diagnosis;
+    private volatile String message;
+
+    /**
+     * Creates an assertion error that renders its message from the diagnosis
+     * when the message is first requested.
+     *
+     * @param diagnosis
+     *         supplies the error's message
+     * @param writableStackTrace
+     *         whether to fill in the stack trace
+     */
+    public DiagnosedAssertionError(Supplier<String> diagnosis, boolean writableStackTrace) {
+        this.diagnosis = diagnosis;
+        if (writableStackTrace) super.fillInStackTrace();
+    }
+
+    @Override
+    public String getMessage() {
+        String rendered = message;
+        if (rendered == null) {
+            rendered = diagnosis == null ? null : diagnosis.get();
+            message = rendered;
+        }
+        return rendered;
+    }
+
+    /**
+     * Renders the message before writing this error, because the diagnosis
+     * is not serialized.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Does nothing. The constructor fills in the stack trace only if
+     * requested.
+     *
+     * @return this error
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
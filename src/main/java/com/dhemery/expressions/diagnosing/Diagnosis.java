@@ -2,94 +2,46 @@ package com.dhemery.expressions.diagnosing;
 
 import com.dhemery.expressions.PollingSchedule;
 
-import java.util.Arrays;
+import java.util.List;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
-
-import static java.lang.String.format;
-import static java.util.stream.Collectors.joining;
 
 /**
  * Diagnoses failed conditions, incorporating all of the given information.
+ *
+ * @see DiagnosticReport
  */
 public class Diagnosis {
-    private static final String NO_SUBJECT = "";
-
     public static String of(BooleanSupplier supplier) {
-        return diagnosis(
-                NO_SUBJECT,
-                expected(supplier)
-        );
+        return DiagnosticReport.of(supplier).render();
     }
 
     public static <T> String of(T subject, Predicate<? super T> predicate) {
-        return diagnosis(
-                NO_SUBJECT,
-                expected(predicate),
-                but(was(subject))
-        );
+        return DiagnosticReport.of(subject, predicate).render();
     }
 
     public static <T, V> String of(T subject, Function<? super T, V> function, Predicate<? super V> predicate, V functionValue) {
-        return diagnosis(
-                subject.toString(),
-                expected(function, predicate),
-                but(function.toString(), was(functionValue))
-        );
+        return DiagnosticReport.of(subject, function, predicate, functionValue).render();
     }
 
     public static String of(PollingSchedule schedule, BooleanSupplier supplier) {
-        return diagnosis(
-                NO_SUBJECT,
-                expected(supplier),
-                but(timedOutPolling(schedule))
-        );
+        return DiagnosticReport.of(schedule, supplier).render();
     }
 
     public static <T> String of(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
-        return diagnosis(
-                subject.toString(),
-                expected(predicate),
-                but(timedOutPolling(schedule))
-        );
+        return DiagnosticReport.of(schedule, subject, predicate).render();
     }
 
     public static <T, V> String of(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate, V finalFunctionValue) {
-        return diagnosis(
-                subject.toString(),
-                expected(function, predicate),
-                but(timedOutPolling(schedule)),
-                onFinalEvaluation(function, was(finalFunctionValue))
-        );
-    }
-
-    private static String diagnosis(String... lines) {
-        return Arrays.stream(lines).collect(joining(System.lineSeparator()));
-    }
-
-    private static String expected(Object... details) {
-        return line("Expected", Arrays.stream(details).map(Object::toString));
-    }
-
-    private static String but(String... details) {
-        return line("but", Arrays.stream(details));
-    }
-
-    private static <T,R> String onFinalEvaluation(Function<T,R> function, String details) {
-        return line("final", Stream.of(function.toString(), details));
-    }
-
-    private static String line(String label, Stream<String> details) {
-        return details.collect(joining(" ", format("%8s: ", label), ""));
+        return DiagnosticReport.of(schedule, subject, function, predicate, finalFunctionValue).render();
     }
 
-    private static String timedOutPolling(PollingSchedule schedule) {
-        return String.join(" ", "timed out, polling", String.valueOf(schedule));
+    public static String ofPending(PollingSchedule schedule, Object conditions, List<?> pending) {
+        return DiagnosticReport.ofPending(schedule, conditions, pending).render();
     }
 
-    private static String was(Object item) {
-        return format("was %s", item);
+    public static String ofPending(PollingSchedule schedule, Object subjects, Predicate<?> predicate, List<?> pending) {
+        return DiagnosticReport.ofPending(schedule, subjects, predicate, pending).render();
     }
 }
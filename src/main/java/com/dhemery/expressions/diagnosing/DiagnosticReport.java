@@ -0,0 +1,374 @@
+package com.dhemery.expressions.diagnosing;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.polling.EvaluationHistory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The parts of a diagnosis of a failed condition: what was expected, the
+ * subject, the function and its final value, the polling schedule, the
+ * outcome, and the history of the poll's most recent evaluations.
+ * <p>
+ * Reporters can read each part through its accessor, without parsing the
+ * rendered text. A report renders itself by appending each part directly to
+ * an {@link Appendable}, with no intermediate strings. The rendered text is
+ * the same as that returned by the corresponding {@link Diagnosis} method.
+ */
+public class DiagnosticReport {
+    /**
+     * How the condition failed.
+     */
+    public enum Outcome {
+        /**
+         * The condition was evaluated once, and was not satisfied.
+         */
+        UNSATISFIED,
+
+        /**
+         * The condition was polled, and the schedule expired before the
+         * condition was satisfied.
+         */
+        TIMED_OUT,
+
+        /**
+         * The condition was polled, and an evaluation was still running when
+         * its time ran out.
+         */
+        EVALUATION_TIMED_OUT
+    }
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final String EXPECTED = "Expected: ";
+    private static final String BUT = "     but: ";
+    private static final String FINAL = "   final: ";
+    private static final String PENDING = " pending: ";
+    private static final String WAS = "was ";
+    private static final String TIMED_OUT_POLLING = "timed out, polling ";
+    private static final String STILL_RUNNING = "an evaluation was still running after ";
+    private static final String POLLING = ", polling ";
+    private static final String NOT_THE_CONDITION = "          (the evaluation, not the condition, ran out the schedule)";
+    private static final int MAX_REUSED_CAPACITY = 4096;
+    private static final ThreadLocal<StringBuilder> BUILDERS = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final Outcome outcome;
+    private final Object expected;
+    private final Object subject;
+    private final boolean hasSubject;
+    private final Object function;
+    private final Object value;
+    private final PollingSchedule schedule;
+    private final List<?> pending;
+    private final Duration evaluationBudget;
+    private final EvaluationHistory history;
+
+    private DiagnosticReport(Outcome outcome, Object expected, boolean hasSubject, Object subject, Object function, Object value, PollingSchedule schedule, List<?> pending) {
+        this(outcome, expected, hasSubject, subject, function, value, schedule, pending, null, EvaluationHistory.DISABLED);
+    }
+
+    private DiagnosticReport(Outcome outcome, Object expected, boolean hasSubject, Object subject, Object function, Object value, PollingSchedule schedule, List<?> pending, Duration evaluationBudget, EvaluationHistory history) {
+        this.outcome = outcome;
+        this.expected = expected;
+        this.hasSubject = hasSubject;
+        this.subject = subject;
+        this.function = function;
+        this.value = value;
+        this.schedule = schedule;
+        this.pending = pending;
+        this.evaluationBudget = evaluationBudget;
+        this.history = history;
+    }
+
+    public static DiagnosticReport of(BooleanSupplier supplier) {
+        return new DiagnosticReport(Outcome.UNSATISFIED, supplier, false, null, null, null, null, null);
+    }
+
+    public static <T> DiagnosticReport of(T subject, Predicate<? super T> predicate) {
+        return new DiagnosticReport(Outcome.UNSATISFIED, predicate, true, subject, null, null, null, null);
+    }
+
+    public static <T, V> DiagnosticReport of(T subject, Function<? super T, V> function, Predicate<? super V> predicate, V functionValue) {
+        return new DiagnosticReport(Outcome.UNSATISFIED, predicate, true, subject, function, functionValue, null, null);
+    }
+
+    public static DiagnosticReport of(PollingSchedule schedule, BooleanSupplier supplier) {
+        return new DiagnosticReport(Outcome.TIMED_OUT, supplier, false, null, null, null, schedule, null);
+    }
+
+    public static <T> DiagnosticReport of(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        return new DiagnosticReport(Outcome.TIMED_OUT, predicate, true, subject, null, null, schedule, null);
+    }
+
+    public static <T, V> DiagnosticReport of(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate, V finalFunctionValue) {
+        return new DiagnosticReport(Outcome.TIMED_OUT, predicate, true, subject, function, finalFunctionValue, schedule, null);
+    }
+
+    public static <T> DiagnosticReport ofInt(PollingSchedule schedule, T subject, ToIntFunction<? super T> function, IntPredicate predicate, int finalFunctionValue) {
+        return new DiagnosticReport(Outcome.TIMED_OUT, predicate, true, subject, function, finalFunctionValue, schedule, null);
+    }
+
+    public static <T> DiagnosticReport ofLong(PollingSchedule schedule, T subject, ToLongFunction<? super T> function, LongPredicate predicate, long finalFunctionValue) {
+        return new DiagnosticReport(Outcome.TIMED_OUT, predicate, true, subject, function, finalFunctionValue, schedule, null);
+    }
+
+    public static <T> DiagnosticReport ofDouble(PollingSchedule schedule, T subject, ToDoubleFunction<? super T> function, DoublePredicate predicate, double finalFunctionValue) {
+        return new DiagnosticReport(Outcome.TIMED_OUT, predicate, true, subject, function, finalFunctionValue, schedule, null);
+    }
+
+    /**
+     * Creates a report of a group of boolean suppliers. The report expects
+     * the group.
+     *
+     * @param schedule
+     *         the schedule on which the conditions were polled
+     * @param conditions
+     *         the group of conditions that was polled
+     * @param pending
+     *         the conditions that were never satisfied
+     *
+     * @return a report of the group of conditions
+     */
+    public static DiagnosticReport ofPending(PollingSchedule schedule, Object conditions, List<?> pending) {
+        return new DiagnosticReport(Outcome.TIMED_OUT, conditions, false, null, null, null, schedule, pending);
+    }
+
+    /**
+     * Creates a report of a group of subjects evaluated by a common
+     * predicate. The report's subject is the group, and it expects the
+     * predicate.
+     *
+     * @param schedule
+     *         the schedule on which the subjects were polled
+     * @param subjects
+     *         the group of subjects that was polled
+     * @param predicate
+     *         the predicate that evaluated each subject
+     * @param pending
+     *         the subjects that the predicate never accepted
+     *
+     * @return a report of the group of subjects
+     */
+    public static DiagnosticReport ofPending(PollingSchedule schedule, Object subjects, Predicate<?> predicate, List<?> pending) {
+        return new DiagnosticReport(Outcome.TIMED_OUT, predicate, true, subjects, null, null, schedule, pending);
+    }
+
+    /**
+     * Creates a report of a poll that was abandoned because an evaluation
+     * was still running when its time ran out.
+     *
+     * @param schedule
+     *         the schedule on which the condition was polled
+     * @param condition
+     *         the condition whose evaluation was still running
+     * @param evaluationBudget
+     *         how long the poll waited for the evaluation
+     *
+     * @return a report of the abandoned poll
+     */
+    public static DiagnosticReport ofEvaluationTimeout(PollingSchedule schedule, Object condition, Duration evaluationBudget) {
+        return new DiagnosticReport(Outcome.EVALUATION_TIMED_OUT, condition, false, null, null, null, schedule, null, evaluationBudget, EvaluationHistory.DISABLED);
+    }
+
+    /**
+     * Returns how the condition failed.
+     *
+     * @return how the condition failed
+     */
+    public Outcome outcome() {
+        return outcome;
+    }
+
+    /**
+     * Returns the condition that was expected to be satisfied: a boolean
+     * supplier, or the predicate that evaluated the subject or derived value.
+     *
+     * @return the condition that was expected to be satisfied
+     */
+    public Object expected() {
+        return expected;
+    }
+
+    /**
+     * Returns the subject that was evaluated.
+     *
+     * @return the subject, or empty if the condition had no subject
+     */
+    public Optional<Object> subject() {
+        return hasSubject ? Optional.ofNullable(subject) : Optional.empty();
+    }
+
+    /**
+     * Returns the function that derived a value from the subject.
+     *
+     * @return the function, or empty if the condition had no function
+     */
+    public Optional<Object> function() {
+        return Optional.ofNullable(function);
+    }
+
+    /**
+     * Returns the value that the function derived from the subject on the
+     * final evaluation.
+     *
+     * @return the final derived value, or empty if the condition had no
+     * function or the derived value was {@code null}
+     */
+    public Optional<Object> finalValue() {
+        return Optional.ofNullable(value);
+    }
+
+    /**
+     * Returns the schedule on which the condition was polled.
+     *
+     * @return the schedule, or empty if the condition was evaluated once
+     */
+    public Optional<PollingSchedule> schedule() {
+        return Optional.ofNullable(schedule);
+    }
+
+    /**
+     * Returns the conditions in a group that were never satisfied.
+     *
+     * @return the unsatisfied conditions, or empty if the report does not
+     * describe a group of conditions
+     */
+    public Optional<List<?>> pending() {
+        return Optional.ofNullable(pending);
+    }
+
+    /**
+     * Returns how long the poll waited for the evaluation that was still
+     * running when its time ran out.
+     *
+     * @return how long the poll waited, or empty if the outcome is not
+     * {@link Outcome#EVALUATION_TIMED_OUT}
+     */
+    public Optional<Duration> evaluationBudget() {
+        return Optional.ofNullable(evaluationBudget);
+    }
+
+    /**
+     * Returns the history of the poll's most recent evaluations.
+     *
+     * @return the history, or empty if no history was recorded
+     */
+    public Optional<EvaluationHistory> history() {
+        return history.size() == 0 ? Optional.empty() : Optional.of(history);
+    }
+
+    /**
+     * Returns a copy of this report that includes the history of the poll's
+     * most recent evaluations.
+     *
+     * @param history
+     *         the history of the poll's most recent evaluations
+     *
+     * @return a copy of this report that includes the history
+     */
+    public DiagnosticReport withHistory(EvaluationHistory history) {
+        return new DiagnosticReport(outcome, expected, hasSubject, subject, function, value, schedule, pending, evaluationBudget, history);
+    }
+
+    /**
+     * Appends the rendered diagnosis to the appendable.
+     *
+     * @param out
+     *         the appendable to append to
+     *
+     * @throws IOException if the appendable throws
+     */
+    public void renderTo(Appendable out) throws IOException {
+        if (hasSubject && (outcome == Outcome.TIMED_OUT || function != null)) append(out, subject);
+        out.append(LINE_SEPARATOR).append(EXPECTED);
+        if (function != null) append(out, function).append(' ');
+        append(out, expected);
+        if (outcome == Outcome.EVALUATION_TIMED_OUT) {
+            out.append(LINE_SEPARATOR).append(BUT).append(STILL_RUNNING);
+            append(out, evaluationBudget).append(POLLING);
+            append(out, schedule);
+            out.append(LINE_SEPARATOR).append(NOT_THE_CONDITION);
+        } else if (outcome == Outcome.TIMED_OUT) {
+            out.append(LINE_SEPARATOR).append(BUT).append(TIMED_OUT_POLLING);
+            append(out, schedule);
+            if (function != null) {
+                out.append(LINE_SEPARATOR).append(FINAL);
+                append(out, function).append(' ').append(WAS);
+                append(out, value);
+            }
+        } else if (function != null) {
+            out.append(LINE_SEPARATOR).append(BUT);
+            append(out, function).append(' ').append(WAS);
+            append(out, value);
+        } else if (hasSubject) {
+            out.append(LINE_SEPARATOR).append(BUT).append(WAS);
+            append(out, subject);
+        }
+        if (pending != null) {
+            out.append(LINE_SEPARATOR).append(PENDING);
+            for (int i = 0; i < pending.size(); i++) {
+                if (i > 0) out.append(", ");
+                append(out, pending.get(i));
+            }
+        }
+        history.renderTo(out);
+    }
+
+    /**
+     * Appends the rendered diagnosis to the string builder.
+     *
+     * @param out
+     *         the string builder to append to
+     *
+     * @return the string builder
+     */
+    public StringBuilder renderTo(StringBuilder out) {
+        try {
+            renderTo((Appendable) out);
+            return out;
+        } catch (IOException impossible) {
+            throw new UncheckedIOException(impossible);
+        }
+    }
+
+    /**
+     * Renders the diagnosis. The rendering reuses a string builder owned by
+     * the current thread, so that rendering does not grow a new builder each
+     * time.
+     *
+     * @return the rendered diagnosis
+     */
+    public String render() {
+        StringBuilder builder = BUILDERS.get();
+        if (builder == null) return renderTo(new StringBuilder()).toString();
+        BUILDERS.set(null);
+        try {
+            return renderTo(builder).toString();
+        } finally {
+            builder.setLength(0);
+            if (builder.capacity() > MAX_REUSED_CAPACITY) builder = new StringBuilder(256);
+            BUILDERS.set(builder);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+
+    private static Appendable append(Appendable out, Object item) throws IOException {
+        return out.append(String.valueOf(item));
+    }
+}
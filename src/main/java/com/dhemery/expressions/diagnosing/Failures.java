@@ -0,0 +1,102 @@
+package com.dhemery.expressions.diagnosing;
+
+import com.dhemery.expressions.polling.EvaluationTimeoutException;
+import com.dhemery.expressions.polling.PollTimeoutException;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates the exceptions and errors that report failed conditions. Each
+ * failure renders its diagnosis lazily, when its message is first requested.
+ * <p>
+ * A failure factory either fills in each failure's stack trace or leaves it
+ * empty. Stackless failures are cheaper to create, which matters to code
+ * that uses failures for control flow, such as retry loops that catch and
+ * discard them.
+ * <p>
+ * The {@link #DEFAULT default} factory is selected by the
+ * {@link System#getProperties() system property} with the key:
+ * <pre>
+ * com.dhemery.expressions.diagnosing.stacktraces
+ * </pre>
+ * If the property's value is {@code false}, the default factory creates
+ * stackless failures. Otherwise it fills in stack traces.
+ */
+public class Failures {
+    /**
+     * The key for the system property that selects the default failure factory.
+     */
+    public static final String STACK_TRACES_PROPERTY = "com.dhemery.expressions.diagnosing.stacktraces";
+
+    /**
+     * A failure factory that fills in each failure's stack trace.
+     */
+    public static final Failures WITH_STACK_TRACES = new Failures(true);
+
+    /**
+     * A failure factory that leaves each failure's stack trace empty.
+     */
+    public static final Failures STACKLESS = new Failures(false);
+
+    /**
+     * The failure factory selected by the system properties.
+     */
+    public static final Failures DEFAULT = "false".equalsIgnoreCase(System.getProperty(STACK_TRACES_PROPERTY))
+            ? STACKLESS : WITH_STACK_TRACES;
+
+    private final boolean writableStackTrace;
+
+    private Failures(boolean writableStackTrace) {
+        this.writableStackTrace = writableStackTrace;
+    }
+
+    /**
+     * Creates an assertion error whose message is the diagnosis.
+     *
+     * @param diagnosis
+     *         supplies the error's message
+     *
+     * @return an assertion error whose message is the diagnosis
+     */
+    public AssertionError assertionError(Supplier<String> diagnosis) {
+        return new DiagnosedAssertionError(diagnosis, writableStackTrace);
+    }
+
+    /**
+     * Creates a poll timeout exception whose message is the diagnosis.
+     *
+     * @param diagnosis
+     *         supplies the exception's message
+     *
+     * @return a poll timeout exception whose message is the diagnosis
+     */
+    public PollTimeoutException pollTimeout(Supplier<String> diagnosis) {
+        return new PollTimeoutException(diagnosis, writableStackTrace);
+    }
+
+    /**
+     * Creates an evaluation timeout exception whose message is the diagnosis.
+     *
+     * @param diagnosis
+     *         supplies the exception's message
+     *
+     * @return an evaluation timeout exception whose message is the diagnosis
+     */
+    public EvaluationTimeoutException evaluationTimeout(Supplier<String> diagnosis) {
+        return new EvaluationTimeoutException(diagnosis, writableStackTrace);
+    }
+
+    /**
+     * Returns whether this factory fills in each failure's stack trace.
+     *
+     * @return whether this factory fills in each failure's stack trace
+     */
+    public boolean fillsInStackTraces() {
+        return writableStackTrace;
+    }
+
+    @Override
+    public String toString() {
+        return writableStackTrace ? "failures with stack traces" : "stackless failures";
+    }
+}
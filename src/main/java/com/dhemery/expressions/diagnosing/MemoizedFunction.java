@@ -0,0 +1,328 @@
+package com.dhemery.expressions.diagnosing;
+
+import com.dhemery.expressions.polling.NanoClock;
+import com.dhemery.expressions.polling.PollCancelledException;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * A {@link NamedFunction} that remembers the value it derives from each
+ * subject for a fixed time to live, and shares each remembered value among
+ * all threads that apply the function to the same subject.
+ * <p>
+ * When several threads poll the same subject through the same memoized
+ * function, the first to need a fresh value applies the underlying function,
+ * and the others wait for and share its result. The underlying function is
+ * applied without holding any lock, so a slow application delays only the
+ * threads that need its value. A value is remembered from the time the
+ * underlying function returns it until the time to live expires. If the
+ * underlying function throws, nothing is remembered, and the next
+ * application, including any that were waiting, tries again. If the
+ * underlying function applies this function to the same subject, the inner
+ * application derives its own value rather than waiting for itself. If a
+ * waiting thread is interrupted, it stops waiting and throws a {@link
+ * PollCancelledException}, and its interrupt status remains set.
+ * <p>
+ * The function remembers values for at most a fixed number of subjects. When
+ * remembering a value for a new subject makes it overfull, it discards every
+ * expired value, then, if necessary, the oldest value. While several threads
+ * remember values for new subjects at once, it may briefly exceed its
+ * capacity by a few subjects. Subjects are held
+ * weakly, and are compared by {@code equals}: once a subject is no longer
+ * otherwise reachable, its remembered value is discarded. A remembered value
+ * that refers to its own subject keeps the subject reachable until the value
+ * is discarded.
+ *
+ * @param <T>
+ *         the type of the input to the function
+ * @param <R>
+ *         the type of the result of the function
+ */
+public class MemoizedFunction<T, R> extends NamedFunction<T, R> {
+    /**
+     * The default number of subjects for which a memoized function remembers
+     * values.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Function<T, R> function;
+    private final long timeToLive;
+    private final int capacity;
+    private final NanoClock clock;
+    private final ConcurrentMap<Object, Memo<R>> memos = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collectedSubjects = new ReferenceQueue<>();
+
+    /**
+     * Creates a memoized function that describes itself as the given function
+     * does, and remembers values for at most {@link #DEFAULT_CAPACITY}
+     * subjects.
+     *
+     * @param function
+     *         the underlying function
+     * @param timeToLive
+     *         how long to remember each derived value
+     */
+    public MemoizedFunction(Function<T, R> function, Duration timeToLive) {
+        this(String.valueOf(function), function, timeToLive);
+    }
+
+    /**
+     * Creates a memoized function that remembers values for at most
+     * {@link #DEFAULT_CAPACITY} subjects.
+     *
+     * @param name
+     *         the name of this function
+     * @param function
+     *         the underlying function
+     * @param timeToLive
+     *         how long to remember each derived value
+     */
+    public MemoizedFunction(String name, Function<T, R> function, Duration timeToLive) {
+        this(name, function, timeToLive, DEFAULT_CAPACITY, NanoClock.system());
+    }
+
+    /**
+     * Creates a memoized function.
+     *
+     * @param name
+     *         the name of this function
+     * @param function
+     *         the underlying function
+     * @param timeToLive
+     *         how long to remember each derived value
+     * @param capacity
+     *         the maximum number of subjects for which to remember values
+     * @param clock
+     *         tells when each remembered value expires
+     *
+     * @throws IllegalArgumentException if the time to live is negative, or the
+     * capacity is less than 1
+     * @implNote This constructor exists primarily to allow tests to control
+     * the clock.
+     */
+    public MemoizedFunction(String name, Function<T, R> function, Duration timeToLive, int capacity, NanoClock clock) {
+        super(name, function);
+        if (timeToLive.isNegative())
+            throw new IllegalArgumentException(format("time to live %s is negative", timeToLive));
+        if (capacity < 1)
+            throw new IllegalArgumentException(format("capacity %d is less than 1", capacity));
+        this.function = function;
+        this.timeToLive = nanos(timeToLive);
+        this.capacity = capacity;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the value remembered for the subject, if it has not expired,
+     * otherwise the value returned by applying the underlying function to the
+     * subject
+     */
+    @Override
+    public R apply(T subject) {
+        while (true) {
+            Memo<R> memo = memos.get(new Lookup(subject));
+            if (memo == null || memo.isExpired(clock.nanoTime(), timeToLive)) {
+                Memo<R> fresh = new Memo<>();
+                if (install(subject, memo, fresh)) return derive(subject, fresh);
+            } else if (memo.isBeingDerivedByCurrentThread()) {
+                return function.apply(subject);
+            } else if (memo.await()) {
+                return memo.value();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of subjects for which this function remembers values.
+     *
+     * @return the number of subjects for which this function remembers values
+     */
+    public int size() {
+        discardCollectedSubjects();
+        return memos.size();
+    }
+
+    private boolean install(T subject, Memo<R> stale, Memo<R> fresh) {
+        if (stale != null) return memos.replace(new Lookup(subject), stale, fresh);
+        discardCollectedSubjects();
+        if (memos.putIfAbsent(new SubjectKey(subject, collectedSubjects), fresh) != null) return false;
+        if (memos.size() > capacity) evict(fresh);
+        return true;
+    }
+
+    private R derive(T subject, Memo<R> memo) {
+        R value;
+        try {
+            value = function.apply(subject);
+        } catch (Throwable thrown) {
+            memos.remove(new Lookup(subject), memo);
+            memo.fail(thrown);
+            throw thrown;
+        }
+        memo.succeed(value, clock.nanoTime());
+        return value;
+    }
+
+    private void evict(Memo<R> keep) {
+        long now = clock.nanoTime();
+        Object oldestKey = null;
+        Memo<R> oldest = null;
+        for (Map.Entry<Object, Memo<R>> entry : memos.entrySet()) {
+            Memo<R> memo = entry.getValue();
+            if (memo.isExpired(now, timeToLive)) memos.remove(entry.getKey(), memo);
+            else if (memo != keep && (oldest == null || memo.isOlderThan(oldest))) {
+                oldestKey = entry.getKey();
+                oldest = memo;
+            }
+        }
+        if (memos.size() > capacity && oldest != null) memos.remove(oldestKey, oldest);
+    }
+
+    private void discardCollectedSubjects() {
+        for (Reference<?> key = collectedSubjects.poll(); key != null; key = collectedSubjects.poll()) {
+            memos.remove(key);
+        }
+    }
+
+    private static long nanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException tooLong) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static Object subjectOf(Object key) {
+        return key instanceof SubjectKey ? ((SubjectKey) key).get() : ((Lookup) key).subject;
+    }
+
+    /**
+     * A key that holds its subject weakly. Once the subject is collected, the
+     * key equals only itself.
+     */
+    private static final class SubjectKey extends WeakReference<Object> {
+        private final int hash;
+
+        SubjectKey(Object subject, ReferenceQueue<Object> queue) {
+            super(Lookup.mask(subject), queue);
+            hash = Objects.hashCode(subject);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) return true;
+            Object subject = get();
+            return subject != null && (other instanceof SubjectKey || other instanceof Lookup)
+                    && subject.equals(subjectOf(other));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A key that holds its subject strongly, to look up the memo for the
+     * subject without creating a weak reference.
+     */
+    private static final class Lookup {
+        private static final Object NULL_SUBJECT = new Object();
+        private final Object subject;
+        private final int hash;
+
+        Lookup(Object subject) {
+            this.subject = mask(subject);
+            hash = Objects.hashCode(subject);
+        }
+
+        static Object mask(Object subject) {
+            return subject == null ? NULL_SUBJECT : subject;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SubjectKey && ((SubjectKey) other).equals(this);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A value derived from a subject, and when it was derived. The thread
+     * that installs the memo derives the value, and other threads that
+     * request it meanwhile wait for the memo's result without holding a lock.
+     */
+    private static class Memo<R> {
+        private volatile Thread deriver = Thread.currentThread();
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+        private volatile boolean derived;
+        private volatile long derivedAt;
+        private R value;
+
+        void succeed(R value, long now) {
+            this.value = value;
+            derivedAt = now;
+            derived = true;
+            deriver = null;
+            result.complete(value);
+        }
+
+        void fail(Throwable thrown) {
+            deriver = null;
+            result.completeExceptionally(thrown);
+        }
+
+        boolean isBeingDerivedByCurrentThread() {
+            return deriver == Thread.currentThread();
+        }
+
+        /**
+         * Waits for the value to be derived.
+         *
+         * @return whether the value was derived, rather than the deriving
+         * thread throwing
+         *
+         * @throws PollCancelledException if the waiting thread is interrupted
+         */
+        boolean await() {
+            if (derived) return true;
+            try {
+                result.get();
+                return true;
+            } catch (ExecutionException failed) {
+                return false;
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                throw new PollCancelledException(true);
+            }
+        }
+
+        R value() {
+            return value;
+        }
+
+        boolean isExpired(long now, long timeToLive) {
+            return derived && now - derivedAt >= timeToLive;
+        }
+
+        boolean isOlderThan(Memo<?> other) {
+            return derived && (!other.derived || derivedAt - other.derivedAt < 0);
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.dhemery.expressions.diagnosing;
 
+import java.time.Duration;
 import java.util.function.BooleanSupplier;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Factory methods to decorate {@link BooleanSupplier}, {@link Predicate}, and
- * {@link Function} objects to make them self-describing.
+ * {@link Function} objects, and their primitive specializations, to make them
+ * self-describing.
  */
 public class Named {
-    private final String name;
+    private final boolean rendersName;
+    private String name;
 
     /**
      * Creates an object that describes itself with the given name.
@@ -18,9 +27,18 @@ public class Named {
      *         the name of the object
      */
     public Named(String name) {
+        this.rendersName = false;
         this.name = name;
     }
 
+    /**
+     * Creates an object whose name is rendered by {@link #describeTo} the
+     * first time the name is requested.
+     */
+    Named() {
+        this.rendersName = true;
+    }
+
     /**
      * Returns this object's name.
      *
@@ -28,7 +46,33 @@ public class Named {
      */
     @Override
     public final String toString() {
-        return name;
+        String rendered = name;
+        if (rendered == null && rendersName) {
+            StringBuilder description = new StringBuilder();
+            describeTo(description);
+            rendered = description.toString();
+            name = rendered;
+        }
+        return rendered;
+    }
+
+    /**
+     * Appends this object's name to the description.
+     *
+     * @param description
+     *         the description to append to
+     */
+    void describeTo(StringBuilder description) {
+        description.append(toString());
+    }
+
+    /**
+     * Appends the item's name to the description. A named item appends its
+     * name directly, without rendering an intermediate string.
+     */
+    static void describe(Object item, StringBuilder description) {
+        if (item instanceof Named) ((Named) item).describeTo(description);
+        else description.append(item);
     }
 
     /**
@@ -75,6 +119,34 @@ public class Named {
         return new NamedFunction<>(name, function);
     }
 
+    /**
+     * Decorates the function to describe itself with the given name, and to
+     * remember and share the value it derives from each subject for the given
+     * time to live.
+     *
+     * <pre>{@literal
+     * Function<Deployment,Status> status =
+     *          Named.memoizedFunction("status", Deployment::fetchStatus, Duration.ofSeconds(1));
+     * }</pre>
+     *
+     * @param name
+     *         the name of the function
+     * @param function
+     *         the underlying function
+     * @param timeToLive
+     *         how long to remember each derived value
+     * @param <T>
+     *         the type of the input to the function
+     * @param <V>
+     *         the type of the result of the function
+     *
+     * @return a {@link MemoizedFunction} that functions like the given
+     * function, remembers its values, and describes itself with the given name.
+     */
+    public static <T, V> Function<T, V> memoizedFunction(String name, Function<T, V> function, Duration timeToLive) {
+        return new MemoizedFunction<>(name, function, timeToLive);
+    }
+
     /**
      * Decorates the predicate to describe itself with the given name.
      *
@@ -96,4 +168,100 @@ public class Named {
     public static <T> Predicate<T> predicate(String description, Predicate<T> predicate) {
         return new NamedPredicate<>(description, predicate);
     }
-}
\ No newline at end of file
+
+    /**
+     * Decorates the int-valued function to describe itself with the given name.
+     *
+     * @param name
+     *         the name of the function
+     * @param function
+     *         the underlying function
+     * @param <T>
+     *         the type of the input to the function
+     *
+     * @return a {@code ToIntFunction} that functions like the given function
+     * and describes itself with the given name.
+     */
+    public static <T> ToIntFunction<T> toIntFunction(String name, ToIntFunction<T> function) {
+        return new NamedToIntFunction<>(name, function);
+    }
+
+    /**
+     * Decorates the long-valued function to describe itself with the given name.
+     *
+     * @param name
+     *         the name of the function
+     * @param function
+     *         the underlying function
+     * @param <T>
+     *         the type of the input to the function
+     *
+     * @return a {@code ToLongFunction} that functions like the given function
+     * and describes itself with the given name.
+     */
+    public static <T> ToLongFunction<T> toLongFunction(String name, ToLongFunction<T> function) {
+        return new NamedToLongFunction<>(name, function);
+    }
+
+    /**
+     * Decorates the double-valued function to describe itself with the given name.
+     *
+     * @param name
+     *         the name of the function
+     * @param function
+     *         the underlying function
+     * @param <T>
+     *         the type of the input to the function
+     *
+     * @return a {@code ToDoubleFunction} that functions like the given function
+     * and describes itself with the given name.
+     */
+    public static <T> ToDoubleFunction<T> toDoubleFunction(String name, ToDoubleFunction<T> function) {
+        return new NamedToDoubleFunction<>(name, function);
+    }
+
+    /**
+     * Decorates the int predicate to describe itself with the given name.
+     *
+     * @param name
+     *         the name of the predicate
+     * @param predicate
+     *         the underlying predicate
+     *
+     * @return an {@code IntPredicate} that functions like the given predicate
+     * and describes itself with the given name.
+     */
+    public static IntPredicate intPredicate(String name, IntPredicate predicate) {
+        return new NamedIntPredicate(name, predicate);
+    }
+
+    /**
+     * Decorates the long predicate to describe itself with the given name.
+     *
+     * @param name
+     *         the name of the predicate
+     * @param predicate
+     *         the underlying predicate
+     *
+     * @return a {@code LongPredicate} that functions like the given predicate
+     * and describes itself with the given name.
+     */
+    public static LongPredicate longPredicate(String name, LongPredicate predicate) {
+        return new NamedLongPredicate(name, predicate);
+    }
+
+    /**
+     * Decorates the double predicate to describe itself with the given name.
+     *
+     * @param name
+     *         the name of the predicate
+     * @param predicate
+     *         the underlying predicate
+     *
+     * @return a {@code DoublePredicate} that functions like the given predicate
+     * and describes itself with the given name.
+     */
+    public static DoublePredicate doublePredicate(String name, DoublePredicate predicate) {
+        return new NamedDoublePredicate(name, predicate);
+    }
+}
@@ -0,0 +1,141 @@
+package com.dhemery.expressions.diagnosing;
+
+import java.util.function.DoublePredicate;
+
+/**
+ * A {@link DoublePredicate} that describes itself by name. Each composed
+ * predicate created by this predicate is named to describe the composition.
+ * <p>
+ * Composing predicates does not render their names. A composed predicate
+ * keeps its operands, and renders its name from theirs the first time the
+ * name is requested. A chain of {@code and} compositions, or of {@code or}
+ * compositions, is flattened into a single composed predicate that tests its
+ * operands in order, so {@code a.and(b).and(c)} is named
+ * {@code (a and b and c)}.
+ */
+public class NamedDoublePredicate extends Named implements DoublePredicate {
+    private final DoublePredicate predicate;
+
+    /**
+     * Creates a named double predicate.
+     *
+     * @param name
+     *         the name of the predicate
+     * @param predicate
+     *         the underlying predicate
+     */
+    public NamedDoublePredicate(String name, DoublePredicate predicate) {
+        super(name);
+        this.predicate = predicate;
+    }
+
+    private NamedDoublePredicate() {
+        this.predicate = null;
+    }
+
+    /**
+     * @return whether the underlying predicate accepts the input argument
+     */
+    @Override
+    public boolean test(double value) {
+        return predicate.test(value);
+    }
+
+    /**
+     * {@inheritDoc} The composed predicate is named to describe this predicate,
+     * the {@code other} predicate, and their composition.
+     */
+    @Override
+    public DoublePredicate and(DoublePredicate other) {
+        return Junction.of(Junction.AND, this, other);
+    }
+
+    /**
+     * {@inheritDoc} The composed predicate is named to describe this predicate,
+     * the {@code other} predicate, and their composition.
+     */
+    @Override
+    public DoublePredicate or(DoublePredicate other) {
+        return Junction.of(Junction.OR, this, other);
+    }
+
+    /**
+     * {@inheritDoc} The composed predicate is named to describe this predicate,
+     * with the word "not" prepended.
+     */
+    @Override
+    public DoublePredicate negate() {
+        return new Negation(this);
+    }
+
+    /**
+     * An n-ary {@code and} or {@code or} of double predicates.
+     */
+    private static final class Junction extends NamedDoublePredicate {
+        private static final String AND = " and ";
+        private static final String OR = " or ";
+
+        private final String operator;
+        private final boolean conjunction;
+        private final DoublePredicate[] operands;
+
+        private Junction(String operator, DoublePredicate[] operands) {
+            this.operator = operator;
+            this.conjunction = operator == AND;
+            this.operands = operands;
+        }
+
+        static Junction of(String operator, DoublePredicate left, DoublePredicate right) {
+            DoublePredicate[] leftOperands = operandsOf(operator, left);
+            DoublePredicate[] rightOperands = operandsOf(operator, right);
+            DoublePredicate[] operands = new DoublePredicate[leftOperands.length + rightOperands.length];
+            System.arraycopy(leftOperands, 0, operands, 0, leftOperands.length);
+            System.arraycopy(rightOperands, 0, operands, leftOperands.length, rightOperands.length);
+            return new Junction(operator, operands);
+        }
+
+        private static DoublePredicate[] operandsOf(String operator, DoublePredicate predicate) {
+            if (predicate instanceof Junction && ((Junction) predicate).operator == operator)
+                return ((Junction) predicate).operands;
+            return new DoublePredicate[]{predicate};
+        }
+
+        @Override
+        public boolean test(double value) {
+            for (DoublePredicate operand : operands) {
+                if (operand.test(value) != conjunction) return !conjunction;
+            }
+            return conjunction;
+        }
+
+        @Override
+        void describeTo(StringBuilder description) {
+            description.append('(');
+            for (int i = 0; i < operands.length; i++) {
+                if (i > 0) description.append(operator);
+                describe(operands[i], description);
+            }
+            description.append(')');
+        }
+    }
+
+    private static final class Negation extends NamedDoublePredicate {
+        private final DoublePredicate operand;
+
+        private Negation(DoublePredicate operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean test(double value) {
+            return !operand.test(value);
+        }
+
+        @Override
+        void describeTo(StringBuilder description) {
+            description.append("(not ");
+            describe(operand, description);
+            description.append(')');
+        }
+    }
+}
@@ -2,12 +2,16 @@ package com.dhemery.expressions.diagnosing;
 
 import java.util.function.Function;
 
-import static java.lang.String.format;
-
 
 /**
  * A {@link Function} that describes itself by name. Each composed function
  * created by this function is named to describe the composition.
+ * <p>
+ * Composing functions does not render their names. A composed function keeps
+ * its stages, and renders its name from theirs the first time the name is
+ * requested. A chain of compositions is flattened into a single composed
+ * function that applies its stages in order, so {@code f.andThen(g).andThen(h)}
+ * is named {@code (h of g of f)}.
  *
  * @param <T>
  *         the type of the input to the function
@@ -30,6 +34,10 @@ public class NamedFunction<T, R> extends Named implements Function<T, R> {
         this.function = function;
     }
 
+    private NamedFunction() {
+        this.function = null;
+    }
+
     /**
      * @return the value returned by applying the underlying function to the
      * function argument
@@ -45,7 +53,7 @@ public class NamedFunction<T, R> extends Named implements Function<T, R> {
      */
     @Override
     public <V> Function<T, V> andThen(Function<? super R, ? extends V> after) {
-        return new NamedFunction<>(format("(%s of %s)", after, this), function.andThen(after));
+        return Composition.of(this, after);
     }
 
     /**
@@ -54,6 +62,53 @@ public class NamedFunction<T, R> extends Named implements Function<T, R> {
      */
     @Override
     public <V> Function<V, R> compose(Function<? super V, ? extends T> before) {
-        return new NamedFunction<>(format("(%s of %s)", this, before), function.compose(before));
+        return Composition.of(before, this);
+    }
+
+    /**
+     * A chain of functions, each applied to the result of the one before.
+     */
+    private static final class Composition<T, R> extends NamedFunction<T, R> {
+        private final Function<Object, Object>[] stages;
+
+        private Composition(Function<Object, Object>[] stages) {
+            this.stages = stages;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T, R> Composition<T, R> of(Function<? super T, ?> first, Function<?, ? extends R> second) {
+            Function<Object, Object>[] firstStages = stagesOf(first);
+            Function<Object, Object>[] secondStages = stagesOf(second);
+            Function<Object, Object>[] stages = (Function<Object, Object>[]) new Function<?, ?>[firstStages.length + secondStages.length];
+            System.arraycopy(firstStages, 0, stages, 0, firstStages.length);
+            System.arraycopy(secondStages, 0, stages, firstStages.length, secondStages.length);
+            return new Composition<>(stages);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object>[] stagesOf(Function<?, ?> function) {
+            if (function instanceof Composition) return ((Composition<?, ?>) function).stages;
+            return (Function<Object, Object>[]) new Function<?, ?>[]{function};
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R apply(T t) {
+            Object value = t;
+            for (Function<Object, Object> stage : stages) {
+                value = stage.apply(value);
+            }
+            return (R) value;
+        }
+
+        @Override
+        void describeTo(StringBuilder description) {
+            description.append('(');
+            for (int i = stages.length - 1; i >= 0; i--) {
+                describe(stages[i], description);
+                if (i > 0) description.append(" of ");
+            }
+            description.append(')');
+        }
     }
 }
@@ -0,0 +1,141 @@
+package com.dhemery.expressions.diagnosing;
+
+import java.util.function.IntPredicate;
+
+/**
+ * An {@link IntPredicate} that describes itself by name. Each composed
+ * predicate created by this predicate is named to describe the composition.
+ * <p>
+ * Composing predicates does not render their names. A composed predicate
+ * keeps its operands, and renders its name from theirs the first time the
+ * name is requested. A chain of {@code and} compositions, or of {@code or}
+ * compositions, is flattened into a single composed predicate that tests its
+ * operands in order, so {@code a.and(b).and(c)} is named
+ * {@code (a and b and c)}.
+ */
+public class NamedIntPredicate extends Named implements IntPredicate {
+    private final IntPredicate predicate;
+
+    /**
+     * Creates a named int predicate.
+     *
+     * @param name
+     *         the name of the predicate
+     * @param predicate
+     *         the underlying predicate
+     */
+    public NamedIntPredicate(String name, IntPredicate predicate) {
+        super(name);
+        this.predicate = predicate;
+    }
+
+    private NamedIntPredicate() {
+        this.predicate = null;
+    }
+
+    /**
+     * @return whether the underlying predicate accepts the input argument
+     */
+    @Override
+    public boolean test(int value) {
+        return predicate.test(value);
+    }
+
+    /**
+     * {@inheritDoc} The composed predicate is named to describe this predicate,
+     * the {@code other} predicate, and their composition.
+     */
+    @Override
+    public IntPredicate and(IntPredicate other) {
+        return Junction.of(Junction.AND, this, other);
+    }
+
+    /**
+     * {@inheritDoc} The composed predicate is named to describe this predicate,
+     * the {@code other} predicate, and their composition.
+     */
+    @Override
+    public IntPredicate or(IntPredicate other) {
+        return Junction.of(Junction.OR, this, other);
+    }
+
+    /**
+     * {@inheritDoc} The composed predicate is named to describe this predicate,
+     * with the word "not" prepended.
+     */
+    @Override
+    public IntPredicate negate() {
+        return new Negation(this);
+    }
+
+    /**
+     * An n-ary {@code and} or {@code or} of int predicates.
+     */
+    private static final class Junction extends NamedIntPredicate {
+        private static final String AND = " and ";
+        private static final String OR = " or ";
+
+        private final String operator;
+        private final boolean conjunction;
+        private final IntPredicate[] operands;
+
+        private Junction(String operator, IntPredicate[] operands) {
+            this.operator = operator;
+            this.conjunction = operator == AND;
+            this.operands = operands;
+        }
+
+        static Junction of(String operator, IntPredicate left, IntPredicate right) {
+            IntPredicate[] leftOperands = operandsOf(operator, left);
+            IntPredicate[] rightOperands = operandsOf(operator, right);
+            IntPredicate[] operands = new IntPredicate[leftOperands.length + rightOperands.length];
+            System.arraycopy(leftOperands, 0, operands, 0, leftOperands.length);
+            System.arraycopy(rightOperands, 0, operands, leftOperands.length, rightOperands.length);
+            return new Junction(operator, operands);
+        }
+
+        private static IntPredicate[] operandsOf(String operator, IntPredicate predicate) {
+            if (predicate instanceof Junction && ((Junction) predicate).operator == operator)
+                return ((Junction) predicate).operands;
+            return new IntPredicate[]{predicate};
+        }
+
+        @Override
+        public boolean test(int value) {
+            for (IntPredicate operand : operands) {
+                if (operand.test(value) != conjunction) return !conjunction;
+            }
+            return conjunction;
+        }
+
+        @Override
+        void describeTo(StringBuilder description) {
+            description.append('(');
+            for (int i = 0; i < operands.length; i++) {
+                if (i > 0) description.append(operator);
+                describe(operands[i], description);
+            }
+            description.append(')');
+        }
+    }
+
+    private static final class Negation extends NamedIntPredicate {
+        private final IntPredicate operand;
+
+        private Negation(IntPredicate operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean test(int value) {
+            return !operand.test(value);
+        }
+
+        @Override
+        void describeTo(StringBuilder description) {
+            description.append("(not ");
+            describe(operand, description);
+            description.append(')');
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.dhemery.expressions.diagnosing;
+
+import java.util.function.LongPredicate;
+
+/**
+ * A {@link LongPredicate} that describes itself by name. Each composed
+ * predicate created by this predicate is named to describe the composition.
+ * <p>
+ * Composing predicates does not render their names. A composed predicate
+ * keeps its operands, and renders its name from theirs the first time the
+ * name is requested. A chain of {@code and} compositions, or of {@code or}
+ * compositions, is flattened into a single composed predicate that tests its
+ * operands in order, so {@code a.and(b).and(c)} is named
+ * {@code (a and b and c)}.
+ */
+public class NamedLongPredicate extends Named implements LongPredicate {
+    private final LongPredicate predicate;
+
+    /**
+     * Creates a named long predicate.
+     *
+     * @param name
+     *         the name of the predicate
+     * @param predicate
+     *         the underlying predicate
+     */
+    public NamedLongPredicate(String name, LongPredicate predicate) {
+        super(name);
+        this.predicate = predicate;
+    }
+
+    private NamedLongPredicate() {
+        this.predicate = null;
+    }
+
+    /**
+     * @return whether the underlying predicate accepts the input argument
+     */
+    @Override
+    public boolean test(long value) {
+        return predicate.test(value);
+    }
+
+    /**
+     * {@inheritDoc} The composed predicate is named to describe this predicate,
+     * the {@code other} predicate, and their composition.
+     */
+    @Override
+    public LongPredicate and(LongPredicate other) {
+        return Junction.of(Junction.AND, this, other);
+    }
+
+    /**
+     * {@inheritDoc} The composed predicate is named to describe this predicate,
+     * the {@code other} predicate, and their composition.
+     */
+    @Override
+    public LongPredicate or(LongPredicate other) {
+        return Junction.of(Junction.OR, this, other);
+    }
+
+    /**
+     * {@inheritDoc} The composed predicate is named to describe this predicate,
+     * with the word "not" prepended.
+     */
+    @Override
+    public LongPredicate negate() {
+        return new Negation(this);
+    }
+
+    /**
+     * An n-ary {@code and} or {@code or} of long predicates.
+     */
+    private static final class Junction extends NamedLongPredicate {
+        private static final String AND = " and ";
+        private static final String OR = " or ";
+
+        private final String operator;
+        private final boolean conjunction;
+        private final LongPredicate[] operands;
+
+        private Junction(String operator, LongPredicate[] operands) {
+            this.operator = operator;
+            this.conjunction = operator == AND;
+            this.operands = operands;
+        }
+
+        static Junction of(String operator, LongPredicate left, LongPredicate right) {
+            LongPredicate[] leftOperands = operandsOf(operator, left);
+            LongPredicate[] rightOperands = operandsOf(operator, right);
+            LongPredicate[] operands = new LongPredicate[leftOperands.length + rightOperands.length];
+            System.arraycopy(leftOperands, 0, operands, 0, leftOperands.length);
+            System.arraycopy(rightOperands, 0, operands, leftOperands.length, rightOperands.length);
+            return new Junction(operator, operands);
+        }
+
+        private static LongPredicate[] operandsOf(String operator, LongPredicate predicate) {
+            if (predicate instanceof Junction && ((Junction) predicate).operator == operator)
+                return ((Junction) predicate).operands;
+            return new LongPredicate[]{predicate};
+        }
+
+        @Override
+        public boolean test(long value) {
+            for (LongPredicate operand : operands) {
+                if (operand.test(value) != conjunction) return !conjunction;
+            }
+            return conjunction;
+        }
+
+        @Override
+        void describeTo(StringBuilder description) {
+            description.append('(');
+            for (int i = 0; i < operands.length; i++) {
+                if (i > 0) description.append(operator);
+                describe(operands[i], description);
+            }
+            description.append(')');
+        }
+    }
+
+    private static final class Negation extends NamedLongPredicate {
+        private final LongPredicate operand;
+
+        private Negation(LongPredicate operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean test(long value) {
+            return !operand.test(value);
+        }
+
+        @Override
+        void describeTo(StringBuilder description) {
+            description.append("(not ");
+            describe(operand, description);
+            description.append(')');
+        }
+    }
+}
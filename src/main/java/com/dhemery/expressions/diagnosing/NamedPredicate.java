@@ -1,17 +1,42 @@
 package com.dhemery.expressions.diagnosing;
 
+import java.util.List;
 import java.util.function.Predicate;
 
-import static java.lang.String.format;
-
 /**
  * A {@link Predicate} that describes itself by name. Each composed predicate
  * created by this predicate is named to describe the composition.
+ * <p>
+ * Composing predicates does not render their names. A composed predicate
+ * keeps its operands, and renders its name from theirs the first time the
+ * name is requested. A chain of {@code and} compositions, or of {@code or}
+ * compositions, is flattened into a single composed predicate that tests its
+ * operands in order, so {@code a.and(b).and(c)} is named
+ * {@code (a and b and c)}.
+ * <p>
+ * If the {@link System#getProperties() system property} with the key:
+ * <pre>
+ * com.dhemery.expressions.diagnosing.reorder
+ * </pre>
+ * is {@code true}, each flattened {@code and} or {@code or} learns which of
+ * its operands are cheap and likely to decide the outcome, and evaluates
+ * those first. The composed predicate's name keeps the operands in the order
+ * in which they were composed. Enable reordering only if the composed
+ * predicates have no side effects and none guards another, as
+ * {@code notNull.and(nonEmpty)} does.
  *
  * @param <T>
  *         the type of the input to the predicate
  */
 public class NamedPredicate<T> extends Named implements Predicate<T> {
+    /**
+     * The key for the system property that enables reordering the operands
+     * of composed predicates.
+     */
+    public static final String REORDER_PROPERTY = "com.dhemery.expressions.diagnosing.reorder";
+
+    private static final boolean REORDERS = Boolean.getBoolean(REORDER_PROPERTY);
+
     private final Predicate<T> predicate;
 
     /**
@@ -27,6 +52,10 @@ public class NamedPredicate<T> extends Named implements Predicate<T> {
         this.predicate = predicate;
     }
 
+    private NamedPredicate() {
+        this.predicate = null;
+    }
+
     /**
      * @return whether the underlying predicate accepts the input argument
      */
@@ -41,7 +70,7 @@ public class NamedPredicate<T> extends Named implements Predicate<T> {
      */
     @Override
     public Predicate<T> and(Predicate<? super T> other) {
-        return new NamedPredicate<>(format("(%s and %s)", this, other), predicate.and(other));
+        return Junction.of(Junction.AND, this, other);
     }
 
     /**
@@ -50,7 +79,7 @@ public class NamedPredicate<T> extends Named implements Predicate<T> {
      */
     @Override
     public Predicate<T> or(Predicate<? super T> other) {
-        return new NamedPredicate<>(format("(%s or %s)", this, other), predicate.or(other));
+        return Junction.of(Junction.OR, this, other);
     }
 
     /**
@@ -59,6 +88,117 @@ public class NamedPredicate<T> extends Named implements Predicate<T> {
      */
     @Override
     public Predicate<T> negate() {
-        return new NamedPredicate<>(format("(not %s)", this), predicate.negate());
+        return new Negation<>(this);
+    }
+
+    /**
+     * Composes the operands into a single {@code and} that reorders its
+     * operands if {@code reorders} is true, regardless of the {@link
+     * #REORDER_PROPERTY reorder property}.
+     */
+    static <T> Predicate<T> conjunction(boolean reorders, List<? extends Predicate<? super T>> operands) {
+        return Junction.of(Junction.AND, operands, reorders);
+    }
+
+    /**
+     * Composes the operands into a single {@code or} that reorders its
+     * operands if {@code reorders} is true, regardless of the {@link
+     * #REORDER_PROPERTY reorder property}.
+     */
+    static <T> Predicate<T> disjunction(boolean reorders, List<? extends Predicate<? super T>> operands) {
+        return Junction.of(Junction.OR, operands, reorders);
+    }
+
+    /**
+     * An n-ary {@code and} or {@code or} of predicates.
+     */
+    private static final class Junction<T> extends NamedPredicate<T> {
+        private static final String AND = " and ";
+        private static final String OR = " or ";
+
+        private final String operator;
+        private final boolean conjunction;
+        private final Predicate<? super T>[] operands;
+        private final OperandOrder order;
+
+        private Junction(String operator, Predicate<? super T>[] operands, boolean reorders) {
+            this.operator = operator;
+            this.conjunction = operator == AND;
+            this.operands = operands;
+            this.order = reorders ? new OperandOrder(operands.length) : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Junction<T> of(String operator, Predicate<? super T> left, Predicate<? super T> right) {
+            Predicate<? super T>[] leftOperands = operandsOf(operator, left);
+            Predicate<? super T>[] rightOperands = operandsOf(operator, right);
+            Predicate<? super T>[] operands = (Predicate<? super T>[]) new Predicate<?>[leftOperands.length + rightOperands.length];
+            System.arraycopy(leftOperands, 0, operands, 0, leftOperands.length);
+            System.arraycopy(rightOperands, 0, operands, leftOperands.length, rightOperands.length);
+            return new Junction<>(operator, operands, REORDERS);
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Junction<T> of(String operator, List<? extends Predicate<? super T>> operands, boolean reorders) {
+            Predicate<? super T>[] array = (Predicate<? super T>[]) new Predicate<?>[operands.size()];
+            return new Junction<T>(operator, operands.toArray(array), reorders);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Predicate<? super T>[] operandsOf(String operator, Predicate<? super T> predicate) {
+            if (predicate instanceof Junction && ((Junction<?>) predicate).operator == operator)
+                return ((Junction<T>) predicate).operands;
+            return (Predicate<? super T>[]) new Predicate<?>[]{predicate};
+        }
+
+        @Override
+        public boolean test(T t) {
+            if (order != null) return testInLearnedOrder(t);
+            for (Predicate<? super T> operand : operands) {
+                if (operand.test(t) != conjunction) return !conjunction;
+            }
+            return conjunction;
+        }
+
+        private boolean testInLearnedOrder(T t) {
+            boolean timing = order.begin();
+            for (int index : order.sequence()) {
+                long start = timing ? System.nanoTime() : 0;
+                boolean decisive = operands[index].test(t) != conjunction;
+                order.record(index, decisive, timing ? System.nanoTime() - start : -1);
+                if (decisive) return !conjunction;
+            }
+            return conjunction;
+        }
+
+        @Override
+        void describeTo(StringBuilder description) {
+            description.append('(');
+            for (int i = 0; i < operands.length; i++) {
+                if (i > 0) description.append(operator);
+                describe(operands[i], description);
+            }
+            description.append(')');
+        }
+    }
+
+    private static final class Negation<T> extends NamedPredicate<T> {
+        private final Predicate<? super T> operand;
+
+        private Negation(Predicate<? super T> operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean test(T t) {
+            return !operand.test(t);
+        }
+
+        @Override
+        void describeTo(StringBuilder description) {
+            description.append("(not ");
+            describe(operand, description);
+            description.append(')');
+        }
     }
 }
@@ -0,0 +1,35 @@
+package com.dhemery.expressions.diagnosing;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A {@link ToDoubleFunction} that describes itself by name.
+ *
+ * @param <T>
+ *         the type of the input to the function
+ */
+public class NamedToDoubleFunction<T> extends Named implements ToDoubleFunction<T> {
+    private final ToDoubleFunction<T> function;
+
+    /**
+     * Creates a named double-valued function.
+     *
+     * @param name
+     *         the name of this function
+     * @param function
+     *         the underlying function
+     */
+    public NamedToDoubleFunction(String name, ToDoubleFunction<T> function) {
+        super(name);
+        this.function = function;
+    }
+
+    /**
+     * @return the value returned by applying the underlying function to the
+     * function argument
+     */
+    @Override
+    public double applyAsDouble(T t) {
+        return function.applyAsDouble(t);
+    }
+}
@@ -0,0 +1,35 @@
+package com.dhemery.expressions.diagnosing;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * A {@link ToIntFunction} that describes itself by name.
+ *
+ * @param <T>
+ *         the type of the input to the function
+ */
+public class NamedToIntFunction<T> extends Named implements ToIntFunction<T> {
+    private final ToIntFunction<T> function;
+
+    /**
+     * Creates a named int-valued function.
+     *
+     * @param name
+     *         the name of this function
+     * @param function
+     *         the underlying function
+     */
+    public NamedToIntFunction(String name, ToIntFunction<T> function) {
+        super(name);
+        this.function = function;
+    }
+
+    /**
+     * @return the value returned by applying the underlying function to the
+     * function argument
+     */
+    @Override
+    public int applyAsInt(T t) {
+        return function.applyAsInt(t);
+    }
+}
@@ -0,0 +1,35 @@
+package com.dhemery.expressions.diagnosing;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link ToLongFunction} that describes itself by name.
+ *
+ * @param <T>
+ *         the type of the input to the function
+ */
+public class NamedToLongFunction<T> extends Named implements ToLongFunction<T> {
+    private final ToLongFunction<T> function;
+
+    /**
+     * Creates a named long-valued function.
+     *
+     * @param name
+     *         the name of this function
+     * @param function
+     *         the underlying function
+     */
+    public NamedToLongFunction(String name, ToLongFunction<T> function) {
+        super(name);
+        this.function = function;
+    }
+
+    /**
+     * @return the value returned by applying the underlying function to the
+     * function argument
+     */
+    @Override
+    public long applyAsLong(T t) {
+        return function.applyAsLong(t);
+    }
+}
@@ -0,0 +1,123 @@
+package com.dhemery.expressions.diagnosing;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Learns the order in which to evaluate the operands of a composed
+ * {@code and} or {@code or}, so that operands that are cheap and likely to
+ * decide the outcome are evaluated first.
+ * <p>
+ * For each operand, the order counts how often the operand is evaluated and
+ * how often it decides the outcome: by failing, for an {@code and}, or by
+ * passing, for an {@code or}. It times one evaluation in every
+ * {@link #SAMPLE_PERIOD}, so that most evaluations read no clock. After every
+ * {@link #REORDER_PERIOD} evaluations, it sorts the operands by expected cost
+ * per decision: mean cost divided by the rate at which the operand decides.
+ * It then halves its counts, so that recent evaluations outweigh older ones.
+ * <p>
+ * The counts are updated without synchronization. Simultaneous evaluations
+ * may lose counts, which only blurs the statistics. The order itself is
+ * always a complete permutation of the operands.
+ */
+final class OperandOrder {
+    /**
+     * One evaluation in this many is timed.
+     */
+    static final int SAMPLE_PERIOD = 16;
+
+    /**
+     * The operands are reordered after this many evaluations.
+     */
+    static final int REORDER_PERIOD = 256;
+
+    private final long[] evaluated;
+    private final long[] decided;
+    private final long[] timedNanos;
+    private final long[] timed;
+    private volatile int[] sequence;
+    private int evaluations;
+
+    OperandOrder(int operands) {
+        evaluated = new long[operands];
+        decided = new long[operands];
+        timedNanos = new long[operands];
+        timed = new long[operands];
+        int[] declared = new int[operands];
+        for (int i = 0; i < operands; i++) declared[i] = i;
+        sequence = declared;
+    }
+
+    /**
+     * Returns the indexes of the operands, in the order in which to evaluate
+     * them.
+     */
+    int[] sequence() {
+        return sequence;
+    }
+
+    /**
+     * Begins an evaluation of the composed predicate, reordering the operands
+     * if enough evaluations have been counted since the last reordering.
+     *
+     * @return whether to time the operands during this evaluation
+     */
+    boolean begin() {
+        int count = ++evaluations;
+        if (count % REORDER_PERIOD == 0) reorder();
+        return count % SAMPLE_PERIOD == 0;
+    }
+
+    /**
+     * Records an evaluation of an operand.
+     *
+     * @param operand
+     *         the index of the operand
+     * @param decisive
+     *         whether the operand decided the outcome
+     * @param nanos
+     *         how long the evaluation took, or a negative number if it was
+     *         not timed
+     */
+    void record(int operand, boolean decisive, long nanos) {
+        evaluated[operand]++;
+        if (decisive) decided[operand]++;
+        if (nanos >= 0) {
+            timedNanos[operand] += nanos;
+            timed[operand]++;
+        }
+    }
+
+    /**
+     * Returns the expected cost, in nanoseconds, of each decision by the
+     * operand. An operand that has never been timed is assumed to be free,
+     * so that it is soon evaluated early enough to be measured.
+     */
+    double costPerDecision(int operand) {
+        double meanNanos = timed[operand] == 0 ? 0 : (double) timedNanos[operand] / timed[operand];
+        double decisionRate = (decided[operand] + 1.0) / (evaluated[operand] + 2.0);
+        return meanNanos / decisionRate;
+    }
+
+    void reorder() {
+        int operands = evaluated.length;
+        double[] costs = new double[operands];
+        Integer[] indexes = new Integer[operands];
+        for (int i = 0; i < operands; i++) {
+            costs[i] = costPerDecision(i);
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, Comparator.comparingDouble(i -> costs[i]));
+        int[] reordered = new int[operands];
+        for (int i = 0; i < operands; i++) {
+            reordered[i] = indexes[i];
+            evaluated[i] /= 2;
+            decided[i] /= 2;
+            if (timed[i] > 1) {
+                timedNanos[i] /= 2;
+                timed[i] /= 2;
+            }
+        }
+        sequence = reordered;
+    }
+}
@@ -0,0 +1,206 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.diagnosing.Named;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A poller that learns how long each {@link Named named} condition takes to
+ * be satisfied, and adapts each poll's schedule to what it has learned.
+ * <p>
+ * Each time a named condition is satisfied, the poller records the time
+ * since the poll started in a {@link SatisfactionProfile}. Once the profile
+ * holds {@link #MIN_SAMPLES} samples for the condition, the poller replaces
+ * the schedule of each later poll of the condition with an {@link
+ * AdaptivePollingSchedule}:
+ * <ul>
+ * <li>The first evaluation waits until the condition's learned
+ * {@link #INITIAL_DELAY_QUANTILE lower quartile}, shortly before its
+ * learned median. Starting before the median lets the profile continue to
+ * learn when the condition is satisfied sooner than usual.</li>
+ * <li>The poll then evaluates every eighth of the learned median, so that
+ * it notices the condition within about an eighth of the median after it is
+ * satisfied. The interval never exceeds the original schedule's
+ * interval.</li>
+ * <li>Later intervals follow the original schedule's intervals, scaled by the
+ * same factor, so a {@link BackoffPollingSchedule} still backs off.</li>
+ * <li>The poll keeps the original schedule's duration.</li>
+ * </ul>
+ * Conditions that are not named, whose descriptions may differ from one
+ * instance to the next, are polled on their original schedules and are not
+ * profiled. A poll of a subject is profiled by the name of its predicate,
+ * and by the name of its function, if any.
+ */
+public class AdaptivePoller implements Poller {
+    /**
+     * The number of samples needed before the poller adapts a condition's
+     * schedule.
+     */
+    public static final int MIN_SAMPLES = 3;
+
+    /**
+     * The quantile of past times to satisfy at which to first evaluate a
+     * condition.
+     */
+    public static final double INITIAL_DELAY_QUANTILE = 0.25;
+
+    private static final long MIN_INTERVAL_NANOS = Duration.ofMillis(1).toNanos();
+
+    private final Poller delegate;
+    private final SatisfactionProfile profile;
+    private final NanoClock clock;
+
+    /**
+     * Creates an adaptive poller that polls using the delegate and learns
+     * into the profile.
+     *
+     * @param delegate
+     *         performs each poll
+     * @param profile
+     *         records how long each named condition takes to be satisfied
+     */
+    public AdaptivePoller(Poller delegate, SatisfactionProfile profile) {
+        this(delegate, profile, NanoClock.system());
+    }
+
+    /**
+     * Creates an adaptive poller that polls using the delegate, learns into
+     * the profile, and measures time using the clock.
+     *
+     * @param delegate
+     *         performs each poll
+     * @param profile
+     *         records how long each named condition takes to be satisfied
+     * @param clock
+     *         measures how long each condition takes to be satisfied
+     *
+     * @implNote This constructor exists primarily to allow tests to control
+     * the clock.
+     */
+    public AdaptivePoller(Poller delegate, SatisfactionProfile profile, NanoClock clock) {
+        this.delegate = delegate;
+        this.profile = profile;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the profile into which this poller learns.
+     *
+     * @return the profile into which this poller learns
+     */
+    public SatisfactionProfile profile() {
+        return profile;
+    }
+
+    @Override
+    public boolean poll(PollingSchedule schedule, BooleanSupplier supplier) {
+        Optional<String> name = nameOf(supplier);
+        long start = clock.nanoTime();
+        boolean satisfied = delegate.poll(adapt(schedule, name), supplier);
+        if (satisfied) learn(name, start);
+        return satisfied;
+    }
+
+    @Override
+    public <T> boolean poll(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        Optional<String> name = nameOf(predicate);
+        long start = clock.nanoTime();
+        boolean satisfied = delegate.poll(adapt(schedule, name), subject, predicate);
+        if (satisfied) learn(name, start);
+        return satisfied;
+    }
+
+    @Override
+    public <T, V> PollEvaluationResult<V> poll(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        Optional<String> name = nameOf(function, predicate);
+        long start = clock.nanoTime();
+        PollEvaluationResult<V> result = delegate.poll(adapt(schedule, name), subject, function, predicate);
+        if (result.isSatisfied()) learn(name, start);
+        return result;
+    }
+
+    @Override
+    public <T> IntPollEvaluationResult pollInt(PollingSchedule schedule, T subject, ToIntFunction<? super T> function, IntPredicate predicate) {
+        Optional<String> name = nameOf(function, predicate);
+        long start = clock.nanoTime();
+        IntPollEvaluationResult result = delegate.pollInt(adapt(schedule, name), subject, function, predicate);
+        if (result.isSatisfied()) learn(name, start);
+        return result;
+    }
+
+    @Override
+    public <T> LongPollEvaluationResult pollLong(PollingSchedule schedule, T subject, ToLongFunction<? super T> function, LongPredicate predicate) {
+        Optional<String> name = nameOf(function, predicate);
+        long start = clock.nanoTime();
+        LongPollEvaluationResult result = delegate.pollLong(adapt(schedule, name), subject, function, predicate);
+        if (result.isSatisfied()) learn(name, start);
+        return result;
+    }
+
+    @Override
+    public <T> DoublePollEvaluationResult pollDouble(PollingSchedule schedule, T subject, ToDoubleFunction<? super T> function, DoublePredicate predicate) {
+        Optional<String> name = nameOf(function, predicate);
+        long start = clock.nanoTime();
+        DoublePollEvaluationResult result = delegate.pollDouble(adapt(schedule, name), subject, function, predicate);
+        if (result.isSatisfied()) learn(name, start);
+        return result;
+    }
+
+    @Override
+    public EvaluationHistory history() {
+        return delegate.history();
+    }
+
+    @Override
+    public PollListener listener() {
+        return delegate.listener();
+    }
+
+    /**
+     * Returns the schedule on which to poll the named condition.
+     *
+     * @param schedule
+     *         the schedule requested for the poll
+     * @param name
+     *         the name of the condition
+     *
+     * @return an adaptive schedule if the condition's time to satisfy has
+     * been learned, otherwise the requested schedule
+     */
+    public PollingSchedule adapt(PollingSchedule schedule, String name) {
+        if (profile.samples(name) < MIN_SAMPLES) return schedule;
+        long lowerQuartile = profile.quantile(name, INITIAL_DELAY_QUANTILE).map(Duration::toNanos).orElse(0L);
+        long median = profile.median(name).map(Duration::toNanos).orElse(0L);
+        long interval = Math.min(NanoClockPollTimer.nanos(schedule.interval()), Math.max(MIN_INTERVAL_NANOS, median / 8));
+        return new AdaptivePollingSchedule(Duration.ofNanos(lowerQuartile), Duration.ofNanos(interval), schedule);
+    }
+
+    private PollingSchedule adapt(PollingSchedule schedule, Optional<String> name) {
+        return name.map(n -> adapt(schedule, n)).orElse(schedule);
+    }
+
+    private void learn(Optional<String> name, long start) {
+        long elapsed = clock.nanoTime() - start;
+        name.ifPresent(n -> profile.record(n, Duration.ofNanos(elapsed)));
+    }
+
+    private static Optional<String> nameOf(Object function, Object predicate) {
+        return nameOf(function).flatMap(f -> nameOf(predicate).map(p -> f + " " + p));
+    }
+
+    private static Optional<String> nameOf(Object condition) {
+        return condition instanceof Named ? Optional.of(condition.toString()) : Optional.empty();
+    }
+}
@@ -0,0 +1,122 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+
+import java.time.Duration;
+
+import static java.lang.String.format;
+
+/**
+ * A polling schedule that delays the first evaluation, and polls at an
+ * interval learned from the condition's past polls.
+ * <p>
+ * An adaptive schedule adapts a base schedule. It keeps the base schedule's
+ * duration, and scales each of the base schedule's intervals by the ratio of
+ * the learned interval to the base schedule's first interval. So an adaptive
+ * schedule based on a fixed-interval schedule polls at the learned interval,
+ * and one based on a {@link BackoffPollingSchedule} backs off from the
+ * learned interval as the base schedule backs off from its own.
+ * <p>
+ * This class is not intended for direct use. An {@link AdaptivePoller}
+ * creates an adaptive schedule for each poll of a condition whose time to
+ * be satisfied it has learned.
+ */
+public class AdaptivePollingSchedule extends PollingSchedule {
+    private final Duration initialDelay;
+    private final PollingSchedule base;
+    private final double scale;
+
+    /**
+     * Creates a schedule that waits the initial delay before the first
+     * evaluation, then polls with the given interval until the duration
+     * expires.
+     *
+     * @param initialDelay
+     *         how long to wait before the first evaluation
+     * @param interval
+     *         the polling interval
+     * @param duration
+     *         the duration to poll
+     */
+    public AdaptivePollingSchedule(Duration initialDelay, Duration interval, Duration duration) {
+        this(initialDelay, interval, new PollingSchedule(interval, duration));
+    }
+
+    /**
+     * Creates a schedule that waits the initial delay, or the base
+     * schedule's initial delay if longer, before the first evaluation, then
+     * polls at the base schedule's intervals, scaled so that the first
+     * interval is the given one, until the base schedule's duration expires.
+     *
+     * @param initialDelay
+     *         how long to wait before the first evaluation
+     * @param interval
+     *         the first polling interval
+     * @param base
+     *         the schedule to adapt
+     */
+    public AdaptivePollingSchedule(Duration initialDelay, Duration interval, PollingSchedule base) {
+        super(interval, base.duration());
+        this.initialDelay = initialDelay.compareTo(base.initialDelay()) < 0 ? base.initialDelay() : initialDelay;
+        this.base = base;
+        long baseInterval = NanoClockPollTimer.nanos(base.interval());
+        scale = baseInterval > 0 ? (double) NanoClockPollTimer.nanos(interval) / baseInterval : 1.0;
+    }
+
+    /**
+     * Returns the schedule that this schedule adapts.
+     *
+     * @return the schedule that this schedule adapts
+     */
+    public PollingSchedule base() {
+        return base;
+    }
+
+    @Override
+    public Duration initialDelay() {
+        return initialDelay;
+    }
+
+    @Override
+    public Duration intervalAfter(int evaluations, Duration previousInterval) {
+        Duration basePrevious = scaled(previousInterval, 1.0 / scale);
+        return scaled(base.intervalAfter(evaluations, basePrevious), scale);
+    }
+
+    @Override
+    public String toString() {
+        if (base.getClass() == PollingSchedule.class) return format("after %s, %s", initialDelay, super.toString());
+        return format("after %s, from %s, adapting %s", initialDelay, interval(), base);
+    }
+
+    /**
+     * @return {@code true} if the given object is an {@code AdaptivePollingSchedule}
+     * with the same initial delay, interval, and base schedule as this
+     * schedule.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof AdaptivePollingSchedule) || !super.equals(o)) return false;
+
+        AdaptivePollingSchedule that = (AdaptivePollingSchedule) o;
+
+        return initialDelay.equals(that.initialDelay) && base.equals(that.base);
+    }
+
+    @Override
+    protected boolean canEqual(Object other) {
+        return other instanceof AdaptivePollingSchedule;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + initialDelay.hashCode();
+        result = 31 * result + base.hashCode();
+        return result;
+    }
+
+    private static Duration scaled(Duration duration, double factor) {
+        return Duration.ofNanos((long) Math.min(Long.MAX_VALUE, NanoClockPollTimer.nanos(duration) * factor));
+    }
+}
@@ -0,0 +1,250 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A single poll whose evaluations are driven by an asynchronous poller.
+ * The poll is itself the future that reports its result.
+ * <p>
+ * The driving poller calls {@link #evaluate()} at each evaluation time, and
+ * arranges to call it again after the returned delay. The poll does not
+ * depend on how the poller arranges that.
+ * <p>
+ * If created with a positive history capacity, the poll records its most
+ * recent evaluations in an {@link EvaluationHistory} of its own, which
+ * {@link EvaluationHistory#of(java.util.concurrent.Future)} returns once the
+ * poll completes. The poll does not notify a {@link PollListener}, whose
+ * notifications are correlated by the polling thread.
+ *
+ * @param <R>
+ *         the type of the poll's result
+ */
+abstract class AsyncPoll<R> extends CompletableFuture<R> implements RecordedPoll {
+    /**
+     * Returned by {@link #evaluate()} to indicate that the poll is complete.
+     */
+    static final long COMPLETE = -1;
+
+    private final NanoClock clock;
+    private final NanoClockPollTimer timer;
+    private final EvaluationHistory history;
+    private long initialDelay;
+
+    AsyncPoll(NanoClock clock, int historyCapacity) {
+        this.clock = clock;
+        timer = new NanoClockPollTimer(clock);
+        history = historyCapacity > 0 ? new EvaluationHistory(historyCapacity) : EvaluationHistory.DISABLED;
+    }
+
+    /**
+     * Starts the poll's timer.
+     *
+     * @return this poll
+     */
+    AsyncPoll<R> start(PollingSchedule schedule) {
+        history.begin(clock.nanoTime(), derivesValue());
+        initialDelay = timer.begin(schedule);
+        return this;
+    }
+
+    /**
+     * Returns the number of nanoseconds from the start of the poll until its
+     * first evaluation. The driving poller arranges the first call to
+     * {@link #evaluate()} after this delay.
+     *
+     * @return the number of nanoseconds until the first evaluation
+     */
+    long initialDelay() {
+        return initialDelay;
+    }
+
+    /**
+     * Evaluates the poll's condition once, unless the poll is already complete
+     * or its schedule has expired. Completes the poll if the condition is
+     * satisfied, if the schedule has expired, or if the evaluation throws.
+     *
+     * @return the number of nanoseconds until the next evaluation, or
+     * {@link #COMPLETE} if the poll is complete
+     */
+    long evaluate() {
+        if (isDone()) return COMPLETE;
+        try {
+            if (timer.isExpired()) {
+                complete(result(false));
+                return COMPLETE;
+            }
+            if (history.isEnabled() ? testAndRecord() : test()) {
+                complete(result(true));
+                return COMPLETE;
+            }
+            return Math.max(0, timer.advance());
+        } catch (Throwable thrown) {
+            completeExceptionally(thrown);
+            return COMPLETE;
+        }
+    }
+
+    private boolean testAndRecord() {
+        long start = clock.nanoTime();
+        boolean satisfied = test();
+        record(start, clock.nanoTime(), satisfied);
+        return satisfied;
+    }
+
+    @Override
+    public EvaluationHistory history() {
+        return history;
+    }
+
+    /**
+     * Returns whether each evaluation derives a value from the subject.
+     *
+     * @return whether each evaluation derives a value
+     */
+    boolean derivesValue() {
+        return false;
+    }
+
+    /**
+     * Records the most recent evaluation in the poll's history.
+     *
+     * @param startNanos
+     *         the time at which the evaluation started
+     * @param endNanos
+     *         the time at which the evaluation ended
+     * @param satisfied
+     *         whether the evaluation satisfied the condition
+     */
+    void record(long startNanos, long endNanos, boolean satisfied) {
+        history.record(startNanos, endNanos, satisfied);
+    }
+
+    /**
+     * Tests the poll's condition once.
+     *
+     * @return whether the condition is satisfied
+     */
+    abstract boolean test();
+
+    /**
+     * Returns the result to report when the poll ends.
+     *
+     * @param satisfied
+     *         whether the final evaluation satisfied the condition
+     *
+     * @return the result to report
+     */
+    abstract R result(boolean satisfied);
+
+    /**
+     * Waits for the poll to complete, and returns its result. If an evaluation
+     * threw an unchecked exception, rethrows it.
+     * <p>
+     * If the waiting thread is interrupted, or its open {@link PollHandle} is
+     * cancelled, cancels the poll and throws a {@link PollCancelledException}.
+     * An interrupt remains set.
+     */
+    static <R> R await(CompletableFuture<R> poll) {
+        PollHandle handle = PollHandle.current();
+        if (handle != null) handle.onCancel(() -> poll.cancel(false));
+        try {
+            return poll.get();
+        } catch (InterruptedException interrupted) {
+            poll.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PollCancelledException(true);
+        } catch (CancellationException cancelled) {
+            throw new PollCancelledException(false);
+        } catch (ExecutionException executionException) {
+            Throwable cause = executionException.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new CompletionException(cause);
+        } finally {
+            if (handle != null) handle.onCancel(null);
+        }
+    }
+
+    static class OfBooleanSupplier extends AsyncPoll<Boolean> {
+        private final BooleanSupplier supplier;
+
+        OfBooleanSupplier(NanoClock clock, int historyCapacity, BooleanSupplier supplier) {
+            super(clock, historyCapacity);
+            this.supplier = supplier;
+        }
+
+        @Override
+        boolean test() {
+            return supplier.getAsBoolean();
+        }
+
+        @Override
+        Boolean result(boolean satisfied) {
+            return satisfied;
+        }
+    }
+
+    static class OfSubjectPredicate<T> extends AsyncPoll<Boolean> {
+        private final T subject;
+        private final Predicate<? super T> predicate;
+
+        OfSubjectPredicate(NanoClock clock, int historyCapacity, T subject, Predicate<? super T> predicate) {
+            super(clock, historyCapacity);
+            this.subject = subject;
+            this.predicate = predicate;
+        }
+
+        @Override
+        boolean test() {
+            return predicate.test(subject);
+        }
+
+        @Override
+        Boolean result(boolean satisfied) {
+            return satisfied;
+        }
+    }
+
+    static class OfSubjectFunctionPredicate<T, V> extends AsyncPoll<PollEvaluationResult<V>> {
+        private final T subject;
+        private final Function<? super T, V> function;
+        private final Predicate<? super V> predicate;
+        private V value;
+
+        OfSubjectFunctionPredicate(NanoClock clock, int historyCapacity, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+            super(clock, historyCapacity);
+            this.subject = subject;
+            this.function = function;
+            this.predicate = predicate;
+        }
+
+        @Override
+        boolean test() {
+            value = function.apply(subject);
+            return predicate.test(value);
+        }
+
+        @Override
+        boolean derivesValue() {
+            return true;
+        }
+
+        @Override
+        void record(long startNanos, long endNanos, boolean satisfied) {
+            history().recordValue(startNanos, endNanos, satisfied, value);
+        }
+
+        @Override
+        PollEvaluationResult<V> result(boolean satisfied) {
+            return new PollEvaluationResult<>(value, satisfied);
+        }
+    }
+}
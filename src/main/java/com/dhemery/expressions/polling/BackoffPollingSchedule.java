@@ -0,0 +1,210 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.TimeFrames;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.lang.String.format;
+
+/**
+ * A polling schedule whose interval grows exponentially from one evaluation
+ * to the next, up to a maximum interval.
+ * <p>
+ * The first interval is the schedule's {@link #interval() initial interval}.
+ * Each later interval is the previous one multiplied by the schedule's
+ * multiplier, then limited to the schedule's maximum interval. The schedule's
+ * {@link Jitter} then randomizes each interval, so that many polls that
+ * start together do not evaluate in lockstep.
+ * <p>
+ * This class is not intended for direct use. Instead, call {@link
+ * Within#backingOff(Duration, double, Duration, Jitter) backingOff} on the
+ * schedule returned by {@link TimeFrames#within}.
+ */
+public class BackoffPollingSchedule extends PollingSchedule {
+    /**
+     * How to randomize each interval of a backoff schedule.
+     * <p>
+     * In the descriptions below, <em>backoff</em> is the interval that the
+     * schedule would wait without jitter: the initial interval multiplied by
+     * the multiplier once for each earlier evaluation, limited to the maximum
+     * interval.
+     */
+    public enum Jitter {
+        /**
+         * Wait exactly the backoff interval.
+         */
+        NONE("no jitter") {
+            @Override
+            long nanos(long backoff, long initial, long maximum, long previous) {
+                return backoff;
+            }
+        },
+
+        /**
+         * Wait a random interval between zero and the backoff interval.
+         */
+        FULL("full jitter") {
+            @Override
+            long nanos(long backoff, long initial, long maximum, long previous) {
+                return random(0, backoff);
+            }
+        },
+
+        /**
+         * Wait half of the backoff interval, plus a random interval between
+         * zero and the other half.
+         */
+        EQUAL("equal jitter") {
+            @Override
+            long nanos(long backoff, long initial, long maximum, long previous) {
+                long half = backoff / 2;
+                return half + random(0, backoff - half);
+            }
+        },
+
+        /**
+         * Wait a random interval between the initial interval and three times
+         * the previous interval, limited to the maximum interval. Each interval
+         * depends on the previous randomized interval rather than on the
+         * number of evaluations, which spreads simultaneous polls apart more
+         * quickly than the other strategies.
+         */
+        DECORRELATED("decorrelated jitter") {
+            @Override
+            long nanos(long backoff, long initial, long maximum, long previous) {
+                long upper = previous > maximum / 3 ? maximum : Math.max(initial, previous * 3);
+                return Math.min(maximum, random(initial, upper));
+            }
+        };
+
+        private final String description;
+
+        Jitter(String description) {
+            this.description = description;
+        }
+
+        abstract long nanos(long backoff, long initial, long maximum, long previous);
+
+        private static long random(long lower, long upper) {
+            if (upper <= lower) return lower;
+            return ThreadLocalRandom.current().nextLong(lower, upper + 1);
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    private final double multiplier;
+    private final Duration maxInterval;
+    private final Jitter jitter;
+
+    /**
+     * Creates a backoff schedule.
+     * <p>
+     * This constructor is not intended for direct use. Instead, call {@link
+     * Within#backingOff(Duration, double, Duration, Jitter) backingOff} on the
+     * schedule returned by {@link TimeFrames#within}.
+     *
+     * @param initialInterval
+     *         the interval to wait after the first evaluation
+     * @param multiplier
+     *         the factor by which each interval exceeds the previous one
+     * @param maxInterval
+     *         the longest interval to wait between evaluations
+     * @param jitter
+     *         how to randomize each interval
+     * @param duration
+     *         the duration to poll
+     *
+     * @throws IllegalArgumentException if the multiplier is less than 1, or the
+     * maximum interval is shorter than the initial interval
+     */
+    public BackoffPollingSchedule(Duration initialInterval, double multiplier, Duration maxInterval, Jitter jitter, Duration duration) {
+        super(initialInterval, duration);
+        if (!(multiplier >= 1.0))
+            throw new IllegalArgumentException(format("backoff multiplier %s is less than 1", multiplier));
+        if (maxInterval.compareTo(initialInterval) < 0)
+            throw new IllegalArgumentException(format("maximum interval %s is shorter than initial interval %s", maxInterval, initialInterval));
+        this.multiplier = multiplier;
+        this.maxInterval = maxInterval;
+        this.jitter = Objects.requireNonNull(jitter, "jitter");
+    }
+
+    /**
+     * Returns the factor by which each interval exceeds the previous one,
+     * before jitter.
+     *
+     * @return the factor by which each interval exceeds the previous one
+     */
+    public double multiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Returns the longest interval to wait between evaluations.
+     *
+     * @return the longest interval to wait between evaluations
+     */
+    public Duration maxInterval() {
+        return maxInterval;
+    }
+
+    /**
+     * Returns how this schedule randomizes each interval.
+     *
+     * @return how this schedule randomizes each interval
+     */
+    public Jitter jitter() {
+        return jitter;
+    }
+
+    @Override
+    public Duration intervalAfter(int evaluations, Duration previousInterval) {
+        long initial = NanoClockPollTimer.nanos(interval());
+        long maximum = NanoClockPollTimer.nanos(maxInterval);
+        double growth = Math.pow(multiplier, Math.max(0, evaluations - 1));
+        long backoff = (long) Math.min((double) maximum, initial * growth);
+        long previous = NanoClockPollTimer.nanos(previousInterval);
+        return Duration.ofNanos(jitter.nanos(backoff, initial, maximum, previous));
+    }
+
+    @Override
+    public String toString() {
+        return format("backing off from %s by %s up to %s with %s for %s", interval(), multiplier, maxInterval, jitter, duration());
+    }
+
+    /**
+     * @return {@code true} if the given object is a {@code BackoffPollingSchedule}
+     * with the same initial interval, multiplier, maximum interval, jitter,
+     * and duration as this schedule.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof BackoffPollingSchedule) || !super.equals(o)) return false;
+
+        BackoffPollingSchedule that = (BackoffPollingSchedule) o;
+
+        return Double.compare(that.multiplier, multiplier) == 0
+                && maxInterval.equals(that.maxInterval)
+                && jitter == that.jitter;
+    }
+
+    @Override
+    protected boolean canEqual(Object other) {
+        return other instanceof BackoffPollingSchedule;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + Double.hashCode(multiplier);
+        result = 31 * result + maxInterval.hashCode();
+        result = 31 * result + jitter.hashCode();
+        return result;
+    }
+}
@@ -1,22 +1,20 @@
 package com.dhemery.expressions.polling;
 
-import com.dhemery.expressions.PollingSchedule;
-
 import java.time.Clock;
-import java.time.Duration;
-import java.time.Instant;
 
 /**
  * A poll timer that tells the time using a {@link Clock} and ticks by calling
  * a {@link Sleeper}.
+ * <p>
+ * Each time reading asks the clock for an {@link java.time.Instant Instant}.
+ * If the clock reports wall time, adjustments to the wall clock (such as
+ * those made by NTP) can shorten or lengthen a poll. To poll on a monotonic
+ * time source, use {@link NanoClockPollTimer}.
+ * <p>
+ * Unless constructed with a different {@link TickMode}, a clock poll timer
+ * ticks with a {@link TickMode#FIXED_DELAY fixed delay}.
  */
-public class ClockPollTimer implements PollTimer {
-    private final Clock clock;
-    private final Sleeper sleeper;
-
-    private Duration interval;
-    private Instant expiration;
-
+public class ClockPollTimer extends NanoClockPollTimer {
     /**
      * Creates a poll timer that tells time using a {@link Clock#systemUTC() system clock}
      * and ticks using a sleeper that causes the thread to sleep.
@@ -33,7 +31,7 @@ public class ClockPollTimer implements PollTimer {
      *         tells the time
      */
     public ClockPollTimer(Clock clock) {
-        this(clock, threadSleeper());
+        this(clock, new ThreadSleeper());
     }
 
     /**
@@ -49,32 +47,22 @@ public class ClockPollTimer implements PollTimer {
      * the clock and to provide a mechanism for pretending to sleep.
      */
     public ClockPollTimer(Clock clock, Sleeper sleeper) {
-        this.clock = clock;
-        this.sleeper = sleeper;
-    }
-
-    @Override
-    public void start(PollingSchedule schedule) {
-        interval = schedule.interval();
-        expiration = clock.instant().plus(schedule.duration());
-    }
-
-    @Override
-    public boolean isExpired() {
-        return !clock.instant().isBefore(expiration);
-    }
-
-    @Override
-    public void tick() {
-        sleeper.sleep(interval);
+        this(clock, sleeper, TickMode.FIXED_DELAY);
     }
 
-    private static Sleeper threadSleeper() {
-        return sleepDuration -> {
-            try {
-                Thread.sleep(sleepDuration.toMillis());
-            } catch (InterruptedException ignored) {
-            }
-        };
+    /**
+     * Creates a poll timer that tells time using the given clock,
+     * ticks using the given sleeper, and schedules evaluations
+     * according to the given mode.
+     *
+     * @param clock
+     *         tells the time
+     * @param sleeper
+     *         sleeps between polls
+     * @param mode
+     *         how to schedule evaluations
+     */
+    public ClockPollTimer(Clock clock, Sleeper sleeper, TickMode mode) {
+        super(NanoClock.of(clock), sleeper, mode);
     }
 }
@@ -0,0 +1,90 @@
+package com.dhemery.expressions.polling;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the polls of one condition: how many polls were performed,
+ * how many evaluations they cost, how many timed out, how long each
+ * satisfied poll took, and how long each evaluation took.
+ * <p>
+ * Every metric is updated without locking, and may be read while polls
+ * update it.
+ */
+public class ConditionMetrics {
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LatencyHistogram timeToSatisfy = new LatencyHistogram();
+    private final LatencyHistogram evaluationLatency = new LatencyHistogram();
+
+    /**
+     * Records an evaluation of the condition.
+     *
+     * @param nanos
+     *         how long the evaluation took, in nanoseconds
+     */
+    public void recordEvaluation(long nanos) {
+        evaluations.increment();
+        evaluationLatency.record(nanos);
+    }
+
+    /**
+     * Records a completed poll of the condition.
+     *
+     * @param satisfied
+     *         whether the poll was satisfied before its schedule expired
+     * @param nanos
+     *         how long the poll took, in nanoseconds
+     */
+    public void recordPoll(boolean satisfied, long nanos) {
+        polls.increment();
+        if (satisfied) timeToSatisfy.record(nanos);
+        else timeouts.increment();
+    }
+
+    /**
+     * Returns the number of completed polls.
+     *
+     * @return the number of completed polls
+     */
+    public long polls() {
+        return polls.sum();
+    }
+
+    /**
+     * Returns the number of evaluations.
+     *
+     * @return the number of evaluations
+     */
+    public long evaluations() {
+        return evaluations.sum();
+    }
+
+    /**
+     * Returns the number of polls whose schedules expired before the
+     * condition was satisfied.
+     *
+     * @return the number of polls that timed out
+     */
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Returns the histogram of how long each satisfied poll took.
+     *
+     * @return the histogram of how long each satisfied poll took
+     */
+    public LatencyHistogram timeToSatisfy() {
+        return timeToSatisfy;
+    }
+
+    /**
+     * Returns the histogram of how long each evaluation took.
+     *
+     * @return the histogram of how long each evaluation took
+     */
+    public LatencyHistogram evaluationLatency() {
+        return evaluationLatency;
+    }
+}
@@ -0,0 +1,258 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A singleton poller that delegates to the poller selected by the
+ * {@link System#getProperties() system property} with the key:
+ * <pre>
+ * com.dhemery.expressions.polling.poller
+ * </pre>
+ * The property value selects the poller:
+ * <ul>
+ * <li>{@code thread}: polls on the calling thread, sleeping between
+ * evaluations (a default {@link PollTimerPoller}).</li>
+ * <li>{@code virtual}: polls on the calling thread, parking between
+ * evaluations (a {@link VirtualThreadPoller}). Selecting this poller fails if
+ * the runtime does not support virtual threads.</li>
+ * <li>{@code wheel}: evaluates every poll on a few shared ticker threads
+ * (a {@link TimingWheelPoller}), blocking the calling thread until the poll
+ * completes.</li>
+ * <li>{@code adaptive}: polls on the calling thread like {@code thread}, but
+ * learns how long each named condition takes to be satisfied, and delays
+ * each poll's first evaluation accordingly (an {@link AdaptivePoller}).</li>
+ * </ul>
+ * If the system has no such property, the default poller is {@code thread}.
+ * <p>
+ * The adaptive poller persists what it learns in the file named by the
+ * system property with the key:
+ * <pre>
+ * com.dhemery.expressions.polling.profile
+ * </pre>
+ * If the system has no such property, the adaptive poller learns only for
+ * the life of the JVM.
+ * <p>
+ * The {@code thread} and {@code adaptive} pollers, and the asynchronous
+ * pollers, record the given number of most recent evaluations of each poll
+ * in an {@link EvaluationHistory}, as specified by the system property with
+ * the key:
+ * <pre>
+ * com.dhemery.expressions.polling.history
+ * </pre>
+ * If the system has no such property, the pollers record no history.
+ * <p>
+ * If the system property with the key:
+ * <pre>
+ * com.dhemery.expressions.polling.metrics
+ * </pre>
+ * is {@code true}, the default poller records the metrics of each poll in
+ * {@link PollMetrics#GLOBAL} (using a {@link MeteredPoller}). If the system
+ * also has a property with the key:
+ * <pre>
+ * com.dhemery.expressions.polling.metrics.port
+ * </pre>
+ * a {@link MetricsServer} serves the metrics on that port of the loopback
+ * address. If metrics are not enabled, the default poller does not meter
+ * its polls, and pays nothing for metrics.
+ * <p>
+ * If the system property with the key:
+ * <pre>
+ * com.dhemery.expressions.polling.watchdog
+ * </pre>
+ * is {@code true}, the default poller runs each evaluation under a {@link
+ * WatchdogPoller}, which ends a poll whose evaluation runs past the
+ * schedule's duration.
+ * <p>
+ * Unless the system property with the key:
+ * <pre>
+ * com.dhemery.expressions.polling.flightrecorder
+ * </pre>
+ * is {@code false}, the default poller {@link FlightRecording#install()
+ * emits poll events} to any running Java Flight Recorder recording. While no
+ * recording runs, the default poller pays nothing for this. Flight Recorder
+ * events require Java 11 or later; on earlier runtimes the default poller
+ * emits none.
+ */
+public class DefaultPoller implements Poller {
+    /**
+     * The key for the system property that selects the default poller.
+     */
+    public static final String POLLER_PROPERTY = "com.dhemery.expressions.polling.poller";
+
+    /**
+     * The key for the system property that names the file in which the
+     * adaptive poller persists its {@link SatisfactionProfile}.
+     */
+    public static final String PROFILE_PROPERTY = "com.dhemery.expressions.polling.profile";
+
+    /**
+     * The key for the system property that specifies how many evaluations
+     * the default poller records in the history of each poll.
+     */
+    public static final String HISTORY_PROPERTY = "com.dhemery.expressions.polling.history";
+
+    /**
+     * The key for the system property that enables metrics.
+     */
+    public static final String METRICS_PROPERTY = "com.dhemery.expressions.polling.metrics";
+
+    /**
+     * The key for the system property that specifies the port on which to
+     * serve metrics.
+     */
+    public static final String METRICS_PORT_PROPERTY = "com.dhemery.expressions.polling.metrics.port";
+
+    /**
+     * The key for the system property that enables the evaluation watchdog.
+     */
+    public static final String WATCHDOG_PROPERTY = "com.dhemery.expressions.polling.watchdog";
+
+    /**
+     * The key for the system property that disables Flight Recorder events.
+     */
+    public static final String FLIGHT_RECORDER_PROPERTY = "com.dhemery.expressions.polling.flightrecorder";
+
+    /**
+     * The Flight Recorder bridge, compiled for Java 11 apart from the rest of
+     * the library, and so loaded only by name.
+     */
+    private static final String FLIGHT_RECORDING_CLASS = "com.dhemery.expressions.polling.FlightRecording";
+
+    /**
+     * The name of the poller to use if the system properties do not select one.
+     */
+    public static final String FALLBACK_POLLER = "thread";
+
+    /**
+     * The singleton instance of this default poller.
+     */
+    public static final Poller INSTANCE = new DefaultPoller();
+
+    private final Poller poller;
+
+    private DefaultPoller() {
+        poller = metered(watched(named(System.getProperty(POLLER_PROPERTY, FALLBACK_POLLER))));
+        recorded();
+    }
+
+    @Override
+    public boolean poll(PollingSchedule schedule, BooleanSupplier supplier) {
+        return poller.poll(schedule, supplier);
+    }
+
+    @Override
+    public <T> boolean poll(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        return poller.poll(schedule, subject, predicate);
+    }
+
+    @Override
+    public <T, V> PollEvaluationResult<V> poll(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return poller.poll(schedule, subject, function, predicate);
+    }
+
+    @Override
+    public <T> IntPollEvaluationResult pollInt(PollingSchedule schedule, T subject, ToIntFunction<? super T> function, IntPredicate predicate) {
+        return poller.pollInt(schedule, subject, function, predicate);
+    }
+
+    @Override
+    public <T> LongPollEvaluationResult pollLong(PollingSchedule schedule, T subject, ToLongFunction<? super T> function, LongPredicate predicate) {
+        return poller.pollLong(schedule, subject, function, predicate);
+    }
+
+    @Override
+    public <T> DoublePollEvaluationResult pollDouble(PollingSchedule schedule, T subject, ToDoubleFunction<? super T> function, DoublePredicate predicate) {
+        return poller.pollDouble(schedule, subject, function, predicate);
+    }
+
+    @Override
+    public EvaluationHistory history() {
+        return poller.history();
+    }
+
+    @Override
+    public PollListener listener() {
+        return poller.listener();
+    }
+
+    static Poller named(String name) {
+        switch (name) {
+            case "thread":
+                return PollTimerPoller.recordingHistory(historyCapacity());
+            case "virtual":
+                if (!VirtualThreadPoller.virtualThreadsAreAvailable())
+                    throw new RuntimeException(
+                            String.join(System.lineSeparator(),
+                                    "Expected a runtime that supports virtual threads",
+                                    "   for system property   : " + POLLER_PROPERTY + "=virtual",
+                                    "   but the runtime is Java " + System.getProperty("java.specification.version")));
+                return new VirtualThreadPoller();
+            case "wheel":
+                return new TimingWheelPoller();
+            case "adaptive":
+                return new AdaptivePoller(PollTimerPoller.recordingHistory(historyCapacity()), profile());
+            default:
+                throw new RuntimeException(
+                        String.join(System.lineSeparator(),
+                                "Expected the name of a poller (thread, virtual, wheel, or adaptive)",
+                                "   for system property   : " + POLLER_PROPERTY,
+                                "   but property value was: " + name));
+        }
+    }
+
+    static Poller watched(Poller poller) {
+        return Boolean.getBoolean(WATCHDOG_PROPERTY) ? new WatchdogPoller(poller) : poller;
+    }
+
+    static Poller metered(Poller poller) {
+        if (!Boolean.getBoolean(METRICS_PROPERTY)) return poller;
+        Integer port = Integer.getInteger(METRICS_PORT_PROPERTY);
+        if (port != null) {
+            try {
+                MetricsServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), PollMetrics.GLOBAL);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot serve metrics on port " + port, e);
+            }
+        }
+        return new MeteredPoller(poller, PollMetrics.GLOBAL);
+    }
+
+    static void recorded() {
+        if (!Boolean.parseBoolean(System.getProperty(FLIGHT_RECORDER_PROPERTY, "true"))) return;
+        try {
+            Class.forName(FLIGHT_RECORDING_CLASS).getMethod("install").invoke(null);
+        } catch (LinkageError | ClassNotFoundException runtimeLacksFlightRecorder) {
+            // The runtime predates Java 11 or omits the jdk.jfr module, so there is nothing to record to
+        } catch (InvocationTargetException thrown) {
+            if (!(thrown.getCause() instanceof LinkageError)) throw new IllegalStateException(thrown.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int historyCapacity() {
+        return EvaluationHistory.defaultCapacity();
+    }
+
+    private static SatisfactionProfile profile() {
+        String file = System.getProperty(PROFILE_PROPERTY);
+        return file == null ? new SatisfactionProfile() : SatisfactionProfile.persistentIn(Paths.get(file));
+    }
+}
@@ -0,0 +1,439 @@
+package com.dhemery.expressions.polling;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+
+/**
+ * The most recent evaluations of a poll: when each evaluation started, how
+ * long it took, whether it satisfied the condition, and the value that it
+ * derived, if any.
+ * <p>
+ * A history holds at most a fixed number of evaluations. Its storage is
+ * allocated when the history is created, and each poll reuses it. Recording
+ * an evaluation writes a few array elements. An {@code int}, {@code long}, or
+ * {@code double} value is held in a primitive slot, so recording it
+ * allocates nothing. Any other value is held by reference, and is described,
+ * in at most {@value #MAX_DESCRIPTION_LENGTH} characters, only when the
+ * history is read, rendered, or {@link #snapshot() snapshotted}, so that
+ * recording never renders a value. A snapshot holds descriptions rather than
+ * values. Until the next poll begins, a history retains the values it holds,
+ * and describes each value as it is when read.
+ * <p>
+ * A history records the evaluations of one poll at a time, and must not be
+ * shared between simultaneous polls. Pollers that record histories keep
+ * {@link #forCurrentThread(int) one history per thread}.
+ */
+public class EvaluationHistory {
+    /**
+     * A history that records nothing.
+     */
+    public static final EvaluationHistory DISABLED = new EvaluationHistory(0);
+
+    /**
+     * The maximum length of the description of a recorded value.
+     */
+    public static final int MAX_DESCRIPTION_LENGTH = 80;
+
+    private static final ThreadLocal<EvaluationHistory> THREAD_HISTORIES = new ThreadLocal<>();
+    private static final byte NO_VALUE = 0;
+    private static final byte INT_VALUE = 1;
+    private static final byte LONG_VALUE = 2;
+    private static final byte DOUBLE_VALUE = 3;
+    private static final byte OBJECT_VALUE = 4;
+
+    private final int capacity;
+    private final long[] offsets;
+    private final long[] durations;
+    private final boolean[] satisfied;
+    private final byte[] kinds;
+    private final long[] longValues;
+    private final double[] doubleValues;
+    private final Object[] values;
+    private long pollStart;
+    private boolean recordsValues;
+    private long evaluations;
+
+    /**
+     * Creates a history that holds at most the given number of evaluations.
+     *
+     * @param capacity
+     *         the maximum number of evaluations to hold
+     */
+    public EvaluationHistory(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        offsets = new long[this.capacity];
+        durations = new long[this.capacity];
+        satisfied = new boolean[this.capacity];
+        kinds = new byte[this.capacity];
+        longValues = new long[this.capacity];
+        doubleValues = new double[this.capacity];
+        values = new Object[this.capacity];
+    }
+
+    /**
+     * Returns the calling thread's history, creating it if the thread has no
+     * history of the given capacity.
+     *
+     * @param capacity
+     *         the maximum number of evaluations to hold
+     *
+     * @return the calling thread's history
+     */
+    public static EvaluationHistory forCurrentThread(int capacity) {
+        if (capacity <= 0) return DISABLED;
+        EvaluationHistory history = THREAD_HISTORIES.get();
+        if (history == null || history.capacity != capacity) {
+            history = new EvaluationHistory(capacity);
+            THREAD_HISTORIES.set(history);
+        }
+        return history;
+    }
+
+    /**
+     * Returns the history recorded by an asynchronous poll. Call this once
+     * the poll completes.
+     *
+     * @param poll
+     *         the future returned by an asynchronous poller
+     *
+     * @return the history of the poll's most recent evaluations, or {@link
+     * #DISABLED} if the poll recorded no history
+     */
+    public static EvaluationHistory of(Future<?> poll) {
+        return poll instanceof RecordedPoll ? ((RecordedPoll) poll).history() : DISABLED;
+    }
+
+    /**
+     * Returns the number of evaluations that pollers record by default, as
+     * specified by the {@link DefaultPoller#HISTORY_PROPERTY history property}.
+     *
+     * @return the number of evaluations that pollers record by default
+     */
+    static int defaultCapacity() {
+        return Integer.getInteger(DefaultPoller.HISTORY_PROPERTY, 0);
+    }
+
+    /**
+     * Returns whether this history records evaluations.
+     *
+     * @return whether this history records evaluations
+     */
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Discards the recorded evaluations, and begins recording a new poll.
+     *
+     * @param pollStartNanos
+     *         the {@link System#nanoTime()} at which the poll started
+     * @param recordsValues
+     *         whether the poll's evaluations derive values
+     */
+    public void begin(long pollStartNanos, boolean recordsValues) {
+        if (capacity == 0) return;
+        pollStart = pollStartNanos;
+        this.recordsValues = recordsValues;
+        evaluations = 0;
+        Arrays.fill(values, null);
+    }
+
+    /**
+     * Records an evaluation that derives no value, replacing the oldest one
+     * if the history is full.
+     *
+     * @param startNanos
+     *         the {@link System#nanoTime()} at which the evaluation started
+     * @param endNanos
+     *         the {@link System#nanoTime()} at which the evaluation ended
+     * @param isSatisfied
+     *         whether the evaluation satisfied the condition
+     */
+    public void record(long startNanos, long endNanos, boolean isSatisfied) {
+        if (capacity == 0) return;
+        kinds[next(startNanos, endNanos, isSatisfied)] = NO_VALUE;
+    }
+
+    /**
+     * Records an evaluation that derives an {@code int} value, replacing the
+     * oldest one if the history is full.
+     *
+     * @param startNanos
+     *         the {@link System#nanoTime()} at which the evaluation started
+     * @param endNanos
+     *         the {@link System#nanoTime()} at which the evaluation ended
+     * @param isSatisfied
+     *         whether the evaluation satisfied the condition
+     * @param value
+     *         the value that the evaluation derived
+     */
+    public void recordInt(long startNanos, long endNanos, boolean isSatisfied, int value) {
+        if (capacity == 0) return;
+        int slot = next(startNanos, endNanos, isSatisfied);
+        kinds[slot] = INT_VALUE;
+        longValues[slot] = value;
+    }
+
+    /**
+     * Records an evaluation that derives a {@code long} value, replacing the
+     * oldest one if the history is full.
+     *
+     * @param startNanos
+     *         the {@link System#nanoTime()} at which the evaluation started
+     * @param endNanos
+     *         the {@link System#nanoTime()} at which the evaluation ended
+     * @param isSatisfied
+     *         whether the evaluation satisfied the condition
+     * @param value
+     *         the value that the evaluation derived
+     */
+    public void recordLong(long startNanos, long endNanos, boolean isSatisfied, long value) {
+        if (capacity == 0) return;
+        int slot = next(startNanos, endNanos, isSatisfied);
+        kinds[slot] = LONG_VALUE;
+        longValues[slot] = value;
+    }
+
+    /**
+     * Records an evaluation that derives a {@code double} value, replacing
+     * the oldest one if the history is full.
+     *
+     * @param startNanos
+     *         the {@link System#nanoTime()} at which the evaluation started
+     * @param endNanos
+     *         the {@link System#nanoTime()} at which the evaluation ended
+     * @param isSatisfied
+     *         whether the evaluation satisfied the condition
+     * @param value
+     *         the value that the evaluation derived
+     */
+    public void recordDouble(long startNanos, long endNanos, boolean isSatisfied, double value) {
+        if (capacity == 0) return;
+        int slot = next(startNanos, endNanos, isSatisfied);
+        kinds[slot] = DOUBLE_VALUE;
+        doubleValues[slot] = value;
+    }
+
+    /**
+     * Records an evaluation that derives a value, replacing the oldest one if
+     * the history is full. The history holds the value by reference, and
+     * describes it only when the history is read, rendered, or snapshotted.
+     *
+     * @param startNanos
+     *         the {@link System#nanoTime()} at which the evaluation started
+     * @param endNanos
+     *         the {@link System#nanoTime()} at which the evaluation ended
+     * @param isSatisfied
+     *         whether the evaluation satisfied the condition
+     * @param value
+     *         the value that the evaluation derived
+     */
+    public void recordValue(long startNanos, long endNanos, boolean isSatisfied, Object value) {
+        if (capacity == 0) return;
+        int slot = next(startNanos, endNanos, isSatisfied);
+        kinds[slot] = OBJECT_VALUE;
+        values[slot] = value;
+    }
+
+    /**
+     * Returns the maximum number of evaluations this history holds.
+     *
+     * @return the maximum number of evaluations this history holds
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of evaluations recorded since the poll began,
+     * including those no longer held.
+     *
+     * @return the number of evaluations recorded since the poll began
+     */
+    public long evaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Returns the number of evaluations this history holds.
+     *
+     * @return the number of evaluations this history holds
+     */
+    public int size() {
+        return (int) Math.min(evaluations, capacity);
+    }
+
+    /**
+     * Returns the number of nanoseconds from the start of the poll to the
+     * start of the given evaluation.
+     *
+     * @param index
+     *         the index of the evaluation, from 0 (the oldest held) to
+     *         {@link #size()} - 1 (the most recent)
+     *
+     * @return the start of the evaluation, relative to the start of the poll
+     */
+    public long offsetNanos(int index) {
+        return offsets[slot(index)];
+    }
+
+    /**
+     * Returns how many nanoseconds the given evaluation took.
+     *
+     * @param index
+     *         the index of the evaluation
+     *
+     * @return how many nanoseconds the evaluation took
+     */
+    public long durationNanos(int index) {
+        return durations[slot(index)];
+    }
+
+    /**
+     * Returns whether the given evaluation satisfied the condition.
+     *
+     * @param index
+     *         the index of the evaluation
+     *
+     * @return whether the evaluation satisfied the condition
+     */
+    public boolean satisfied(int index) {
+        return satisfied[slot(index)];
+    }
+
+    /**
+     * Returns the value that the given evaluation derived. An {@code int},
+     * {@code long}, or {@code double} value is returned boxed. Any other value
+     * is returned as its description.
+     *
+     * @param index
+     *         the index of the evaluation
+     *
+     * @return the value that the evaluation derived, or {@code null} if the
+     * evaluation derived no value
+     */
+    public Object value(int index) {
+        int slot = slot(index);
+        switch (kinds[slot]) {
+            case INT_VALUE:
+                return (int) longValues[slot];
+            case LONG_VALUE:
+                return longValues[slot];
+            case DOUBLE_VALUE:
+                return doubleValues[slot];
+            case OBJECT_VALUE:
+                return describe(values[slot]);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns a copy of this history, unaffected by later polls that reuse
+     * this history. The copy holds the description of each value, rather than
+     * the value itself.
+     *
+     * @return a copy of this history
+     */
+    public EvaluationHistory snapshot() {
+        if (capacity == 0) return DISABLED;
+        EvaluationHistory copy = new EvaluationHistory(capacity);
+        copy.pollStart = pollStart;
+        copy.recordsValues = recordsValues;
+        copy.evaluations = evaluations;
+        System.arraycopy(offsets, 0, copy.offsets, 0, capacity);
+        System.arraycopy(durations, 0, copy.durations, 0, capacity);
+        System.arraycopy(satisfied, 0, copy.satisfied, 0, capacity);
+        System.arraycopy(kinds, 0, copy.kinds, 0, capacity);
+        System.arraycopy(longValues, 0, copy.longValues, 0, capacity);
+        System.arraycopy(doubleValues, 0, copy.doubleValues, 0, capacity);
+        for (int i = 0; i < capacity; i++) {
+            if (kinds[i] == OBJECT_VALUE) copy.values[i] = describe(values[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * Appends a description of the held evaluations, one per line, each
+     * preceded by the line separator.
+     *
+     * @param out
+     *         the appendable to append to
+     *
+     * @throws IOException if the appendable throws
+     */
+    public void renderTo(Appendable out) throws IOException {
+        int size = size();
+        if (size == 0) return;
+        out.append(System.lineSeparator()).append(" history: last ").append(Integer.toString(size))
+                .append(" of ").append(Long.toString(evaluations)).append(" evaluations");
+        for (int i = 0; i < size; i++) {
+            out.append(System.lineSeparator()).append("          at ");
+            appendMillis(out, offsetNanos(i));
+            out.append(", took ");
+            appendMillis(out, durationNanos(i));
+            out.append(": ").append(satisfied(i) ? "satisfied" : "unsatisfied");
+            if (recordsValues) {
+                out.append(", was ");
+                appendValue(out, slot(i));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            renderTo(builder);
+        } catch (IOException impossible) {
+            throw new IllegalStateException(impossible);
+        }
+        return builder.toString().trim();
+    }
+
+    private int next(long startNanos, long endNanos, boolean isSatisfied) {
+        int slot = (int) (evaluations % capacity);
+        offsets[slot] = startNanos - pollStart;
+        durations[slot] = endNanos - startNanos;
+        satisfied[slot] = isSatisfied;
+        evaluations++;
+        return slot;
+    }
+
+    private void appendValue(Appendable out, int slot) throws IOException {
+        switch (kinds[slot]) {
+            case INT_VALUE:
+            case LONG_VALUE:
+                out.append(Long.toString(longValues[slot]));
+                break;
+            case DOUBLE_VALUE:
+                out.append(Double.toString(doubleValues[slot]));
+                break;
+            default:
+                out.append(describe(values[slot]));
+        }
+    }
+
+    private static String describe(Object value) {
+        String description = String.valueOf(value);
+        if (description.length() <= MAX_DESCRIPTION_LENGTH) return description;
+        return description.substring(0, MAX_DESCRIPTION_LENGTH - 3) + "...";
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("evaluation " + index + " of " + size());
+        long oldest = evaluations - size();
+        return (int) ((oldest + index) % capacity);
+    }
+
+    private static void appendMillis(Appendable out, long nanos) throws IOException {
+        long micros = Math.abs(nanos) / 1_000;
+        if (nanos < 0) out.append('-');
+        out.append(Long.toString(micros / 1_000)).append('.');
+        long fraction = micros % 1_000;
+        if (fraction < 100) out.append('0');
+        if (fraction < 10) out.append('0');
+        out.append(Long.toString(fraction)).append("ms");
+    }
+}
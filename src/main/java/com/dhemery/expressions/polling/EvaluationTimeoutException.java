@@ -0,0 +1,34 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.diagnosing.Failures;
+
+import java.util.function.Supplier;
+
+/**
+ * Indicates that a single evaluation of a polled condition ran past the
+ * time remaining in its polling schedule. The schedule expired because the
+ * evaluation was too slow, not because the condition was found to be
+ * unsatisfied.
+ * <p>
+ * Like its superclass, the exception renders its diagnosis the first time
+ * its message is requested, or when it is serialized.
+ *
+ * @see WatchdogPoller
+ * @see Failures
+ */
+public class EvaluationTimeoutException extends PollTimeoutException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates an exception that renders its message from the diagnosis when
+     * the message is first requested.
+     *
+     * @param diagnosis
+     *         supplies the exception's message
+     * @param writableStackTrace
+     *         whether to fill in the stack trace
+     */
+    public EvaluationTimeoutException(Supplier<String> diagnosis, boolean writableStackTrace) {
+        super(diagnosis, writableStackTrace);
+    }
+}
@@ -0,0 +1,95 @@
+package com.dhemery.expressions.polling;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations in buckets whose upper bounds double from one
+ * microsecond to about a minute, plus a final bucket for longer durations.
+ * <p>
+ * Each bucket is a {@link LongAdder}, which spreads updates from different
+ * threads across separate cells. Recording a duration takes no lock, and
+ * threads that record at the same time rarely contend. Reading the counts
+ * while other threads record may see some recent updates but not others.
+ */
+public class LatencyHistogram {
+    /**
+     * The number of buckets with finite upper bounds.
+     */
+    public static final int FINITE_BUCKETS = 27;
+
+    private static final long SMALLEST_BOUND_NANOS = 1_000;
+
+    private final LongAdder[] counts = new LongAdder[FINITE_BUCKETS + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < counts.length; i++) counts[i] = new LongAdder();
+    }
+
+    /**
+     * Returns the upper bound of the given bucket, in nanoseconds.
+     *
+     * @param bucket
+     *         the index of a bucket with a finite upper bound
+     *
+     * @return the bucket's upper bound, in nanoseconds
+     */
+    public static long upperBoundNanos(int bucket) {
+        return SMALLEST_BOUND_NANOS << bucket;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos
+     *         the duration, in nanoseconds
+     */
+    public void record(long nanos) {
+        counts[bucket(nanos)].increment();
+        sumNanos.add(Math.max(0, nanos));
+    }
+
+    /**
+     * Returns the number of recorded durations in the given bucket: those no
+     * longer than the bucket's upper bound, and longer than the previous
+     * bucket's upper bound. The bucket at index {@link #FINITE_BUCKETS} holds
+     * durations longer than every finite bound.
+     *
+     * @param bucket
+     *         the index of the bucket
+     *
+     * @return the number of recorded durations in the bucket
+     */
+    public long count(int bucket) {
+        return counts[bucket].sum();
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return the number of recorded durations
+     */
+    public long count() {
+        long total = 0;
+        for (LongAdder count : counts) total += count.sum();
+        return total;
+    }
+
+    /**
+     * Returns the sum of the recorded durations, in nanoseconds.
+     *
+     * @return the sum of the recorded durations, in nanoseconds
+     */
+    public long sumNanos() {
+        return sumNanos.sum();
+    }
+
+    static int bucket(long nanos) {
+        if (nanos <= SMALLEST_BOUND_NANOS) return 0;
+        int bucket = 64 - Long.numberOfLeadingZeros((nanos - 1) / SMALLEST_BOUND_NANOS);
+        return Math.min(bucket, FINITE_BUCKETS);
+    }
+}
@@ -0,0 +1,43 @@
+package com.dhemery.expressions.polling;
+
+/**
+ * The result of a single evaluation during a poll of a long value. Unlike
+ * {@link PollEvaluationResult}, this result holds the value without boxing it.
+ */
+public class LongPollEvaluationResult {
+    private final long value;
+    private final boolean satisfied;
+
+    /**
+     * Creates a poll evaluation result indicating whether the given value
+     * satisfied the poll criteria.
+     *
+     * @param value
+     *         the value evaluated by the poll evaluation
+     * @param satisfied
+     *         indicates whether the value satisfied the poll criteria
+     */
+    public LongPollEvaluationResult(long value, boolean satisfied) {
+        this.value = value;
+        this.satisfied = satisfied;
+    }
+
+    /**
+     * Returns the value evaluated by the poll evaluation.
+     *
+     * @return the value evaluated by the poll evaluation
+     */
+    public long value() {
+        return value;
+    }
+
+    /**
+     * Indicates whether the value satisfied the poll criteria
+     *
+     * @return {@code true} if the value satisfied the poll criteria, otherwise
+     * {@code false}
+     */
+    public boolean isSatisfied() {
+        return satisfied;
+    }
+}
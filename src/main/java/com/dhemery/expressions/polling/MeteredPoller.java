@@ -0,0 +1,183 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.diagnosing.Named;
+import com.dhemery.expressions.diagnosing.NamedBooleanSupplier;
+import com.dhemery.expressions.diagnosing.NamedFunction;
+import com.dhemery.expressions.diagnosing.NamedPredicate;
+import com.dhemery.expressions.diagnosing.NamedToDoubleFunction;
+import com.dhemery.expressions.diagnosing.NamedToIntFunction;
+import com.dhemery.expressions.diagnosing.NamedToLongFunction;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A poller that records the {@link ConditionMetrics metrics} of each poll
+ * in a {@link PollMetrics} registry, then delegates the poll to another
+ * poller.
+ * <p>
+ * The poller times each evaluation by decorating the condition before
+ * passing it to the delegate. A decorated named condition keeps its name, so
+ * a delegate such as an {@link AdaptivePoller} still recognizes it. For a
+ * poll that derives a value from a subject, an evaluation's latency is the
+ * time to derive the value.
+ * <p>
+ * A poller that is not metered pays nothing for metrics. To disable metrics,
+ * poll with the delegate directly.
+ */
+public class MeteredPoller implements Poller {
+    private final Poller delegate;
+    private final PollMetrics metrics;
+    private final NanoClock clock;
+
+    /**
+     * Creates a poller that records metrics in the registry and polls using
+     * the delegate.
+     *
+     * @param delegate
+     *         performs each poll
+     * @param metrics
+     *         records the metrics of each poll
+     */
+    public MeteredPoller(Poller delegate, PollMetrics metrics) {
+        this(delegate, metrics, NanoClock.system());
+    }
+
+    /**
+     * Creates a poller that records metrics in the registry, polls using the
+     * delegate, and measures time using the clock.
+     *
+     * @param delegate
+     *         performs each poll
+     * @param metrics
+     *         records the metrics of each poll
+     * @param clock
+     *         measures how long each poll and evaluation takes
+     *
+     * @implNote This constructor exists primarily to allow tests to control
+     * the clock.
+     */
+    public MeteredPoller(Poller delegate, PollMetrics metrics, NanoClock clock) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the registry in which this poller records metrics.
+     *
+     * @return the registry in which this poller records metrics
+     */
+    public PollMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public boolean poll(PollingSchedule schedule, BooleanSupplier supplier) {
+        ConditionMetrics condition = metrics.forCondition(supplier);
+        BooleanSupplier timed = () -> {
+            long start = clock.nanoTime();
+            boolean satisfied = supplier.getAsBoolean();
+            condition.recordEvaluation(clock.nanoTime() - start);
+            return satisfied;
+        };
+        long start = clock.nanoTime();
+        boolean satisfied = delegate.poll(schedule, supplier instanceof Named ? new NamedBooleanSupplier(supplier.toString(), timed) : timed);
+        condition.recordPoll(satisfied, clock.nanoTime() - start);
+        return satisfied;
+    }
+
+    @Override
+    public <T> boolean poll(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        ConditionMetrics condition = metrics.forCondition(predicate);
+        Predicate<T> timed = t -> {
+            long start = clock.nanoTime();
+            boolean satisfied = predicate.test(t);
+            condition.recordEvaluation(clock.nanoTime() - start);
+            return satisfied;
+        };
+        long start = clock.nanoTime();
+        boolean satisfied = delegate.poll(schedule, subject, predicate instanceof Named ? new NamedPredicate<>(predicate.toString(), timed) : timed);
+        condition.recordPoll(satisfied, clock.nanoTime() - start);
+        return satisfied;
+    }
+
+    @Override
+    public <T, V> PollEvaluationResult<V> poll(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        ConditionMetrics condition = metrics.forCondition(function, predicate);
+        Function<T, V> timed = t -> {
+            long start = clock.nanoTime();
+            V value = function.apply(t);
+            condition.recordEvaluation(clock.nanoTime() - start);
+            return value;
+        };
+        long start = clock.nanoTime();
+        PollEvaluationResult<V> result = delegate.poll(schedule, subject, function instanceof Named ? new NamedFunction<>(function.toString(), timed) : timed, predicate);
+        condition.recordPoll(result.isSatisfied(), clock.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public <T> IntPollEvaluationResult pollInt(PollingSchedule schedule, T subject, ToIntFunction<? super T> function, IntPredicate predicate) {
+        ConditionMetrics condition = metrics.forCondition(function, predicate);
+        ToIntFunction<T> timed = t -> {
+            long start = clock.nanoTime();
+            int value = function.applyAsInt(t);
+            condition.recordEvaluation(clock.nanoTime() - start);
+            return value;
+        };
+        long start = clock.nanoTime();
+        IntPollEvaluationResult result = delegate.pollInt(schedule, subject, function instanceof Named ? new NamedToIntFunction<>(function.toString(), timed) : timed, predicate);
+        condition.recordPoll(result.isSatisfied(), clock.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public <T> LongPollEvaluationResult pollLong(PollingSchedule schedule, T subject, ToLongFunction<? super T> function, LongPredicate predicate) {
+        ConditionMetrics condition = metrics.forCondition(function, predicate);
+        ToLongFunction<T> timed = t -> {
+            long start = clock.nanoTime();
+            long value = function.applyAsLong(t);
+            condition.recordEvaluation(clock.nanoTime() - start);
+            return value;
+        };
+        long start = clock.nanoTime();
+        LongPollEvaluationResult result = delegate.pollLong(schedule, subject, function instanceof Named ? new NamedToLongFunction<>(function.toString(), timed) : timed, predicate);
+        condition.recordPoll(result.isSatisfied(), clock.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public <T> DoublePollEvaluationResult pollDouble(PollingSchedule schedule, T subject, ToDoubleFunction<? super T> function, DoublePredicate predicate) {
+        ConditionMetrics condition = metrics.forCondition(function, predicate);
+        ToDoubleFunction<T> timed = t -> {
+            long start = clock.nanoTime();
+            double value = function.applyAsDouble(t);
+            condition.recordEvaluation(clock.nanoTime() - start);
+            return value;
+        };
+        long start = clock.nanoTime();
+        DoublePollEvaluationResult result = delegate.pollDouble(schedule, subject, function instanceof Named ? new NamedToDoubleFunction<>(function.toString(), timed) : timed, predicate);
+        condition.recordPoll(result.isSatisfied(), clock.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public EvaluationHistory history() {
+        return delegate.history();
+    }
+
+    @Override
+    public PollListener listener() {
+        return delegate.listener();
+    }
+}
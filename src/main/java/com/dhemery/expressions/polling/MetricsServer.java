@@ -0,0 +1,99 @@
+package com.dhemery.expressions.polling;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A small HTTP server that serves the metrics in a {@link PollMetrics}
+ * registry in the Prometheus text exposition format, at the path
+ * {@value #PATH}.
+ * <p>
+ * The server handles requests on a single daemon thread. Close the server
+ * to stop it and release its port.
+ */
+public class MetricsServer implements AutoCloseable {
+    /**
+     * The path at which the server serves metrics.
+     */
+    public static final String PATH = "/metrics";
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private MetricsServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a server that serves the registry's metrics at the address.
+     *
+     * @param address
+     *         the address at which to serve the metrics. To choose an
+     *         available port, specify port 0.
+     * @param metrics
+     *         the metrics to serve
+     *
+     * @return the started server
+     *
+     * @throws IOException if the server cannot bind to the address
+     */
+    public static MetricsServer start(InetSocketAddress address, PollMetrics metrics) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expressions-metrics-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(PATH, exchange -> serve(exchange, metrics));
+        server.start();
+        return new MetricsServer(server, executor);
+    }
+
+    /**
+     * Returns the address at which the server serves metrics.
+     *
+     * @return the address at which the server serves metrics
+     */
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void serve(HttpExchange exchange, PollMetrics metrics) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            StringBuilder text = new StringBuilder();
+            metrics.writePrometheusText(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.dhemery.expressions.polling;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Tells time as a number of nanoseconds since some fixed but arbitrary origin.
+ * <p>
+ * Only the differences between times reported by the same nano clock are
+ * meaningful. Compare times by subtracting them ({@code t1 - t0 < 0}), not
+ * with relational operators, so that comparisons remain correct if the
+ * reported times overflow.
+ */
+public interface NanoClock {
+    /**
+     * Returns the current time, in nanoseconds since this clock's origin.
+     *
+     * @return the current time, in nanoseconds since this clock's origin
+     */
+    long nanoTime();
+
+    /**
+     * Returns a nano clock that tells time using {@link System#nanoTime()}.
+     * The system nano clock is monotonic: adjustments to the system's
+     * wall clock do not affect it.
+     *
+     * @return a nano clock that tells time using {@link System#nanoTime()}
+     */
+    static NanoClock system() {
+        return System::nanoTime;
+    }
+
+    /**
+     * Returns a nano clock that tells time using the given clock. The
+     * returned clock reports the number of nanoseconds since the epoch,
+     * and is subject to any adjustments to the given clock.
+     *
+     * @param clock
+     *         tells the time
+     *
+     * @return a nano clock that tells time using the given clock
+     */
+    static NanoClock of(Clock clock) {
+        return () -> {
+            Instant now = clock.instant();
+            return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        };
+    }
+}
@@ -0,0 +1,199 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+
+import java.time.Duration;
+
+/**
+ * A poll timer that tells the time using a {@link NanoClock} and ticks by
+ * calling a {@link Sleeper}.
+ * <p>
+ * When the timer starts, it computes the poll's interval and expiration time
+ * as primitive nanosecond counts. Each expiration check then costs one clock
+ * reading and one comparison, and allocates nothing.
+ * <p>
+ * After each evaluation, the timer asks the schedule for the {@link
+ * PollingSchedule#intervalAfter(int, Duration) next interval}, so schedules
+ * whose interval varies, such as a {@link BackoffPollingSchedule}, control
+ * the pause before each evaluation.
+ *
+ * @see TickMode
+ */
+public class NanoClockPollTimer implements PollTimer {
+    private static final long MAX_NANOS = Long.MAX_VALUE / 2;
+
+    private final NanoClock clock;
+    private final Sleeper sleeper;
+    private final TickMode mode;
+
+    private PollingSchedule schedule;
+    private Duration interval;
+    private int evaluations;
+    private long intervalNanos;
+    private long expiration;
+    private long nextEvaluation;
+    private boolean finalEvaluationIsDue;
+    private boolean evaluatedFinally;
+
+    /**
+     * Creates a fixed-rate poll timer that tells time using the {@link
+     * NanoClock#system() system nano clock} and ticks using a sleeper that
+     * causes the thread to sleep.
+     */
+    public NanoClockPollTimer() {
+        this(NanoClock.system());
+    }
+
+    /**
+     * Creates a fixed-rate poll timer that tells time using the given nano
+     * clock and ticks using a sleeper that causes the thread to sleep.
+     *
+     * @param clock
+     *         tells the time
+     */
+    public NanoClockPollTimer(NanoClock clock) {
+        this(clock, new ThreadSleeper());
+    }
+
+    /**
+     * Creates a fixed-rate poll timer that tells time using the given nano
+     * clock and ticks using the given sleeper.
+     *
+     * @param clock
+     *         tells the time
+     * @param sleeper
+     *         sleeps between polls
+     *
+     * @implNote This constructor exists primarily to allow tests to control
+     * the clock and to provide a mechanism for pretending to sleep.
+     */
+    public NanoClockPollTimer(NanoClock clock, Sleeper sleeper) {
+        this(clock, sleeper, TickMode.FIXED_RATE);
+    }
+
+    /**
+     * Creates a poll timer that tells time using the given nano clock,
+     * ticks using the given sleeper, and schedules evaluations
+     * according to the given mode.
+     *
+     * @param clock
+     *         tells the time
+     * @param sleeper
+     *         sleeps between polls
+     * @param mode
+     *         how to schedule evaluations
+     */
+    public NanoClockPollTimer(NanoClock clock, Sleeper sleeper, TickMode mode) {
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.mode = mode;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the schedule has an {@link PollingSchedule#initialDelay() initial
+     * delay}, this method sleeps until the first evaluation time.
+     */
+    @Override
+    public void start(PollingSchedule schedule) {
+        long delay = begin(schedule);
+        if (delay > 0) sleeper.sleepNanos(delay);
+    }
+
+    /**
+     * Starts this timer without sleeping, and returns the number of
+     * nanoseconds until the first evaluation time. If the schedule's initial
+     * delay would pass its expiration time, the first evaluation is at the
+     * expiration time.
+     * <p>
+     * {@link #start(PollingSchedule)} calls this method to decide how long to
+     * sleep. Pollers that do not pause the polling thread can call this
+     * method instead of {@code start()} and arrange to evaluate after the
+     * returned delay.
+     *
+     * @param schedule
+     *         the schedule of the poll
+     *
+     * @return the number of nanoseconds until the first evaluation time
+     */
+    public long begin(PollingSchedule schedule) {
+        long now = clock.nanoTime();
+        this.schedule = schedule;
+        interval = schedule.interval();
+        intervalNanos = nanos(interval);
+        evaluations = 0;
+        expiration = now + nanos(schedule.duration());
+        finalEvaluationIsDue = false;
+        evaluatedFinally = false;
+        long delay = Math.max(0, nanos(schedule.initialDelay()));
+        nextEvaluation = now + delay;
+        if (delay > 0 && nextEvaluation - expiration >= 0) {
+            nextEvaluation = expiration;
+            finalEvaluationIsDue = true;
+        }
+        return nextEvaluation - now;
+    }
+
+    @Override
+    public boolean isExpired() {
+        if (evaluatedFinally) return true;
+        if (finalEvaluationIsDue) return false;
+        return clock.nanoTime() - expiration >= 0;
+    }
+
+    @Override
+    public void tick() {
+        long delay = advance();
+        if (delay > 0) sleeper.sleepNanos(delay);
+    }
+
+    /**
+     * Advances this timer to the next evaluation time, and returns the number
+     * of nanoseconds until that time.
+     * <p>
+     * {@link #tick()} calls this method to decide how long to sleep. Pollers
+     * that do not pause the polling thread can call this method instead of
+     * {@code tick()} and arrange to evaluate after the returned delay.
+     *
+     * @return the number of nanoseconds until the next evaluation time
+     */
+    public long advance() {
+        nextInterval();
+        if (finalEvaluationIsDue) {
+            evaluatedFinally = true;
+            return 0;
+        }
+        if (mode == TickMode.FIXED_DELAY) return intervalNanos;
+        long now = clock.nanoTime();
+        if (now - expiration >= 0) {
+            evaluatedFinally = true;
+            return 0;
+        }
+        nextEvaluation += intervalNanos;
+        if (nextEvaluation - now < 0) nextEvaluation = now;
+        if (nextEvaluation - expiration >= 0) {
+            nextEvaluation = expiration;
+            finalEvaluationIsDue = true;
+        }
+        return nextEvaluation - now;
+    }
+
+    private void nextInterval() {
+        if (evaluations < Integer.MAX_VALUE) evaluations++;
+        Duration next = schedule.intervalAfter(evaluations, interval);
+        if (next == interval) return;
+        interval = next;
+        intervalNanos = nanos(next);
+    }
+
+    /**
+     * Returns the number of nanoseconds in the duration, limited to a range
+     * that can be safely added to and subtracted from any nano clock time.
+     */
+    static long nanos(Duration duration) {
+        if (duration.getSeconds() >= MAX_NANOS / 1_000_000_000L) return MAX_NANOS;
+        if (duration.getSeconds() <= -MAX_NANOS / 1_000_000_000L) return -MAX_NANOS;
+        return duration.toNanos();
+    }
+}
@@ -0,0 +1,30 @@
+package com.dhemery.expressions.polling;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A sleeper that pauses by parking the current thread. A virtual thread
+ * parked by this sleeper releases its carrier thread while it sleeps.
+ * <p>
+ * If the thread is interrupted while sleeping, or its {@link PollHandle} is
+ * cancelled, the sleeper wakes early. It leaves the thread's interrupt
+ * status set.
+ */
+class ParkingSleeper implements Sleeper {
+    @Override
+    public void sleep(Duration sleepDuration) {
+        sleepNanos(NanoClockPollTimer.nanos(sleepDuration));
+    }
+
+    @Override
+    public void sleepNanos(long sleepNanos) {
+        long wakeTime = System.nanoTime() + sleepNanos;
+        long remaining = sleepNanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (PollHandle.stopsCurrentPoll()) return;
+            remaining = wakeTime - System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.diagnosing.DiagnosticReport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * A group of conditions polled together as a single condition. Each
+ * evaluation evaluates only the conditions that have not yet been satisfied,
+ * and drops the newly satisfied ones from later evaluations.
+ * <p>
+ * The conditions are either boolean suppliers, or subjects to be evaluated by
+ * a common predicate. If an evaluation pool is given, each evaluation
+ * evaluates the pending conditions in parallel on that pool.
+ * <p>
+ * Pending conditions are evaluated by one poll at a time, and must not be
+ * shared between simultaneous polls.
+ *
+ * @param <T>
+ *         the type of each condition
+ */
+public class PendingConditions<T> implements BooleanSupplier {
+    /**
+     * How many of the conditions must be satisfied.
+     */
+    public enum Quantifier {
+        /**
+         * Every condition must be satisfied.
+         */
+        ALL("all of"),
+
+        /**
+         * At least one condition must be satisfied. A group of no conditions
+         * cannot be quantified by {@code ANY}.
+         */
+        ANY("any of");
+
+        private final String description;
+
+        Quantifier(String description) {
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    private final Quantifier quantifier;
+    private final List<T> conditions;
+    private final Predicate<? super T> predicate;
+    private final Optional<ForkJoinPool> evaluationPool;
+    private final Object[] pending;
+    private int pendingCount;
+    private boolean satisfiedAny;
+
+    private PendingConditions(Quantifier quantifier, Collection<? extends T> conditions, Predicate<? super T> predicate, Optional<ForkJoinPool> evaluationPool) {
+        if (quantifier == Quantifier.ANY && conditions.isEmpty())
+            throw new IllegalArgumentException("no condition in an empty group can be satisfied");
+        this.quantifier = quantifier;
+        this.conditions = Collections.unmodifiableList(new ArrayList<>(conditions));
+        this.predicate = predicate;
+        this.evaluationPool = evaluationPool;
+        this.pending = this.conditions.toArray();
+        this.pendingCount = pending.length;
+    }
+
+    /**
+     * Creates a group of boolean suppliers.
+     *
+     * @param quantifier
+     *         how many of the suppliers must return {@code true}
+     * @param suppliers
+     *         the suppliers to evaluate
+     * @param evaluationPool
+     *         the pool on which to evaluate the suppliers in parallel,
+     *         or empty to evaluate them sequentially on the polling thread
+     *
+     * @return a group of the boolean suppliers
+     *
+     * @throws IllegalArgumentException if the quantifier is {@link
+     * Quantifier#ANY ANY} and there are no suppliers
+     */
+    public static PendingConditions<BooleanSupplier> of(Quantifier quantifier, Collection<? extends BooleanSupplier> suppliers, Optional<ForkJoinPool> evaluationPool) {
+        return new PendingConditions<>(quantifier, suppliers, null, evaluationPool);
+    }
+
+    /**
+     * Creates a group of subjects, each to be evaluated by the predicate.
+     *
+     * @param quantifier
+     *         how many of the subjects the predicate must accept
+     * @param subjects
+     *         the subjects to evaluate
+     * @param predicate
+     *         evaluates each subject
+     * @param evaluationPool
+     *         the pool on which to evaluate the subjects in parallel,
+     *         or empty to evaluate them sequentially on the polling thread
+     * @param <T>
+     *         the type of the subjects
+     *
+     * @return a group of the subjects
+     *
+     * @throws IllegalArgumentException if the quantifier is {@link
+     * Quantifier#ANY ANY} and there are no subjects
+     */
+    public static <T> PendingConditions<T> of(Quantifier quantifier, Collection<? extends T> subjects, Predicate<? super T> predicate, Optional<ForkJoinPool> evaluationPool) {
+        return new PendingConditions<>(quantifier, subjects, predicate, evaluationPool);
+    }
+
+    /**
+     * Evaluates each pending condition, and drops the satisfied ones. Once
+     * the group is satisfied, it remains satisfied, and later evaluations
+     * evaluate nothing.
+     *
+     * @return {@code true} if the group is satisfied, otherwise {@code false}
+     */
+    @Override
+    public boolean getAsBoolean() {
+        int count = pendingCount;
+        if (count == 0 || (quantifier == Quantifier.ANY && satisfiedAny)) return true;
+        boolean[] satisfied = evaluationPool.isPresent() ? evaluateInParallel(count) : null;
+        int remaining = 0;
+        for (int i = 0; i < count; i++) {
+            boolean isSatisfied = satisfied == null ? test(i) : satisfied[i];
+            if (!isSatisfied) pending[remaining++] = pending[i];
+        }
+        Arrays.fill(pending, remaining, count, null);
+        pendingCount = remaining;
+        if (remaining < count) satisfiedAny = true;
+        return remaining == 0 || (quantifier == Quantifier.ANY && satisfiedAny);
+    }
+
+    /**
+     * Returns how many of the conditions must be satisfied.
+     *
+     * @return how many of the conditions must be satisfied
+     */
+    public Quantifier quantifier() {
+        return quantifier;
+    }
+
+    /**
+     * Returns all of the conditions, in the order given.
+     *
+     * @return all of the conditions, in the order given
+     */
+    public List<T> conditions() {
+        return conditions;
+    }
+
+    /**
+     * Returns the conditions that have not been satisfied, in the order given.
+     *
+     * @return the conditions that have not been satisfied
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> pending() {
+        List<T> unsatisfied = new ArrayList<>(pendingCount);
+        for (int i = 0; i < pendingCount; i++) unsatisfied.add((T) pending[i]);
+        return unsatisfied;
+    }
+
+    /**
+     * Returns the predicate that evaluates each subject, or empty if the
+     * conditions are boolean suppliers.
+     *
+     * @return the predicate that evaluates each subject
+     */
+    public Optional<Predicate<? super T>> predicate() {
+        return Optional.ofNullable(predicate);
+    }
+
+    /**
+     * Returns a report of this group's failure to be satisfied within the
+     * schedule. The report lists the conditions that are still pending.
+     *
+     * @param schedule
+     *         the schedule on which the group was polled
+     *
+     * @return a report of this group's failure
+     */
+    public DiagnosticReport diagnosticReport(PollingSchedule schedule) {
+        return predicate == null
+                ? DiagnosticReport.ofPending(schedule, this, pending())
+                : DiagnosticReport.ofPending(schedule, this, predicate, pending());
+    }
+
+    @Override
+    public String toString() {
+        return quantifier + " " + conditions;
+    }
+
+    private boolean[] evaluateInParallel(int count) {
+        boolean[] satisfied = new boolean[count];
+        evaluationPool.get().submit(() -> IntStream.range(0, count).parallel().forEach(i -> satisfied[i] = test(i))).join();
+        return satisfied;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean test(int i) {
+        T condition = (T) pending[i];
+        return predicate == null ? ((BooleanSupplier) condition).getAsBoolean() : predicate.test(condition);
+    }
+}
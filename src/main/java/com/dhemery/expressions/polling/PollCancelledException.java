@@ -0,0 +1,40 @@
+package com.dhemery.expressions.polling;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Indicates that a poll ended before it was satisfied or timed out, because
+ * the polling thread was interrupted or the poll's {@link PollHandle} was
+ * cancelled.
+ * <p>
+ * If the poll ended because the thread was interrupted, the thread's
+ * interrupt status remains set, so that the code that catches this exception
+ * can still see the interrupt.
+ */
+public class PollCancelledException extends CancellationException {
+    private static final long serialVersionUID = 1L;
+
+    private final boolean interrupted;
+
+    /**
+     * Creates an exception that reports whether the poll ended because its
+     * thread was interrupted.
+     *
+     * @param interrupted
+     *         whether the poll ended because its thread was interrupted
+     */
+    public PollCancelledException(boolean interrupted) {
+        super(interrupted ? "poll interrupted" : "poll cancelled");
+        this.interrupted = interrupted;
+    }
+
+    /**
+     * Returns whether the poll ended because its thread was interrupted,
+     * rather than because its handle was cancelled.
+     *
+     * @return whether the poll ended because its thread was interrupted
+     */
+    public boolean wasInterrupted() {
+        return interrupted;
+    }
+}
@@ -0,0 +1,171 @@
+package com.dhemery.expressions.polling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lets another thread cancel the polls of one thread, without interrupting
+ * the thread.
+ * <p>
+ * A thread {@link #open() opens} a handle, passes it to whatever may need to
+ * cancel the thread's waits, then polls. If another thread {@link #cancel()
+ * cancels} the handle, each poll that the thread performs while the handle is
+ * open ends with a {@link PollCancelledException}:
+ * <pre>
+ * try (PollHandle handle = PollHandle.open()) {
+ *     abortButton.onClick(handle::cancel);
+ *     waitUntil(server, isReady());
+ * }
+ * </pre>
+ * A poll that parks between evaluations, such as one performed by a {@link
+ * VirtualThreadPoller} or {@link SignalPoller}, wakes and ends at once. A
+ * poll that sleeps with {@link Thread#sleep(long)}, such as one performed by
+ * the default {@link PollTimerPoller}, is woken by an interrupt that the poll
+ * recognizes as a cancellation and clears, and ends at once. A blocking poll
+ * that waits for an asynchronous poller cancels the asynchronous poll and
+ * ends at once. A poll that is evaluating its condition ends before its next
+ * evaluation.
+ * <p>
+ * Handles nest: opening a handle while another is open hides the outer
+ * handle until the inner one is closed. A handle must be closed by the
+ * thread that opened it.
+ */
+public final class PollHandle implements AutoCloseable {
+    private static final ThreadLocal<PollHandle> CURRENT = new ThreadLocal<>();
+    private static final int AWAKE = 0;
+    private static final int SLEEPING = 1;
+    private static final int WAKING = 2;
+    private static final int WOKEN = 3;
+
+    private final Thread thread;
+    private final PollHandle enclosing;
+    private volatile boolean cancelled;
+    private volatile Runnable canceller;
+    private final AtomicInteger sleep = new AtomicInteger(AWAKE);
+
+    private PollHandle(Thread thread, PollHandle enclosing) {
+        this.thread = thread;
+        this.enclosing = enclosing;
+    }
+
+    /**
+     * Opens a handle for the calling thread's polls.
+     *
+     * @return a handle that cancels the calling thread's polls
+     */
+    public static PollHandle open() {
+        PollHandle handle = new PollHandle(Thread.currentThread(), CURRENT.get());
+        CURRENT.set(handle);
+        return handle;
+    }
+
+    /**
+     * Cancels the current and future polls made by the thread while this
+     * handle is open. Cancelling more than once has no further effect.
+     */
+    public void cancel() {
+        cancelled = true;
+        Runnable pending = canceller;
+        if (pending != null) pending.run();
+        LockSupport.unpark(thread);
+        if (sleep.compareAndSet(SLEEPING, WAKING)) {
+            thread.interrupt();
+            sleep.set(WOKEN);
+        }
+    }
+
+    /**
+     * Returns whether this handle has been cancelled.
+     *
+     * @return whether this handle has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stops this handle from applying to the thread's polls, and restores the
+     * handle that was open when this one was opened.
+     *
+     * @throws IllegalStateException if this is not the calling thread's
+     * innermost open handle
+     */
+    @Override
+    public void close() {
+        if (CURRENT.get() != this)
+            throw new IllegalStateException("a poll handle must be closed by its thread, innermost first");
+        if (enclosing == null) CURRENT.remove();
+        else CURRENT.set(enclosing);
+    }
+
+    /**
+     * Returns whether the calling thread's current poll must stop, because
+     * the thread is interrupted or its open handle is cancelled.
+     *
+     * @return whether the calling thread's current poll must stop
+     */
+    static boolean stopsCurrentPoll() {
+        if (Thread.currentThread().isInterrupted()) return true;
+        PollHandle handle = CURRENT.get();
+        return handle != null && handle.cancelled;
+    }
+
+    /**
+     * Returns an exception that reports why the calling thread's current poll
+     * stopped.
+     *
+     * @return an exception that reports why the current poll stopped
+     */
+    static PollCancelledException stoppedCurrentPoll() {
+        return new PollCancelledException(Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * Returns the calling thread's open handle, if any.
+     *
+     * @return the calling thread's open handle, or {@code null}
+     */
+    static PollHandle current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Arranges for cancelling this handle to run the canceller, until the
+     * canceller is replaced or cleared. If the handle is already cancelled,
+     * runs the canceller at once.
+     *
+     * @param canceller
+     *         what to run when this handle is cancelled, or {@code null}
+     */
+    void onCancel(Runnable canceller) {
+        this.canceller = canceller;
+        if (canceller != null && cancelled) canceller.run();
+    }
+
+    /**
+     * Declares that the handle's thread is about to sleep, and may be woken
+     * by an interrupt if the handle is cancelled. The thread must call {@link
+     * #exitSleep()} when the sleep ends, whether or not it slept.
+     *
+     * @return whether the thread may sleep, because the handle is not
+     * cancelled
+     */
+    boolean enterSleep() {
+        sleep.set(SLEEPING);
+        return !cancelled;
+    }
+
+    /**
+     * Declares that the handle's thread has stopped sleeping. If cancelling
+     * the handle interrupted the thread, clears the interrupt.
+     *
+     * @return whether cancelling the handle interrupted the sleep
+     */
+    boolean exitSleep() {
+        if (sleep.compareAndSet(SLEEPING, AWAKE)) return false;
+        while (sleep.get() != WOKEN) Thread.onSpinWait();
+        Thread.interrupted();
+        sleep.set(AWAKE);
+        return true;
+    }
+}
@@ -0,0 +1,122 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+
+/**
+ * Observes the progress of each poll: when it starts, each evaluation, and
+ * whether it ends satisfied, timed out, cancelled, or failed.
+ * <p>
+ * A {@link PollTimerPoller} notifies its {@link Poller#listener() listener}
+ * on the polling thread, in order: {@link #onStart onStart}, then {@link
+ * #onEvaluation onEvaluation} once for each evaluation, then exactly one of
+ * {@link #onSatisfied()}, {@link #onTimeout()}, {@link #onCancelled()}, or
+ * {@link #onFailed(Throwable)}. A listener shared by simultaneous
+ * polls receives the notifications of each poll on that poll's thread, so a
+ * listener can correlate the notifications of one poll by keeping its state
+ * per thread. If a listener throws, the exception propagates to the caller
+ * of the poll.
+ * <p>
+ * Asynchronous pollers such as {@link ScheduledExecutorPoller} and {@link
+ * TimingWheelPoller} evaluate many polls on each of a few shared threads, so
+ * a listener could not correlate their notifications per thread. These
+ * pollers do not notify listeners.
+ * <p>
+ * Each method does nothing by default, so a listener implements only the
+ * notifications it needs.
+ *
+ * @see PollListeners
+ */
+public interface PollListener {
+    /**
+     * A listener that ignores every notification. A poller whose listener is
+     * this one does not notify at all.
+     */
+    PollListener NONE = new PollListener() {
+    };
+
+    /**
+     * Notifies the listener that a poll is starting.
+     *
+     * @param schedule
+     *         the poll's schedule
+     * @param condition
+     *         the supplier or predicate that the poll evaluates
+     */
+    default void onStart(PollingSchedule schedule, Object condition) {
+    }
+
+    /**
+     * Notifies the listener that a poll of a derived value is starting.
+     *
+     * @param schedule
+     *         the poll's schedule
+     * @param function
+     *         the function that derives the value
+     * @param predicate
+     *         the predicate that evaluates the derived value
+     *
+     * @implSpec The default implementation calls {@link
+     * #onStart(PollingSchedule, Object) onStart(schedule, predicate)}.
+     */
+    default void onStart(PollingSchedule schedule, Object function, Object predicate) {
+        onStart(schedule, predicate);
+    }
+
+    /**
+     * Notifies the listener that a poll evaluated its condition.
+     *
+     * @param satisfied
+     *         whether the evaluation satisfied the condition
+     * @param nanos
+     *         how long the evaluation took, in nanoseconds
+     */
+    default void onEvaluation(boolean satisfied, long nanos) {
+    }
+
+    /**
+     * Notifies the listener that an evaluation took longer than its poller
+     * considers acceptable. A {@link WatchdogPoller} notifies this before
+     * the evaluation's {@link #onEvaluation onEvaluation}.
+     *
+     * @param condition
+     *         the condition whose evaluation was slow
+     * @param nanos
+     *         how long the evaluation took, in nanoseconds
+     * @param schedule
+     *         the poll's schedule
+     */
+    default void onSlowEvaluation(Object condition, long nanos, PollingSchedule schedule) {
+    }
+
+    /**
+     * Notifies the listener that a poll ended with its condition satisfied.
+     */
+    default void onSatisfied() {
+    }
+
+    /**
+     * Notifies the listener that a poll's schedule expired before its
+     * condition was satisfied.
+     */
+    default void onTimeout() {
+    }
+
+    /**
+     * Notifies the listener that a poll ended early because its thread was
+     * interrupted or its {@link PollHandle} was cancelled.
+     */
+    default void onCancelled() {
+    }
+
+    /**
+     * Notifies the listener that a poll ended because its condition, its
+     * timer, or a listener threw. The poll rethrows the exception after this
+     * notification.
+     *
+     * @param thrown
+     *         the exception that ended the poll
+     */
+    default void onFailed(Throwable thrown) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The registry of {@link PollListener listeners} notified by every poller
+ * that does not name a listener of its own.
+ * <p>
+ * The registry keeps the current global listener as the constant target of a
+ * {@link MutableCallSite}. The JIT compiler treats the target as a constant,
+ * and recompiles the code that depends on it whenever a listener is
+ * registered or unregistered. So while no listener is registered, {@link
+ * #global()} compiles to the constant {@link PollListener#NONE}, and each
+ * poll's test of whether to notify compiles to a constant {@code false}.
+ * Registering and unregistering listeners is comparatively slow, and is
+ * meant to be done rarely, such as when a test run starts.
+ */
+public final class PollListeners {
+    private static final MutableCallSite GLOBAL = new MutableCallSite(MethodHandles.constant(PollListener.class, PollListener.NONE));
+    private static final MethodHandle CURRENT = GLOBAL.dynamicInvoker();
+    private static final List<PollListener> REGISTERED = new ArrayList<>();
+
+    private PollListeners() {
+    }
+
+    /**
+     * Returns the listener that notifies every registered listener.
+     *
+     * @return the listener that notifies every registered listener, or
+     * {@link PollListener#NONE} if none are registered
+     */
+    public static PollListener global() {
+        try {
+            return (PollListener) CURRENT.invokeExact();
+        } catch (Throwable cannotHappen) {
+            throw new AssertionError(cannotHappen);
+        }
+    }
+
+    /**
+     * Registers a listener to be notified by every poller that does not name
+     * a listener of its own.
+     *
+     * @param listener
+     *         the listener to register
+     */
+    public static synchronized void register(PollListener listener) {
+        REGISTERED.add(listener);
+        publish();
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener
+     *         the listener to unregister
+     *
+     * @return whether the listener was registered
+     */
+    public static synchronized boolean unregister(PollListener listener) {
+        boolean removed = REGISTERED.remove(listener);
+        if (removed) publish();
+        return removed;
+    }
+
+    /**
+     * Returns a listener that notifies each of the given listeners in turn.
+     *
+     * @param listeners
+     *         the listeners to notify
+     *
+     * @return a listener that notifies each of the given listeners, or
+     * {@link PollListener#NONE} if none are given
+     */
+    public static PollListener of(PollListener... listeners) {
+        List<PollListener> notified = new ArrayList<>();
+        for (PollListener listener : listeners) {
+            if (listener != PollListener.NONE) notified.add(listener);
+        }
+        if (notified.isEmpty()) return PollListener.NONE;
+        if (notified.size() == 1) return notified.get(0);
+        return new Broadcast(notified.toArray(new PollListener[0]));
+    }
+
+    private static void publish() {
+        PollListener listener = of(REGISTERED.toArray(new PollListener[0]));
+        GLOBAL.setTarget(MethodHandles.constant(PollListener.class, listener));
+        MutableCallSite.syncAll(new MutableCallSite[]{GLOBAL});
+    }
+
+    private static class Broadcast implements PollListener {
+        private final PollListener[] listeners;
+
+        Broadcast(PollListener[] listeners) {
+            this.listeners = listeners;
+        }
+
+        @Override
+        public void onStart(PollingSchedule schedule, Object condition) {
+            for (PollListener listener : listeners) listener.onStart(schedule, condition);
+        }
+
+        @Override
+        public void onStart(PollingSchedule schedule, Object function, Object predicate) {
+            for (PollListener listener : listeners) listener.onStart(schedule, function, predicate);
+        }
+
+        @Override
+        public void onEvaluation(boolean satisfied, long nanos) {
+            for (PollListener listener : listeners) listener.onEvaluation(satisfied, nanos);
+        }
+
+        @Override
+        public void onSlowEvaluation(Object condition, long nanos, PollingSchedule schedule) {
+            for (PollListener listener : listeners) listener.onSlowEvaluation(condition, nanos, schedule);
+        }
+
+        @Override
+        public void onSatisfied() {
+            for (PollListener listener : listeners) listener.onSatisfied();
+        }
+
+        @Override
+        public void onTimeout() {
+            for (PollListener listener : listeners) listener.onTimeout();
+        }
+
+        @Override
+        public void onCancelled() {
+            for (PollListener listener : listeners) listener.onCancelled();
+        }
+
+        @Override
+        public void onFailed(Throwable thrown) {
+            for (PollListener listener : listeners) listener.onFailed(thrown);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.diagnosing.Named;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A registry of {@link ConditionMetrics}, keyed by the description of each
+ * {@link Named named} condition.
+ * <p>
+ * Conditions that are not named share the metrics keyed by {@link #UNNAMED}.
+ * The registry holds metrics for at most a fixed number of names. Once it is
+ * full, conditions with new names share the metrics keyed by
+ * {@link #OVERFLOW}.
+ * <p>
+ * The registry {@link #writePrometheusText(Appendable) writes} its metrics in
+ * the Prometheus text exposition format, which a {@link MetricsServer} can
+ * serve over HTTP.
+ */
+public class PollMetrics {
+    /**
+     * The key for the metrics of conditions that are not named.
+     */
+    public static final String UNNAMED = "(unnamed)";
+
+    /**
+     * The key for the metrics of named conditions that arrive after the
+     * registry is full.
+     */
+    public static final String OVERFLOW = "(other)";
+
+    /**
+     * The default number of names for which a registry holds metrics.
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * The registry shared by the {@link DefaultPoller}.
+     */
+    public static final PollMetrics GLOBAL = new PollMetrics();
+
+    private static final String PREFIX = "expressions";
+
+    private final ConcurrentMap<String, ConditionMetrics> conditions = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    /**
+     * Creates an empty registry that holds metrics for at most
+     * {@link #DEFAULT_CAPACITY} names.
+     */
+    public PollMetrics() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty registry that holds metrics for at most the given
+     * number of names.
+     *
+     * @param capacity
+     *         the maximum number of names for which to hold metrics
+     */
+    public PollMetrics(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the metrics for the condition, creating them if necessary.
+     *
+     * @param condition
+     *         the condition
+     *
+     * @return the metrics for the condition
+     */
+    public ConditionMetrics forCondition(Object condition) {
+        return forName(nameOf(condition));
+    }
+
+    /**
+     * Returns the metrics for a condition that derives a value with the
+     * function and evaluates it with the predicate.
+     *
+     * @param function
+     *         derives the value to evaluate
+     * @param predicate
+     *         evaluates the derived value
+     *
+     * @return the metrics for the condition
+     */
+    public ConditionMetrics forCondition(Object function, Object predicate) {
+        String name = function instanceof Named && predicate instanceof Named ? function + " " + predicate : UNNAMED;
+        return forName(name);
+    }
+
+    /**
+     * Returns the metrics for the named condition, creating them if necessary.
+     *
+     * @param name
+     *         the name of the condition
+     *
+     * @return the metrics for the named condition
+     */
+    public ConditionMetrics forName(String name) {
+        ConditionMetrics metrics = conditions.get(name);
+        if (metrics != null) return metrics;
+        if (conditions.size() >= capacity) name = OVERFLOW;
+        return conditions.computeIfAbsent(name, ignored -> new ConditionMetrics());
+    }
+
+    /**
+     * Returns the metrics of each condition, sorted by name.
+     *
+     * @return the metrics of each condition, sorted by name
+     */
+    public SortedMap<String, ConditionMetrics> conditions() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(conditions));
+    }
+
+    /**
+     * Appends the metrics in the Prometheus text exposition format. Each
+     * metric is labeled with the name of its condition.
+     *
+     * @param out
+     *         the appendable to append to
+     *
+     * @throws IOException if the appendable throws
+     */
+    public void writePrometheusText(Appendable out) throws IOException {
+        SortedMap<String, ConditionMetrics> snapshot = conditions();
+        counter(out, snapshot, "polls_total", "Polls completed.", ConditionMetrics::polls);
+        counter(out, snapshot, "poll_evaluations_total", "Evaluations performed by polls.", ConditionMetrics::evaluations);
+        counter(out, snapshot, "poll_timeouts_total", "Polls whose schedules expired before the condition was satisfied.", ConditionMetrics::timeouts);
+        histogram(out, snapshot, "poll_time_to_satisfy_seconds", "Time from the start of each satisfied poll until the condition was satisfied.", ConditionMetrics::timeToSatisfy);
+        histogram(out, snapshot, "poll_evaluation_seconds", "Time to perform each evaluation.", ConditionMetrics::evaluationLatency);
+    }
+
+    private static void counter(Appendable out, Map<String, ConditionMetrics> snapshot, String name, String help, ToLongFunction<ConditionMetrics> counter) throws IOException {
+        header(out, name, help, "counter");
+        for (Map.Entry<String, ConditionMetrics> entry : snapshot.entrySet()) {
+            out.append(PREFIX).append('_').append(name);
+            label(out, entry.getKey(), null);
+            out.append(' ').append(Long.toString(counter.applyAsLong(entry.getValue()))).append('\n');
+        }
+    }
+
+    private static void histogram(Appendable out, Map<String, ConditionMetrics> snapshot, String name, String help, Function<ConditionMetrics, LatencyHistogram> histogram) throws IOException {
+        header(out, name, help, "histogram");
+        for (Map.Entry<String, ConditionMetrics> entry : snapshot.entrySet()) {
+            LatencyHistogram latencies = histogram.apply(entry.getValue());
+            long cumulative = 0;
+            for (int bucket = 0; bucket <= LatencyHistogram.FINITE_BUCKETS; bucket++) {
+                cumulative += latencies.count(bucket);
+                String bound = bucket < LatencyHistogram.FINITE_BUCKETS ? seconds(LatencyHistogram.upperBoundNanos(bucket)) : "+Inf";
+                out.append(PREFIX).append('_').append(name).append("_bucket");
+                label(out, entry.getKey(), bound);
+                out.append(' ').append(Long.toString(cumulative)).append('\n');
+            }
+            out.append(PREFIX).append('_').append(name).append("_sum");
+            label(out, entry.getKey(), null);
+            out.append(' ').append(seconds(latencies.sumNanos())).append('\n');
+            out.append(PREFIX).append('_').append(name).append("_count");
+            label(out, entry.getKey(), null);
+            out.append(' ').append(Long.toString(cumulative)).append('\n');
+        }
+    }
+
+    private static void header(Appendable out, String name, String help, String type) throws IOException {
+        out.append("# HELP ").append(PREFIX).append('_').append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append('_').append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void label(Appendable out, String condition, String bound) throws IOException {
+        out.append("{condition=\"");
+        for (int i = 0; i < condition.length(); i++) {
+            char c = condition.charAt(i);
+            if (c == '\\') out.append("\\\\");
+            else if (c == '"') out.append("\\\"");
+            else if (c == '\n') out.append("\\n");
+            else out.append(c);
+        }
+        out.append('"');
+        if (bound != null) out.append(",le=\"").append(bound).append('"');
+        out.append('}');
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String nameOf(Object condition) {
+        return condition instanceof Named ? condition.toString() : UNNAMED;
+    }
+}
@@ -2,25 +2,79 @@ package com.dhemery.expressions.polling;
 
 import com.dhemery.expressions.PollingSchedule;
 import com.dhemery.expressions.diagnosing.Diagnosis;
+import com.dhemery.expressions.diagnosing.Failures;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Indicates that a polling schedule expired before the polled condition was
  * satisfied.
+ * <p>
+ * The exception captures the parts of its diagnosis, and renders the
+ * diagnosis the first time its message is requested. Code that catches and
+ * discards the exception does not pay to describe the condition. Because the
+ * diagnosis describes the subject when it is rendered, a subject that changes
+ * after the poll may be described in its changed state. Serializing the
+ * exception renders its message.
+ *
+ * @see Failures
  */
 public class PollTimeoutException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final transient Supplier<String> diagnosis;
+    private volatile String message;
+
     public PollTimeoutException(PollingSchedule schedule, BooleanSupplier supplier) {
-        super(Diagnosis.of(schedule, supplier));
+        this(() -> Diagnosis.of(schedule, supplier), true);
     }
 
     public <T> PollTimeoutException(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
-        super(Diagnosis.of(schedule, subject, predicate));
+        this(() -> Diagnosis.of(schedule, subject, predicate), true);
     }
 
     public <T, V> PollTimeoutException(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate, V finalFunctionValue) {
-        super(Diagnosis.of(schedule, subject, function, predicate, finalFunctionValue));
+        this(() -> Diagnosis.of(schedule, subject, function, predicate, finalFunctionValue), true);
+    }
+
+    public PollTimeoutException(PollingSchedule schedule, PendingConditions<?> conditions) {
+        this(() -> conditions.diagnosticReport(schedule).render(), true);
+    }
+
+    /**
+     * Creates an exception that renders its message from the diagnosis when
+     * the message is first requested.
+     *
+     * @param diagnosis
+     *         supplies the exception's message
+     * @param writableStackTrace
+     *         whether to fill in the stack trace
+     */
+    public PollTimeoutException(Supplier<String> diagnosis, boolean writableStackTrace) {
+        super(null, null, true, writableStackTrace);
+        this.diagnosis = diagnosis;
+    }
+
+    @Override
+    public String getMessage() {
+        String rendered = message;
+        if (rendered == null) {
+            rendered = diagnosis == null ? null : diagnosis.get();
+            message = rendered;
+        }
+        return rendered;
+    }
+
+    /**
+     * Renders the message before writing this exception, because the diagnosis
+     * is not serialized.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
     }
 }
@@ -0,0 +1,282 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The evaluation step of a single {@link PollTimerPoller} poll. The poller's
+ * loop calls {@link #test()} once per evaluation, and the step holds the
+ * most recently derived value until the poll reports its result.
+ * <p>
+ * Each subclass evaluates one kind of condition. The subclasses for
+ * primitive values derive, test, and record each value without boxing it.
+ *
+ * @param <R>
+ *         the type of the poll's result
+ */
+abstract class PollTimerEvaluation<R> {
+    /**
+     * Notifies the listener that the poll is starting.
+     *
+     * @param listener
+     *         the listener to notify
+     * @param schedule
+     *         the poll's schedule
+     */
+    abstract void notifyStart(PollListener listener, PollingSchedule schedule);
+
+    /**
+     * Returns whether each evaluation derives a value from the subject.
+     *
+     * @return whether each evaluation derives a value
+     */
+    boolean derivesValue() {
+        return false;
+    }
+
+    /**
+     * Tests the poll's condition once.
+     *
+     * @return whether the condition is satisfied
+     */
+    abstract boolean test();
+
+    /**
+     * Records the most recent evaluation in the history.
+     *
+     * @param history
+     *         the history in which to record the evaluation
+     * @param startNanos
+     *         the time at which the evaluation started
+     * @param endNanos
+     *         the time at which the evaluation ended
+     * @param satisfied
+     *         whether the evaluation satisfied the condition
+     */
+    void record(EvaluationHistory history, long startNanos, long endNanos, boolean satisfied) {
+        history.record(startNanos, endNanos, satisfied);
+    }
+
+    /**
+     * Returns the result to report when the poll ends.
+     *
+     * @param satisfied
+     *         whether the final evaluation satisfied the condition
+     *
+     * @return the result to report
+     */
+    abstract R result(boolean satisfied);
+
+    static class OfBooleanSupplier extends PollTimerEvaluation<Boolean> {
+        private final BooleanSupplier supplier;
+
+        OfBooleanSupplier(BooleanSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        void notifyStart(PollListener listener, PollingSchedule schedule) {
+            listener.onStart(schedule, supplier);
+        }
+
+        @Override
+        boolean test() {
+            return supplier.getAsBoolean();
+        }
+
+        @Override
+        Boolean result(boolean satisfied) {
+            return satisfied;
+        }
+    }
+
+    static class OfSubjectPredicate<T> extends PollTimerEvaluation<Boolean> {
+        private final T subject;
+        private final Predicate<? super T> predicate;
+
+        OfSubjectPredicate(T subject, Predicate<? super T> predicate) {
+            this.subject = subject;
+            this.predicate = predicate;
+        }
+
+        @Override
+        void notifyStart(PollListener listener, PollingSchedule schedule) {
+            listener.onStart(schedule, predicate);
+        }
+
+        @Override
+        boolean test() {
+            return predicate.test(subject);
+        }
+
+        @Override
+        Boolean result(boolean satisfied) {
+            return satisfied;
+        }
+    }
+
+    static class OfSubjectFunctionPredicate<T, V> extends PollTimerEvaluation<PollEvaluationResult<V>> {
+        private final T subject;
+        private final Function<? super T, V> function;
+        private final Predicate<? super V> predicate;
+        private V value;
+
+        OfSubjectFunctionPredicate(T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+            this.subject = subject;
+            this.function = function;
+            this.predicate = predicate;
+        }
+
+        @Override
+        void notifyStart(PollListener listener, PollingSchedule schedule) {
+            listener.onStart(schedule, function, predicate);
+        }
+
+        @Override
+        boolean derivesValue() {
+            return true;
+        }
+
+        @Override
+        boolean test() {
+            value = function.apply(subject);
+            return predicate.test(value);
+        }
+
+        @Override
+        void record(EvaluationHistory history, long startNanos, long endNanos, boolean satisfied) {
+            history.recordValue(startNanos, endNanos, satisfied, value);
+        }
+
+        @Override
+        PollEvaluationResult<V> result(boolean satisfied) {
+            return new PollEvaluationResult<>(value, satisfied);
+        }
+    }
+
+    static class OfInt<T> extends PollTimerEvaluation<IntPollEvaluationResult> {
+        private final T subject;
+        private final ToIntFunction<? super T> function;
+        private final IntPredicate predicate;
+        private int value;
+
+        OfInt(T subject, ToIntFunction<? super T> function, IntPredicate predicate) {
+            this.subject = subject;
+            this.function = function;
+            this.predicate = predicate;
+        }
+
+        @Override
+        void notifyStart(PollListener listener, PollingSchedule schedule) {
+            listener.onStart(schedule, function, predicate);
+        }
+
+        @Override
+        boolean derivesValue() {
+            return true;
+        }
+
+        @Override
+        boolean test() {
+            value = function.applyAsInt(subject);
+            return predicate.test(value);
+        }
+
+        @Override
+        void record(EvaluationHistory history, long startNanos, long endNanos, boolean satisfied) {
+            history.recordInt(startNanos, endNanos, satisfied, value);
+        }
+
+        @Override
+        IntPollEvaluationResult result(boolean satisfied) {
+            return new IntPollEvaluationResult(value, satisfied);
+        }
+    }
+
+    static class OfLong<T> extends PollTimerEvaluation<LongPollEvaluationResult> {
+        private final T subject;
+        private final ToLongFunction<? super T> function;
+        private final LongPredicate predicate;
+        private long value;
+
+        OfLong(T subject, ToLongFunction<? super T> function, LongPredicate predicate) {
+            this.subject = subject;
+            this.function = function;
+            this.predicate = predicate;
+        }
+
+        @Override
+        void notifyStart(PollListener listener, PollingSchedule schedule) {
+            listener.onStart(schedule, function, predicate);
+        }
+
+        @Override
+        boolean derivesValue() {
+            return true;
+        }
+
+        @Override
+        boolean test() {
+            value = function.applyAsLong(subject);
+            return predicate.test(value);
+        }
+
+        @Override
+        void record(EvaluationHistory history, long startNanos, long endNanos, boolean satisfied) {
+            history.recordLong(startNanos, endNanos, satisfied, value);
+        }
+
+        @Override
+        LongPollEvaluationResult result(boolean satisfied) {
+            return new LongPollEvaluationResult(value, satisfied);
+        }
+    }
+
+    static class OfDouble<T> extends PollTimerEvaluation<DoublePollEvaluationResult> {
+        private final T subject;
+        private final ToDoubleFunction<? super T> function;
+        private final DoublePredicate predicate;
+        private double value;
+
+        OfDouble(T subject, ToDoubleFunction<? super T> function, DoublePredicate predicate) {
+            this.subject = subject;
+            this.function = function;
+            this.predicate = predicate;
+        }
+
+        @Override
+        void notifyStart(PollListener listener, PollingSchedule schedule) {
+            listener.onStart(schedule, function, predicate);
+        }
+
+        @Override
+        boolean derivesValue() {
+            return true;
+        }
+
+        @Override
+        boolean test() {
+            value = function.applyAsDouble(subject);
+            return predicate.test(value);
+        }
+
+        @Override
+        void record(EvaluationHistory history, long startNanos, long endNanos, boolean satisfied) {
+            history.recordDouble(startNanos, endNanos, satisfied, value);
+        }
+
+        @Override
+        DoublePollEvaluationResult result(boolean satisfied) {
+            return new DoublePollEvaluationResult(value, satisfied);
+        }
+    }
+}
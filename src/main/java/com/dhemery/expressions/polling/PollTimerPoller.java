@@ -4,23 +4,66 @@ import com.dhemery.expressions.Poller;
 import com.dhemery.expressions.PollingSchedule;
 
 import java.util.function.BooleanSupplier;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * A poller that uses a {@link PollTimer} to pause between evaluations and
  * to determine whether the schedule has expired.
+ * <p>
+ * Each kind of poll runs the same poll loop, which evaluates the condition
+ * through a small evaluation step object specialized for that kind of
+ * condition. Apart from the poll timer, the evaluation step, and the final
+ * {@link PollEvaluationResult}, a poll allocates no objects of its own, no
+ * matter how many evaluations it performs. Polls of primitive values derive
+ * and test each value without boxing it.
+ * <p>
+ * If the poller's {@link #history() history} is enabled, each poll records
+ * its evaluations in the history. Recording a primitive value allocates
+ * nothing; recording any other value allocates its description.
+ * <p>
+ * Each poll notifies the poller's {@link #listener() listener} of its
+ * progress. To notify a listener of this poller's polls only, override
+ * {@code listener()}; to notify a listener of every poller's polls, {@link
+ * PollListeners#register(PollListener) register} it globally. If the
+ * listener is {@link PollListener#NONE}, a poll neither notifies nor reads
+ * the clock on its behalf.
+ * <p>
+ * A poll ends early with a {@link PollCancelledException} if its thread is
+ * interrupted, or if the thread's open {@link PollHandle} is cancelled. The
+ * poll checks before each evaluation, and a cancelled handle wakes a poll
+ * that is sleeping between evaluations. An interrupted poll leaves the
+ * thread's interrupt status set.
  */
 public interface PollTimerPoller extends Poller {
     @Override
     default boolean poll(PollingSchedule schedule, BooleanSupplier supplier) {
-        PollTimer timer = pollTimer();
-        timer.start(schedule);
-        while (true) {
-            if (timer.isExpired()) return false;
-            if (supplier.getAsBoolean()) return true;
-            timer.tick();
-        }
+        return pollEvaluations(schedule, new PollTimerEvaluation.OfBooleanSupplier(supplier));
+    }
+
+    /**
+     * Returns a poller that records the given number of most recent
+     * evaluations of each poll in a {@link EvaluationHistory#forCurrentThread(int)
+     * history kept for each thread}.
+     *
+     * @param capacity
+     *         the number of most recent evaluations to record
+     *
+     * @return a poller that records the history of each poll
+     */
+    static PollTimerPoller recordingHistory(int capacity) {
+        return new PollTimerPoller() {
+            @Override
+            public EvaluationHistory history() {
+                return EvaluationHistory.forCurrentThread(capacity);
+            }
+        };
     }
 
     /**
@@ -28,19 +71,80 @@ public interface PollTimerPoller extends Poller {
      *
      * @return a newly created poll timer
      *
-     * @implNote returns a new {@link ClockPollTimer}.
+     * @implNote returns a new {@link NanoClockPollTimer} that tells time
+     * using the {@link NanoClock#system() system nano clock}.
      */
     default PollTimer pollTimer() {
-        return new ClockPollTimer();
+        return new NanoClockPollTimer();
     }
 
     @Override
     default <T> boolean poll(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
-        return false;
+        return pollEvaluations(schedule, new PollTimerEvaluation.OfSubjectPredicate<>(subject, predicate));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the schedule expires before the first evaluation, the returned
+     * result's value is {@code null}.
+     */
     @Override
     default <T, V> PollEvaluationResult<V> poll(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
-        return null;
+        return pollEvaluations(schedule, new PollTimerEvaluation.OfSubjectFunctionPredicate<>(subject, function, predicate));
+    }
+
+    @Override
+    default <T> IntPollEvaluationResult pollInt(PollingSchedule schedule, T subject, ToIntFunction<? super T> function, IntPredicate predicate) {
+        return pollEvaluations(schedule, new PollTimerEvaluation.OfInt<>(subject, function, predicate));
+    }
+
+    @Override
+    default <T> LongPollEvaluationResult pollLong(PollingSchedule schedule, T subject, ToLongFunction<? super T> function, LongPredicate predicate) {
+        return pollEvaluations(schedule, new PollTimerEvaluation.OfLong<>(subject, function, predicate));
+    }
+
+    @Override
+    default <T> DoublePollEvaluationResult pollDouble(PollingSchedule schedule, T subject, ToDoubleFunction<? super T> function, DoublePredicate predicate) {
+        return pollEvaluations(schedule, new PollTimerEvaluation.OfDouble<>(subject, function, predicate));
+    }
+
+    private <R> R pollEvaluations(PollingSchedule schedule, PollTimerEvaluation<R> evaluation) {
+        EvaluationHistory history = history();
+        boolean recording = history.isEnabled();
+        PollListener listener = listener();
+        boolean listening = listener != PollListener.NONE;
+        boolean timing = recording || listening;
+        PollTimer timer = pollTimer();
+        if (recording) history.begin(System.nanoTime(), evaluation.derivesValue());
+        if (listening) evaluation.notifyStart(listener, schedule);
+        boolean satisfied = false;
+        try {
+            timer.start(schedule);
+            while (true) {
+                if (PollHandle.stopsCurrentPoll()) throw PollHandle.stoppedCurrentPoll();
+                if (timer.isExpired()) break;
+                long start = timing ? System.nanoTime() : 0;
+                satisfied = evaluation.test();
+                if (timing) {
+                    long end = System.nanoTime();
+                    if (recording) evaluation.record(history, start, end, satisfied);
+                    if (listening) listener.onEvaluation(satisfied, end - start);
+                }
+                if (satisfied) break;
+                timer.tick();
+            }
+        } catch (PollCancelledException cancelled) {
+            if (listening) listener.onCancelled();
+            throw cancelled;
+        } catch (RuntimeException | Error thrown) {
+            if (listening) listener.onFailed(thrown);
+            throw thrown;
+        }
+        if (listening) {
+            if (satisfied) listener.onSatisfied();
+            else listener.onTimeout();
+        }
+        return evaluation.result(satisfied);
     }
 }
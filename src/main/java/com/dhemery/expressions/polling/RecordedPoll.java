@@ -0,0 +1,13 @@
+package com.dhemery.expressions.polling;
+
+/**
+ * An asynchronous poll that records the history of its evaluations.
+ */
+interface RecordedPoll {
+    /**
+     * Returns the history of the poll's most recent evaluations.
+     *
+     * @return the history of the poll's most recent evaluations
+     */
+    EvaluationHistory history();
+}
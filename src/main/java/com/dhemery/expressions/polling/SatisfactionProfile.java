@@ -0,0 +1,299 @@
+package com.dhemery.expressions.polling;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Records how long each named condition takes to be satisfied, and estimates
+ * how long it will take next time.
+ * <p>
+ * The profile keeps a small histogram for each name. The histogram's buckets
+ * grow geometrically, four to each doubling of time, so each estimate is
+ * within about 20% of the recorded times. Each histogram ages as it fills:
+ * once it holds {@link #MAX_SAMPLES} samples, its counts are halved, so
+ * recent times outweigh older ones.
+ * <p>
+ * The profile holds histograms for at most a fixed number of names. When it
+ * is full, recording a time for a new name discards the histogram of the
+ * least recently used name.
+ * <p>
+ * A profile can be {@link #save(Path) saved} to a file and {@link
+ * #load(Path) loaded} by a later JVM, so that the later JVM starts with what
+ * this one learned.
+ */
+public class SatisfactionProfile {
+    /**
+     * The default number of names for which a profile holds histograms.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The number of samples at which a histogram ages.
+     */
+    public static final int MAX_SAMPLES = 64;
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_OCTAVE = 45;
+    private static final int BUCKETS = (MAX_OCTAVE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final Map<String, Histogram> histograms;
+
+    /**
+     * Creates an empty profile that holds histograms for at most
+     * {@link #DEFAULT_CAPACITY} names.
+     */
+    public SatisfactionProfile() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty profile that holds histograms for at most the given
+     * number of names.
+     *
+     * @param capacity
+     *         the maximum number of names to profile
+     */
+    public SatisfactionProfile(int capacity) {
+        histograms = new LinkedHashMap<String, Histogram>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Histogram> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Loads a profile from a file written by {@link #save(Path)}. Entries
+     * that cannot be read are ignored.
+     *
+     * @param file
+     *         the file to read
+     *
+     * @return the profile read from the file
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public static SatisfactionProfile load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        SatisfactionProfile profile = new SatisfactionProfile();
+        properties.stringPropertyNames().forEach(name ->
+                Histogram.parse(properties.getProperty(name))
+                        .ifPresent(histogram -> profile.histograms.put(name, histogram)));
+        return profile;
+    }
+
+    /**
+     * Returns a profile that starts with the contents of the file, if it
+     * exists, and saves itself to the file when the JVM shuts down.
+     *
+     * @param file
+     *         the file in which to persist the profile
+     *
+     * @return a profile persisted in the file
+     */
+    public static SatisfactionProfile persistentIn(Path file) {
+        SatisfactionProfile profile;
+        try {
+            profile = Files.exists(file) ? load(file) : new SatisfactionProfile();
+        } catch (IOException e) {
+            profile = new SatisfactionProfile();
+        }
+        SatisfactionProfile persistent = profile;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                persistent.save(file);
+            } catch (IOException ignored) {
+            }
+        }, "expressions-profile-saver"));
+        return persistent;
+    }
+
+    /**
+     * Writes this profile to the file, replacing any previous contents.
+     *
+     * @param file
+     *         the file to write
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        synchronized (this) {
+            histograms.forEach((name, histogram) -> properties.setProperty(name, histogram.format()));
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                properties.store(writer, "time to satisfy, by condition name");
+            }
+            try {
+                Files.move(temporary, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            } catch (IOException atomicMoveFailed) {
+                Files.move(temporary, file, REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Records that the named condition was satisfied after the given time.
+     *
+     * @param name
+     *         the name of the condition
+     * @param timeToSatisfy
+     *         how long the condition took to be satisfied
+     */
+    public synchronized void record(String name, Duration timeToSatisfy) {
+        histograms.computeIfAbsent(name, ignored -> new Histogram()).record(NanoClockPollTimer.nanos(timeToSatisfy));
+    }
+
+    /**
+     * Returns the number of samples that contribute to the named condition's
+     * estimates. Because histograms age, this is at most {@link #MAX_SAMPLES}.
+     *
+     * @param name
+     *         the name of the condition
+     *
+     * @return the number of samples recorded for the condition
+     */
+    public synchronized int samples(String name) {
+        Histogram histogram = histograms.get(name);
+        return histogram == null ? 0 : histogram.total;
+    }
+
+    /**
+     * Estimates the time within which the named condition is satisfied
+     * in the given fraction of polls.
+     *
+     * @param name
+     *         the name of the condition
+     * @param quantile
+     *         the fraction of polls, from 0 to 1
+     *
+     * @return the estimated time, or empty if no times have been recorded
+     * for the condition
+     */
+    public synchronized Optional<Duration> quantile(String name, double quantile) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) return Optional.empty();
+        return Optional.of(Duration.ofNanos(histogram.quantile(quantile)));
+    }
+
+    /**
+     * Estimates the median time for the named condition to be satisfied.
+     *
+     * @param name
+     *         the name of the condition
+     *
+     * @return the estimated median time, or empty if no times have been
+     * recorded for the condition
+     */
+    public Optional<Duration> median(String name) {
+        return quantile(name, 0.5);
+    }
+
+    /**
+     * Returns the number of names in this profile.
+     *
+     * @return the number of names in this profile
+     */
+    public synchronized int size() {
+        return histograms.size();
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) Math.max(0, nanos);
+        int octave = Math.min(MAX_OCTAVE, 63 - Long.numberOfLeadingZeros(nanos));
+        int subBucket = nanos >>> (MAX_OCTAVE + 1) > 0 ? SUB_BUCKETS - 1 : (int) (nanos >>> (octave - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (octave - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int octave = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (octave - SUB_BUCKET_BITS);
+    }
+
+    private static class Histogram {
+        private final int[] counts = new int[BUCKETS];
+        private int total;
+
+        void record(long nanos) {
+            if (total >= MAX_SAMPLES) age();
+            counts[bucket(nanos)]++;
+            total++;
+        }
+
+        long quantile(double quantile) {
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) return midpoint(bucket);
+            }
+            return midpoint(counts.length - 1);
+        }
+
+        private static long midpoint(int bucket) {
+            if (bucket < SUB_BUCKETS) return bucket;
+            long lower = lowerBound(bucket);
+            long upper = bucket + 1 < BUCKETS ? lowerBound(bucket + 1) : lower * 2;
+            return lower + (upper - lower) / 2;
+        }
+
+        private void age() {
+            total = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                counts[bucket] /= 2;
+                total += counts[bucket];
+            }
+        }
+
+        String format() {
+            StringBuilder formatted = new StringBuilder();
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                if (counts[bucket] == 0) continue;
+                if (formatted.length() > 0) formatted.append(',');
+                formatted.append(bucket).append(':').append(counts[bucket]);
+            }
+            return formatted.toString();
+        }
+
+        static Optional<Histogram> parse(String formatted) {
+            Histogram histogram = new Histogram();
+            try {
+                for (String entry : formatted.split(",")) {
+                    String[] parts = entry.split(":");
+                    int bucket = Integer.parseInt(parts[0].trim());
+                    int count = Integer.parseInt(parts[1].trim());
+                    if (bucket < 0 || bucket >= BUCKETS || count < 0) return Optional.empty();
+                    histogram.counts[bucket] += count;
+                    histogram.total += count;
+                }
+            } catch (RuntimeException malformed) {
+                return Optional.empty();
+            }
+            return histogram.total == 0 ? Optional.empty() : Optional.of(histogram);
+        }
+    }
+}
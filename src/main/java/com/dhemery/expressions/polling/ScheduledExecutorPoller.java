@@ -0,0 +1,197 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.AsyncPoller;
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A poller that evaluates conditions on the threads of a {@link
+ * ScheduledExecutorService}. No thread waits between evaluations: after each
+ * unsatisfied evaluation, the poll schedules its next evaluation with the
+ * executor and returns the thread to the executor's pool.
+ * <p>
+ * Evaluations are scheduled at a {@link TickMode#FIXED_RATE fixed rate}.
+ * Because evaluations run on the executor's threads, a condition that takes a
+ * long time to evaluate delays other polls that share the executor.
+ * <p>
+ * As a {@link Poller}, this poller blocks the calling thread until the
+ * asynchronous poll completes.
+ * <p>
+ * This poller does not notify a {@link PollListener}. Its polls record their
+ * evaluations in the {@link EvaluationHistory#of(java.util.concurrent.Future)
+ * history} of each poll instead.
+ */
+public class ScheduledExecutorPoller implements AsyncPoller, Poller {
+    private final ScheduledExecutorService scheduler;
+    private final NanoClock clock;
+    private final int historyCapacity;
+
+    /**
+     * Creates a poller that evaluates conditions on the {@link #sharedScheduler()
+     * shared scheduler}.
+     */
+    public ScheduledExecutorPoller() {
+        this(sharedScheduler());
+    }
+
+    /**
+     * Creates a poller that evaluates conditions on the given scheduler.
+     *
+     * @param scheduler
+     *         schedules and runs evaluations
+     */
+    public ScheduledExecutorPoller(ScheduledExecutorService scheduler) {
+        this(scheduler, NanoClock.system());
+    }
+
+    /**
+     * Creates a poller that evaluates conditions on the given scheduler,
+     * and tells time using the given nano clock.
+     *
+     * @param scheduler
+     *         schedules and runs evaluations
+     * @param clock
+     *         tells the time
+     */
+    public ScheduledExecutorPoller(ScheduledExecutorService scheduler, NanoClock clock) {
+        this(scheduler, clock, EvaluationHistory.defaultCapacity());
+    }
+
+    /**
+     * Creates a poller that evaluates conditions on the given scheduler,
+     * tells time using the given nano clock, and records the given number of
+     * most recent evaluations of each poll.
+     *
+     * @param scheduler
+     *         schedules and runs evaluations
+     * @param clock
+     *         tells the time
+     * @param historyCapacity
+     *         the number of most recent evaluations to record in the {@link
+     *         EvaluationHistory#of(java.util.concurrent.Future) history} of
+     *         each poll
+     */
+    public ScheduledExecutorPoller(ScheduledExecutorService scheduler, NanoClock clock, int historyCapacity) {
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.historyCapacity = historyCapacity;
+    }
+
+    /**
+     * Returns the scheduler shared by all pollers created without an explicit
+     * scheduler. The shared scheduler runs one daemon thread per available
+     * processor.
+     *
+     * @return the shared scheduler
+     */
+    public static ScheduledExecutorService sharedScheduler() {
+        return SharedScheduler.INSTANCE;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> pollAsync(PollingSchedule schedule, BooleanSupplier supplier) {
+        return schedule(new AsyncPoll.OfBooleanSupplier(clock, historyCapacity, supplier).start(schedule));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> pollAsync(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        return schedule(new AsyncPoll.OfSubjectPredicate<>(clock, historyCapacity, subject, predicate).start(schedule));
+    }
+
+    @Override
+    public <T, V> CompletableFuture<PollEvaluationResult<V>> pollAsync(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return schedule(new AsyncPoll.OfSubjectFunctionPredicate<>(clock, historyCapacity, subject, function, predicate).start(schedule));
+    }
+
+    @Override
+    public boolean poll(PollingSchedule schedule, BooleanSupplier supplier) {
+        return AsyncPoll.await(pollAsync(schedule, supplier));
+    }
+
+    @Override
+    public <T> boolean poll(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        return AsyncPoll.await(pollAsync(schedule, subject, predicate));
+    }
+
+    @Override
+    public <T, V> PollEvaluationResult<V> poll(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return AsyncPoll.await(pollAsync(schedule, subject, function, predicate));
+    }
+
+    private <R> AsyncPoll<R> schedule(AsyncPoll<R> poll) {
+        new ScheduledEvaluation(poll).start();
+        return poll;
+    }
+
+    /**
+     * Evaluates a poll on the scheduler's threads, rescheduling itself after
+     * each unsatisfied evaluation until the poll completes. If the scheduler
+     * rejects an evaluation, such as because it has been shut down, the poll
+     * completes exceptionally with the scheduler's exception.
+     */
+    private class ScheduledEvaluation implements Runnable {
+        private final AsyncPoll<?> poll;
+        private volatile Future<?> pending;
+
+        ScheduledEvaluation(AsyncPoll<?> poll) {
+            this.poll = poll;
+        }
+
+        void start() {
+            poll.whenComplete((ignoredResult, ignoredFailure) -> {
+                Future<?> pendingEvaluation = pending;
+                if (poll.isCancelled() && pendingEvaluation != null) pendingEvaluation.cancel(false);
+            });
+            long delay = poll.initialDelay();
+            try {
+                pending = delay > 0 ? scheduler.schedule(this, delay, NANOSECONDS) : scheduler.submit(this);
+            } catch (RejectedExecutionException rejected) {
+                poll.completeExceptionally(rejected);
+            }
+        }
+
+        @Override
+        public void run() {
+            long delay = poll.evaluate();
+            if (delay == AsyncPoll.COMPLETE) return;
+            try {
+                pending = scheduler.schedule(this, delay, NANOSECONDS);
+            } catch (RejectedExecutionException rejected) {
+                poll.completeExceptionally(rejected);
+            }
+        }
+    }
+
+    private static class SharedScheduler {
+        private static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            int threads = Runtime.getRuntime().availableProcessors();
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(threads, daemonThreads());
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+
+        private static ThreadFactory daemonThreads() {
+            AtomicInteger count = new AtomicInteger();
+            return runnable -> {
+                Thread thread = new Thread(runnable, "expressions-poller-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.dhemery.expressions.polling;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wakes pollers that are waiting between evaluations, so that they evaluate
+ * their conditions immediately.
+ * <p>
+ * Code that makes a condition true can {@link #fire() fire} a signal to tell
+ * the pollers of that condition to look again, instead of letting them sleep
+ * out their polling intervals. A {@link SignalPoller} waits on a signal
+ * between evaluations. The polling interval remains the longest a poller
+ * waits, so conditions that change without firing the signal are still
+ * noticed.
+ * <p>
+ * A poll that sleeps after the signal fires does not miss the signal: if the
+ * signal fired since the poll's previous evaluation began, the poll does not
+ * sleep at all.
+ */
+public class Signal {
+    private final AtomicLong generation = new AtomicLong();
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Wakes every poller waiting on this signal.
+     */
+    public void fire() {
+        generation.incrementAndGet();
+        for (Thread waiter : waiters) LockSupport.unpark(waiter);
+    }
+
+    /**
+     * Returns the number of times this signal has fired.
+     *
+     * @return the number of times this signal has fired
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Returns a newly created sleeper that sleeps until the requested
+     * duration elapses or this signal fires, whichever comes first. Each
+     * poll needs its own sleeper.
+     * <p>
+     * If the thread is interrupted while sleeping, or its {@link PollHandle}
+     * is cancelled, the sleeper wakes early. It leaves the thread's interrupt
+     * status set.
+     *
+     * @return a newly created sleeper that wakes when this signal fires
+     */
+    public Sleeper sleeper() {
+        return new SignalSleeper();
+    }
+
+    private class SignalSleeper implements Sleeper {
+        private long seen = generation.get();
+
+        @Override
+        public void sleep(Duration sleepDuration) {
+            sleepNanos(NanoClockPollTimer.nanos(sleepDuration));
+        }
+
+        @Override
+        public void sleepNanos(long sleepNanos) {
+            if (fired()) return;
+            Thread waiter = Thread.currentThread();
+            waiters.add(waiter);
+            try {
+                long wakeTime = System.nanoTime() + sleepNanos;
+                long remaining = sleepNanos;
+                while (remaining > 0 && !fired()) {
+                    LockSupport.parkNanos(Signal.this, remaining);
+                    if (PollHandle.stopsCurrentPoll()) return;
+                    remaining = wakeTime - System.nanoTime();
+                }
+            } finally {
+                waiters.remove(waiter);
+            }
+        }
+
+        private boolean fired() {
+            long current = generation.get();
+            if (current == seen) return false;
+            seen = current;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.dhemery.expressions.polling;
+
+/**
+ * A poller that waits between evaluations until the polling interval elapses
+ * or a {@link Signal} fires, whichever comes first.
+ * <p>
+ * When the condition is made true by code in the same process, that code can
+ * fire the signal to have each waiting poll evaluate immediately, rather than
+ * waiting for the poll's next scheduled evaluation.
+ */
+public class SignalPoller implements PollTimerPoller {
+    private final Signal signal;
+    private final NanoClock clock;
+
+    /**
+     * Creates a poller that waits on the signal between evaluations.
+     *
+     * @param signal
+     *         wakes the poller early
+     */
+    public SignalPoller(Signal signal) {
+        this(signal, NanoClock.system());
+    }
+
+    /**
+     * Creates a poller that waits on the signal between evaluations, and
+     * tells time using the given clock.
+     *
+     * @param signal
+     *         wakes the poller early
+     * @param clock
+     *         tells the time
+     */
+    public SignalPoller(Signal signal, NanoClock clock) {
+        this.signal = signal;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the signal that wakes this poller.
+     *
+     * @return the signal that wakes this poller
+     */
+    public Signal signal() {
+        return signal;
+    }
+
+    /**
+     * Returns a newly created poll timer that waits on this poller's signal
+     * between evaluations.
+     *
+     * @return a newly created poll timer
+     */
+    @Override
+    public PollTimer pollTimer() {
+        return new NanoClockPollTimer(clock, signal.sleeper());
+    }
+}
@@ -4,6 +4,10 @@ import java.time.Duration;
 
 /**
  * Pauses execution for a specified duration.
+ * <p>
+ * A sleeper that is interrupted wakes early and leaves the thread's
+ * interrupt status set, so that the poll that called it can see the
+ * interrupt and end.
  */
 public interface Sleeper {
     /**
@@ -13,4 +17,19 @@ public interface Sleeper {
      *         how long to pause execution
      */
     void sleep(Duration sleepDuration);
+
+    /**
+     * Pauses execution for the given number of nanoseconds.
+     *
+     * @param sleepNanos
+     *         how long to pause execution, in nanoseconds
+     *
+     * @implSpec The default implementation converts the number of nanoseconds
+     * to a {@link Duration} and calls {@link #sleep(Duration)}.
+     * Implementations that sleep often should override this method
+     * to avoid creating a duration for each sleep.
+     */
+    default void sleepNanos(long sleepNanos) {
+        sleep(Duration.ofNanos(sleepNanos));
+    }
 }
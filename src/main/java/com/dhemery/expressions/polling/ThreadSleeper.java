@@ -0,0 +1,35 @@
+package com.dhemery.expressions.polling;
+
+import java.time.Duration;
+
+/**
+ * A sleeper that pauses by causing the current thread to sleep.
+ * <p>
+ * If the thread is interrupted while sleeping, the sleeper wakes early and
+ * restores the thread's interrupt status. If the thread's open {@link
+ * PollHandle} is cancelled while it sleeps, the handle interrupts the thread
+ * to wake it, and the sleeper clears that interrupt.
+ */
+class ThreadSleeper implements Sleeper {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    @Override
+    public void sleep(Duration sleepDuration) {
+        sleepNanos(NanoClockPollTimer.nanos(sleepDuration));
+    }
+
+    @Override
+    public void sleepNanos(long sleepNanos) {
+        if (sleepNanos <= 0) return;
+        PollHandle handle = PollHandle.current();
+        boolean interrupted = false;
+        try {
+            if (handle == null || handle.enterSleep())
+                Thread.sleep(sleepNanos / NANOS_PER_MILLI, (int) (sleepNanos % NANOS_PER_MILLI));
+        } catch (InterruptedException sleepInterrupted) {
+            interrupted = true;
+        }
+        boolean cancelled = handle != null && handle.exitSleep();
+        if (interrupted && !cancelled) Thread.currentThread().interrupt();
+    }
+}
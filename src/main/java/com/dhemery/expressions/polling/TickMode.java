@@ -0,0 +1,23 @@
+package com.dhemery.expressions.polling;
+
+/**
+ * Determines how a poll timer schedules evaluations.
+ */
+public enum TickMode {
+    /**
+     * Each tick pauses for the full polling interval, regardless of how long
+     * the preceding evaluation took or how much of the polling duration
+     * remains. Evaluations drift later by the time spent evaluating, and the
+     * final tick may pause past the end of the polling duration.
+     */
+    FIXED_DELAY,
+
+    /**
+     * Evaluations are scheduled one polling interval apart, measured from the
+     * start of the poll. Each tick pauses only until the next scheduled
+     * evaluation, so time spent evaluating does not delay later evaluations.
+     * The final pause is cut short at the end of the polling duration, and
+     * the poll evaluates one last time at that moment.
+     */
+    FIXED_RATE
+}
@@ -0,0 +1,232 @@
+package com.dhemery.expressions.polling;
+
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timing wheel that evaluates asynchronous polls on a single ticker
+ * thread.
+ * <p>
+ * The wheel is a ring of slots, each holding a doubly linked list of
+ * entries. Each tick, the ticker thread advances to the next slot and
+ * evaluates the entries that are due, reinserting each unsatisfied poll into
+ * the slot for its next evaluation time. An entry whose next evaluation is
+ * more than one revolution away waits in its slot for the remaining number of
+ * revolutions. Insertion and removal are constant-time list operations.
+ * <p>
+ * Only the ticker thread touches the slots. Other threads hand new and
+ * cancelled polls to the ticker thread through concurrent queues.
+ */
+class TimingWheel implements Runnable {
+    private final Entry[] slots;
+    private final int mask;
+    private final long tickNanos;
+    private final Queue<Entry> arrivals = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancellations = new ConcurrentLinkedQueue<>();
+    private final Thread ticker;
+
+    private volatile boolean running = true;
+    private volatile boolean idle;
+    private long tick;
+    private int size;
+
+    /**
+     * Creates a timing wheel and starts its ticker thread.
+     *
+     * @param wheelSize
+     *         the number of slots, rounded up to a power of two
+     * @param tickNanos
+     *         the number of nanoseconds per tick
+     * @param threadFactory
+     *         creates the ticker thread
+     */
+    TimingWheel(int wheelSize, long tickNanos, ThreadFactory threadFactory) {
+        int slotCount = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        slots = new Entry[slotCount];
+        for (int i = 0; i < slotCount; i++) slots[i] = Entry.head();
+        mask = slotCount - 1;
+        this.tickNanos = Math.max(1, tickNanos);
+        ticker = threadFactory.newThread(this);
+        ticker.start();
+    }
+
+    /**
+     * Adds the poll to the wheel. The ticker thread evaluates the poll for the
+     * first time on its next tick, or on the first tick after the poll's
+     * initial delay. If the poll is cancelled, the ticker thread
+     * removes it from the wheel.
+     *
+     * @param poll
+     *         the poll to add
+     */
+    void add(AsyncPoll<?> poll) {
+        Entry entry = new Entry(poll);
+        poll.whenComplete((ignoredResult, ignoredFailure) -> {
+            if (poll.isCancelled()) {
+                cancellations.add(entry);
+                wake();
+            }
+        });
+        arrivals.add(entry);
+        wake();
+    }
+
+    /**
+     * Stops the ticker thread, and cancels every poll remaining in the wheel.
+     */
+    void stop() {
+        running = false;
+        LockSupport.unpark(ticker);
+    }
+
+    @Override
+    public void run() {
+        long nextTickTime = System.nanoTime() + tickNanos;
+        while (running) {
+            if (size == 0 && arrivals.isEmpty()) {
+                awaitArrival();
+                nextTickTime = System.nanoTime();
+                continue;
+            }
+            long remaining = nextTickTime - System.nanoTime();
+            if (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                continue;
+            }
+            removeCancelled();
+            evaluateArrivals();
+            evaluateDueEntries();
+            tick++;
+            nextTickTime += tickNanos;
+        }
+        cancelRemaining();
+    }
+
+    private void wake() {
+        if (idle) LockSupport.unpark(ticker);
+    }
+
+    private void awaitArrival() {
+        idle = true;
+        while (running && arrivals.isEmpty()) LockSupport.park(this);
+        idle = false;
+    }
+
+    private void removeCancelled() {
+        for (Entry entry = cancellations.poll(); entry != null; entry = cancellations.poll()) {
+            if (entry.isLinked()) {
+                entry.unlink();
+                size--;
+            }
+        }
+    }
+
+    private void evaluateArrivals() {
+        for (Entry entry = arrivals.poll(); entry != null; entry = arrivals.poll()) {
+            long delay = entry.poll.initialDelay();
+            if (delay > 0) schedule(entry, delay);
+            else evaluate(entry);
+        }
+    }
+
+    private void evaluateDueEntries() {
+        Entry head = slots[(int) (tick & mask)];
+        Entry entry = head.detachAll();
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.next = entry.previous = null;
+            size--;
+            if (entry.rounds > 0) {
+                entry.rounds--;
+                head.append(entry);
+                size++;
+            } else {
+                evaluate(entry);
+            }
+            entry = next;
+        }
+    }
+
+    private void evaluate(Entry entry) {
+        long delay = entry.poll.evaluate();
+        if (delay == AsyncPoll.COMPLETE) return;
+        schedule(entry, delay);
+    }
+
+    private void schedule(Entry entry, long delay) {
+        long ticks = Math.max(1, (delay + tickNanos - 1) / tickNanos);
+        entry.rounds = (ticks - 1) / slots.length;
+        slots[(int) ((tick + ticks) & mask)].append(entry);
+        size++;
+    }
+
+    private void cancelRemaining() {
+        removeCancelled();
+        CancellationException stopped = new CancellationException("timing wheel stopped");
+        for (Entry entry = arrivals.poll(); entry != null; entry = arrivals.poll()) {
+            entry.poll.completeExceptionally(stopped);
+        }
+        for (Entry head : slots) {
+            for (Entry entry = head.detachAll(); entry != null; entry = entry.next) {
+                entry.poll.completeExceptionally(stopped);
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * A node in a slot's circular doubly linked list. Each slot's list starts
+     * with a head node that holds no poll.
+     */
+    private static class Entry {
+        private final AsyncPoll<?> poll;
+        private Entry previous;
+        private Entry next;
+        private long rounds;
+
+        private Entry(AsyncPoll<?> poll) {
+            this.poll = poll;
+        }
+
+        static Entry head() {
+            Entry head = new Entry(null);
+            head.previous = head.next = head;
+            return head;
+        }
+
+        void append(Entry entry) {
+            entry.previous = previous;
+            entry.next = this;
+            previous.next = entry;
+            previous = entry;
+        }
+
+        boolean isLinked() {
+            return next != null;
+        }
+
+        void unlink() {
+            previous.next = next;
+            next.previous = previous;
+            next = previous = null;
+        }
+
+        /**
+         * Removes every entry from this head's list, and returns the first
+         * of the removed entries, or {@code null} if the list was empty. The
+         * removed entries remain linked to each other through their
+         * {@code next} references, and the last one's {@code next} is
+         * {@code null}.
+         */
+        Entry detachAll() {
+            if (next == this) return null;
+            Entry first = next;
+            previous.next = null;
+            next = previous = this;
+            return first;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.AsyncPoller;
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A poller that multiplexes any number of simultaneous polls onto a few
+ * ticker threads, each of which drives a hashed timing wheel.
+ * <p>
+ * Each poll is assigned to one of the wheels, and is evaluated on that
+ * wheel's ticker thread. Adding and cancelling a poll cost constant time
+ * regardless of how many polls are active. Evaluation times are rounded up to
+ * the next tick, so a poll may evaluate up to one tick later than its
+ * schedule specifies.
+ * <p>
+ * Because every poll on a wheel is evaluated on the same thread, conditions
+ * should be quick to evaluate, and code that depends on a poll's future
+ * should not block the thread that completes the future.
+ * <p>
+ * As a {@link Poller}, this poller blocks the calling thread until the
+ * asynchronous poll completes.
+ * <p>
+ * This poller does not notify a {@link PollListener}. Its polls record their
+ * evaluations in the {@link EvaluationHistory#of(java.util.concurrent.Future)
+ * history} of each poll instead.
+ */
+public class TimingWheelPoller implements AsyncPoller, Poller, AutoCloseable {
+    /**
+     * The default duration of each tick.
+     */
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(1);
+
+    /**
+     * The default number of slots in each wheel.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final TimingWheel[] wheels;
+    private final NanoClock clock = NanoClock.system();
+    private final int historyCapacity = EvaluationHistory.defaultCapacity();
+
+    /**
+     * Creates a poller with one wheel per available processor, each with the
+     * default tick duration and wheel size.
+     */
+    public TimingWheelPoller() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates a poller with the given number of wheels, each with the given
+     * tick duration and wheel size.
+     *
+     * @param wheelCount
+     *         the number of wheels, each with its own ticker thread
+     * @param tickDuration
+     *         the duration of each tick
+     * @param wheelSize
+     *         the number of slots in each wheel
+     */
+    public TimingWheelPoller(int wheelCount, Duration tickDuration, int wheelSize) {
+        ThreadFactory tickerThreads = tickerThreads();
+        long tickNanos = NanoClockPollTimer.nanos(tickDuration);
+        wheels = new TimingWheel[Math.max(1, wheelCount)];
+        for (int i = 0; i < wheels.length; i++) {
+            wheels[i] = new TimingWheel(wheelSize, tickNanos, tickerThreads);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> pollAsync(PollingSchedule schedule, BooleanSupplier supplier) {
+        return add(new AsyncPoll.OfBooleanSupplier(clock, historyCapacity, supplier).start(schedule));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> pollAsync(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        return add(new AsyncPoll.OfSubjectPredicate<>(clock, historyCapacity, subject, predicate).start(schedule));
+    }
+
+    @Override
+    public <T, V> CompletableFuture<PollEvaluationResult<V>> pollAsync(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return add(new AsyncPoll.OfSubjectFunctionPredicate<>(clock, historyCapacity, subject, function, predicate).start(schedule));
+    }
+
+    @Override
+    public boolean poll(PollingSchedule schedule, BooleanSupplier supplier) {
+        return AsyncPoll.await(pollAsync(schedule, supplier));
+    }
+
+    @Override
+    public <T> boolean poll(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        return AsyncPoll.await(pollAsync(schedule, subject, predicate));
+    }
+
+    @Override
+    public <T, V> PollEvaluationResult<V> poll(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return AsyncPoll.await(pollAsync(schedule, subject, function, predicate));
+    }
+
+    /**
+     * Stops this poller's ticker threads. Polls that have not completed
+     * complete exceptionally with a {@link java.util.concurrent.CancellationException
+     * CancellationException}.
+     */
+    @Override
+    public void close() {
+        for (TimingWheel wheel : wheels) wheel.stop();
+    }
+
+    private <R> AsyncPoll<R> add(AsyncPoll<R> poll) {
+        wheels[ThreadLocalRandom.current().nextInt(wheels.length)].add(poll);
+        return poll;
+    }
+
+    private static ThreadFactory tickerThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "expressions-timing-wheel-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.AsyncPoller;
+import com.dhemery.expressions.PollingSchedule;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A poller that parks the polling thread between evaluations, and that runs
+ * each asynchronous poll on its own virtual thread.
+ * <p>
+ * Parking is cheap for a virtual thread: the parked thread releases its
+ * carrier thread until its next evaluation time. A blocking {@link
+ * #poll(PollingSchedule, BooleanSupplier) poll} runs on the calling thread,
+ * and occupies that thread until the poll ends. If the calling thread is a
+ * platform thread, the poll costs a platform thread, just as it would with
+ * any other blocking poller; running the poll on a virtual thread and joining
+ * it would not free the caller. So to run many simultaneous polls cheaply,
+ * either call the blocking methods from virtual threads or call the {@code
+ * pollAsync} methods.
+ * <p>
+ * If the runtime does not support virtual threads (before Java 21), a poller
+ * created by {@link #VirtualThreadPoller()} runs each asynchronous poll on a
+ * new platform daemon thread, so each asynchronous poll costs a platform
+ * thread. Check {@link #virtualThreadsAreAvailable()} before relying on this
+ * poller to scale. {@link DefaultPoller} refuses to select this poller on such
+ * a runtime.
+ */
+public class VirtualThreadPoller implements PollTimerPoller, AsyncPoller {
+    private final ThreadFactory threadFactory;
+    private final int historyCapacity = EvaluationHistory.defaultCapacity();
+
+    /**
+     * Creates a poller that runs asynchronous polls on virtual threads, or on
+     * platform daemon threads if the runtime does not support virtual
+     * threads.
+     */
+    public VirtualThreadPoller() {
+        this(VirtualThreads.factory().orElse(VirtualThreadPoller::daemonThread));
+    }
+
+    /**
+     * Creates a poller that runs asynchronous polls on threads created by
+     * the given factory.
+     *
+     * @param threadFactory
+     *         creates a thread for each asynchronous poll
+     */
+    public VirtualThreadPoller(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Returns whether this runtime supports virtual threads.
+     *
+     * @return whether this runtime supports virtual threads
+     */
+    public static boolean virtualThreadsAreAvailable() {
+        return VirtualThreads.factory().isPresent();
+    }
+
+    /**
+     * Returns a newly created poll timer that parks the polling thread
+     * between evaluations.
+     *
+     * @return a newly created poll timer
+     */
+    @Override
+    public PollTimer pollTimer() {
+        return new NanoClockPollTimer(NanoClock.system(), new ParkingSleeper());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> pollAsync(PollingSchedule schedule, BooleanSupplier supplier) {
+        return runAsync(poller -> poller.poll(schedule, supplier));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> pollAsync(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        return runAsync(poller -> poller.poll(schedule, subject, predicate));
+    }
+
+    @Override
+    public <T, V> CompletableFuture<PollEvaluationResult<V>> pollAsync(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return runAsync(poller -> poller.poll(schedule, subject, function, predicate));
+    }
+
+    /**
+     * Runs the poll on a new thread, using a poller whose timer expires when
+     * the returned future completes. Cancelling the future interrupts the
+     * thread to wake it, and the poll ends at its next expiration check.
+     */
+    private <R> CompletableFuture<R> runAsync(Function<PollTimerPoller, R> poll) {
+        RecordedFuture<R> result = new RecordedFuture<>();
+        PollTimerPoller poller = new PollTimerPoller() {
+            @Override
+            public PollTimer pollTimer() {
+                return new ExpiresWhenDone(VirtualThreadPoller.this.pollTimer(), result);
+            }
+
+            @Override
+            public EvaluationHistory history() {
+                return EvaluationHistory.forCurrentThread(historyCapacity);
+            }
+        };
+        Thread thread = threadFactory.newThread(() -> {
+            try {
+                R value = poll.apply(poller);
+                result.history = poller.history();
+                result.complete(value);
+            } catch (Throwable thrown) {
+                result.completeExceptionally(thrown);
+            }
+        });
+        result.whenComplete((ignoredValue, ignoredFailure) -> {
+            if (result.isCancelled()) thread.interrupt();
+        });
+        thread.start();
+        return result;
+    }
+
+    private static class RecordedFuture<R> extends CompletableFuture<R> implements RecordedPoll {
+        private volatile EvaluationHistory history = EvaluationHistory.DISABLED;
+
+        @Override
+        public EvaluationHistory history() {
+            return history;
+        }
+    }
+
+    private static class ExpiresWhenDone implements PollTimer {
+        private final PollTimer timer;
+        private final CompletableFuture<?> result;
+
+        ExpiresWhenDone(PollTimer timer, CompletableFuture<?> result) {
+            this.timer = timer;
+            this.result = result;
+        }
+
+        @Override
+        public void start(PollingSchedule schedule) {
+            timer.start(schedule);
+        }
+
+        @Override
+        public void tick() {
+            timer.tick();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return result.isDone() || timer.isExpired();
+        }
+    }
+
+    private static Thread daemonThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "expressions-poller");
+        thread.setDaemon(true);
+        return thread;
+    }
+}
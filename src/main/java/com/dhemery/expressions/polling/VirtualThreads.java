@@ -0,0 +1,37 @@
+package com.dhemery.expressions.polling;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Locates the runtime's virtual thread factory, if the runtime supports
+ * virtual threads.
+ */
+class VirtualThreads {
+    private static final ThreadFactory FACTORY = lookUpFactory();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns a factory that creates virtual threads, if the runtime supports
+     * virtual threads.
+     *
+     * @return a factory that creates virtual threads, or an empty optional if
+     * the runtime does not support virtual threads
+     */
+    static Optional<ThreadFactory> factory() {
+        return Optional.ofNullable(FACTORY);
+    }
+
+    private static ThreadFactory lookUpFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException unsupported) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.diagnosing.DiagnosticReport;
+import com.dhemery.expressions.diagnosing.Failures;
+import com.dhemery.expressions.diagnosing.Named;
+import com.dhemery.expressions.diagnosing.NamedBooleanSupplier;
+import com.dhemery.expressions.diagnosing.NamedFunction;
+import com.dhemery.expressions.diagnosing.NamedPredicate;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A poller that enforces each poll's schedule even while an evaluation is
+ * running, then delegates the poll to another poller.
+ * <p>
+ * Other pollers check whether a schedule has expired only between
+ * evaluations, so a condition that hangs, such as one that reads from a
+ * blocked socket, hangs the poll. This poller runs each evaluation on a
+ * helper executor, and waits for it no longer than the time remaining in the
+ * poll's schedule. An evaluation that starts as the schedule expires, such as
+ * the final evaluation, may still take as long as the slow evaluation
+ * threshold described below, so that no evaluation is cut short before it
+ * counts as slow. If the evaluation does not finish in time, the poller
+ * cancels it, interrupting the helper thread, and throws an {@link
+ * EvaluationTimeoutException}, created by the poller's {@link Failures},
+ * whose diagnosis says that the evaluation, rather than the condition, was
+ * the problem.
+ * <p>
+ * The poller also flags each evaluation that takes longer than a fixed
+ * fraction of the polling interval, by notifying its {@link #listener()
+ * listener} of the {@link PollListener#onSlowEvaluation slow evaluation}.
+ * <p>
+ * For a poll that derives a value from a subject, the poller runs the
+ * function on the helper executor, and tests the derived value on the
+ * polling thread. Polls of primitive values box each derived value. A
+ * decorated named condition keeps its name. Each evaluation costs a hand-off
+ * to the helper executor and back, so poll conditions this way only when
+ * they may hang.
+ */
+public class WatchdogPoller implements Poller {
+    /**
+     * The default fraction of the polling interval beyond which an
+     * evaluation is flagged as slow.
+     */
+    public static final double DEFAULT_SLOW_FRACTION = 0.5;
+
+    private final Poller delegate;
+    private final ExecutorService evaluator;
+    private final double slowFraction;
+    private final NanoClock clock;
+    private final Failures failures;
+
+    /**
+     * Creates a poller that runs evaluations on a {@link #sharedEvaluator()
+     * shared executor}, flags evaluations that take longer than {@link
+     * #DEFAULT_SLOW_FRACTION} of the polling interval, and polls using the
+     * delegate.
+     *
+     * @param delegate
+     *         performs each poll
+     */
+    public WatchdogPoller(Poller delegate) {
+        this(delegate, sharedEvaluator(), DEFAULT_SLOW_FRACTION);
+    }
+
+    /**
+     * Creates a poller that runs evaluations on the executor, flags
+     * evaluations that take longer than the given fraction of the polling
+     * interval, polls using the delegate, and reports evaluation timeouts
+     * using the {@link Failures#DEFAULT default failures}.
+     *
+     * @param delegate
+     *         performs each poll
+     * @param evaluator
+     *         runs each evaluation
+     * @param slowFraction
+     *         the fraction of the polling interval beyond which an
+     *         evaluation is slow
+     *
+     * @throws IllegalArgumentException if the slow fraction is not positive
+     */
+    public WatchdogPoller(Poller delegate, ExecutorService evaluator, double slowFraction) {
+        this(delegate, evaluator, slowFraction, Failures.DEFAULT);
+    }
+
+    /**
+     * Creates a poller that runs evaluations on the executor, flags
+     * evaluations that take longer than the given fraction of the polling
+     * interval, polls using the delegate, and reports evaluation timeouts
+     * using the given failures.
+     *
+     * @param delegate
+     *         performs each poll
+     * @param evaluator
+     *         runs each evaluation
+     * @param slowFraction
+     *         the fraction of the polling interval beyond which an
+     *         evaluation is slow
+     * @param failures
+     *         creates the exception that reports an evaluation timeout
+     *
+     * @throws IllegalArgumentException if the slow fraction is not positive
+     */
+    public WatchdogPoller(Poller delegate, ExecutorService evaluator, double slowFraction, Failures failures) {
+        this(delegate, evaluator, slowFraction, failures, NanoClock.system());
+    }
+
+    /**
+     * Creates a poller that runs evaluations on the executor, flags
+     * evaluations that take longer than the given fraction of the polling
+     * interval, polls using the delegate, reports evaluation timeouts using
+     * the given failures, and measures time using the clock.
+     *
+     * @param delegate
+     *         performs each poll
+     * @param evaluator
+     *         runs each evaluation
+     * @param slowFraction
+     *         the fraction of the polling interval beyond which an
+     *         evaluation is slow
+     * @param failures
+     *         creates the exception that reports an evaluation timeout
+     * @param clock
+     *         tells when each evaluation's time runs out
+     *
+     * @throws IllegalArgumentException if the slow fraction is not positive
+     * @implNote This constructor exists primarily to allow tests to control
+     * the clock.
+     */
+    public WatchdogPoller(Poller delegate, ExecutorService evaluator, double slowFraction, Failures failures, NanoClock clock) {
+        if (!(slowFraction > 0))
+            throw new IllegalArgumentException(format("slow fraction %s is not positive", slowFraction));
+        this.delegate = delegate;
+        this.evaluator = evaluator;
+        this.slowFraction = slowFraction;
+        this.failures = failures;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns an executor shared by watchdog pollers. The executor runs each
+     * evaluation on a daemon thread, and creates a new thread whenever every
+     * existing thread is busy, so an evaluation that never finishes does not
+     * keep other evaluations from running.
+     *
+     * @return an executor shared by watchdog pollers
+     */
+    public static ExecutorService sharedEvaluator() {
+        return SharedEvaluator.INSTANCE;
+    }
+
+    @Override
+    public boolean poll(PollingSchedule schedule, BooleanSupplier supplier) {
+        Watch watch = new Watch(schedule, supplier);
+        BooleanSupplier watched = () -> watch.evaluate(supplier::getAsBoolean);
+        return delegate.poll(schedule, supplier instanceof Named ? new NamedBooleanSupplier(supplier.toString(), watched) : watched);
+    }
+
+    @Override
+    public <T> boolean poll(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+        Watch watch = new Watch(schedule, predicate);
+        Predicate<T> watched = t -> watch.evaluate(() -> predicate.test(t));
+        return delegate.poll(schedule, subject, predicate instanceof Named ? new NamedPredicate<>(predicate.toString(), watched) : watched);
+    }
+
+    @Override
+    public <T, V> PollEvaluationResult<V> poll(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        Watch watch = new Watch(schedule, function);
+        Function<T, V> watched = t -> watch.evaluate(() -> function.apply(t));
+        return delegate.poll(schedule, subject, function instanceof Named ? new NamedFunction<>(function.toString(), watched) : watched, predicate);
+    }
+
+    @Override
+    public EvaluationHistory history() {
+        return delegate.history();
+    }
+
+    @Override
+    public PollListener listener() {
+        return delegate.listener();
+    }
+
+    /**
+     * Watches the evaluations of one poll.
+     */
+    private class Watch {
+        private final PollingSchedule schedule;
+        private final Object condition;
+        private final long start;
+        private final long durationNanos;
+        private final long slowNanos;
+
+        Watch(PollingSchedule schedule, Object condition) {
+            this.schedule = schedule;
+            this.condition = condition;
+            slowNanos = (long) (nanos(schedule.interval()) * slowFraction);
+            durationNanos = nanos(schedule.duration());
+            start = clock.nanoTime();
+        }
+
+        <R> R evaluate(Callable<R> evaluation) {
+            long evaluationStart = clock.nanoTime();
+            long budget = Math.max(durationNanos - (evaluationStart - start), slowNanos);
+            Future<R> pending = evaluator.submit(evaluation);
+            try {
+                R result = pending.get(budget, NANOSECONDS);
+                long elapsed = clock.nanoTime() - evaluationStart;
+                if (elapsed > slowNanos) listener().onSlowEvaluation(condition, elapsed, schedule);
+                return result;
+            } catch (TimeoutException slow) {
+                pending.cancel(true);
+                throw failures.evaluationTimeout(diagnosis(budget));
+            } catch (InterruptedException interrupted) {
+                pending.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new PollCancelledException(true);
+            } catch (ExecutionException failed) {
+                Throwable cause = failed.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        /**
+         * Supplies the rendered report, including the history of the
+         * evaluations that finished before this one.
+         */
+        private Supplier<String> diagnosis(long budget) {
+            DiagnosticReport report = DiagnosticReport.ofEvaluationTimeout(schedule, condition, Duration.ofNanos(budget));
+            EvaluationHistory history = history().snapshot();
+            return () -> report.withHistory(history).render();
+        }
+    }
+
+    private static long nanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException tooLong) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static class SharedEvaluator {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(daemonThreads());
+
+        private static ThreadFactory daemonThreads() {
+            AtomicInteger count = new AtomicInteger();
+            return runnable -> {
+                Thread thread = new Thread(runnable, "expressions-evaluator-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
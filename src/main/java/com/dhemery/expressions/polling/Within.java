@@ -57,4 +57,50 @@ public class Within extends PollingSchedule {
     public PollingSchedule checkedEvery(int amount, TemporalUnit unit) {
         return checkedEvery(Duration.of(amount, unit));
     }
+
+    /**
+     * Creates a backoff polling schedule with this schedule's duration. The
+     * schedule waits the initial interval after the first evaluation, and
+     * multiplies each later interval by the multiplier, up to the maximum
+     * interval. The jitter randomizes each interval.
+     * <p>
+     * This method is named to read like a time frame in polled expressions:
+     *
+     * <pre>
+     * assertThat(within(1, MINUTES)<strong>.backingOff(ofMillis(100), 2, ofSeconds(5), DECORRELATED)</strong>, searchField, isDisplayed());
+     * </pre>
+     *
+     * @param initialInterval
+     *         the interval to wait after the first evaluation
+     * @param multiplier
+     *         the factor by which each interval exceeds the previous one
+     * @param maxInterval
+     *         the longest interval to wait between evaluations
+     * @param jitter
+     *         how to randomize each interval
+     *
+     * @return a backoff polling schedule with this schedule's duration
+     */
+    public BackoffPollingSchedule backingOff(Duration initialInterval, double multiplier, Duration maxInterval, BackoffPollingSchedule.Jitter jitter) {
+        return new BackoffPollingSchedule(initialInterval, multiplier, maxInterval, jitter, duration());
+    }
+
+    /**
+     * Creates a backoff polling schedule with this schedule's duration, with
+     * {@link BackoffPollingSchedule.Jitter#DECORRELATED decorrelated jitter}.
+     *
+     * @param initialInterval
+     *         the interval to wait after the first evaluation
+     * @param multiplier
+     *         the factor by which each interval exceeds the previous one
+     * @param maxInterval
+     *         the longest interval to wait between evaluations
+     *
+     * @return a backoff polling schedule with this schedule's duration
+     *
+     * @see #backingOff(Duration, double, Duration, BackoffPollingSchedule.Jitter)
+     */
+    public BackoffPollingSchedule backingOff(Duration initialInterval, double multiplier, Duration maxInterval) {
+        return backingOff(initialInterval, multiplier, maxInterval, BackoffPollingSchedule.Jitter.DECORRELATED);
+    }
 }
@@ -0,0 +1,117 @@
+package com.dhemery.expressions;
+
+import com.dhemery.expressions.diagnosing.Diagnosis;
+import com.dhemery.expressions.diagnosing.Named;
+import com.dhemery.expressions.helpers.ExpressionsPolledBy;
+import com.dhemery.expressions.helpers.ImpatientPoller;
+import com.dhemery.expressions.helpers.PollingSchedules;
+import com.dhemery.expressions.polling.NanoClock;
+import com.dhemery.expressions.polling.PollTimeoutException;
+import com.dhemery.expressions.polling.ScheduledExecutorPoller;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncPolledExpressionTests {
+    private static final String SUBJECT = "subject";
+    private static final BooleanSupplier SATISFIED_CONDITION = Named.booleanSupplier("satisfied condition", () -> true);
+    private static final BooleanSupplier UNSATISFIED_CONDITION = Named.booleanSupplier("unsatisfied condition", () -> false);
+    private static final Function<String, String> FUNCTION = Named.function("plural of ", s -> s + "s");
+    private static final Predicate<String> SATISFIED_PREDICATE = Named.predicate("equal to", s -> Objects.equals(s, s));
+    private static final Predicate<String> UNSATISFIED_PREDICATE = SATISFIED_PREDICATE.negate();
+    private final PollingSchedule defaultPollingSchedule = PollingSchedules.random();
+    private final PolledExpressions expressions = new ExpressionsPolledBy(new ImpatientPoller(), defaultPollingSchedule);
+
+    private static Throwable failureOf(CompletableFuture<?> future) {
+        assertTrue(future.isCompletedExceptionally());
+        return future.handle((ignored, failure) -> failure).join();
+    }
+
+    @Nested
+    class WaitUntilAsync {
+        @Test
+        void completesIfPollIsSatisfied() {
+            assertTrue(expressions.waitUntilAsync(SATISFIED_CONDITION).isDone());
+            assertTrue(expressions.waitUntilAsync(SUBJECT, SATISFIED_PREDICATE).isDone());
+            assertTrue(expressions.waitUntilAsync(SUBJECT, FUNCTION, SATISFIED_PREDICATE).isDone());
+        }
+
+        @Test
+        void failsWithPollTimeoutException_ifBooleanSupplierPollIsNotSatisfied() {
+            Throwable failure = failureOf(expressions.waitUntilAsync(UNSATISFIED_CONDITION));
+
+            assertTrue(failure instanceof PollTimeoutException);
+            assertEquals(Diagnosis.of(defaultPollingSchedule, UNSATISFIED_CONDITION), failure.getMessage());
+        }
+
+        @Test
+        void failsWithPollTimeoutException_ifSubjectPredicatePollIsNotSatisfied() {
+            PollingSchedule schedule = PollingSchedules.random();
+
+            Throwable failure = failureOf(expressions.waitUntilAsync(schedule, SUBJECT, UNSATISFIED_PREDICATE));
+
+            assertTrue(failure instanceof PollTimeoutException);
+            assertEquals(Diagnosis.of(schedule, SUBJECT, UNSATISFIED_PREDICATE), failure.getMessage());
+        }
+
+        @Test
+        void failsWithPollTimeoutException_ifSubjectFunctionPredicatePollIsNotSatisfied() {
+            PollingSchedule schedule = PollingSchedules.random();
+
+            Throwable failure = failureOf(expressions.waitUntilAsync(schedule, SUBJECT, FUNCTION, UNSATISFIED_PREDICATE));
+
+            assertTrue(failure instanceof PollTimeoutException);
+            assertEquals(Diagnosis.of(schedule, SUBJECT, FUNCTION, UNSATISFIED_PREDICATE, FUNCTION.apply(SUBJECT)), failure.getMessage());
+        }
+    }
+
+    @Nested
+    class WhenAsync {
+        @Test
+        void completesWithSubjectIfPollIsSatisfied() {
+            assertSame(SUBJECT, expressions.whenAsync(SUBJECT, SATISFIED_PREDICATE).join());
+            assertSame(SUBJECT, expressions.whenAsync(SUBJECT, FUNCTION, SATISFIED_PREDICATE).join());
+        }
+
+        @Test
+        void failsWithPollTimeoutException_ifPollIsNotSatisfied() {
+            Throwable failure = failureOf(expressions.whenAsync(SUBJECT, FUNCTION, UNSATISFIED_PREDICATE));
+
+            assertTrue(failure instanceof PollTimeoutException);
+            assertEquals(Diagnosis.of(defaultPollingSchedule, SUBJECT, FUNCTION, UNSATISFIED_PREDICATE, FUNCTION.apply(SUBJECT)), failure.getMessage());
+        }
+    }
+
+    @Nested
+    class AsyncTimeoutDiagnosis {
+        @Test
+        void includesHistoryRecordedByAsyncPoll() {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+            try {
+                AsyncPoller recordingPoller = new ScheduledExecutorPoller(scheduler, NanoClock.system(), 3);
+                PolledExpressions expressions = new ExpressionsPolledBy(new ImpatientPoller(), recordingPoller, defaultPollingSchedule);
+                PollingSchedule schedule = new PollingSchedule(Duration.ofMillis(1), Duration.ofMillis(20));
+
+                CompletableFuture<Void> wait = expressions.waitUntilAsync(schedule, SUBJECT, FUNCTION, UNSATISFIED_PREDICATE);
+                Throwable failure = wait.handle((ignored, thrown) -> thrown).join();
+
+                assertTrue(failure instanceof PollTimeoutException);
+                String expectedWithoutHistory = Diagnosis.of(schedule, SUBJECT, FUNCTION, UNSATISFIED_PREDICATE, FUNCTION.apply(SUBJECT));
+                assertTrue(failure.getMessage().startsWith(expectedWithoutHistory + System.lineSeparator() + " history: last "),
+                        failure.getMessage());
+            } finally {
+                scheduler.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.dhemery.expressions;
+
+import com.dhemery.expressions.diagnosing.Named;
+import com.dhemery.expressions.helpers.ExpressionsPolledBy;
+import com.dhemery.expressions.helpers.ImpatientPoller;
+import com.dhemery.expressions.helpers.PollingSchedules;
+import com.dhemery.expressions.polling.PollTimeoutException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingConditionsPolledExpressionTests {
+    private static final BooleanSupplier SATISFIED_CONDITION = Named.booleanSupplier("satisfied condition", () -> true);
+    private static final BooleanSupplier UNSATISFIED_CONDITION = Named.booleanSupplier("unsatisfied condition", () -> false);
+    private static final Predicate<String> IS_SHORT = Named.predicate("is short", s -> s.length() < 3);
+    private final PollingSchedule defaultPollingSchedule = PollingSchedules.random();
+    private final PolledExpressions polledExpressions = new ExpressionsPolledBy(new ImpatientPoller(), defaultPollingSchedule);
+
+    @Nested
+    class WaitUntilAll {
+        @Test
+        void returnsIfEverySupplierReturnsTrue() {
+            polledExpressions.waitUntilAll(Arrays.asList(SATISFIED_CONDITION, SATISFIED_CONDITION));
+        }
+
+        @Test
+        void throwsPollTimeoutExceptionListingUnsatisfiedSuppliers() {
+            List<BooleanSupplier> suppliers = Arrays.asList(SATISFIED_CONDITION, UNSATISFIED_CONDITION);
+
+            PollTimeoutException thrown = assertThrows(
+                    PollTimeoutException.class,
+                    () -> polledExpressions.waitUntilAll(suppliers)
+            );
+
+            assertTrue(thrown.getMessage().contains("Expected: all of [satisfied condition, unsatisfied condition]"));
+            assertTrue(thrown.getMessage().endsWith(" pending: unsatisfied condition"));
+        }
+
+        @Test
+        void throwsPollTimeoutExceptionListingRejectedSubjects() {
+            PollingSchedule pollingSchedule = PollingSchedules.random();
+
+            PollTimeoutException thrown = assertThrows(
+                    PollTimeoutException.class,
+                    () -> polledExpressions.waitUntilAll(pollingSchedule, Arrays.asList("a", "long", "b", "longer"), IS_SHORT)
+            );
+
+            assertTrue(thrown.getMessage().contains(String.format("     but: timed out, polling %s", pollingSchedule)));
+            assertTrue(thrown.getMessage().endsWith(" pending: long, longer"));
+        }
+    }
+
+    @Nested
+    class WaitUntilAny {
+        @Test
+        void returnsIfAnySupplierReturnsTrue() {
+            polledExpressions.waitUntilAny(Arrays.asList(UNSATISFIED_CONDITION, SATISFIED_CONDITION));
+        }
+
+        @Test
+        void returnsIfPredicateAcceptsAnySubject() {
+            polledExpressions.waitUntilAny(Arrays.asList("long", "a"), IS_SHORT);
+        }
+
+        @Test
+        void rejectsAnEmptyGroup() {
+            assertThrows(IllegalArgumentException.class, () -> polledExpressions.waitUntilAny(Collections.<BooleanSupplier>emptyList()));
+            assertThrows(IllegalArgumentException.class, () -> polledExpressions.waitUntilAny(Collections.<String>emptyList(), IS_SHORT));
+        }
+
+        @Test
+        void throwsPollTimeoutExceptionIfNoSupplierReturnsTrue() {
+            PollTimeoutException thrown = assertThrows(
+                    PollTimeoutException.class,
+                    () -> polledExpressions.waitUntilAny(Arrays.asList(UNSATISFIED_CONDITION, UNSATISFIED_CONDITION))
+            );
+
+            assertTrue(thrown.getMessage().contains(String.format("     but: timed out, polling %s", defaultPollingSchedule)));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.dhemery.expressions;
 
 import com.dhemery.expressions.diagnosing.Diagnosis;
+import com.dhemery.expressions.diagnosing.DiagnosticReport;
 import com.dhemery.expressions.diagnosing.Named;
 import com.dhemery.expressions.helpers.ExpressionsPolledBy;
 import com.dhemery.expressions.helpers.ImpatientPoller;
@@ -13,7 +14,9 @@ import org.junit.jupiter.params.provider.CsvSource;
 
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -132,4 +135,25 @@ class SubjectFunctionPredicatePolledExpressionTests {
             }
         }
     }
+
+    @Nested
+    class WaitUntilInt {
+        private final ToIntFunction<String> length = Named.toIntFunction("length", String::length);
+
+        @Test
+        void returnsIfPollReturnsTrue() {
+            expressions.waitUntilInt(SUBJECT, length, Named.intPredicate("positive", n -> n > 0));
+        }
+
+        @Test
+        void throwsPollTimeoutExceptionWithFinalValueIfPollReturnsFalse() {
+            IntPredicate negative = Named.intPredicate("negative", n -> n < 0);
+
+            PollTimeoutException thrown = assertThrows(
+                    PollTimeoutException.class,
+                    () -> expressions.waitUntilInt(SUBJECT, length, negative)
+            );
+            assertEquals(DiagnosticReport.ofInt(defaultPollingSchedule, SUBJECT, length, negative, SUBJECT.length()).render(), thrown.getMessage());
+        }
+    }
 }
@@ -3,8 +3,11 @@ package com.dhemery.expressions.diagnosing;
 
 import com.dhemery.expressions.PollingSchedule;
 import com.dhemery.expressions.helpers.PollingSchedules;
+import com.dhemery.expressions.polling.PendingConditions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Optional;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -85,6 +88,39 @@ class DiagnosisTests {
         assertEquals(expectedDiagnosis, Diagnosis.of(schedule, subject, function, predicate, functionValue));
     }
 
+    @Test
+    void polledPendingBooleanSuppliers() {
+        BooleanSupplier satisfied = Named.booleanSupplier("satisfied", () -> true);
+        BooleanSupplier unsatisfied = Named.booleanSupplier("unsatisfied", () -> false);
+        PendingConditions<BooleanSupplier> conditions = PendingConditions.of(PendingConditions.Quantifier.ALL, Arrays.asList(satisfied, unsatisfied), Optional.empty());
+        conditions.getAsBoolean();
+
+        String expectedDiagnosis = String.join(System.lineSeparator(),
+                "",
+                "Expected: all of [satisfied, unsatisfied]",
+                String.format("     but: timed out, polling %s", schedule),
+                " pending: unsatisfied"
+        );
+
+        assertEquals(expectedDiagnosis, Diagnosis.ofPending(schedule, conditions, conditions.pending()));
+    }
+
+    @Test
+    void polledPendingSubjects() {
+        Predicate<String> isShort = Named.predicate("is short", s -> s.length() < 3);
+        PendingConditions<String> conditions = PendingConditions.of(PendingConditions.Quantifier.ANY, Arrays.asList("long subject", "longer subject"), isShort, Optional.empty());
+        conditions.getAsBoolean();
+
+        String expectedDiagnosis = String.join(System.lineSeparator(),
+                "any of [long subject, longer subject]",
+                "Expected: is short",
+                String.format("     but: timed out, polling %s", schedule),
+                " pending: long subject, longer subject"
+        );
+
+        assertEquals(expectedDiagnosis, Diagnosis.ofPending(schedule, conditions, isShort, conditions.pending()));
+    }
+
     private BooleanSupplier uncallableBooleanSupplier() {
         return Named.booleanSupplier("supplier", () -> {
             throw new RuntimeException("Diagnosis unexpectedly evaluated the supplier");
@@ -0,0 +1,122 @@
+package com.dhemery.expressions.diagnosing;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.helpers.PollingSchedules;
+import com.dhemery.expressions.polling.EvaluationHistory;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticReportTests {
+    private final Function<String, Integer> function = Named.function("length", String::length);
+    private final Predicate<Integer> predicate = Named.predicate("is zero", v -> v == 0);
+    private final PollingSchedule schedule = PollingSchedules.random();
+    private final BooleanSupplier supplier = Named.booleanSupplier("supplier", () -> false);
+
+    @Nested
+    class Fields {
+        @Test
+        void describeImmediateFailure() {
+            DiagnosticReport report = DiagnosticReport.of("subject", function, predicate, 7);
+
+            assertEquals(DiagnosticReport.Outcome.UNSATISFIED, report.outcome());
+            assertSame(predicate, report.expected());
+            assertEquals(Optional.of("subject"), report.subject());
+            assertEquals(Optional.of(function), report.function());
+            assertEquals(Optional.of(7), report.finalValue());
+            assertEquals(Optional.empty(), report.schedule());
+        }
+
+        @Test
+        void describePolledFailure() {
+            DiagnosticReport report = DiagnosticReport.of(schedule, supplier);
+
+            assertEquals(DiagnosticReport.Outcome.TIMED_OUT, report.outcome());
+            assertSame(supplier, report.expected());
+            assertEquals(Optional.empty(), report.subject());
+            assertEquals(Optional.empty(), report.function());
+            assertEquals(Optional.of(schedule), report.schedule());
+        }
+
+        @Test
+        void describeEvaluationTimeout() {
+            DiagnosticReport report = DiagnosticReport.ofEvaluationTimeout(schedule, supplier, Duration.ofMillis(50));
+
+            assertEquals(DiagnosticReport.Outcome.EVALUATION_TIMED_OUT, report.outcome());
+            assertSame(supplier, report.expected());
+            assertEquals(Optional.empty(), report.subject());
+            assertEquals(Optional.of(Duration.ofMillis(50)), report.evaluationBudget());
+            assertEquals(Optional.of(schedule), report.schedule());
+        }
+    }
+
+    @Nested
+    class Rendering {
+        @Test
+        void rendersEvaluationTimeout() {
+            DiagnosticReport report = DiagnosticReport.ofEvaluationTimeout(schedule, supplier, Duration.ofMillis(50));
+
+            String expected = String.join(System.lineSeparator(), "",
+                    "Expected: supplier",
+                    "     but: an evaluation was still running after PT0.05S, polling " + schedule,
+                    "          (the evaluation, not the condition, ran out the schedule)");
+            assertEquals(expected, report.render());
+        }
+
+        @Test
+        void rendersToAnyAppendable() throws IOException {
+            DiagnosticReport report = DiagnosticReport.of(schedule, "subject", function, predicate, 7);
+            StringWriter writer = new StringWriter();
+
+            report.renderTo(writer);
+
+            assertEquals(report.render(), writer.toString());
+        }
+
+        @Test
+        void appendsToExistingContent() {
+            StringBuilder builder = new StringBuilder("prefix:");
+
+            DiagnosticReport.of(supplier).renderTo(builder);
+
+            assertEquals("prefix:" + Diagnosis.of(supplier), builder.toString());
+        }
+
+        @Test
+        void appendsHistory_ifGiven() {
+            EvaluationHistory history = new EvaluationHistory(5);
+            history.begin(0, true);
+            history.recordInt(0, 1_000_000, false, 7);
+
+            String rendered = DiagnosticReport.of(schedule, "subject", function, predicate, 7).withHistory(history).render();
+
+            assertTrue(rendered.endsWith(history.toString()));
+        }
+
+        @Test
+        void rendersCorrectly_whenASubjectDescriptionRendersAnotherReport() {
+            Object nested = new Object() {
+                @Override
+                public String toString() {
+                    return DiagnosticReport.of(supplier).render().trim();
+                }
+            };
+
+            Predicate<Object> isNull = Named.predicate("is null", o -> o == null);
+
+            String rendered = DiagnosticReport.of(schedule, nested, isNull).render();
+
+            assertTrue(rendered.startsWith("Expected: supplier"));
+            assertTrue(rendered.contains("Expected: is null"));
+        }
+    }
+}
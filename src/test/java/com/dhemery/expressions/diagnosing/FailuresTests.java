@@ -0,0 +1,110 @@
+package com.dhemery.expressions.diagnosing;
+
+import com.dhemery.expressions.polling.EvaluationTimeoutException;
+import com.dhemery.expressions.polling.PollTimeoutException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FailuresTests {
+    private final AtomicInteger renderings = new AtomicInteger();
+    private final Supplier<String> diagnosis = () -> "diagnosis " + renderings.incrementAndGet();
+
+    @Nested
+    class AssertionErrors {
+        @Test
+        void renderDiagnosisOnlyWhenMessageIsFirstRequested() {
+            AssertionError error = Failures.WITH_STACK_TRACES.assertionError(diagnosis);
+
+            assertEquals(0, renderings.get());
+            assertEquals("diagnosis 1", error.getMessage());
+            assertEquals("diagnosis 1", error.getMessage());
+            assertEquals(1, renderings.get());
+        }
+
+        @Test
+        void haveStackTraces_ifCreatedWithStackTraces() {
+            AssertionError error = Failures.WITH_STACK_TRACES.assertionError(diagnosis);
+
+            assertTrue(error.getStackTrace().length > 0);
+            assertEquals(Failures.class.getName(), error.getStackTrace()[0].getClassName());
+        }
+
+        @Test
+        void haveNoStackTraces_ifStackless() {
+            AssertionError error = Failures.STACKLESS.assertionError(diagnosis);
+
+            assertEquals(0, error.getStackTrace().length);
+        }
+
+        @Test
+        void keepTheirMessages_whenSerialized() throws Exception {
+            AssertionError error = Failures.WITH_STACK_TRACES.assertionError(diagnosis);
+
+            assertEquals("diagnosis 1", serializedCopy(error).getMessage());
+        }
+    }
+
+    @Nested
+    class PollTimeoutExceptions {
+        @Test
+        void renderDiagnosisOnlyWhenMessageIsFirstRequested() {
+            PollTimeoutException exception = Failures.WITH_STACK_TRACES.pollTimeout(diagnosis);
+
+            assertEquals(0, renderings.get());
+            assertEquals("diagnosis 1", exception.getMessage());
+            assertEquals("diagnosis 1", exception.getMessage());
+            assertEquals(1, renderings.get());
+        }
+
+        @Test
+        void haveStackTraces_ifCreatedWithStackTraces() {
+            PollTimeoutException exception = Failures.WITH_STACK_TRACES.pollTimeout(diagnosis);
+
+            assertTrue(exception.getStackTrace().length > 0);
+        }
+
+        @Test
+        void haveNoStackTraces_ifStackless() {
+            PollTimeoutException exception = Failures.STACKLESS.pollTimeout(diagnosis);
+
+            assertEquals(0, exception.getStackTrace().length);
+        }
+
+        @Test
+        void keepTheirMessages_whenSerialized() throws Exception {
+            PollTimeoutException exception = Failures.WITH_STACK_TRACES.pollTimeout(diagnosis);
+
+            assertEquals("diagnosis 1", serializedCopy(exception).getMessage());
+        }
+
+        @Test
+        void keepTheirMessagesAndTypes_whenSerialized_ifEvaluationTimeouts() throws Exception {
+            EvaluationTimeoutException exception = Failures.STACKLESS.evaluationTimeout(diagnosis);
+
+            Throwable copy = serializedCopy(exception);
+
+            assertTrue(copy instanceof EvaluationTimeoutException);
+            assertEquals("diagnosis 1", copy.getMessage());
+        }
+    }
+
+    static Throwable serializedCopy(Throwable thrown) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(thrown);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (Throwable) in.readObject();
+        }
+    }
+}
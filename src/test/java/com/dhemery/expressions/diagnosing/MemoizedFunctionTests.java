@@ -0,0 +1,204 @@
+package com.dhemery.expressions.diagnosing;
+
+import com.dhemery.expressions.helpers.ManualClock;
+import com.dhemery.expressions.polling.PollCancelledException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoizedFunctionTests {
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(1);
+    private final ManualClock clock = new ManualClock();
+    private final AtomicInteger applications = new AtomicInteger();
+    private final Function<String, Integer> counting = s -> applications.incrementAndGet();
+
+    @Test
+    void describesItselfWithTheGivenName() {
+        assertEquals("status of", String.valueOf(new MemoizedFunction<>("status of", counting, TIME_TO_LIVE)));
+    }
+
+    @Test
+    void keepsTheNameOfTheUnderlyingFunction() {
+        Function<String, Integer> named = new NamedFunction<>("status of", counting);
+
+        assertEquals("status of", String.valueOf(new MemoizedFunction<>(named, TIME_TO_LIVE)));
+    }
+
+    @Test
+    void remembersTheValueForEachSubjectUntilTheTimeToLiveExpires() {
+        MemoizedFunction<String, Integer> memoized = new MemoizedFunction<>("", counting, TIME_TO_LIVE, 10, clock);
+
+        assertEquals(Integer.valueOf(1), memoized.apply("subject"));
+        assertEquals(Integer.valueOf(2), memoized.apply("other subject"));
+        clock.advance(TIME_TO_LIVE.minusNanos(1));
+        assertEquals(Integer.valueOf(1), memoized.apply("subject"));
+
+        clock.advance(Duration.ofNanos(1));
+        assertEquals(Integer.valueOf(3), memoized.apply("subject"));
+        assertEquals(3, applications.get());
+    }
+
+    @Test
+    void remembersNothingIfTheUnderlyingFunctionThrows() {
+        AtomicInteger attempts = new AtomicInteger();
+        MemoizedFunction<String, Integer> memoized = new MemoizedFunction<>("", s -> {
+            if (attempts.incrementAndGet() == 1) throw new IllegalStateException("unavailable");
+            return attempts.get();
+        }, TIME_TO_LIVE, 10, clock);
+
+        assertThrows(IllegalStateException.class, () -> memoized.apply("subject"));
+        assertEquals(Integer.valueOf(2), memoized.apply("subject"));
+        assertEquals(Integer.valueOf(2), memoized.apply("subject"));
+    }
+
+    @Test
+    void discardsTheOldestValueWhenFull() {
+        MemoizedFunction<String, Integer> memoized = new MemoizedFunction<>("", counting, TIME_TO_LIVE, 2, clock);
+
+        memoized.apply("first");
+        clock.advance(Duration.ofMillis(1));
+        memoized.apply("second");
+        clock.advance(Duration.ofMillis(1));
+        memoized.apply("third");
+
+        assertEquals(2, memoized.size());
+        assertEquals(Integer.valueOf(2), memoized.apply("second"));
+        assertEquals(Integer.valueOf(4), memoized.apply("first"));
+    }
+
+    @Test
+    void discardsExpiredValuesBeforeUnexpiredOnesWhenFull() {
+        MemoizedFunction<String, Integer> memoized = new MemoizedFunction<>("", counting, TIME_TO_LIVE, 3, clock);
+
+        memoized.apply("first");
+        memoized.apply("second");
+        clock.advance(TIME_TO_LIVE);
+        memoized.apply("third");
+        memoized.apply("fourth");
+
+        assertEquals(2, memoized.size());
+    }
+
+    @Test
+    void sharesOneApplicationAmongSimultaneousCallers() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+        MemoizedFunction<String, Integer> memoized = new MemoizedFunction<>("", s -> {
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return applications.incrementAndGet();
+        }, TIME_TO_LIVE, 10, clock);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] calls = new Future<?>[4];
+            for (int i = 0; i < calls.length; i++) calls[i] = callers.submit(() -> memoized.apply("subject"));
+            Thread.sleep(50);
+            released.countDown();
+            for (Future<?> call : calls) assertEquals(1, call.get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, applications.get());
+    }
+
+    @Test
+    void derivesAnInnerValue_ifTheUnderlyingFunctionReappliesItToTheSameSubject() {
+        AtomicReference<Function<String, Integer>> self = new AtomicReference<>();
+        MemoizedFunction<String, Integer> memoized = new MemoizedFunction<>("", s -> {
+            int application = applications.incrementAndGet();
+            return application == 1 ? self.get().apply(s) * 10 : application;
+        }, TIME_TO_LIVE, 10, clock);
+        self.set(memoized);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertEquals(Integer.valueOf(20), memoized.apply("subject")));
+        assertEquals(Integer.valueOf(20), memoized.apply("subject"));
+    }
+
+    @Test
+    void waitingCallerStopsWaiting_ifInterrupted() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+        MemoizedFunction<String, Integer> memoized = new MemoizedFunction<>("", s -> {
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return applications.incrementAndGet();
+        }, TIME_TO_LIVE, 10, clock);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        AtomicReference<Boolean> stillInterrupted = new AtomicReference<>();
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> deriving = callers.submit(() -> memoized.apply("subject"));
+            Thread.sleep(50);
+            Thread waiting = new Thread(() -> {
+                try {
+                    memoized.apply("subject");
+                } catch (Throwable t) {
+                    thrown.set(t);
+                }
+                stillInterrupted.set(Thread.currentThread().isInterrupted());
+            });
+            waiting.start();
+            Thread.sleep(50);
+            waiting.interrupt();
+            waiting.join(5_000);
+
+            assertTrue(thrown.get() instanceof PollCancelledException, String.valueOf(thrown.get()));
+            assertEquals(Boolean.TRUE, stillInterrupted.get());
+            released.countDown();
+            assertEquals(Integer.valueOf(1), deriving.get(5, TimeUnit.SECONDS));
+        } finally {
+            released.countDown();
+            callers.shutdownNow();
+        }
+        assertEquals(1, applications.get());
+    }
+
+    @Test
+    void waitingCallersTryAgain_ifTheUnderlyingFunctionThrows() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+        MemoizedFunction<String, Integer> memoized = new MemoizedFunction<>("", s -> {
+            int application = applications.incrementAndGet();
+            if (application == 1) {
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("unavailable");
+            }
+            return application;
+        }, TIME_TO_LIVE, 10, clock);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = callers.submit(() -> memoized.apply("subject"));
+            Thread.sleep(50);
+            Future<Integer> waiting = callers.submit(() -> memoized.apply("subject"));
+            Thread.sleep(50);
+            released.countDown();
+
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertTrue(thrown.getCause() instanceof IllegalStateException);
+            assertEquals(Integer.valueOf(2), waiting.get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
@@ -57,4 +57,17 @@ class NamedFunctionTests {
 
         assertEquals(format("(after of %s)", before), String.valueOf(composed));
     }
+
+    @Test
+    void flattensAChainOfCompositionsIntoOneDescription() {
+        Function<String, Integer> length = new NamedFunction<>("length", String::length);
+        Function<Integer, Integer> negated = new NamedFunction<>("negated", i -> -i);
+        Function<Integer, String> text = new NamedFunction<>("text", String::valueOf);
+
+        Function<String, String> composed = length.andThen(negated).andThen(text);
+
+        assertEquals("(text of negated of length)", String.valueOf(composed));
+        assertEquals("(text of negated of length)", String.valueOf(text.compose(negated.compose(length))));
+        assertEquals("-3", composed.apply("foo"));
+    }
 }
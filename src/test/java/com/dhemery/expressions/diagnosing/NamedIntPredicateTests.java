@@ -0,0 +1,65 @@
+package com.dhemery.expressions.diagnosing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NamedIntPredicateTests {
+    private final IntPredicate positive = new NamedIntPredicate("positive", n -> n > 0);
+    private final IntPredicate even = new NamedIntPredicate("even", n -> n % 2 == 0);
+
+    @Test
+    void delegatesTestToTheUnderlyingPredicate() {
+        assertTrue(positive.test(3));
+        assertFalse(positive.test(-3));
+    }
+
+    @Test
+    void describesItselfWithTheGivenName() {
+        assertEquals("positive", String.valueOf(positive));
+    }
+
+    @Test
+    void composedPredicatesPerformTheComposedTests() {
+        assertTrue(positive.and(even).test(4));
+        assertFalse(positive.and(even).test(3));
+        assertTrue(positive.or(even).test(-4));
+        assertFalse(positive.or(even).test(-3));
+        assertTrue(positive.negate().test(-3));
+    }
+
+    @Test
+    void composedPredicatesDescribeTheirComposition() {
+        assertEquals("(positive and even)", String.valueOf(positive.and(even)));
+        assertEquals("(positive or even)", String.valueOf(positive.or(even)));
+        assertEquals("(not (positive and even))", String.valueOf(positive.and(even).negate()));
+    }
+
+    @Test
+    void flattensChainsOfTheSameComposition() {
+        IntPredicate small = new NamedIntPredicate("small", n -> n < 10);
+
+        assertEquals("(positive and even and small)", String.valueOf(positive.and(even).and(small)));
+        assertEquals("(positive or even or small)", String.valueOf(positive.or(even.or(small))));
+        assertEquals("((positive and even) or small)", String.valueOf(positive.and(even).or(small)));
+    }
+
+    @Test
+    void flattenedChainsEvaluateEachOperandInOrderAndShortCircuit() {
+        List<String> evaluated = new ArrayList<>();
+        IntPredicate a = new NamedIntPredicate("a", n -> evaluated.add("a"));
+        IntPredicate b = new NamedIntPredicate("b", n -> !evaluated.add("b"));
+        IntPredicate c = new NamedIntPredicate("c", n -> evaluated.add("c"));
+
+        assertFalse(a.and(b).and(c).test(0));
+
+        assertEquals(Arrays.asList("a", "b"), evaluated);
+    }
+}
@@ -2,6 +2,8 @@ package com.dhemery.expressions.diagnosing;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Predicate;
 
 import static java.lang.String.format;
@@ -85,4 +87,128 @@ class NamedPredicateTests {
 
         assertEquals("(not positive)", String.valueOf(composed));
     }
+
+    @Test
+    void and_flattensAChainOfConjunctionsIntoOneDescription() {
+        Predicate<String> a = new NamedPredicate<>("a", t -> true);
+        Predicate<String> b = new NamedPredicate<>("b", t -> true);
+        Predicate<String> c = new NamedPredicate<>("c", t -> true);
+
+        assertEquals("(a and b and c)", String.valueOf(a.and(b).and(c)));
+        assertEquals("(a and b and c)", String.valueOf(a.and(b.and(c))));
+    }
+
+    @Test
+    void or_flattensAChainOfDisjunctionsIntoOneDescription() {
+        Predicate<String> a = new NamedPredicate<>("a", t -> true);
+        Predicate<String> b = new NamedPredicate<>("b", t -> true);
+        Predicate<String> c = new NamedPredicate<>("c", t -> true);
+
+        assertEquals("(a or b or c)", String.valueOf(a.or(b).or(c)));
+    }
+
+    @Test
+    void mixedCompositionsKeepTheirGrouping() {
+        Predicate<String> a = new NamedPredicate<>("a", t -> true);
+        Predicate<String> b = new NamedPredicate<>("b", t -> true);
+        Predicate<String> c = new NamedPredicate<>("c", t -> true);
+
+        assertEquals("((a or b) and (not c))", String.valueOf(a.or(b).and(c.negate())));
+    }
+
+    @Test
+    void flattenedChainsEvaluateEachOperandInOrderAndShortCircuit() {
+        StringBuilder evaluated = new StringBuilder();
+        Predicate<String> a = new NamedPredicate<>("a", t -> evaluated.append('a') != null);
+        Predicate<String> b = new NamedPredicate<>("b", t -> evaluated.append('b') == null);
+        Predicate<String> c = new NamedPredicate<>("c", t -> evaluated.append('c') != null);
+
+        assertFalse(a.and(b).and(c).test("x"));
+        assertEquals("ab", evaluated.toString());
+
+        evaluated.setLength(0);
+        assertTrue(b.or(a).or(c).test("x"));
+        assertEquals("ba", evaluated.toString());
+    }
+
+    @Test
+    void reorderingJunctionsGiveTheSameResultsAsDeclaredOrder() {
+        List<Predicate<Integer>> operands = Arrays.asList(
+                new NamedPredicate<>("divisible by 2", n -> n % 2 == 0),
+                new NamedPredicate<>("divisible by 3", n -> n % 3 == 0),
+                new NamedPredicate<>("divisible by 5", n -> n % 5 == 0));
+        Predicate<Integer> declaredAnd = NamedPredicate.conjunction(false, operands);
+        Predicate<Integer> reorderingAnd = NamedPredicate.conjunction(true, operands);
+        Predicate<Integer> declaredOr = NamedPredicate.disjunction(false, operands);
+        Predicate<Integer> reorderingOr = NamedPredicate.disjunction(true, operands);
+
+        for (int n = 0; n < 10 * OperandOrder.REORDER_PERIOD; n++) {
+            assertEquals(declaredAnd.test(n), reorderingAnd.test(n), "and of " + n);
+            assertEquals(declaredOr.test(n), reorderingOr.test(n), "or of " + n);
+        }
+    }
+
+    @Test
+    void reorderingJunctionsShortCircuit_andLearnToEvaluateTheDecisiveOperandFirst() {
+        StringBuilder evaluated = new StringBuilder();
+        Predicate<String> slow = new NamedPredicate<>("slow", t -> {
+            for (int i = 0; i < 1_000; i++) Thread.onSpinWait();
+            return evaluated.append('s') != null;
+        });
+        Predicate<String> fails = new NamedPredicate<>("fails", t -> evaluated.append('f') == null);
+        Predicate<String> passes = new NamedPredicate<>("passes", t -> evaluated.append('p') != null);
+        Predicate<String> reordering = NamedPredicate.conjunction(true, Arrays.asList(slow, fails, passes));
+        boolean learned = false;
+
+        for (int i = 0; i < 4 * OperandOrder.REORDER_PERIOD; i++) {
+            evaluated.setLength(0);
+            assertFalse(reordering.test("x"));
+            assertEquals('f', evaluated.charAt(evaluated.length() - 1), evaluated.toString());
+            assertEquals(evaluated.length(), evaluated.chars().distinct().count(), evaluated.toString());
+            learned |= evaluated.toString().equals("f");
+        }
+
+        assertTrue(learned, "never evaluated the decisive operand first");
+    }
+
+    @Test
+    void reorderingJunctionsKeepDeclarationOrderInTheirNames() {
+        Predicate<String> slow = new NamedPredicate<>("slow", t -> {
+            for (int i = 0; i < 1_000; i++) Thread.onSpinWait();
+            return true;
+        });
+        Predicate<String> fails = new NamedPredicate<>("fails", t -> false);
+        Predicate<String> reordering = NamedPredicate.conjunction(true, Arrays.asList(slow, fails));
+
+        for (int i = 0; i < 4 * OperandOrder.REORDER_PERIOD; i++) reordering.test("x");
+
+        assertEquals("(slow and fails)", String.valueOf(reordering));
+        assertEquals("((slow and fails) or fails)", String.valueOf(reordering.or(fails)));
+    }
+
+    @Test
+    void composingDoesNotRenderTheOperands() {
+        int[] renderings = {0};
+        Predicate<String> operand = new Predicate<String>() {
+            @Override
+            public boolean test(String s) {
+                return true;
+            }
+
+            @Override
+            public String toString() {
+                renderings[0]++;
+                return "operand";
+            }
+        };
+        Predicate<String> named = new NamedPredicate<>("named", t -> true);
+
+        Predicate<String> composed = named.and(operand).or(operand).negate();
+
+        assertEquals(0, renderings[0]);
+        assertEquals("(not ((named and operand) or operand))", String.valueOf(composed));
+        assertEquals(2, renderings[0]);
+        String.valueOf(composed);
+        assertEquals(2, renderings[0]);
+    }
 }
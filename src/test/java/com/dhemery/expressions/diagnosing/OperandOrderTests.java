@@ -0,0 +1,66 @@
+package com.dhemery.expressions.diagnosing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OperandOrderTests {
+    @Test
+    void startsInDeclarationOrder() {
+        assertArrayEquals(new int[]{0, 1, 2}, new OperandOrder(3).sequence());
+    }
+
+    @Test
+    void movesCheapDecisiveOperandsAheadOfExpensiveIndecisiveOnes() {
+        OperandOrder order = new OperandOrder(3);
+        for (int i = 0; i < 100; i++) {
+            order.record(0, false, 1_000_000);
+            order.record(1, i % 10 == 0, 10_000);
+            order.record(2, true, 100);
+        }
+
+        order.reorder();
+
+        assertArrayEquals(new int[]{2, 1, 0}, order.sequence());
+    }
+
+    @Test
+    void prefersTheMoreDecisiveOfEquallyCostlyOperands() {
+        OperandOrder order = new OperandOrder(2);
+        for (int i = 0; i < 100; i++) {
+            order.record(0, i % 4 == 0, 1_000);
+            order.record(1, i % 2 == 0, 1_000);
+        }
+
+        order.reorder();
+
+        assertArrayEquals(new int[]{1, 0}, order.sequence());
+    }
+
+    @Test
+    void timesOneEvaluationInEachSamplePeriod() {
+        OperandOrder order = new OperandOrder(1);
+        int timed = 0;
+        for (int i = 0; i < OperandOrder.SAMPLE_PERIOD * 10; i++) {
+            if (order.begin()) timed++;
+        }
+
+        assertEquals(10, timed);
+    }
+
+    @Test
+    void reordersAfterEachReorderPeriod() {
+        OperandOrder order = new OperandOrder(2);
+        for (int i = 0; i < 10; i++) {
+            order.record(0, false, 1_000);
+            order.record(1, true, 10);
+        }
+        for (int i = 1; i < OperandOrder.REORDER_PERIOD; i++) order.begin();
+        assertArrayEquals(new int[]{0, 1}, order.sequence());
+
+        order.begin();
+
+        assertArrayEquals(new int[]{1, 0}, order.sequence());
+    }
+}
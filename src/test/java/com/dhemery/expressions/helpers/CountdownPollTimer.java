@@ -0,0 +1,51 @@
+package com.dhemery.expressions.helpers;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.polling.PollTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A poll timer that expires after a given number of ticks, and records each
+ * call made to it.
+ */
+public class CountdownPollTimer implements PollTimer {
+    private final List<String> events = new ArrayList<>();
+    private int ticksRemaining;
+    private PollingSchedule schedule;
+
+    public CountdownPollTimer(int ticksBeforeExpiration) {
+        ticksRemaining = ticksBeforeExpiration;
+    }
+
+    @Override
+    public void start(PollingSchedule schedule) {
+        this.schedule = schedule;
+        events.add("start");
+    }
+
+    @Override
+    public void tick() {
+        ticksRemaining--;
+        events.add("tick");
+    }
+
+    @Override
+    public boolean isExpired() {
+        events.add("isExpired");
+        return ticksRemaining < 0;
+    }
+
+    public void event(String event) {
+        events.add(event);
+    }
+
+    public List<String> events() {
+        return events;
+    }
+
+    public PollingSchedule schedule() {
+        return schedule;
+    }
+}
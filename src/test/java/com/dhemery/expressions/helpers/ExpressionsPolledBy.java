@@ -1,15 +1,22 @@
 package com.dhemery.expressions.helpers;
 
+import com.dhemery.expressions.AsyncPoller;
 import com.dhemery.expressions.PolledExpressions;
 import com.dhemery.expressions.Poller;
 import com.dhemery.expressions.PollingSchedule;
 
 public class ExpressionsPolledBy implements PolledExpressions {
     private final Poller poller;
+    private final AsyncPoller asyncPoller;
     private final PollingSchedule defaultPollingSchedule;
 
     public ExpressionsPolledBy(Poller poller, PollingSchedule defaultPollingSchedule) {
+        this(poller, new ImpatientAsyncPoller(), defaultPollingSchedule);
+    }
+
+    public ExpressionsPolledBy(Poller poller, AsyncPoller asyncPoller, PollingSchedule defaultPollingSchedule) {
         this.poller = poller;
+        this.asyncPoller = asyncPoller;
         this.defaultPollingSchedule = defaultPollingSchedule;
     }
 
@@ -18,6 +25,11 @@ public class ExpressionsPolledBy implements PolledExpressions {
         return poller;
     }
 
+    @Override
+    public AsyncPoller asyncPoller() {
+        return asyncPoller;
+    }
+
     @Override
     public PollingSchedule eventually() {
         return defaultPollingSchedule;
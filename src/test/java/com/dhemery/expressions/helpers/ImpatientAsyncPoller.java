@@ -0,0 +1,31 @@
+package com.dhemery.expressions.helpers;
+
+import com.dhemery.expressions.AsyncPoller;
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.polling.PollEvaluationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+public class ImpatientAsyncPoller implements AsyncPoller {
+    private final ImpatientPoller poller = new ImpatientPoller();
+
+    @Override
+    public CompletableFuture<Boolean> pollAsync(PollingSchedule ignored, BooleanSupplier supplier) {
+        return completedFuture(poller.poll(ignored, supplier));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> pollAsync(PollingSchedule ignored, T subject, Predicate<? super T> predicate) {
+        return completedFuture(poller.poll(ignored, subject, predicate));
+    }
+
+    @Override
+    public <T, V> CompletableFuture<PollEvaluationResult<V>> pollAsync(PollingSchedule ignored, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+        return completedFuture(poller.poll(ignored, subject, function, predicate));
+    }
+}
@@ -1,11 +1,13 @@
 package com.dhemery.expressions.helpers;
 
+import com.dhemery.expressions.polling.NanoClock;
+
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 
-public class ManualClock extends Clock {
+public class ManualClock extends Clock implements NanoClock {
     private Instant now;
 
     public ManualClock(Instant startTime) {
@@ -31,6 +33,11 @@ public class ManualClock extends Clock {
         return now;
     }
 
+    @Override
+    public long nanoTime() {
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
     public void advance(Duration amountToAdvance) {
         now = now.plus(amountToAdvance);
     }
@@ -0,0 +1,153 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.diagnosing.Named;
+import com.dhemery.expressions.helpers.ManualClock;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePollerTests {
+    private static final PollingSchedule SCHEDULE = new PollingSchedule(Duration.ofSeconds(1), Duration.ofMinutes(1));
+    private static final BooleanSupplier READY = Named.booleanSupplier("ready", () -> true);
+
+    private final ManualClock clock = new ManualClock();
+    private final SatisfactionProfile profile = new SatisfactionProfile();
+    private final RecordingPoller delegate = new RecordingPoller(clock, Duration.ofMillis(800));
+    private final AdaptivePoller poller = new AdaptivePoller(delegate, profile, clock);
+
+    @Nested
+    class Learning {
+        @Test
+        void recordsTimeToSatisfyNamedCondition() {
+            poller.poll(SCHEDULE, READY);
+
+            assertEquals(1, profile.samples("ready"));
+        }
+
+        @Test
+        void doesNotRecordUnnamedConditions() {
+            poller.poll(SCHEDULE, () -> true);
+
+            assertEquals(0, profile.size());
+        }
+
+        @Test
+        void doesNotRecordUnsatisfiedPolls() {
+            poller.poll(SCHEDULE, Named.booleanSupplier("never", () -> false));
+
+            assertEquals(0, profile.samples("never"));
+        }
+
+        @Test
+        void recordsSubjectPollsByPredicateName() {
+            poller.poll(SCHEDULE, "subject", Named.predicate("is subject", "subject"::equals));
+
+            assertEquals(1, profile.samples("is subject"));
+        }
+
+        @Test
+        void recordsDerivedValuePollsByFunctionAndPredicateNames() {
+            Function<String, Integer> length = Named.function("length", String::length);
+            Predicate<Integer> isSeven = Named.predicate("is 7", v -> v == 7);
+
+            poller.poll(SCHEDULE, "subject", length, isSeven);
+
+            assertEquals(1, profile.samples("length is 7"));
+        }
+    }
+
+    @Nested
+    class Adapting {
+        @Test
+        void pollsOnRequestedSchedule_untilEnoughSamples() {
+            for (int i = 0; i < AdaptivePoller.MIN_SAMPLES; i++) {
+                poller.poll(SCHEDULE, READY);
+                assertSame(SCHEDULE, delegate.lastSchedule);
+            }
+        }
+
+        @Test
+        void delaysFirstEvaluationNearLearnedMedian_onceEnoughSamples() {
+            for (int i = 0; i < AdaptivePoller.MIN_SAMPLES; i++) poller.poll(SCHEDULE, READY);
+
+            poller.poll(SCHEDULE, READY);
+
+            PollingSchedule adapted = delegate.lastSchedule;
+            Duration median = profile.median("ready").get();
+            assertTrue(adapted instanceof AdaptivePollingSchedule);
+            assertEquals(SCHEDULE.duration(), adapted.duration());
+            assertTrue(adapted.initialDelay().compareTo(median) <= 0);
+            assertTrue(adapted.initialDelay().compareTo(median.dividedBy(2)) > 0);
+            assertEquals(median.dividedBy(8), adapted.interval());
+        }
+
+        @Test
+        void neverPollsLessOftenThanRequested() {
+            PollingSchedule frequent = new PollingSchedule(Duration.ofMillis(10), Duration.ofMinutes(1));
+            for (int i = 0; i < AdaptivePoller.MIN_SAMPLES; i++) poller.poll(frequent, READY);
+
+            poller.poll(frequent, READY);
+
+            assertEquals(frequent.interval(), delegate.lastSchedule.interval());
+        }
+
+        @Test
+        void keepsBackingOff_ifRequestedScheduleBacksOff() {
+            PollingSchedule backoff = new BackoffPollingSchedule(Duration.ofSeconds(1), 2.0, Duration.ofSeconds(8), BackoffPollingSchedule.Jitter.NONE, Duration.ofMinutes(1));
+            for (int i = 0; i < AdaptivePoller.MIN_SAMPLES; i++) poller.poll(backoff, READY);
+
+            poller.poll(backoff, READY);
+
+            PollingSchedule adapted = delegate.lastSchedule;
+            Duration first = adapted.interval();
+            Duration second = adapted.intervalAfter(2, first);
+            Duration third = adapted.intervalAfter(3, second);
+            assertEquals(profile.median("ready").get().dividedBy(8), first);
+            assertEquals(first.multipliedBy(2), second);
+            assertEquals(first.multipliedBy(4), third);
+        }
+    }
+
+    /**
+     * A poller that evaluates each condition once, after advancing the clock
+     * by a fixed time to satisfy.
+     */
+    private static class RecordingPoller implements Poller {
+        private final ManualClock clock;
+        private final Duration timeToSatisfy;
+        PollingSchedule lastSchedule;
+
+        RecordingPoller(ManualClock clock, Duration timeToSatisfy) {
+            this.clock = clock;
+            this.timeToSatisfy = timeToSatisfy;
+        }
+
+        @Override
+        public boolean poll(PollingSchedule schedule, BooleanSupplier supplier) {
+            lastSchedule = schedule;
+            clock.advance(timeToSatisfy);
+            return supplier.getAsBoolean();
+        }
+
+        @Override
+        public <T> boolean poll(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+            return poll(schedule, () -> predicate.test(subject));
+        }
+
+        @Override
+        public <T, V> PollEvaluationResult<V> poll(PollingSchedule schedule, T subject, Function<? super T, V> function, Predicate<? super V> predicate) {
+            lastSchedule = schedule;
+            clock.advance(timeToSatisfy);
+            V value = function.apply(subject);
+            return new PollEvaluationResult<>(value, predicate.test(value));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static com.dhemery.expressions.polling.BackoffPollingSchedule.Jitter.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackoffPollingScheduleTests {
+    private static final Duration INITIAL = Duration.ofMillis(100);
+    private static final Duration MAXIMUM = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofMinutes(1);
+    private static final int SAMPLES = 1000;
+
+    private static BackoffPollingSchedule backoff(BackoffPollingSchedule.Jitter jitter) {
+        return new BackoffPollingSchedule(INITIAL, 2.0, MAXIMUM, jitter, DURATION);
+    }
+
+    @Nested
+    class WithoutJitter {
+        private final PollingSchedule schedule = backoff(NONE);
+
+        @Test
+        void firstIntervalIsInitialInterval() {
+            assertEquals(INITIAL, schedule.intervalAfter(1, INITIAL));
+        }
+
+        @Test
+        void eachIntervalMultipliesThePrevious() {
+            assertEquals(Duration.ofMillis(200), schedule.intervalAfter(2, INITIAL));
+            assertEquals(Duration.ofMillis(400), schedule.intervalAfter(3, INITIAL));
+            assertEquals(Duration.ofMillis(800), schedule.intervalAfter(4, INITIAL));
+        }
+
+        @Test
+        void intervalsDoNotExceedMaximumInterval() {
+            assertEquals(MAXIMUM, schedule.intervalAfter(10, INITIAL));
+            assertEquals(MAXIMUM, schedule.intervalAfter(Integer.MAX_VALUE, INITIAL));
+        }
+    }
+
+    @Nested
+    class WithFullJitter {
+        @Test
+        void intervalsAreBetweenZeroAndBackoff() {
+            PollingSchedule schedule = backoff(FULL);
+            for (int i = 0; i < SAMPLES; i++) {
+                Duration interval = schedule.intervalAfter(3, INITIAL);
+                assertFalse(interval.isNegative());
+                assertTrue(interval.compareTo(Duration.ofMillis(400)) <= 0, interval.toString());
+            }
+        }
+    }
+
+    @Nested
+    class WithEqualJitter {
+        @Test
+        void intervalsAreBetweenHalfBackoffAndBackoff() {
+            PollingSchedule schedule = backoff(EQUAL);
+            for (int i = 0; i < SAMPLES; i++) {
+                Duration interval = schedule.intervalAfter(3, INITIAL);
+                assertTrue(interval.compareTo(Duration.ofMillis(200)) >= 0, interval.toString());
+                assertTrue(interval.compareTo(Duration.ofMillis(400)) <= 0, interval.toString());
+            }
+        }
+    }
+
+    @Nested
+    class WithDecorrelatedJitter {
+        private final PollingSchedule schedule = backoff(DECORRELATED);
+
+        @Test
+        void intervalsAreBetweenInitialIntervalAndThreeTimesPreviousInterval() {
+            Duration previous = Duration.ofMillis(300);
+            for (int i = 0; i < SAMPLES; i++) {
+                Duration interval = schedule.intervalAfter(i + 1, previous);
+                assertTrue(interval.compareTo(INITIAL) >= 0, interval.toString());
+                assertTrue(interval.compareTo(Duration.ofMillis(900)) <= 0, interval.toString());
+            }
+        }
+
+        @Test
+        void intervalsDoNotExceedMaximumInterval() {
+            for (int i = 0; i < SAMPLES; i++) {
+                Duration interval = schedule.intervalAfter(i + 1, MAXIMUM);
+                assertTrue(interval.compareTo(MAXIMUM) <= 0, interval.toString());
+            }
+        }
+
+        @Test
+        void spreadsSimultaneousPollsApart() {
+            long distinctIntervals = IntStream.range(0, 100)
+                    .mapToObj(i -> schedule.intervalAfter(2, INITIAL))
+                    .distinct()
+                    .count();
+
+            assertTrue(distinctIntervals > 1);
+        }
+    }
+
+    @Test
+    void rejectsMultiplierLessThanOne() {
+        assertThrows(IllegalArgumentException.class, () -> new BackoffPollingSchedule(INITIAL, 0.5, MAXIMUM, NONE, DURATION));
+    }
+
+    @Test
+    void rejectsMaximumIntervalShorterThanInitialInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new BackoffPollingSchedule(MAXIMUM, 2.0, INITIAL, NONE, DURATION));
+    }
+
+    @Test
+    void describesBackoffReadably() {
+        assertEquals("backing off from PT0.1S by 2.0 up to PT5S with decorrelated jitter for PT1M", backoff(DECORRELATED).toString());
+    }
+
+    @Test
+    void withinBackingOffCreatesBackoffScheduleWithinDuration() {
+        Within within = new Within(Duration.ofSeconds(1), DURATION);
+
+        assertEquals(backoff(DECORRELATED), within.backingOff(INITIAL, 2.0, MAXIMUM));
+        assertEquals(backoff(FULL), within.backingOff(INITIAL, 2.0, MAXIMUM, FULL));
+    }
+
+    @Test
+    void equalityIsSymmetricWithPlainSchedules() {
+        PollingSchedule plain = new PollingSchedule(INITIAL, DURATION);
+        PollingSchedule backoff = backoff(NONE);
+        PollingSchedule adaptive = new AdaptivePollingSchedule(Duration.ZERO, INITIAL, DURATION);
+
+        assertEquals(plain.equals(backoff), backoff.equals(plain));
+        assertEquals(plain.equals(adaptive), adaptive.equals(plain));
+        assertNotEquals(plain, backoff);
+        assertNotEquals(plain, adaptive);
+    }
+
+    @Test
+    void schedulesThatAddNoPropertiesEqualTheirPlainEquivalents() {
+        PollingSchedule plain = new PollingSchedule(INITIAL, DURATION);
+        PollingSchedule within = new Within(INITIAL, DURATION);
+
+        assertEquals(plain, within);
+        assertEquals(within, plain);
+        assertEquals(plain.hashCode(), within.hashCode());
+    }
+}
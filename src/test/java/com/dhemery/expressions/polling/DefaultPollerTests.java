@@ -0,0 +1,49 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultPollerTests {
+    @Test
+    void thread_selectsAPollTimerPoller() {
+        assertTrue(DefaultPoller.named("thread") instanceof PollTimerPoller);
+    }
+
+    @Test
+    void virtual_selectsAVirtualThreadPoller_ifVirtualThreadsAreAvailable() {
+        if (VirtualThreadPoller.virtualThreadsAreAvailable()) {
+            assertTrue(DefaultPoller.named("virtual") instanceof VirtualThreadPoller);
+        } else {
+            RuntimeException thrown = assertThrows(RuntimeException.class, () -> DefaultPoller.named("virtual"));
+            assertTrue(thrown.getMessage().contains("virtual threads"));
+        }
+    }
+
+    @Test
+    void wheel_selectsATimingWheelPoller() {
+        try (TimingWheelPoller poller = (TimingWheelPoller) DefaultPoller.named("wheel")) {
+            assertNotNull(poller);
+        }
+    }
+
+    @Test
+    void adaptive_selectsAnAdaptivePoller() {
+        assertTrue(DefaultPoller.named("adaptive") instanceof AdaptivePoller);
+    }
+
+    @Test
+    void doesNotMeterPolls_ifMetricsAreNotEnabled() {
+        Poller poller = DefaultPoller.named("thread");
+
+        assertSame(poller, DefaultPoller.metered(poller));
+    }
+
+    @Test
+    void throwsIfNameIsUnknown() {
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> DefaultPoller.named("unknown"));
+
+        assertTrue(thrown.getMessage().contains(DefaultPoller.POLLER_PROPERTY));
+    }
+}
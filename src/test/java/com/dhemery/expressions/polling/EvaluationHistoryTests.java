@@ -0,0 +1,181 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.helpers.CountdownPollTimer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationHistoryTests {
+    private static final long MILLIS = 1_000_000;
+
+    @Nested
+    class Recording {
+        private final EvaluationHistory history = new EvaluationHistory(3);
+
+        @Test
+        void holdsEvaluationsInOrder() {
+            history.begin(0, true);
+            history.recordValue(1 * MILLIS, 2 * MILLIS, false, "one");
+            history.recordValue(5 * MILLIS, 7 * MILLIS, true, "two");
+
+            assertEquals(2, history.size());
+            assertEquals(1 * MILLIS, history.offsetNanos(0));
+            assertEquals(2 * MILLIS, history.durationNanos(1));
+            assertFalse(history.satisfied(0));
+            assertTrue(history.satisfied(1));
+            assertEquals("two", history.value(1));
+        }
+
+        @Test
+        void holdsOnlyMostRecentEvaluations_whenFull() {
+            history.begin(0, true);
+            for (int i = 0; i < 5; i++) history.recordInt(i, i, false, i);
+
+            assertEquals(3, history.size());
+            assertEquals(5, history.evaluations());
+            assertEquals(2, history.value(0));
+            assertEquals(4, history.value(2));
+        }
+
+        @Test
+        void discardsEvaluations_whenNextPollBegins() {
+            history.begin(0, true);
+            history.recordValue(0, 0, false, "old");
+
+            history.begin(0, true);
+
+            assertEquals(0, history.size());
+        }
+
+        @Test
+        void snapshotIsUnaffectedByLaterPolls() {
+            history.begin(0, true);
+            history.recordValue(0, 0, false, "first poll");
+            EvaluationHistory snapshot = history.snapshot();
+
+            history.begin(0, true);
+            history.recordValue(0, 0, true, "second poll");
+
+            assertEquals("first poll", snapshot.value(0));
+        }
+
+        @Test
+        void holdsPrimitiveValuesByKind() {
+            history.begin(0, true);
+            history.recordInt(0, 0, false, 3);
+            history.recordLong(0, 0, false, 4L);
+            history.recordDouble(0, 0, false, 5.5);
+
+            assertEquals(3, history.value(0));
+            assertEquals(4L, history.value(1));
+            assertEquals(5.5, history.value(2));
+        }
+
+        @Test
+        void describesValueOnlyWhenRead() {
+            int[] descriptions = {0};
+            Object value = new Object() {
+                @Override
+                public String toString() {
+                    descriptions[0]++;
+                    return "value";
+                }
+            };
+            history.begin(0, true);
+            history.recordValue(0, 0, false, value);
+            history.recordValue(0, 0, false, value);
+
+            assertEquals(0, descriptions[0]);
+            assertEquals("value", history.value(1));
+            assertEquals(1, descriptions[0]);
+        }
+
+        @Test
+        void snapshotHoldsDescriptionOfValueTakenWhenSnapshotted() {
+            StringBuilder value = new StringBuilder("before");
+            history.begin(0, true);
+            history.recordValue(0, 0, false, value);
+            EvaluationHistory snapshot = history.snapshot();
+
+            value.append(" and after");
+
+            assertEquals("before", snapshot.value(0));
+        }
+
+        @Test
+        void truncatesLongDescriptions() {
+            char[] letters = new char[EvaluationHistory.MAX_DESCRIPTION_LENGTH + 20];
+            Arrays.fill(letters, 'x');
+            history.begin(0, true);
+            history.recordValue(0, 0, false, new String(letters));
+
+            String description = (String) history.value(0);
+
+            assertEquals(EvaluationHistory.MAX_DESCRIPTION_LENGTH, description.length());
+            assertTrue(description.endsWith("..."));
+        }
+
+        @Test
+        void disabledHistoryRecordsNothing() {
+            EvaluationHistory.DISABLED.begin(0, true);
+            EvaluationHistory.DISABLED.recordValue(0, 0, false, "ignored");
+
+            assertFalse(EvaluationHistory.DISABLED.isEnabled());
+            assertEquals(0, EvaluationHistory.DISABLED.size());
+        }
+    }
+
+    @Test
+    void rendersEachEvaluation() {
+        EvaluationHistory history = new EvaluationHistory(2);
+        history.begin(0, true);
+        history.recordInt(0, 250_000, false, 3);
+        history.recordInt(1_000 * MILLIS, 1_000 * MILLIS + 12_345_000, false, 4);
+
+        String expected = String.join(System.lineSeparator(),
+                "history: last 2 of 2 evaluations",
+                "          at 0.000ms, took 0.250ms: unsatisfied, was 3",
+                "          at 1000.000ms, took 12.345ms: unsatisfied, was 4");
+        assertEquals(expected, history.toString());
+    }
+
+    @Test
+    void pollTimerPollerRecordsEachEvaluation_ifHistoryIsEnabled() {
+        PollTimerPoller poller = new PollTimerPoller() {
+            private final EvaluationHistory history = new EvaluationHistory(10);
+
+            @Override
+            public EvaluationHistory history() {
+                return history;
+            }
+
+            @Override
+            public PollTimer pollTimer() {
+                return new CountdownPollTimer(2);
+            }
+        };
+        AtomicInteger evaluations = new AtomicInteger();
+        PollingSchedule schedule = new PollingSchedule(Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+        poller.poll(schedule, "subject", s -> evaluations.incrementAndGet(), v -> false);
+
+        EvaluationHistory history = poller.history();
+        assertEquals(3, history.size());
+        assertEquals("1", history.value(0));
+        assertEquals("3", history.value(2));
+    }
+
+    @Test
+    void recordingHistory_keepsOneHistoryPerThread() {
+        PollTimerPoller poller = PollTimerPoller.recordingHistory(4);
+
+        assertSame(poller.history(), poller.history());
+        assertEquals(4, poller.history().capacity());
+    }
+}
@@ -0,0 +1,99 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.diagnosing.Named;
+import com.dhemery.expressions.helpers.CountdownPollTimer;
+import com.dhemery.expressions.helpers.PollingSchedules;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingTests {
+    private final PollingSchedule schedule = PollingSchedules.random();
+
+    @Test
+    void registersGlobalListener_onlyWhileRecording() {
+        FlightRecording.install();
+
+        try (Recording recording = new Recording()) {
+            recording.start();
+            assertNotSame(PollListener.NONE, PollListeners.global());
+            recording.stop();
+        }
+
+        assertSame(PollListener.NONE, PollListeners.global());
+    }
+
+    @Test
+    void recordsPollEvent_withConditionNameOutcomeAndEvaluationCount() throws IOException {
+        FlightRecording.install();
+        PollTimerPoller poller = new PollTimerPoller() {
+            @Override
+            public PollTimer pollTimer() {
+                return new CountdownPollTimer(3);
+            }
+        };
+        AtomicInteger evaluations = new AtomicInteger();
+        Path file = Files.createTempFile("polls", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(PollEvent.class);
+            recording.start();
+            poller.poll(schedule, "subject", Named.predicate("satisfied on second evaluation", s -> evaluations.incrementAndGet() == 2));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> polls = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.dhemery.expressions.Poll"))
+                .collect(Collectors.toList());
+        Files.delete(file);
+        assertEquals(1, polls.size());
+        RecordedEvent poll = polls.get(0);
+        assertEquals("satisfied on second evaluation", poll.getString("condition"));
+        assertTrue(poll.getBoolean("satisfied"));
+        assertEquals(2, poll.getInt("evaluations"));
+        assertEquals(schedule.interval().toNanos(), poll.getDuration("interval").toNanos());
+    }
+
+    @Test
+    void recordsOnlyPollsThatStartWhilePollEventsAreEnabled() throws IOException {
+        FlightRecording.install();
+        PollTimerPoller poller = new PollTimerPoller() {
+            @Override
+            public PollTimer pollTimer() {
+                return new CountdownPollTimer(3);
+            }
+        };
+        Path file = Files.createTempFile("polls", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.disable(PollEvent.class);
+            recording.disable(EvaluationEvent.class);
+            recording.start();
+            poller.poll(schedule, Named.booleanSupplier("untracked", () -> false));
+            recording.enable(PollEvent.class);
+            poller.poll(schedule, Named.booleanSupplier("tracked", () -> false));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> polls = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.dhemery.expressions.Poll"))
+                .collect(Collectors.toList());
+        Files.delete(file);
+        assertEquals(1, polls.size());
+        assertEquals("tracked", polls.get(0).getString("condition"));
+        assertEquals(4, polls.get(0).getInt("evaluations"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.dhemery.expressions.polling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyHistogramTests {
+    @Test
+    void eachBucketHoldsDurationsUpToItsUpperBound() {
+        for (int bucket = 0; bucket < LatencyHistogram.FINITE_BUCKETS; bucket++) {
+            long bound = LatencyHistogram.upperBoundNanos(bucket);
+            assertEquals(bucket, LatencyHistogram.bucket(bound));
+            assertEquals(bucket + 1, LatencyHistogram.bucket(bound + 1));
+        }
+    }
+
+    @Test
+    void theFirstBucketHoldsDurationsUpToOneMicrosecond() {
+        assertEquals(0, LatencyHistogram.bucket(-5));
+        assertEquals(0, LatencyHistogram.bucket(0));
+        assertEquals(0, LatencyHistogram.bucket(1_000));
+    }
+
+    @Test
+    void theLastBucketHoldsDurationsLongerThanEveryFiniteBound() {
+        assertEquals(LatencyHistogram.FINITE_BUCKETS, LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void countsAndSumsRecordedDurations() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(500);
+        histogram.record(1_500);
+        histogram.record(1_800);
+
+        assertEquals(3, histogram.count());
+        assertEquals(1, histogram.count(0));
+        assertEquals(2, histogram.count(1));
+        assertEquals(3_800, histogram.sumNanos());
+    }
+}
@@ -0,0 +1,146 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.diagnosing.Named;
+import com.dhemery.expressions.helpers.CountdownPollTimer;
+import com.dhemery.expressions.helpers.PollingSchedules;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredPollerTests {
+    private final PollingSchedule schedule = PollingSchedules.random();
+    private final PollMetrics metrics = new PollMetrics();
+
+    private static Poller expiringAfter(int ticks) {
+        return new PollTimerPoller() {
+            @Override
+            public PollTimer pollTimer() {
+                return new CountdownPollTimer(ticks);
+            }
+        };
+    }
+
+    @Test
+    void countsPollsEvaluationsAndTimeouts_byConditionName() {
+        MeteredPoller poller = new MeteredPoller(expiringAfter(2), metrics);
+        AtomicInteger evaluations = new AtomicInteger();
+        BooleanSupplier secondTime = Named.booleanSupplier("second time", () -> evaluations.incrementAndGet() % 2 == 0);
+        BooleanSupplier never = Named.booleanSupplier("never", () -> false);
+
+        assertTrue(poller.poll(schedule, secondTime));
+        assertFalse(poller.poll(schedule, never));
+
+        ConditionMetrics satisfied = metrics.conditions().get("second time");
+        assertEquals(1, satisfied.polls());
+        assertEquals(2, satisfied.evaluations());
+        assertEquals(0, satisfied.timeouts());
+        assertEquals(1, satisfied.timeToSatisfy().count());
+        assertEquals(2, satisfied.evaluationLatency().count());
+
+        ConditionMetrics timedOut = metrics.conditions().get("never");
+        assertEquals(1, timedOut.polls());
+        assertEquals(3, timedOut.evaluations());
+        assertEquals(1, timedOut.timeouts());
+        assertEquals(0, timedOut.timeToSatisfy().count());
+    }
+
+    @Test
+    void passesNamedConditionsToTheDelegateWithTheirNames() {
+        StringBuilder seen = new StringBuilder();
+        Poller delegate = new PollTimerPoller() {
+            @Override
+            public <T> boolean poll(PollingSchedule schedule, T subject, Predicate<? super T> predicate) {
+                seen.append(predicate);
+                return predicate.test(subject);
+            }
+        };
+
+        new MeteredPoller(delegate, metrics).poll(schedule, "subject", Named.predicate("not empty", s -> !s.isEmpty()));
+
+        assertEquals("not empty", seen.toString());
+        assertEquals(1, metrics.conditions().get("not empty").evaluations());
+    }
+
+    @Test
+    void sharesMetricsAmongUnnamedConditions() {
+        MeteredPoller poller = new MeteredPoller(expiringAfter(0), metrics);
+
+        poller.poll(schedule, () -> true);
+        poller.poll(schedule, "subject", s -> true);
+
+        assertEquals(2, metrics.conditions().get(PollMetrics.UNNAMED).polls());
+    }
+
+    @Test
+    void meteredPrimitivePollsCountEvaluations() {
+        MeteredPoller poller = new MeteredPoller(expiringAfter(5), metrics);
+        AtomicInteger depth = new AtomicInteger(3);
+
+        IntPollEvaluationResult result = poller.pollInt(schedule, depth,
+                Named.toIntFunction("depth of", AtomicInteger::decrementAndGet), Named.intPredicate("zero", n -> n == 0));
+
+        assertTrue(result.isSatisfied());
+        assertEquals(3, metrics.conditions().get("depth of zero").evaluations());
+    }
+
+    @Test
+    void writesMetricsInPrometheusTextFormat() throws IOException {
+        ConditionMetrics condition = metrics.forName("say \"hi\"");
+        condition.recordEvaluation(1_500);
+        condition.recordPoll(true, 1_500);
+        StringBuilder text = new StringBuilder();
+
+        metrics.writePrometheusText(text);
+
+        String output = text.toString();
+        assertTrue(output.contains("# TYPE expressions_poll_evaluations_total counter\n"), output);
+        assertTrue(output.contains("expressions_poll_evaluations_total{condition=\"say \\\"hi\\\"\"} 1\n"), output);
+        assertTrue(output.contains("expressions_poll_evaluation_seconds_bucket{condition=\"say \\\"hi\\\"\",le=\"1.0E-6\"} 0\n"), output);
+        assertTrue(output.contains("expressions_poll_evaluation_seconds_bucket{condition=\"say \\\"hi\\\"\",le=\"2.0E-6\"} 1\n"), output);
+        assertTrue(output.contains("expressions_poll_evaluation_seconds_bucket{condition=\"say \\\"hi\\\"\",le=\"+Inf\"} 1\n"), output);
+        assertTrue(output.contains("expressions_poll_evaluation_seconds_count{condition=\"say \\\"hi\\\"\"} 1\n"), output);
+    }
+
+    @Test
+    void sharesTheOverflowMetricsOnceFull() {
+        PollMetrics small = new PollMetrics(1);
+
+        ConditionMetrics first = small.forName("first");
+        ConditionMetrics second = small.forName("second");
+
+        assertSame(first, small.forName("first"));
+        assertSame(second, small.conditions().get(PollMetrics.OVERFLOW));
+    }
+
+    @Test
+    void metricsServerServesPrometheusText() throws IOException {
+        metrics.forName("served").recordPoll(false, 10);
+
+        try (MetricsServer server = MetricsServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), metrics)) {
+            URL url = new URL("http", server.address().getHostString(), server.address().getPort(), MetricsServer.PATH);
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                String body = reader.lines().collect(Collectors.joining("\n"));
+
+                assertEquals(200, connection.getResponseCode());
+                assertTrue(connection.getContentType().startsWith("text/plain"));
+                assertTrue(body.contains("expressions_poll_timeouts_total{condition=\"served\"} 1"), body);
+            }
+        }
+    }
+}
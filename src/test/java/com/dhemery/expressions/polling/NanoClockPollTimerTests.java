@@ -0,0 +1,301 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.helpers.ManualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NanoClockPollTimerTests {
+    private ManualClock clock;
+    private PollTimer timer;
+
+    @Nested
+    class Start {
+        @BeforeEach
+        void createTimer() {
+            clock = new ManualClock();
+            timer = new NanoClockPollTimer(clock);
+        }
+
+        @Test
+        void expiredIfPollDurationIsNegative() {
+            timer.start(new PollingSchedule(Duration.ofSeconds(1), Duration.ofNanos(-1)));
+
+            assertTrue(timer.isExpired());
+        }
+
+        @Test
+        void expiredIfPollDurationIsZero() {
+            timer.start(new PollingSchedule(Duration.ofSeconds(1), Duration.ZERO));
+
+            assertTrue(timer.isExpired());
+        }
+
+        @Test
+        void notExpiredIfPollDurationIsPositive() {
+            timer.start(new PollingSchedule(Duration.ofSeconds(1), Duration.ofNanos(1)));
+
+            assertFalse(timer.isExpired());
+        }
+
+        @Test
+        void notExpiredIfPollDurationExceedsTheRangeOfTheClock() {
+            timer.start(new PollingSchedule(Duration.ofSeconds(1), Duration.ofSeconds(Long.MAX_VALUE)));
+
+            clock.advance(Duration.ofDays(365 * 100));
+
+            assertFalse(timer.isExpired());
+        }
+    }
+
+    @Nested
+    class IsExpired {
+        private final PollingSchedule schedule = new PollingSchedule(Duration.ofSeconds(1), Duration.ofSeconds(100));
+
+        @BeforeEach
+        void startTimer() {
+            clock = new ManualClock();
+            timer = new NanoClockPollTimer(clock);
+            timer.start(schedule);
+        }
+
+        @Test
+        void falseIfTimeElapsedSinceStartIsLessThanPollDuration() {
+            clock.advance(schedule.duration().minusNanos(1));
+
+            assertFalse(timer.isExpired());
+        }
+
+        @Test
+        void expiredIfTimeElapsedSinceStartIsExactlyPollDuration() {
+            clock.advance(schedule.duration());
+
+            assertTrue(timer.isExpired());
+        }
+
+        @Test
+        void expiredIfTimeElapsedSinceStartExceedsPollDuration() {
+            clock.advance(schedule.duration().plusNanos(1));
+
+            assertTrue(timer.isExpired());
+        }
+    }
+
+    @Nested
+    class FixedDelayTick {
+        private final PollingSchedule schedule = new PollingSchedule(Duration.ofSeconds(1), Duration.ofSeconds(100));
+
+        @BeforeEach
+        void startTimer() {
+            clock = new ManualClock();
+            timer = new NanoClockPollTimer(clock, clock::advance, TickMode.FIXED_DELAY);
+            timer.start(schedule);
+        }
+
+        @Test
+        void sleepsForPollingInterval() {
+            clock.advance(Duration.ofSeconds(222));
+
+            Instant expectedWakeTime = clock.instant().plus(schedule.interval());
+
+            timer.tick();
+
+            assertEquals(expectedWakeTime, clock.instant());
+        }
+    }
+
+    @Nested
+    class FixedRateTick {
+        private final PollingSchedule schedule = new PollingSchedule(Duration.ofSeconds(1), Duration.ofMillis(2500));
+        private Instant startTime;
+
+        @BeforeEach
+        void startTimer() {
+            clock = new ManualClock();
+            timer = new NanoClockPollTimer(clock, clock::advance, TickMode.FIXED_RATE);
+            startTime = clock.instant();
+            timer.start(schedule);
+        }
+
+        @Test
+        void sleepsUntilNextScheduledEvaluation_subtractingEvaluationTime() {
+            clock.advance(Duration.ofMillis(300));
+
+            timer.tick();
+
+            assertEquals(startTime.plus(schedule.interval()), clock.instant());
+        }
+
+        @Test
+        void doesNotSleep_ifEvaluationTookLongerThanInterval() {
+            clock.advance(Duration.ofMillis(1500));
+            Instant evaluationEndTime = clock.instant();
+
+            timer.tick();
+
+            assertEquals(evaluationEndTime, clock.instant());
+        }
+
+        @Test
+        void limitsFinalSleepToRemainingDuration() {
+            timer.tick();
+            timer.tick();
+            timer.tick();
+
+            assertEquals(startTime.plus(schedule.duration()), clock.instant());
+        }
+
+        @Test
+        void isNotExpired_atEndOfDuration_untilFinalEvaluationTicks() {
+            timer.tick();
+            timer.tick();
+            timer.tick();
+
+            assertFalse(timer.isExpired());
+
+            timer.tick();
+
+            assertTrue(timer.isExpired());
+            assertEquals(startTime.plus(schedule.duration()), clock.instant());
+        }
+
+        @Test
+        void expires_ifDurationEndsDuringEvaluation() {
+            clock.advance(schedule.duration());
+
+            timer.tick();
+
+            assertTrue(timer.isExpired());
+        }
+    }
+
+    @Nested
+    class InitialDelay {
+        private final Duration duration = Duration.ofSeconds(10);
+
+        @BeforeEach
+        void createTimer() {
+            clock = new ManualClock();
+        }
+
+        @Test
+        void sleepsForInitialDelay_whenStarted() {
+            timer = new NanoClockPollTimer(clock, clock::advance);
+            Instant startTime = clock.instant();
+
+            timer.start(new AdaptivePollingSchedule(Duration.ofSeconds(3), Duration.ofSeconds(1), duration));
+
+            assertEquals(startTime.plusSeconds(3), clock.instant());
+            assertFalse(timer.isExpired());
+        }
+
+        @Test
+        void evaluatesOnceAtExpiration_ifInitialDelayExceedsDuration() {
+            NanoClockPollTimer timer = new NanoClockPollTimer(clock, clock::advance, TickMode.FIXED_DELAY);
+
+            long delay = timer.begin(new AdaptivePollingSchedule(Duration.ofSeconds(30), Duration.ofSeconds(1), duration));
+            clock.advance(Duration.ofNanos(delay));
+
+            assertEquals(duration.toNanos(), delay);
+            assertFalse(timer.isExpired());
+            timer.tick();
+            assertTrue(timer.isExpired());
+        }
+    }
+
+    @Nested
+    class BackoffTick {
+        private final PollingSchedule schedule = new BackoffPollingSchedule(
+                Duration.ofSeconds(1), 2.0, Duration.ofSeconds(5), BackoffPollingSchedule.Jitter.NONE, Duration.ofSeconds(100));
+
+        @Test
+        void sleepsForEachIntervalGivenBySchedule() {
+            clock = new ManualClock();
+            timer = new NanoClockPollTimer(clock, clock::advance, TickMode.FIXED_DELAY);
+            timer.start(schedule);
+            List<Duration> sleeps = new ArrayList<>();
+
+            for (int i = 0; i < 5; i++) {
+                Instant before = clock.instant();
+                timer.tick();
+                sleeps.add(Duration.between(before, clock.instant()));
+            }
+
+            assertEquals(Arrays.asList(
+                    Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(4),
+                    Duration.ofSeconds(5), Duration.ofSeconds(5)), sleeps);
+        }
+
+        @Test
+        void restartsBackoff_whenRestarted() {
+            clock = new ManualClock();
+            timer = new NanoClockPollTimer(clock, clock::advance, TickMode.FIXED_RATE);
+            timer.start(schedule);
+            timer.tick();
+            timer.tick();
+
+            timer.start(schedule);
+            Instant restartTime = clock.instant();
+            timer.tick();
+
+            assertEquals(restartTime.plus(schedule.interval()), clock.instant());
+        }
+    }
+
+    @Nested
+    class Poll {
+        private final PollingSchedule schedule = new PollingSchedule(Duration.ofSeconds(1), Duration.ofSeconds(3));
+        private final List<Duration> evaluationTimes = new ArrayList<>();
+        private Instant startTime;
+
+        @BeforeEach
+        void createClock() {
+            clock = new ManualClock();
+            startTime = clock.instant();
+        }
+
+        private boolean recordEvaluationTime() {
+            evaluationTimes.add(Duration.between(startTime, clock.instant()));
+            clock.advance(Duration.ofMillis(100));
+            return false;
+        }
+
+        private PollTimerPoller pollerWith(PollTimer timer) {
+            return new PollTimerPoller() {
+                @Override
+                public PollTimer pollTimer() {
+                    return timer;
+                }
+            };
+        }
+
+        @Test
+        void fixedRate_evaluatesOnSchedule_andOnceMoreAtEndOfDuration() {
+            pollerWith(new NanoClockPollTimer(clock, clock::advance, TickMode.FIXED_RATE))
+                    .poll(schedule, this::recordEvaluationTime);
+
+            assertEquals(Arrays.asList(
+                    Duration.ZERO, Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(3)),
+                    evaluationTimes);
+        }
+
+        @Test
+        void fixedDelay_evaluationsDriftByEvaluationTime() {
+            pollerWith(new NanoClockPollTimer(clock, clock::advance, TickMode.FIXED_DELAY))
+                    .poll(schedule, this::recordEvaluationTime);
+
+            assertEquals(Arrays.asList(
+                    Duration.ZERO, Duration.ofMillis(1100), Duration.ofMillis(2200)),
+                    evaluationTimes);
+        }
+    }
+}
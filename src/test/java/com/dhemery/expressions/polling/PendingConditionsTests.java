@@ -0,0 +1,137 @@
+package com.dhemery.expressions.polling;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static com.dhemery.expressions.polling.PendingConditions.Quantifier.ALL;
+import static com.dhemery.expressions.polling.PendingConditions.Quantifier.ANY;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingConditionsTests {
+    private static final Optional<ForkJoinPool> SEQUENTIAL = Optional.empty();
+
+    @Nested
+    class All {
+        @Test
+        void isSatisfied_onlyWhenEveryConditionHasBeenSatisfied() {
+            List<Integer> subjects = Arrays.asList(1, 2, 3);
+            AtomicInteger evaluation = new AtomicInteger();
+            PendingConditions<Integer> conditions = PendingConditions.of(ALL, subjects, s -> s <= evaluation.get(), SEQUENTIAL);
+
+            evaluation.set(1);
+            assertFalse(conditions.getAsBoolean());
+            evaluation.set(2);
+            assertFalse(conditions.getAsBoolean());
+            evaluation.set(3);
+            assertTrue(conditions.getAsBoolean());
+        }
+
+        @Test
+        void doesNotReevaluateSatisfiedConditions() {
+            AtomicInteger firstEvaluations = new AtomicInteger();
+            AtomicInteger secondEvaluations = new AtomicInteger();
+            BooleanSupplier first = () -> firstEvaluations.incrementAndGet() > 0;
+            BooleanSupplier second = () -> secondEvaluations.incrementAndGet() > 2;
+            PendingConditions<BooleanSupplier> conditions = PendingConditions.of(ALL, Arrays.asList(first, second), SEQUENTIAL);
+
+            while (!conditions.getAsBoolean()) ;
+
+            assertEquals(1, firstEvaluations.get());
+            assertEquals(3, secondEvaluations.get());
+        }
+
+        @Test
+        void pending_listsUnsatisfiedConditionsInOrderGiven() {
+            PendingConditions<String> conditions = PendingConditions.of(ALL, Arrays.asList("a", "bb", "c", "dd"), s -> s.length() == 1, SEQUENTIAL);
+
+            conditions.getAsBoolean();
+
+            assertEquals(Arrays.asList("bb", "dd"), conditions.pending());
+            assertEquals(Arrays.asList("a", "bb", "c", "dd"), conditions.conditions());
+        }
+
+        @Test
+        void isSatisfied_ifThereAreNoConditions() {
+            PendingConditions<BooleanSupplier> conditions = PendingConditions.of(ALL, Collections.emptyList(), SEQUENTIAL);
+
+            assertTrue(conditions.getAsBoolean());
+        }
+
+        @Test
+        void evaluatesPendingConditionsOnEvaluationPool() {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                Set<Thread> evaluationThreads = ConcurrentHashMap.newKeySet();
+                List<Integer> subjects = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+                PendingConditions<Integer> conditions = PendingConditions.of(ALL, subjects, s -> {
+                    evaluationThreads.add(Thread.currentThread());
+                    return s % 2 == 0;
+                }, Optional.of(pool));
+
+                assertFalse(conditions.getAsBoolean());
+
+                assertEquals(Arrays.asList(1, 3, 5, 7), conditions.pending());
+                assertFalse(evaluationThreads.contains(Thread.currentThread()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Nested
+    class Any {
+        @Test
+        void rejectsAnEmptyGroup() {
+            assertThrows(IllegalArgumentException.class, () -> PendingConditions.of(ANY, Collections.<BooleanSupplier>emptyList(), SEQUENTIAL));
+            assertThrows(IllegalArgumentException.class, () -> PendingConditions.of(ANY, Collections.<String>emptyList(), s -> true, SEQUENTIAL));
+        }
+
+        @Test
+        void isSatisfied_whenAnyConditionIsSatisfied() {
+            PendingConditions<String> conditions = PendingConditions.of(ANY, Arrays.asList("aa", "b", "cc"), s -> s.length() == 1, SEQUENTIAL);
+
+            assertTrue(conditions.getAsBoolean());
+            assertEquals(Arrays.asList("aa", "cc"), conditions.pending());
+        }
+
+        @Test
+        void isNotSatisfied_ifNoConditionIsSatisfied() {
+            PendingConditions<String> conditions = PendingConditions.of(ANY, Arrays.asList("aa", "bb"), s -> s.length() == 1, SEQUENTIAL);
+
+            assertFalse(conditions.getAsBoolean());
+            assertEquals(Arrays.asList("aa", "bb"), conditions.pending());
+        }
+
+        @Test
+        void remainsSatisfied_whenEvaluatedAgain() {
+            AtomicInteger evaluations = new AtomicInteger();
+            PendingConditions<String> conditions = PendingConditions.of(ANY, Arrays.asList("aa", "b"), s -> {
+                evaluations.incrementAndGet();
+                return s.length() == 1;
+            }, SEQUENTIAL);
+            conditions.getAsBoolean();
+            int evaluationsWhenSatisfied = evaluations.get();
+
+            assertTrue(conditions.getAsBoolean());
+            assertTrue(conditions.getAsBoolean());
+            assertEquals(evaluationsWhenSatisfied, evaluations.get());
+        }
+    }
+
+    @Test
+    void describesQuantifierAndConditions() {
+        PendingConditions<String> conditions = PendingConditions.of(ANY, Arrays.asList("a", "b"), s -> true, SEQUENTIAL);
+
+        assertEquals("any of [a, b]", conditions.toString());
+    }
+}
@@ -0,0 +1,149 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollHandleTests {
+    private static final PollingSchedule FREQUENT = new PollingSchedule(Duration.ofMillis(10), Duration.ofMinutes(1));
+    private static final PollingSchedule RARE = new PollingSchedule(Duration.ofSeconds(30), Duration.ofMinutes(1));
+
+    @Test
+    void interruptEndsPoll_andLeavesInterruptStatusSet() throws InterruptedException {
+        Outcome outcome = new Outcome();
+        Thread poller = outcome.pollOnNewThread(new PollTimerPoller() {
+        }, FREQUENT, null);
+
+        Thread.sleep(50);
+        poller.interrupt();
+        poller.join(5_000);
+
+        assertFalse(poller.isAlive(), "poll did not end");
+        assertTrue(outcome.thrown.get().wasInterrupted());
+        assertTrue(outcome.interruptStatus);
+    }
+
+    @Test
+    void cancellingHandleEndsPoll_withoutInterruptingThread() throws InterruptedException {
+        Outcome outcome = new Outcome();
+        AtomicReference<PollHandle> handle = new AtomicReference<>();
+        Thread poller = outcome.pollOnNewThread(new PollTimerPoller() {
+        }, FREQUENT, handle);
+
+        outcome.polling.await(5, TimeUnit.SECONDS);
+        handle.get().cancel();
+        poller.join(5_000);
+
+        assertFalse(poller.isAlive(), "poll did not end");
+        assertFalse(outcome.thrown.get().wasInterrupted());
+        assertFalse(outcome.interruptStatus);
+    }
+
+    @Test
+    void cancellingHandleWakesSleepingPoll_withoutInterruptingThread() throws InterruptedException {
+        Outcome outcome = new Outcome();
+        AtomicReference<PollHandle> handle = new AtomicReference<>();
+        Thread poller = outcome.pollOnNewThread(new PollTimerPoller() {
+        }, RARE, handle);
+
+        outcome.polling.await(5, TimeUnit.SECONDS);
+        Thread.sleep(50);
+        handle.get().cancel();
+        poller.join(5_000);
+
+        assertFalse(poller.isAlive(), "poll did not end");
+        assertFalse(outcome.thrown.get().wasInterrupted());
+        assertFalse(outcome.interruptStatus);
+    }
+
+    @Test
+    void pollEndsBeforeEvaluating_ifHandleIsAlreadyCancelled() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Poller poller = new PollTimerPoller() {
+        };
+
+        try (PollHandle handle = PollHandle.open()) {
+            handle.cancel();
+
+            assertThrows(PollCancelledException.class, () -> poller.poll(FREQUENT, () -> evaluations.incrementAndGet() < 0));
+        }
+        assertEquals(0, evaluations.get());
+    }
+
+    @Test
+    void cancellingHandleWakesParkedPoll_beforeItsIntervalElapses() throws InterruptedException {
+        Outcome outcome = new Outcome();
+        AtomicReference<PollHandle> handle = new AtomicReference<>();
+        Thread poller = outcome.pollOnNewThread(new VirtualThreadPoller(), RARE, handle);
+
+        outcome.polling.await(5, TimeUnit.SECONDS);
+        Thread.sleep(50);
+        handle.get().cancel();
+        poller.join(5_000);
+
+        assertFalse(poller.isAlive(), "poll did not end");
+        assertNotNull(outcome.thrown.get());
+    }
+
+    @Test
+    void cancellingHandleEndsBlockingPollOfAsynchronousPoller() throws InterruptedException {
+        Outcome outcome = new Outcome();
+        AtomicReference<PollHandle> handle = new AtomicReference<>();
+        Thread poller = outcome.pollOnNewThread(new ScheduledExecutorPoller(), RARE, handle);
+
+        outcome.polling.await(5, TimeUnit.SECONDS);
+        Thread.sleep(50);
+        handle.get().cancel();
+        poller.join(5_000);
+
+        assertFalse(poller.isAlive(), "poll did not end");
+        assertFalse(outcome.thrown.get().wasInterrupted());
+    }
+
+    @Test
+    void closingHandleOutOfOrder_throws() {
+        try (PollHandle outer = PollHandle.open()) {
+            PollHandle inner = PollHandle.open();
+
+            assertThrows(IllegalStateException.class, outer::close);
+
+            inner.close();
+        }
+    }
+
+    /**
+     * Polls a condition that is never satisfied on a new thread, and records
+     * how the poll ended.
+     */
+    private static class Outcome {
+        final AtomicReference<PollCancelledException> thrown = new AtomicReference<>();
+        final CountDownLatch polling = new CountDownLatch(1);
+        volatile boolean interruptStatus;
+
+        Thread pollOnNewThread(Poller poller, PollingSchedule schedule, AtomicReference<PollHandle> handle) {
+            Thread thread = new Thread(() -> {
+                try (PollHandle opened = PollHandle.open()) {
+                    if (handle != null) handle.set(opened);
+                    poller.poll(schedule, () -> {
+                        polling.countDown();
+                        return false;
+                    });
+                } catch (PollCancelledException cancelled) {
+                    thrown.set(cancelled);
+                }
+                interruptStatus = Thread.currentThread().isInterrupted();
+            });
+            thread.setDaemon(true);
+            thread.start();
+            return thread;
+        }
+    }
+}
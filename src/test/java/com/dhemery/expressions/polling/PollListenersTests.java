@@ -0,0 +1,55 @@
+package com.dhemery.expressions.polling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollListenersTests {
+    @Test
+    void globalListenerIsNone_ifNoListenerIsRegistered() {
+        assertSame(PollListener.NONE, PollListeners.global());
+    }
+
+    @Test
+    void globalListenerNotifiesEachRegisteredListener_untilUnregistered() {
+        List<String> events = new ArrayList<>();
+        PollListener first = satisfactionRecorder(events, "first");
+        PollListener second = satisfactionRecorder(events, "second");
+
+        PollListeners.register(first);
+        PollListeners.register(second);
+        PollListeners.global().onSatisfied();
+        PollListeners.unregister(first);
+        PollListeners.global().onSatisfied();
+        PollListeners.unregister(second);
+
+        assertEquals(Arrays.asList("first", "second", "second"), events);
+        assertSame(PollListener.NONE, PollListeners.global());
+    }
+
+    @Test
+    void unregisterReturnsFalse_ifListenerIsNotRegistered() {
+        assertFalse(PollListeners.unregister(satisfactionRecorder(new ArrayList<>(), "unregistered")));
+    }
+
+    @Test
+    void ofIgnoresNone() {
+        PollListener listener = satisfactionRecorder(new ArrayList<>(), "listener");
+
+        assertSame(PollListener.NONE, PollListeners.of(PollListener.NONE, PollListener.NONE));
+        assertSame(listener, PollListeners.of(PollListener.NONE, listener));
+    }
+
+    private static PollListener satisfactionRecorder(List<String> events, String name) {
+        return new PollListener() {
+            @Override
+            public void onSatisfied() {
+                events.add(name);
+            }
+        };
+    }
+}
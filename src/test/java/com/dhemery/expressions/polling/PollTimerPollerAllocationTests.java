@@ -0,0 +1,144 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.helpers.PollingSchedules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Verifies that the cost in allocation of a {@link PollTimerPoller} poll does
+ * not grow with the number of evaluations. Each test measures the bytes that
+ * the test thread allocates during short polls and during long polls, and
+ * requires the long polls to allocate no more per poll than the short ones.
+ */
+class PollTimerPollerAllocationTests {
+    private static final int SHORT_POLL = 10;
+    private static final int LONG_POLL = 10_000;
+    private static final int POLLS = 20;
+    private static final int WARMUP_POLLS = 200;
+    private static final long TOLERANCE_PER_POLL = 64;
+
+    private final PollingSchedule schedule = PollingSchedules.random();
+    private com.sun.management.ThreadMXBean threads;
+
+    @BeforeEach
+    void measuresThreadAllocation() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean, "the JVM does not measure thread allocation");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "the JVM does not measure thread allocation");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void booleanSupplierPoll() {
+        BooleanSupplier neverSatisfied = () -> false;
+
+        assertEvaluationsAllocateNothing(poller -> poller.poll(schedule, neverSatisfied));
+    }
+
+    @Test
+    void subjectPredicatePoll() {
+        Predicate<String> neverAccepts = String::isEmpty;
+
+        assertEvaluationsAllocateNothing(poller -> poller.poll(schedule, "subject", neverAccepts));
+    }
+
+    @Test
+    void subjectFunctionPredicatePoll() {
+        Function<String, String> identity = s -> s;
+        Predicate<String> neverAccepts = String::isEmpty;
+
+        assertEvaluationsAllocateNothing(poller -> poller.poll(schedule, "subject", identity, neverAccepts));
+    }
+
+    @Test
+    void intPoll() {
+        ToIntFunction<String> length = String::length;
+        IntPredicate negative = i -> i < 0;
+
+        assertEvaluationsAllocateNothing(poller -> poller.pollInt(schedule, "subject", length, negative));
+    }
+
+    @Test
+    void intPollRecordingHistory() {
+        ToIntFunction<String> uncachedWhenBoxed = s -> s.length() + 1_000;
+        IntPredicate negative = i -> i < 0;
+
+        assertEvaluationsAllocateNothing(new EvaluationHistory(100), poller -> poller.pollInt(schedule, "subject", uncachedWhenBoxed, negative));
+    }
+
+    private void assertEvaluationsAllocateNothing(Function<PollTimerPoller, Object> poll) {
+        assertEvaluationsAllocateNothing(EvaluationHistory.DISABLED, poll);
+    }
+
+    private void assertEvaluationsAllocateNothing(EvaluationHistory history, Function<PollTimerPoller, Object> poll) {
+        EvaluationCountingTimer timer = new EvaluationCountingTimer();
+        PollTimerPoller poller = new PollTimerPoller() {
+            @Override
+            public EvaluationHistory history() {
+                return history;
+            }
+
+            @Override
+            public PollTimer pollTimer() {
+                return timer;
+            }
+        };
+
+        timer.evaluations = LONG_POLL;
+        for (int i = 0; i < WARMUP_POLLS; i++) poll.apply(poller);
+
+        timer.evaluations = SHORT_POLL;
+        long shortPolls = allocatedBy(() -> {
+            for (int i = 0; i < POLLS; i++) poll.apply(poller);
+        });
+        timer.evaluations = LONG_POLL;
+        long longPolls = allocatedBy(() -> {
+            for (int i = 0; i < POLLS; i++) poll.apply(poller);
+        });
+
+        assertTrue(longPolls - shortPolls <= POLLS * TOLERANCE_PER_POLL,
+                String.format("%d polls of %d evaluations allocated %d bytes, but %d polls of %d evaluations allocated %d bytes",
+                        POLLS, LONG_POLL, longPolls, POLLS, SHORT_POLL, shortPolls));
+    }
+
+    private long allocatedBy(Runnable polls) {
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        polls.run();
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+
+    /**
+     * A reusable timer that never sleeps, and that expires after a given
+     * number of evaluations.
+     */
+    private static class EvaluationCountingTimer implements PollTimer {
+        int evaluations;
+        private int remaining;
+
+        @Override
+        public void start(PollingSchedule schedule) {
+            remaining = evaluations;
+        }
+
+        @Override
+        public void tick() {
+        }
+
+        @Override
+        public boolean isExpired() {
+            return remaining-- <= 0;
+        }
+    }
+}
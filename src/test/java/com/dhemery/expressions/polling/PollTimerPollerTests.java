@@ -1,31 +1,335 @@
 package com.dhemery.expressions.polling;
 
-import org.junit.jupiter.api.Disabled;
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.helpers.CountdownPollTimer;
+import com.dhemery.expressions.helpers.PollingSchedules;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntPredicate;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 class PollTimerPollerTests {
-    @Disabled("needs new implementation")
-    @Test
-    void startsTimerWithSchedule_beforeCheckingForExpiration() {
+    private static final int TICKS_BEFORE_EXPIRATION = 3;
+    private static final int ALREADY_EXPIRED = -1;
+    private final PollingSchedule schedule = PollingSchedules.random();
+
+    private static PollTimerPoller pollerWith(CountdownPollTimer timer) {
+        return new PollTimerPoller() {
+            @Override
+            public PollTimer pollTimer() {
+                return timer;
+            }
+        };
     }
 
-    @Disabled("needs new implementation")
-    @Test
-    void returnsFalse_withoutEvaluatingSupplier_ifTimerIsAlreadyExpiredAtStartOfPoll() {
+    @Nested
+    class BooleanSupplierPoll {
+        @Test
+        void startsTimerWithSchedule_beforeCheckingForExpiration() {
+            CountdownPollTimer timer = new CountdownPollTimer(ALREADY_EXPIRED);
+
+            pollerWith(timer).poll(schedule, () -> true);
+
+            assertSame(schedule, timer.schedule());
+            assertEquals(Arrays.asList("start", "isExpired"), timer.events());
+        }
+
+        @Test
+        void returnsFalse_withoutEvaluatingSupplier_ifTimerIsAlreadyExpiredAtStartOfPoll() {
+            CountdownPollTimer timer = new CountdownPollTimer(ALREADY_EXPIRED);
+
+            boolean result = pollerWith(timer).poll(schedule, () -> fail("evaluated supplier"));
+
+            assertFalse(result);
+        }
+
+        @Test
+        void returnsTrue_ifSupplierReturnsTrue_beforeTimerExpires() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            AtomicInteger evaluations = new AtomicInteger();
+
+            boolean result = pollerWith(timer).poll(schedule, () -> evaluations.incrementAndGet() == TICKS_BEFORE_EXPIRATION);
+
+            assertTrue(result);
+            assertEquals(TICKS_BEFORE_EXPIRATION, evaluations.get());
+        }
+
+        @Test
+        void returnsFalse_ifTimerExpires_beforeSupplierReturnsTrue() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            AtomicInteger evaluations = new AtomicInteger();
+
+            boolean result = pollerWith(timer).poll(schedule, () -> evaluations.incrementAndGet() < 0);
+
+            assertFalse(result);
+            assertEquals(TICKS_BEFORE_EXPIRATION + 1, evaluations.get());
+        }
+
+        @Test
+        void ticksTimer_betweenEvaluations() {
+            CountdownPollTimer timer = new CountdownPollTimer(1);
+
+            pollerWith(timer).poll(schedule, () -> {
+                timer.event("evaluate");
+                return false;
+            });
+
+            List<String> expectedEvents = Arrays.asList(
+                    "start",
+                    "isExpired", "evaluate", "tick",
+                    "isExpired", "evaluate", "tick",
+                    "isExpired");
+            assertEquals(expectedEvents, timer.events());
+        }
     }
 
-    @Disabled("needs new implementation")
-    @Test
-    void returnsTrue_ifSupplierReturnsTrue_beforeTimerExpires() {
+    @Nested
+    class SubjectPredicatePoll {
+        private final String subject = "subject";
+
+        @Test
+        void returnsFalse_withoutEvaluatingPredicate_ifTimerIsAlreadyExpiredAtStartOfPoll() {
+            CountdownPollTimer timer = new CountdownPollTimer(ALREADY_EXPIRED);
+
+            boolean result = pollerWith(timer).poll(schedule, subject, s -> fail("evaluated predicate"));
+
+            assertFalse(result);
+        }
+
+        @Test
+        void evaluatesPredicateWithSubject() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+
+            boolean result = pollerWith(timer).poll(schedule, subject, s -> s == subject);
+
+            assertTrue(result);
+        }
+
+        @Test
+        void returnsTrue_ifPredicateAcceptsSubject_beforeTimerExpires() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            AtomicInteger evaluations = new AtomicInteger();
+
+            boolean result = pollerWith(timer).poll(schedule, subject, s -> evaluations.incrementAndGet() == TICKS_BEFORE_EXPIRATION);
+
+            assertTrue(result);
+            assertEquals(TICKS_BEFORE_EXPIRATION, evaluations.get());
+        }
+
+        @Test
+        void returnsFalse_ifTimerExpires_beforePredicateAcceptsSubject() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            AtomicInteger evaluations = new AtomicInteger();
+
+            boolean result = pollerWith(timer).poll(schedule, subject, s -> evaluations.incrementAndGet() < 0);
+
+            assertFalse(result);
+            assertEquals(TICKS_BEFORE_EXPIRATION + 1, evaluations.get());
+        }
     }
 
-    @Disabled("needs new implementation")
-    @Test
-    void returnsFalse_ifTimerExpires_beforeSupplierReturnsTrue() {
+    @Nested
+    class SubjectFunctionPredicatePoll {
+        private final String subject = "subject";
+
+        @Test
+        void returnsUnsatisfiedResultWithNullValue_withoutEvaluating_ifTimerIsAlreadyExpiredAtStartOfPoll() {
+            CountdownPollTimer timer = new CountdownPollTimer(ALREADY_EXPIRED);
+
+            PollEvaluationResult<Integer> result = pollerWith(timer).poll(schedule, subject, s -> fail("evaluated function"), v -> fail("evaluated predicate"));
+
+            assertFalse(result.isSatisfied());
+            assertNull(result.value());
+        }
+
+        @Test
+        void returnsSatisfiedResultWithSatisfyingValue_ifPredicateAcceptsDerivedValue_beforeTimerExpires() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            AtomicInteger evaluations = new AtomicInteger();
+
+            PollEvaluationResult<Integer> result = pollerWith(timer).poll(schedule, subject, s -> evaluations.incrementAndGet(), v -> v == 2);
+
+            assertTrue(result.isSatisfied());
+            assertEquals(Integer.valueOf(2), result.value());
+        }
+
+        @Test
+        void returnsUnsatisfiedResultWithFinalValue_ifTimerExpires_beforePredicateAcceptsDerivedValue() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            AtomicInteger evaluations = new AtomicInteger();
+
+            PollEvaluationResult<Integer> result = pollerWith(timer).poll(schedule, subject, s -> evaluations.incrementAndGet(), v -> false);
+
+            assertFalse(result.isSatisfied());
+            assertEquals(Integer.valueOf(TICKS_BEFORE_EXPIRATION + 1), result.value());
+        }
+    }
+
+    @Nested
+    class SubjectToLongFunctionLongPredicatePoll {
+        private final String subject = "subject";
+
+        @Test
+        void returnsUnsatisfiedResultWithZeroValue_withoutEvaluating_ifTimerIsAlreadyExpiredAtStartOfPoll() {
+            CountdownPollTimer timer = new CountdownPollTimer(ALREADY_EXPIRED);
+
+            LongPollEvaluationResult result = pollerWith(timer).pollLong(schedule, subject, s -> fail("evaluated function"), v -> fail("evaluated predicate"));
+
+            assertFalse(result.isSatisfied());
+            assertEquals(0L, result.value());
+        }
+
+        @Test
+        void returnsSatisfiedResultWithSatisfyingValue_ifPredicateAcceptsDerivedValue_beforeTimerExpires() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            AtomicInteger evaluations = new AtomicInteger();
+
+            LongPollEvaluationResult result = pollerWith(timer).pollLong(schedule, subject, s -> evaluations.incrementAndGet(), v -> v == 2);
+
+            assertTrue(result.isSatisfied());
+            assertEquals(2L, result.value());
+        }
+
+        @Test
+        void returnsUnsatisfiedResultWithFinalValue_ifTimerExpires_beforePredicateAcceptsDerivedValue() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            AtomicInteger evaluations = new AtomicInteger();
+
+            LongPollEvaluationResult result = pollerWith(timer).pollLong(schedule, subject, s -> evaluations.incrementAndGet(), v -> false);
+
+            assertFalse(result.isSatisfied());
+            assertEquals(TICKS_BEFORE_EXPIRATION + 1, result.value());
+        }
+    }
+
+    @Nested
+    class Listener {
+        private final EventListener listener = new EventListener();
+
+        private PollTimerPoller pollerWith(CountdownPollTimer timer, PollListener listener) {
+            return new PollTimerPoller() {
+                @Override
+                public PollTimer pollTimer() {
+                    return timer;
+                }
+
+                @Override
+                public PollListener listener() {
+                    return listener;
+                }
+            };
+        }
+
+        @Test
+        void isNotifiedOfStart_eachEvaluation_andSatisfaction() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            AtomicInteger evaluations = new AtomicInteger();
+            BooleanSupplier supplier = () -> evaluations.incrementAndGet() == 2;
+
+            pollerWith(timer, listener).poll(schedule, supplier);
+
+            assertEquals(Arrays.asList("start", "evaluation false", "evaluation true", "satisfied"), listener.events);
+            assertSame(schedule, listener.schedule);
+            assertSame(supplier, listener.condition);
+        }
+
+        @Test
+        void isNotifiedOfTimeout_ifTimerExpires_beforeConditionIsSatisfied() {
+            CountdownPollTimer timer = new CountdownPollTimer(1);
+
+            pollerWith(timer, listener).poll(schedule, "subject", s -> false);
+
+            assertEquals(Arrays.asList("start", "evaluation false", "evaluation false", "timeout"), listener.events);
+        }
+
+        @Test
+        void isNotifiedOfFunctionAndPredicate_whenPollingDerivedValue() {
+            CountdownPollTimer timer = new CountdownPollTimer(ALREADY_EXPIRED);
+            ToIntFunction<String> function = String::length;
+            IntPredicate predicate = v -> true;
+
+            pollerWith(timer, listener).pollInt(schedule, "subject", function, predicate);
+
+            assertEquals(Arrays.asList("start", "timeout"), listener.events);
+            assertSame(function, listener.function);
+            assertSame(predicate, listener.condition);
+        }
+
+        @Test
+        void isNotifiedOfFailure_ifConditionThrows() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            IllegalStateException failure = new IllegalStateException("failed");
+
+            IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> pollerWith(timer, listener).poll(schedule, () -> {
+                throw failure;
+            }));
+
+            assertSame(failure, thrown);
+            assertEquals(Arrays.asList("start", "failed"), listener.events);
+            assertSame(failure, listener.failure);
+        }
+
+        @Test
+        void globalListener_isNotifiedByPollerWithoutItsOwnListener() {
+            CountdownPollTimer timer = new CountdownPollTimer(TICKS_BEFORE_EXPIRATION);
+            PollListeners.register(listener);
+            try {
+                PollTimerPollerTests.pollerWith(timer).poll(schedule, () -> true);
+            } finally {
+                PollListeners.unregister(listener);
+            }
+
+            assertEquals(Arrays.asList("start", "evaluation true", "satisfied"), listener.events);
+        }
     }
 
-    @Disabled("needs new implementation")
-    @Test
-    void ticksTimer_betweenEvaluations() {
+    private static class EventListener implements PollListener {
+        final List<String> events = new ArrayList<>();
+        PollingSchedule schedule;
+        Object function;
+        Object condition;
+        Throwable failure;
+
+        @Override
+        public void onStart(PollingSchedule schedule, Object condition) {
+            this.schedule = schedule;
+            this.condition = condition;
+            events.add("start");
+        }
+
+        @Override
+        public void onStart(PollingSchedule schedule, Object function, Object predicate) {
+            this.function = function;
+            onStart(schedule, predicate);
+        }
+
+        @Override
+        public void onEvaluation(boolean satisfied, long nanos) {
+            events.add("evaluation " + satisfied);
+        }
+
+        @Override
+        public void onSatisfied() {
+            events.add("satisfied");
+        }
+
+        @Override
+        public void onTimeout() {
+            events.add("timeout");
+        }
+
+        @Override
+        public void onFailed(Throwable thrown) {
+            failure = thrown;
+            events.add("failed");
+        }
     }
 }
@@ -0,0 +1,129 @@
+package com.dhemery.expressions.polling;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SatisfactionProfileTests {
+    private final SatisfactionProfile profile = new SatisfactionProfile();
+
+    private static void assertWithinAFifthOf(Duration expected, Duration actual) {
+        long tolerance = expected.toNanos() / 5;
+        assertTrue(Math.abs(expected.toNanos() - actual.toNanos()) <= tolerance,
+                String.format("expected %s within 20%%, but was %s", expected, actual));
+    }
+
+    @Nested
+    class Estimates {
+        @Test
+        void emptyForUnknownName() {
+            assertEquals(Optional.empty(), profile.median("unknown"));
+            assertEquals(0, profile.samples("unknown"));
+        }
+
+        @Test
+        void medianIsNearMiddleRecordedTime() {
+            profile.record("ready", Duration.ofMillis(100));
+            profile.record("ready", Duration.ofMillis(800));
+            profile.record("ready", Duration.ofMillis(3000));
+
+            assertWithinAFifthOf(Duration.ofMillis(800), profile.median("ready").get());
+        }
+
+        @Test
+        void quantilesAreNearRecordedTimes() {
+            for (int i = 1; i <= 4; i++) profile.record("ready", Duration.ofSeconds(i));
+
+            assertWithinAFifthOf(Duration.ofSeconds(1), profile.quantile("ready", 0.25).get());
+            assertWithinAFifthOf(Duration.ofSeconds(4), profile.quantile("ready", 1.0).get());
+        }
+
+        @Test
+        void eachNameHasItsOwnEstimates() {
+            profile.record("fast", Duration.ofMillis(10));
+            profile.record("slow", Duration.ofSeconds(10));
+
+            assertWithinAFifthOf(Duration.ofMillis(10), profile.median("fast").get());
+            assertWithinAFifthOf(Duration.ofSeconds(10), profile.median("slow").get());
+        }
+    }
+
+    @Nested
+    class Bounds {
+        @Test
+        void agesSamples_soRecentTimesOutweighOlderOnes() {
+            for (int i = 0; i < SatisfactionProfile.MAX_SAMPLES; i++) profile.record("ready", Duration.ofMillis(100));
+            for (int i = 0; i < SatisfactionProfile.MAX_SAMPLES; i++) profile.record("ready", Duration.ofSeconds(2));
+
+            assertTrue(profile.samples("ready") <= SatisfactionProfile.MAX_SAMPLES);
+            assertWithinAFifthOf(Duration.ofSeconds(2), profile.median("ready").get());
+        }
+
+        @Test
+        void discardsLeastRecentlyUsedName_whenFull() {
+            SatisfactionProfile small = new SatisfactionProfile(2);
+            small.record("a", Duration.ofMillis(1));
+            small.record("b", Duration.ofMillis(1));
+            small.median("a");
+
+            small.record("c", Duration.ofMillis(1));
+
+            assertEquals(2, small.size());
+            assertTrue(small.median("a").isPresent());
+            assertFalse(small.median("b").isPresent());
+        }
+
+        @Test
+        void bucketsAreContiguous() {
+            for (int bucket = 1; bucket < 150; bucket++) {
+                long lower = SatisfactionProfile.lowerBound(bucket);
+                assertEquals(bucket, SatisfactionProfile.bucket(lower));
+                assertEquals(bucket - 1, SatisfactionProfile.bucket(lower - 1));
+            }
+        }
+    }
+
+    @Nested
+    class Persistence {
+        @Test
+        void loadsWhatWasSaved() throws IOException {
+            Path file = Files.createTempFile("profile", ".properties");
+            try {
+                profile.record("ready = true", Duration.ofMillis(700));
+                profile.record("ready = true", Duration.ofMillis(900));
+                profile.record("other", Duration.ofSeconds(3));
+
+                profile.save(file);
+                SatisfactionProfile loaded = SatisfactionProfile.load(file);
+
+                assertEquals(2, loaded.samples("ready = true"));
+                assertEquals(profile.median("ready = true"), loaded.median("ready = true"));
+                assertEquals(profile.median("other"), loaded.median("other"));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        @Test
+        void ignoresMalformedEntries() throws IOException {
+            Path file = Files.createTempFile("profile", ".properties");
+            try {
+                Files.write(file, "good=40\\:1\nbad=nonsense\n".getBytes("UTF-8"));
+
+                SatisfactionProfile loaded = SatisfactionProfile.load(file);
+
+                assertEquals(1, loaded.samples("good"));
+                assertEquals(0, loaded.samples("bad"));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
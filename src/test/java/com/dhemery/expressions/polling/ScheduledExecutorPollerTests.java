@@ -0,0 +1,135 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledExecutorPollerTests {
+    private static final PollingSchedule SCHEDULE = new PollingSchedule(Duration.ofMillis(5), Duration.ofMillis(200));
+    private ScheduledExecutorService scheduler;
+    private ScheduledExecutorPoller poller;
+
+    @BeforeEach
+    void createPoller() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        poller = new ScheduledExecutorPoller(scheduler);
+    }
+
+    @AfterEach
+    void stopScheduler() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void completesWithTrue_ifSupplierReturnsTrue_beforeScheduleExpires() {
+        AtomicInteger evaluations = new AtomicInteger();
+
+        boolean result = poller.pollAsync(SCHEDULE, () -> evaluations.incrementAndGet() == 3).join();
+
+        assertTrue(result);
+        assertEquals(3, evaluations.get());
+    }
+
+    @Test
+    void completesWithFalse_ifScheduleExpires_beforeSupplierReturnsTrue() {
+        boolean result = poller.pollAsync(SCHEDULE, () -> false).join();
+
+        assertFalse(result);
+    }
+
+    @Test
+    void evaluatesOnSchedulerThread() {
+        Thread caller = Thread.currentThread();
+
+        boolean result = poller.pollAsync(SCHEDULE, "subject", s -> Thread.currentThread() != caller).join();
+
+        assertTrue(result);
+    }
+
+    @Test
+    void completesWithFinalValue_ifScheduleExpires_beforePredicateAcceptsDerivedValue() {
+        AtomicInteger evaluations = new AtomicInteger();
+
+        PollEvaluationResult<Integer> result = poller.pollAsync(SCHEDULE, "subject", s -> evaluations.incrementAndGet(), v -> false).join();
+
+        assertFalse(result.isSatisfied());
+        assertEquals(Integer.valueOf(evaluations.get()), result.value());
+    }
+
+    @Test
+    void completesExceptionally_ifEvaluationThrows() {
+        RuntimeException thrown = new IllegalStateException();
+
+        CompletableFuture<Boolean> poll = poller.pollAsync(SCHEDULE, () -> {
+            throw thrown;
+        });
+
+        assertSame(thrown, poll.handle((ignored, failure) -> failure).join());
+    }
+
+    @Test
+    void stopsEvaluating_whenCancelled() throws InterruptedException {
+        AtomicInteger evaluations = new AtomicInteger();
+        CompletableFuture<Boolean> poll = poller.pollAsync(new PollingSchedule(Duration.ofMillis(1), Duration.ofMinutes(1)),
+                () -> evaluations.incrementAndGet() < 0);
+
+        poll.cancel(false);
+        int evaluationsWhenCancelled = evaluations.get();
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertTrue(poll.isCancelled());
+        assertTrue(evaluations.get() <= evaluationsWhenCancelled + 1);
+    }
+
+    @Test
+    void poll_blocksUntilAsyncPollCompletes_andRethrowsEvaluationException() {
+        RuntimeException thrown = new IllegalStateException();
+
+        RuntimeException rethrown = assertThrows(RuntimeException.class, () -> poller.poll(SCHEDULE, () -> {
+            throw thrown;
+        }));
+
+        assertSame(thrown, rethrown);
+    }
+
+    @Test
+    void completesExceptionally_ifSchedulerIsShutDownMidPoll() {
+        CompletableFuture<Boolean> poll = poller.pollAsync(SCHEDULE, () -> {
+            scheduler.shutdown();
+            return false;
+        });
+
+        Throwable failure = poll.handle((ignored, thrown) -> thrown).orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertTrue(failure instanceof RejectedExecutionException, String.valueOf(failure));
+    }
+
+    @Test
+    void completesExceptionally_ifSchedulerIsShutDownBeforePoll() {
+        scheduler.shutdown();
+
+        CompletableFuture<Boolean> poll = poller.pollAsync(SCHEDULE, () -> false);
+
+        assertTrue(poll.isCompletedExceptionally());
+    }
+
+    @Test
+    void poll_throws_ifSchedulerIsShutDownMidPoll() {
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThrows(RejectedExecutionException.class, () -> poller.poll(SCHEDULE, () -> {
+                    scheduler.shutdown();
+                    return false;
+                })));
+    }
+}
@@ -0,0 +1,76 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalPollerTests {
+    private static final long LONG_SLEEP = Duration.ofMinutes(1).toNanos();
+    private final Signal signal = new Signal();
+
+    @Nested
+    class SignalSleeper {
+        @Test
+        void sleepsForRequestedTime_ifSignalDoesNotFire() {
+            long start = System.nanoTime();
+
+            signal.sleeper().sleepNanos(Duration.ofMillis(20).toNanos());
+
+            assertTrue(System.nanoTime() - start >= Duration.ofMillis(20).toNanos());
+        }
+
+        @Test
+        void wakes_whenSignalFires() throws InterruptedException {
+            Sleeper sleeper = signal.sleeper();
+            CompletableFuture<Void> sleeping = CompletableFuture.runAsync(() -> sleeper.sleepNanos(LONG_SLEEP));
+            TimeUnit.MILLISECONDS.sleep(20);
+
+            signal.fire();
+
+            sleeping.orTimeout(10, TimeUnit.SECONDS).join();
+        }
+
+        @Test
+        void doesNotSleep_ifSignalFiredSinceSleeperLastWoke() {
+            Sleeper sleeper = signal.sleeper();
+            signal.fire();
+
+            long start = System.nanoTime();
+            sleeper.sleepNanos(LONG_SLEEP);
+
+            assertTrue(System.nanoTime() - start < Duration.ofSeconds(10).toNanos());
+        }
+
+        @Test
+        void sleepsAgain_afterWakingForAFiring() {
+            Sleeper sleeper = signal.sleeper();
+            signal.fire();
+            sleeper.sleepNanos(LONG_SLEEP);
+
+            long start = System.nanoTime();
+            sleeper.sleepNanos(Duration.ofMillis(20).toNanos());
+
+            assertTrue(System.nanoTime() - start >= Duration.ofMillis(20).toNanos());
+        }
+    }
+
+    @Test
+    void poll_evaluatesPromptly_whenSignalFires() {
+        SignalPoller poller = new SignalPoller(signal);
+        PollingSchedule hourly = new PollingSchedule(Duration.ofHours(1), Duration.ofHours(2));
+        AtomicBoolean ready = new AtomicBoolean();
+        CompletableFuture<Boolean> poll = CompletableFuture.supplyAsync(() -> poller.poll(hourly, ready::get));
+
+        ready.set(true);
+        signal.fire();
+
+        assertTrue(poll.orTimeout(10, TimeUnit.SECONDS).join());
+    }
+}
@@ -0,0 +1,104 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelPollerTests {
+    private static final PollingSchedule SCHEDULE = new PollingSchedule(Duration.ofMillis(5), Duration.ofMillis(200));
+    private static final PollingSchedule LONG_SCHEDULE = new PollingSchedule(Duration.ofMillis(1), Duration.ofMinutes(1));
+    private final TimingWheelPoller poller = new TimingWheelPoller(2, Duration.ofMillis(1), 16);
+
+    @AfterEach
+    void stopPoller() {
+        poller.close();
+    }
+
+    @Test
+    void completesWithTrue_ifSupplierReturnsTrue_beforeScheduleExpires() {
+        AtomicInteger evaluations = new AtomicInteger();
+
+        assertTrue(poller.pollAsync(SCHEDULE, () -> evaluations.incrementAndGet() == 3).join());
+        assertEquals(3, evaluations.get());
+    }
+
+    @Test
+    void completesWithFalse_ifScheduleExpires_beforeSupplierReturnsTrue() {
+        assertFalse(poller.pollAsync(SCHEDULE, () -> false).join());
+    }
+
+    @Test
+    void completesWithFinalValue() {
+        AtomicInteger evaluations = new AtomicInteger();
+
+        PollEvaluationResult<Integer> result = poller.pollAsync(SCHEDULE, "subject", s -> evaluations.incrementAndGet(), v -> false).join();
+
+        assertFalse(result.isSatisfied());
+        assertEquals(Integer.valueOf(evaluations.get()), result.value());
+    }
+
+    @Test
+    void evaluatesAtLeastOneRevolutionLater_ifIntervalExceedsWheelSpan() {
+        PollingSchedule schedule = new PollingSchedule(Duration.ofMillis(40), Duration.ofSeconds(5));
+        AtomicInteger evaluations = new AtomicInteger();
+        long start = System.nanoTime();
+
+        assertTrue(poller.pollAsync(schedule, () -> evaluations.incrementAndGet() == 2).join());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    void completesExceptionally_ifEvaluationThrows() {
+        RuntimeException thrown = new IllegalStateException();
+
+        CompletableFuture<Boolean> poll = poller.pollAsync(SCHEDULE, () -> {
+            throw thrown;
+        });
+
+        assertSame(thrown, poll.handle((ignored, failure) -> failure).join());
+    }
+
+    @Test
+    void stopsEvaluating_whenCancelled() throws InterruptedException {
+        AtomicInteger evaluations = new AtomicInteger();
+        CompletableFuture<Boolean> poll = poller.pollAsync(LONG_SCHEDULE, () -> evaluations.incrementAndGet() < 0);
+
+        poll.cancel(false);
+        int evaluationsWhenCancelled = evaluations.get();
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertTrue(evaluations.get() <= evaluationsWhenCancelled + 1);
+    }
+
+    @Test
+    void completesManySimultaneousPolls() {
+        List<CompletableFuture<Boolean>> polls = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            AtomicInteger evaluations = new AtomicInteger();
+            polls.add(poller.pollAsync(SCHEDULE, () -> evaluations.incrementAndGet() == 2));
+        }
+
+        CompletableFuture.allOf(polls.toArray(new CompletableFuture<?>[0])).join();
+
+        assertTrue(polls.stream().allMatch(CompletableFuture::join));
+    }
+
+    @Test
+    void close_cancelsIncompletePolls() {
+        CompletableFuture<Boolean> poll = poller.pollAsync(LONG_SCHEDULE, () -> false);
+
+        poller.close();
+
+        assertTrue(poll.handle((ignored, failure) -> failure).join() instanceof CancellationException);
+    }
+}
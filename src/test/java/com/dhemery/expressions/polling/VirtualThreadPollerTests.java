@@ -0,0 +1,75 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.PollingSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPollerTests {
+    private static final PollingSchedule SCHEDULE = new PollingSchedule(Duration.ofMillis(5), Duration.ofMillis(200));
+    private final VirtualThreadPoller poller = new VirtualThreadPoller();
+
+    @Test
+    void poll_evaluatesOnCallingThread() {
+        Thread caller = Thread.currentThread();
+
+        assertTrue(poller.poll(SCHEDULE, () -> Thread.currentThread() == caller));
+    }
+
+    @Test
+    void pollAsync_evaluatesOnAnotherThread() {
+        Thread caller = Thread.currentThread();
+
+        assertTrue(poller.pollAsync(SCHEDULE, () -> Thread.currentThread() != caller).join());
+    }
+
+    @Test
+    void pollAsync_completesWithFalse_ifScheduleExpires_beforeSupplierReturnsTrue() {
+        assertFalse(poller.pollAsync(SCHEDULE, () -> false).join());
+    }
+
+    @Test
+    void pollAsync_completesWithFinalValue() {
+        AtomicInteger evaluations = new AtomicInteger();
+
+        PollEvaluationResult<Integer> result = poller.pollAsync(SCHEDULE, "subject", s -> evaluations.incrementAndGet(), v -> v == 3).join();
+
+        assertTrue(result.isSatisfied());
+        assertEquals(Integer.valueOf(3), result.value());
+    }
+
+    @Test
+    void pollAsync_stopsEvaluating_whenCancelled() throws InterruptedException {
+        AtomicInteger evaluations = new AtomicInteger();
+        CompletableFuture<Boolean> poll = poller.pollAsync(new PollingSchedule(Duration.ofMillis(1), Duration.ofMinutes(1)),
+                () -> evaluations.incrementAndGet() < 0);
+
+        poll.cancel(true);
+        int evaluationsWhenCancelled = evaluations.get();
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertTrue(evaluations.get() <= evaluationsWhenCancelled + 1);
+    }
+
+    @Test
+    void pollAsync_runsOnThreadsFromTheGivenFactory() {
+        VirtualThreadPoller poller = new VirtualThreadPoller(runnable -> new Thread(runnable, "custom poller thread"));
+
+        assertTrue(poller.pollAsync(SCHEDULE, () -> Thread.currentThread().getName().equals("custom poller thread")).join());
+    }
+
+    @Test
+    void parkingSleeper_sleepsAtLeastTheGivenDuration() {
+        long sleepNanos = TimeUnit.MILLISECONDS.toNanos(20);
+        long start = System.nanoTime();
+
+        new ParkingSleeper().sleepNanos(sleepNanos);
+
+        assertTrue(System.nanoTime() - start >= sleepNanos);
+    }
+}
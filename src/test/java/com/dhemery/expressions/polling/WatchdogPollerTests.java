@@ -0,0 +1,193 @@
+package com.dhemery.expressions.polling;
+
+import com.dhemery.expressions.Poller;
+import com.dhemery.expressions.PollingSchedule;
+import com.dhemery.expressions.diagnosing.DiagnosticReport;
+import com.dhemery.expressions.diagnosing.Failures;
+import com.dhemery.expressions.diagnosing.Named;
+import com.dhemery.expressions.helpers.CountdownPollTimer;
+import com.dhemery.expressions.helpers.ImpatientPoller;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchdogPollerTests {
+    private static final PollingSchedule SHORT = new PollingSchedule(Duration.ofMillis(10), Duration.ofMillis(50));
+
+    @Test
+    void returnsDelegatesResult_ifEvaluationsFinishInTime() {
+        WatchdogPoller poller = new WatchdogPoller(new ImpatientPoller());
+
+        assertTrue(poller.poll(SHORT, () -> true));
+        assertFalse(poller.poll(SHORT, "subject", s -> false));
+        PollEvaluationResult<Integer> result = poller.poll(SHORT, "subject", String::length, v -> v == 7);
+        assertTrue(result.isSatisfied());
+        assertEquals(Integer.valueOf(7), result.value());
+    }
+
+    @Test
+    void throwsEvaluationTimeout_andInterruptsEvaluation_ifEvaluationRunsPastSchedule() throws InterruptedException {
+        WatchdogPoller poller = new WatchdogPoller(new ImpatientPoller());
+        CountDownLatch interrupted = new CountDownLatch(1);
+        BooleanSupplier hangs = Named.booleanSupplier("hangs", () -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return true;
+        });
+
+        EvaluationTimeoutException thrown = assertThrows(EvaluationTimeoutException.class, () -> poller.poll(SHORT, hangs));
+
+        assertTrue(thrown.getMessage().contains("hangs"), thrown.getMessage());
+        assertTrue(thrown.getMessage().contains("the evaluation, not the condition"), thrown.getMessage());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "evaluation was not interrupted");
+    }
+
+    @Test
+    void endsHungEvaluation_whenScheduleExpires_evenIfIntervalIsLonger() {
+        PollingSchedule rare = new PollingSchedule(Duration.ofSeconds(30), Duration.ofMillis(50));
+        WatchdogPoller poller = new WatchdogPoller(new ImpatientPoller(), WatchdogPoller.sharedEvaluator(), 0.001);
+        BooleanSupplier hangs = () -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException ignored) {
+            }
+            return true;
+        };
+        long start = System.nanoTime();
+
+        assertThrows(EvaluationTimeoutException.class, () -> poller.poll(rare, hangs));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "evaluation outlived the schedule");
+    }
+
+    @Test
+    void evaluationTimeoutDiagnosis_includesHistoryOfFinishedEvaluations() {
+        PollTimerPoller delegate = new PollTimerPoller() {
+            private final EvaluationHistory history = new EvaluationHistory(10);
+
+            @Override
+            public EvaluationHistory history() {
+                return history;
+            }
+
+            @Override
+            public PollTimer pollTimer() {
+                return new CountdownPollTimer(5);
+            }
+        };
+        WatchdogPoller poller = new WatchdogPoller(delegate);
+        AtomicInteger evaluations = new AtomicInteger();
+        BooleanSupplier hangsOnThirdEvaluation = Named.booleanSupplier("hangs", () -> {
+            if (evaluations.incrementAndGet() < 3) return false;
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException ignored) {
+            }
+            return true;
+        });
+
+        EvaluationTimeoutException thrown = assertThrows(EvaluationTimeoutException.class, () -> poller.poll(SHORT, hangsOnThirdEvaluation));
+
+        String expectedWithoutHistory = DiagnosticReport.ofEvaluationTimeout(SHORT, hangsOnThirdEvaluation, Duration.ZERO).render();
+        String expectedStart = expectedWithoutHistory.substring(0, expectedWithoutHistory.indexOf("     but: "));
+        assertTrue(thrown.getMessage().startsWith(expectedStart), thrown.getMessage());
+        assertTrue(thrown.getMessage().contains("the evaluation, not the condition"), thrown.getMessage());
+        assertTrue(thrown.getMessage().contains(" history: last 2 of 2 evaluations"), thrown.getMessage());
+    }
+
+    @Test
+    void reportsEvaluationTimeout_usingGivenFailures() {
+        WatchdogPoller poller = new WatchdogPoller(new ImpatientPoller(), WatchdogPoller.sharedEvaluator(), 0.5, Failures.STACKLESS);
+        BooleanSupplier hangs = () -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException ignored) {
+            }
+            return true;
+        };
+
+        EvaluationTimeoutException thrown = assertThrows(EvaluationTimeoutException.class, () -> poller.poll(SHORT, hangs));
+
+        assertEquals(0, thrown.getStackTrace().length);
+    }
+
+    @Test
+    void rethrowsWhatEvaluationThrows() {
+        WatchdogPoller poller = new WatchdogPoller(new ImpatientPoller());
+        IllegalStateException failure = new IllegalStateException("failed");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> poller.poll(SHORT, () -> {
+            throw failure;
+        }));
+
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    void notifiesListenerOfSlowEvaluation() {
+        List<Object> slow = new ArrayList<>();
+        PollTimerPoller delegate = new PollTimerPoller() {
+            @Override
+            public PollTimer pollTimer() {
+                return new CountdownPollTimer(0);
+            }
+
+            @Override
+            public PollListener listener() {
+                return new PollListener() {
+                    @Override
+                    public void onSlowEvaluation(Object condition, long nanos, PollingSchedule schedule) {
+                        slow.add(condition);
+                    }
+                };
+            }
+        };
+        WatchdogPoller poller = new WatchdogPoller(delegate, WatchdogPoller.sharedEvaluator(), 0.5);
+        BooleanSupplier sluggish = () -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+            }
+            return true;
+        };
+
+        poller.poll(SHORT, sluggish);
+
+        assertEquals(1, slow.size());
+        assertSame(sluggish, slow.get(0));
+    }
+
+    @Test
+    void passesNamedConditionToDelegate_withItsName() {
+        AtomicReference<Object> polled = new AtomicReference<>();
+        Poller delegate = new ImpatientPoller() {
+            @Override
+            public boolean poll(PollingSchedule schedule, BooleanSupplier supplier) {
+                polled.set(supplier);
+                return super.poll(schedule, supplier);
+            }
+        };
+
+        new WatchdogPoller(delegate).poll(SHORT, Named.booleanSupplier("named", () -> true));
+
+        assertTrue(polled.get() instanceof Named);
+        assertEquals("named", polled.get().toString());
+    }
+
+    @Test
+    void rejectsSlowFractionThatIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new WatchdogPoller(new ImpatientPoller(), WatchdogPoller.sharedEvaluator(), 0));
+    }
+}